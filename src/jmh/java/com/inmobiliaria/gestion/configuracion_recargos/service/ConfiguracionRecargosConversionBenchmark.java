@@ -0,0 +1,46 @@
+package com.inmobiliaria.gestion.configuracion_recargos.service;
+
+import com.inmobiliaria.gestion.configuracion_recargos.dto.ConfiguracionRecargosDTO;
+import com.inmobiliaria.gestion.configuracion_recargos.model.ConfiguracionRecargos;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of surcharge policies. The mapper is static and package-private,
+ * so the benchmark lives in the service's package and needs no service instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConfiguracionRecargosConversionBenchmark {
+
+    private ConfiguracionRecargos configuracion;
+
+    @Setup
+    public void setUp() {
+        configuracion = new ConfiguracionRecargos();
+        configuracion.setIdConfiguracionRecargo(1L);
+        configuracion.setActiva(true);
+        configuracion.setAplicaAConceptos("RENTA");
+        configuracion.setDiasCorteServicios(10);
+        configuracion.setDiasGracia(5);
+        configuracion.setMontoRecargoFijo(new BigDecimal("500.00"));
+        configuracion.setNombrePolitica("Recargo estándar");
+        configuracion.setPorcentajeRecargoDiario(new BigDecimal("0.50"));
+        configuracion.setRecargoMaximo(new BigDecimal("3000.00"));
+        configuracion.setTipoRecargo("PORCENTAJE");
+        configuracion.setIdInmobiliaria(1L);
+        configuracion.setTasaRecargoDiaria(new BigDecimal("0.005"));
+        configuracion.setTasaRecargoFija(new BigDecimal("0.05"));
+        configuracion.setActivo(true);
+        configuracion.setDiaAplicacion(1);
+        configuracion.setMonto(new BigDecimal("500.00"));
+    }
+
+    @Benchmark
+    public ConfiguracionRecargosDTO toDto() {
+        return ConfiguracionRecargosService.toDto(configuracion);
+    }
+}
@@ -0,0 +1,44 @@
+package com.inmobiliaria.gestion.contrato_renta.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date arithmetic run by the {@code @PrePersist} and {@code @PreUpdate} callbacks on
+ * every contract write. The callbacks are protected, so the benchmark lives in the
+ * entity's package to call them directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ContratoRentaLifecycleBenchmark {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 31, 9, 0);
+
+    private ContratoRenta contrato;
+
+    @Setup
+    public void setUp() {
+        contrato = ContratoRenta.builder()
+                .fechaInicioContrato(INICIO)
+                .duracionMeses(12)
+                .notificacionDiasPrevios(30)
+                .build();
+    }
+
+    @Benchmark
+    public LocalDateTime onCreate() {
+        // onCreate only derives the end date when it is missing, so clear it on each call
+        contrato.setFechaFinContrato(null);
+        contrato.onCreate();
+        return contrato.getFechaNotificacion();
+    }
+
+    @Benchmark
+    public LocalDateTime onUpdate() {
+        contrato.onUpdate();
+        return contrato.getFechaNotificacion();
+    }
+}
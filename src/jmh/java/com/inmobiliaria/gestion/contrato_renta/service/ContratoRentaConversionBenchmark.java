@@ -0,0 +1,43 @@
+package com.inmobiliaria.gestion.contrato_renta.service;
+
+import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaDTO;
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping done for every contract returned by the API and for every
+ * contract event written to the outbox.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ContratoRentaConversionBenchmark {
+
+    private ContratoRenta contrato;
+
+    @Setup
+    public void setUp() {
+        contrato = ContratoRenta.builder()
+                .idContrato(1)
+                .idPropiedad(10)
+                .fechaInicioContrato(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .fechaFinContrato(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .condicionesEspeciales("Sin mascotas")
+                .emailNotificaciones("inquilino@correo.com")
+                .depositoGarantia(new BigDecimal("15000.00"))
+                .duracionMeses(12)
+                .notificacionDiasPrevios(30)
+                .telefonoNotificaciones("+52 55 1234 5678")
+                .montoRenta(new BigDecimal("15000.00"))
+                .build();
+    }
+
+    @Benchmark
+    public ContratoRentaDTO convertToDTO() {
+        return ContratoRentaService.convertToDTO(contrato);
+    }
+}
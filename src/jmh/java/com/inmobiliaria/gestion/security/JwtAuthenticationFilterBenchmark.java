@@ -0,0 +1,55 @@
+package com.inmobiliaria.gestion.security;
+
+import com.inmobiliaria.gestion.auth.service.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of the authentication filter with a valid bearer token. The user
+ * lookup is an in-memory stand-in, so the numbers cover parsing, verification and
+ * security context population only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean statelessAuthentication;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private final FilterChain filterChain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = JwtUtilBenchmark.createJwtUtil();
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        UserDetails user = new UserDetailsImpl(1L, "admin", "admin@inmobiliaria.com", "password", authorities);
+        filter = new JwtAuthenticationFilter(jwtUtil, username -> user, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "statelessAuthentication", statelessAuthentication);
+
+        request = new MockHttpServletRequest("GET", "/api/v1/propiedades");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateTokenFromUsername("admin", List.of("ROLE_USER")));
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        try {
+            filter.doFilterInternal(request, new MockHttpServletResponse(), filterChain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.inmobiliaria.gestion.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuance and verification cost, paid on every login and every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-for-jwt-signing-must-be-at-least-256-bits-long";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = createJwtUtil();
+        token = jwtUtil.generateTokenFromUsername("admin", List.of("ROLE_ADMIN", "ROLE_USER"));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateTokenFromUsername("admin", List.of("ROLE_ADMIN", "ROLE_USER"));
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> parseToken() {
+        return jwtUtil.parseJwtToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateJwtToken(token);
+    }
+
+    static JwtUtil createJwtUtil() {
+        JwtUtil util = new JwtUtil(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(util, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(util, "jwtExpirationMs", 86400);
+        util.init();
+        return util;
+    }
+}
@@ -3,8 +3,10 @@ package com.inmobiliaria.gestion;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class InmobiliariaBackendApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,69 @@
+package com.inmobiliaria.gestion.auditoria.controller;
+
+import com.inmobiliaria.gestion.auditoria.dto.AuditoriaCambioDTO;
+import com.inmobiliaria.gestion.auditoria.model.EntidadAuditada;
+import com.inmobiliaria.gestion.auditoria.service.AuditoriaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/auditoria")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Auditoría", description = "Audit trail of entity changes")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AuditoriaController {
+
+    private final AuditoriaService auditoriaService;
+
+    @Operation(summary = "Get audit trail of an entity type",
+            description = "Field-level changes of inmobiliarias, propiedades or contratos de renta, newest first. " +
+                    "Optionally narrowed to one entity id or to one user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved audit entries",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown entity type or invalid paging parameters"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/{entidad}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getCambios(
+            @Parameter(description = "Audited entity type", required = true, example = "CONTRATO_RENTA",
+                    schema = @Schema(allowableValues = {"INMOBILIARIA", "PROPIEDAD", "CONTRATO_RENTA"}))
+            @PathVariable String entidad,
+            @Parameter(description = "Only changes of this entity id", example = "15")
+            @RequestParam(required = false) String idEntidad,
+            @Parameter(description = "Only changes made by this user", example = "admin")
+            @RequestParam(required = false) String usuario,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.debug("GET /api/v1/auditoria/{} - id: {}, user: {}, page: {}, size: {}", entidad, idEntidad, usuario, page, size);
+
+        try {
+            Page<AuditoriaCambioDTO> cambios = auditoriaService.getCambios(EntidadAuditada.desdeNombre(entidad),
+                    idEntidad, usuario, page, size);
+            return ResponseEntity.ok(cambios);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid audit trail request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
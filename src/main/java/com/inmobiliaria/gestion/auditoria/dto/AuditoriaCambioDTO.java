@@ -0,0 +1,34 @@
+package com.inmobiliaria.gestion.auditoria.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Audited change of an entity")
+public record AuditoriaCambioDTO(
+
+        @Schema(description = "Audit entry id", example = "5012")
+        Long idAuditoria,
+
+        @Schema(description = "Audited entity", example = "CONTRATO_RENTA")
+        String entidad,
+
+        @Schema(description = "Id of the changed entity", example = "15")
+        String idEntidad,
+
+        @Schema(description = "Kind of change", example = "MODIFICACION", allowableValues = {"ALTA", "MODIFICACION", "BAJA"})
+        String operacion,
+
+        @Schema(description = "Authenticated user who made the change, or 'sistema' for background jobs", example = "admin")
+        String usuario,
+
+        @Schema(description = "When the change was committed", example = "2024-06-01T10:15:30")
+        LocalDateTime fechaCambio,
+
+        @ArraySchema(schema = @Schema(implementation = CambioCampo.class))
+        @JsonRawValue
+        String cambios
+) {
+}
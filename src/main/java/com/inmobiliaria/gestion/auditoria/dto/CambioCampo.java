@@ -0,0 +1,17 @@
+package com.inmobiliaria.gestion.auditoria.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Change of one field")
+public record CambioCampo(
+
+        @Schema(description = "Entity field name", example = "montoRenta")
+        String campo,
+
+        @Schema(description = "Value before the change; null on creation", example = "12000.00")
+        Object anterior,
+
+        @Schema(description = "Value after the change; null on deletion", example = "12500.00")
+        Object nuevo
+) {
+}
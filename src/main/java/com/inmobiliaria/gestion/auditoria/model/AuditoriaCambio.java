@@ -0,0 +1,53 @@
+package com.inmobiliaria.gestion.auditoria.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed insert, update or delete of an audited entity: who made it, when, and the
+ * fields it changed as a JSON array of {@code {campo, anterior, nuevo}}. Rows are written in
+ * batches by {@code EscritorAuditoria}; this mapping is used to create the table and to read it.
+ */
+@Entity
+@Table(name = "auditoria_cambio", indexes = {
+        @Index(name = "idx_auditoria_cambio_entidad", columnList = "entidad, id_entidad, id_auditoria"),
+        @Index(name = "idx_auditoria_cambio_usuario", columnList = "usuario, id_auditoria")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditoriaCambio {
+
+    public static final String OPERACION_ALTA = "ALTA";
+    public static final String OPERACION_MODIFICACION = "MODIFICACION";
+    public static final String OPERACION_BAJA = "BAJA";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_auditoria")
+    private Long idAuditoria;
+
+    @Column(name = "entidad", length = 50, nullable = false)
+    private String entidad;
+
+    @Column(name = "id_entidad", length = 50, nullable = false)
+    private String idEntidad;
+
+    @Column(name = "operacion", length = 20, nullable = false)
+    private String operacion;
+
+    @Column(name = "usuario", length = 100, nullable = false)
+    private String usuario;
+
+    @Column(name = "fecha_cambio", nullable = false)
+    private LocalDateTime fechaCambio;
+
+    @Column(name = "cambios", columnDefinition = "TEXT", nullable = false)
+    private String cambios;
+}
@@ -0,0 +1,50 @@
+package com.inmobiliaria.gestion.auditoria.model;
+
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import com.inmobiliaria.gestion.inmobiliaria.model.Inmobiliaria;
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Entities whose changes are recorded in the audit trail.
+ */
+public enum EntidadAuditada {
+
+    INMOBILIARIA(Inmobiliaria.class),
+    PROPIEDAD(Propiedad.class),
+    CONTRATO_RENTA(ContratoRenta.class);
+
+    private static final Map<Class<?>, EntidadAuditada> POR_CLASE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(EntidadAuditada::getClase, Function.identity()));
+
+    private final Class<?> clase;
+
+    EntidadAuditada(Class<?> clase) {
+        this.clase = clase;
+    }
+
+    public Class<?> getClase() {
+        return clase;
+    }
+
+    /**
+     * The audited entity mapped to the given class, or {@code null} when it is not audited.
+     */
+    public static EntidadAuditada de(Class<?> clase) {
+        return POR_CLASE.get(clase);
+    }
+
+    public static EntidadAuditada desdeNombre(String nombre) {
+        try {
+            return valueOf(nombre.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown audited entity: " + nombre
+                    + ". Expected one of " + Arrays.toString(values()));
+        }
+    }
+}
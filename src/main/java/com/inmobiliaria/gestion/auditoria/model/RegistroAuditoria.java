@@ -0,0 +1,13 @@
+package com.inmobiliaria.gestion.auditoria.model;
+
+import com.inmobiliaria.gestion.auditoria.dto.CambioCampo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Audit entry captured on the writing thread and queued until the writer stores it.
+ */
+public record RegistroAuditoria(EntidadAuditada entidad, String idEntidad, String operacion, String usuario,
+                                LocalDateTime fechaCambio, List<CambioCampo> cambios) {
+}
@@ -0,0 +1,44 @@
+package com.inmobiliaria.gestion.auditoria.repository;
+
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes audit entries with one JDBC batch per flush instead of one insert per change.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(MetricsConfig.JDBC_TIMER)
+public class AuditoriaCambioJdbcRepository {
+
+    private static final String SQL_INSERTAR =
+            "INSERT INTO auditoria_cambio (entidad, id_entidad, operacion, usuario, fecha_cambio, cambios) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertarLote(List<Fila> filas) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERTAR, filas, filas.size(), (ps, fila) -> {
+            ps.setString(1, fila.entidad());
+            ps.setString(2, fila.idEntidad());
+            ps.setString(3, fila.operacion());
+            ps.setString(4, fila.usuario());
+            ps.setTimestamp(5, Timestamp.valueOf(fila.fechaCambio()));
+            ps.setString(6, fila.cambios());
+        });
+    }
+
+    public record Fila(String entidad, String idEntidad, String operacion, String usuario,
+                       LocalDateTime fechaCambio, String cambios) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.inmobiliaria.gestion.auditoria.repository;
+
+import com.inmobiliaria.gestion.auditoria.model.AuditoriaCambio;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuditoriaCambioRepository extends JpaRepository<AuditoriaCambio, Long> {
+
+    Page<AuditoriaCambio> findByEntidad(String entidad, Pageable pageable);
+
+    Page<AuditoriaCambio> findByEntidadAndIdEntidad(String entidad, String idEntidad, Pageable pageable);
+
+    Page<AuditoriaCambio> findByEntidadAndUsuario(String entidad, String usuario, Pageable pageable);
+}
@@ -0,0 +1,156 @@
+package com.inmobiliaria.gestion.auditoria.service;
+
+import com.inmobiliaria.gestion.auditoria.dto.CambioCampo;
+import com.inmobiliaria.gestion.auditoria.model.AuditoriaCambio;
+import com.inmobiliaria.gestion.auditoria.model.EntidadAuditada;
+import com.inmobiliaria.gestion.auditoria.model.RegistroAuditoria;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Captures field-level changes of the audited entities from Hibernate's post-commit events,
+ * so rolled-back writes are never audited. The diff is computed from the state arrays
+ * Hibernate already holds for dirty checking; the entry is handed to {@link EscritorAuditoria}
+ * and stored later off the request thread. The version column and associations are skipped:
+ * the former changes on every update and the latter are covered by their id columns.
+ * <p>
+ * Writes that bypass the persistence context raise no Hibernate events and are not audited
+ * here; the JDBC batch jobs record theirs through {@link AuditoriaLoteService}.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditoriaListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    static final String USUARIO_SISTEMA = "sistema";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EscritorAuditoria escritorAuditoria;
+
+    @PostConstruct
+    void registrar() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return EntidadAuditada.de(persister.getMappedClass()) != null;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        EntidadAuditada entidad = EntidadAuditada.de(event.getPersister().getMappedClass());
+        if (entidad != null) {
+            encolar(entidad, event.getId(), AuditoriaCambio.OPERACION_ALTA,
+                    diferencias(event.getPersister(), null, event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntidadAuditada entidad = EntidadAuditada.de(event.getPersister().getMappedClass());
+        if (entidad == null) {
+            return;
+        }
+        List<CambioCampo> cambios = diferencias(event.getPersister(), event.getOldState(), event.getState());
+        if (!cambios.isEmpty()) {
+            encolar(entidad, event.getId(), AuditoriaCambio.OPERACION_MODIFICACION, cambios);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        EntidadAuditada entidad = EntidadAuditada.de(event.getPersister().getMappedClass());
+        if (entidad != null) {
+            encolar(entidad, event.getId(), AuditoriaCambio.OPERACION_BAJA,
+                    diferencias(event.getPersister(), event.getDeletedState(), null));
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed, nothing to audit
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed, nothing to audit
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed, nothing to audit
+    }
+
+    private void encolar(EntidadAuditada entidad, Object id, String operacion, List<CambioCampo> cambios) {
+        escritorAuditoria.encolar(new RegistroAuditoria(entidad, String.valueOf(id), operacion, usuarioActual(),
+                LocalDateTime.now(), cambios));
+    }
+
+    /**
+     * Changed fields between two state arrays; a {@code null} array stands for the entity not
+     * existing on that side. Without an old state (an update of a detached entity that was not
+     * loaded first) every non-null field is reported with an unknown previous value.
+     */
+    static List<CambioCampo> diferencias(EntityPersister persister, Object[] anterior, Object[] nuevo) {
+        String[] nombres = persister.getPropertyNames();
+        Type[] tipos = persister.getPropertyTypes();
+        int version = persister.isVersioned() ? persister.getVersionProperty() : -1;
+        List<CambioCampo> cambios = new ArrayList<>();
+        for (int i = 0; i < nombres.length; i++) {
+            if (i == version || tipos[i].isAssociationType() || tipos[i].isCollectionType()) {
+                continue;
+            }
+            Object valorAnterior = anterior != null ? anterior[i] : null;
+            Object valorNuevo = nuevo != null ? nuevo[i] : null;
+            if (!iguales(valorAnterior, valorNuevo)) {
+                cambios.add(new CambioCampo(nombres[i], valorAnterior, valorNuevo));
+            }
+        }
+        return cambios;
+    }
+
+    // BigDecimal.equals compares scale too, which would report 1500.0 -> 1500.00 as a change
+    private static boolean iguales(Object a, Object b) {
+        if (a instanceof BigDecimal x && b instanceof BigDecimal y) {
+            return x.compareTo(y) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+
+    static String usuarioActual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return USUARIO_SISTEMA;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,104 @@
+package com.inmobiliaria.gestion.auditoria.service;
+
+import com.inmobiliaria.gestion.auditoria.dto.CambioCampo;
+import com.inmobiliaria.gestion.auditoria.model.AuditoriaCambio;
+import com.inmobiliaria.gestion.auditoria.model.EntidadAuditada;
+import com.inmobiliaria.gestion.auditoria.model.RegistroAuditoria;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Audit entries for the audited entities written through JDBC batches (bulk contract
+ * operations, imports), which raise no Hibernate events for {@link AuditoriaListener}. The
+ * changed fields are derived with the same rules as the listener and stored in the caller's
+ * transaction, so a chunk and its audit entries commit or roll back together.
+ * <p>
+ * Billing, surcharge and ledger rows are not audited entities: charges and surcharges are
+ * derived from the audited contracts by the scheduled runs, and the ledger is itself an
+ * append-only trail.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditoriaLoteService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EscritorAuditoria escritorAuditoria;
+
+    /**
+     * User to record for the current request; capture it before handing work to another thread.
+     */
+    public String usuarioActual() {
+        return AuditoriaListener.usuarioActual();
+    }
+
+    /**
+     * Records the creation of the given entities, which must already carry their ids.
+     */
+    public void registrarAltas(List<?> entidades, String usuario) {
+        if (entidades.isEmpty()) {
+            return;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        List<RegistroAuditoria> registros = new ArrayList<>(entidades.size());
+        for (Object entidad : entidades) {
+            EntityPersister persister = persister(entidad);
+            registros.add(registro(entidad, AuditoriaCambio.OPERACION_ALTA, usuario, ahora,
+                    AuditoriaListener.diferencias(persister, null, persister.getValues(entidad))));
+        }
+        escritorAuditoria.escribirEnTransaccion(registros);
+    }
+
+    /**
+     * Records updates made in SQL. Each entity holds the state after the update; the map holds the
+     * previous value of every field the statement may have changed, by entity field name.
+     * Entities whose fields all kept their value are skipped.
+     */
+    public void registrarModificaciones(List<Modificacion> modificaciones, String usuario) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<RegistroAuditoria> registros = new ArrayList<>(modificaciones.size());
+        for (Modificacion modificacion : modificaciones) {
+            EntityPersister persister = persister(modificacion.entidad());
+            Object[] nuevo = persister.getValues(modificacion.entidad());
+            Object[] anterior = nuevo.clone();
+            modificacion.anteriores().forEach((campo, valor) -> anterior[persister.getPropertyIndex(campo)] = valor);
+            List<CambioCampo> cambios = AuditoriaListener.diferencias(persister, anterior, nuevo);
+            if (!cambios.isEmpty()) {
+                registros.add(registro(modificacion.entidad(), AuditoriaCambio.OPERACION_MODIFICACION, usuario,
+                        ahora, cambios));
+            }
+        }
+        if (!registros.isEmpty()) {
+            escritorAuditoria.escribirEnTransaccion(registros);
+        }
+    }
+
+    private RegistroAuditoria registro(Object entidad, String operacion, String usuario, LocalDateTime fecha,
+                                       List<CambioCampo> cambios) {
+        EntidadAuditada auditada = EntidadAuditada.de(entidad.getClass());
+        if (auditada == null) {
+            throw new IllegalArgumentException(entidad.getClass().getSimpleName() + " is not an audited entity");
+        }
+        Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entidad);
+        return new RegistroAuditoria(auditada, String.valueOf(id), operacion, usuario, fecha, cambios);
+    }
+
+    private EntityPersister persister(Object entidad) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entidad.getClass());
+    }
+
+    /**
+     * State of one entity after a SQL update, with the previous values of the fields it touched.
+     */
+    public record Modificacion(Object entidad, Map<String, Object> anteriores) {
+    }
+}
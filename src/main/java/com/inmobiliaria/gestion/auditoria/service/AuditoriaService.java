@@ -0,0 +1,70 @@
+package com.inmobiliaria.gestion.auditoria.service;
+
+import com.inmobiliaria.gestion.auditoria.dto.AuditoriaCambioDTO;
+import com.inmobiliaria.gestion.auditoria.model.AuditoriaCambio;
+import com.inmobiliaria.gestion.auditoria.model.EntidadAuditada;
+import com.inmobiliaria.gestion.auditoria.repository.AuditoriaCambioRepository;
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads the audit trail of one entity type, newest change first. Entries are stored
+ * asynchronously, so a change may take up to {@code auditoria.intervalo} to show up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class AuditoriaService {
+
+    static final int MAX_PAGE_SIZE = 200;
+
+    private final AuditoriaCambioRepository auditoriaCambioRepository;
+
+    public Page<AuditoriaCambioDTO> getCambios(EntidadAuditada entidad, String idEntidad, String usuario,
+                                               int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (idEntidad != null && usuario != null) {
+            throw new IllegalArgumentException("Filter by entity id or by user, not both");
+        }
+        log.debug("Getting audit trail of {} - id: {}, user: {}, page: {}, size: {}", entidad, idEntidad, usuario,
+                page, size);
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("idAuditoria").descending());
+        Page<AuditoriaCambio> cambios;
+        if (idEntidad != null) {
+            cambios = auditoriaCambioRepository.findByEntidadAndIdEntidad(entidad.name(), idEntidad, pageable);
+        } else if (usuario != null) {
+            cambios = auditoriaCambioRepository.findByEntidadAndUsuario(entidad.name(), usuario, pageable);
+        } else {
+            cambios = auditoriaCambioRepository.findByEntidad(entidad.name(), pageable);
+        }
+        return cambios.map(this::convertToDTO);
+    }
+
+    private AuditoriaCambioDTO convertToDTO(AuditoriaCambio cambio) {
+        return new AuditoriaCambioDTO(
+                cambio.getIdAuditoria(),
+                cambio.getEntidad(),
+                cambio.getIdEntidad(),
+                cambio.getOperacion(),
+                cambio.getUsuario(),
+                cambio.getFechaCambio(),
+                cambio.getCambios()
+        );
+    }
+}
@@ -0,0 +1,158 @@
+package com.inmobiliaria.gestion.auditoria.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inmobiliaria.gestion.auditoria.model.RegistroAuditoria;
+import com.inmobiliaria.gestion.auditoria.repository.AuditoriaCambioJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers audit entries in a bounded queue and stores them from a single background thread,
+ * one JDBC batch per flush. Writers only pay for an {@code offer}; when the queue is full the
+ * entry is dropped and counted in {@code auditoria.descartados} rather than slowing the write
+ * down. On shutdown the queue is drained before the thread exits. Writers that bypass Hibernate
+ * store their entries synchronously through {@link #escribirEnTransaccion} instead.
+ */
+@Component
+@Slf4j
+public class EscritorAuditoria {
+
+    static final String DESCARTADOS = "auditoria.descartados";
+    static final String FALLIDOS = "auditoria.fallidos";
+    static final String PENDIENTES = "auditoria.pendientes";
+
+    private final AuditoriaCambioJdbcRepository auditoriaCambioJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<RegistroAuditoria> cola;
+    private final Counter descartados;
+    private final Counter fallidos;
+
+    @Value("${auditoria.lote-size:500}")
+    private int loteSize = 500;
+
+    @Value("${auditoria.intervalo:PT1S}")
+    private Duration intervalo = Duration.ofSeconds(1);
+
+    private volatile boolean activo = true;
+    private Thread hilo;
+
+    public EscritorAuditoria(AuditoriaCambioJdbcRepository auditoriaCambioJdbcRepository, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${auditoria.capacidad-cola:10000}") int capacidadCola) {
+        this.auditoriaCambioJdbcRepository = auditoriaCambioJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+        this.descartados = Counter.builder(DESCARTADOS)
+                .description("Audit entries dropped because the queue was full")
+                .register(meterRegistry);
+        this.fallidos = Counter.builder(FALLIDOS)
+                .description("Audit entries lost because their batch could not be stored")
+                .register(meterRegistry);
+        Gauge.builder(PENDIENTES, cola, BlockingQueue::size)
+                .description("Audit entries waiting to be stored")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        hilo = Thread.ofPlatform().name("auditoria-escritor").daemon().start(this::ejecutar);
+    }
+
+    @PreDestroy
+    void detener() throws InterruptedException {
+        activo = false;
+        hilo.join(intervalo.multipliedBy(2).plusSeconds(10).toMillis());
+    }
+
+    public void encolar(RegistroAuditoria registro) {
+        if (!cola.offer(registro)) {
+            descartados.increment();
+            log.warn("Audit queue full, dropped {} change of {} {}", registro.operacion(), registro.entidad(),
+                    registro.idEntidad());
+        }
+    }
+
+    /**
+     * Stores everything queued so far on the calling thread.
+     */
+    public void vaciar() {
+        List<RegistroAuditoria> lote = new ArrayList<>(loteSize);
+        while (cola.drainTo(lote, loteSize) > 0) {
+            escribir(lote);
+            lote.clear();
+        }
+    }
+
+    /**
+     * Stores the entries on the calling thread, inside the caller's transaction. Failures
+     * propagate, so the audited change and its entries commit or roll back together.
+     */
+    public void escribirEnTransaccion(List<RegistroAuditoria> registros) {
+        auditoriaCambioJdbcRepository.insertarLote(filas(registros));
+    }
+
+    private void ejecutar() {
+        List<RegistroAuditoria> lote = new ArrayList<>(loteSize);
+        while (activo || !cola.isEmpty()) {
+            try {
+                RegistroAuditoria primero = cola.poll(intervalo.toMillis(), TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                cola.drainTo(lote, loteSize - 1);
+                escribir(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in the audit writer", e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void escribir(List<RegistroAuditoria> lote) {
+        List<AuditoriaCambioJdbcRepository.Fila> filas = filas(lote);
+        try {
+            auditoriaCambioJdbcRepository.insertarLote(filas);
+        } catch (RuntimeException e) {
+            fallidos.increment(filas.size());
+            log.error("Could not store {} audit entries: {}", filas.size(), e.getMessage());
+        }
+    }
+
+    private List<AuditoriaCambioJdbcRepository.Fila> filas(List<RegistroAuditoria> registros) {
+        List<AuditoriaCambioJdbcRepository.Fila> filas = new ArrayList<>(registros.size());
+        for (RegistroAuditoria registro : registros) {
+            filas.add(new AuditoriaCambioJdbcRepository.Fila(registro.entidad().name(), registro.idEntidad(),
+                    registro.operacion(), registro.usuario(), registro.fechaCambio(), json(registro)));
+        }
+        return filas;
+    }
+
+    private String json(RegistroAuditoria registro) {
+        try {
+            return objectMapper.writeValueAsString(registro.cambios());
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize the changed fields of {} {}: {}", registro.entidad(), registro.idEntidad(),
+                    e.getMessage());
+            return "[]";
+        }
+    }
+}
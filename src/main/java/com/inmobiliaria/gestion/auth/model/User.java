@@ -1,5 +1,6 @@
 package com.inmobiliaria.gestion.auth.model;
 
+import com.inmobiliaria.gestion.auth.service.UserCacheEvictionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -14,6 +15,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@EntityListeners(UserCacheEvictionListener.class)
 @Table(name = "users", 
        uniqueConstraints = {
            @UniqueConstraint(columnNames = "username"),
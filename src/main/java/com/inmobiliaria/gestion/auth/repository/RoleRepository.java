@@ -1,12 +1,42 @@
 package com.inmobiliaria.gestion.auth.repository;
 
 import com.inmobiliaria.gestion.auth.model.Role;
+import com.inmobiliaria.gestion.config.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "#p0")
     Optional<Role> findByName(Role.ERole name);
-}
\ No newline at end of file
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "'all'")
+    List<Role> findAll();
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
+    <S extends Role> S save(S role);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
+    <S extends Role> List<S> saveAll(Iterable<S> roles);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
+    void delete(Role role);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
+    void deleteAll();
+}
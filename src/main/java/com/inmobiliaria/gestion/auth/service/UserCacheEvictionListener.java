@@ -0,0 +1,24 @@
+package com.inmobiliaria.gestion.auth.service;
+
+import com.inmobiliaria.gestion.auth.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Evicts cached user details whenever a user row is updated or deleted. The service is
+ * looked up lazily because Hibernate creates this listener while the entity manager
+ * factory, which the service itself depends on, is still being built.
+ */
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+
+    private final ObjectProvider<UserDetailsServiceImpl> userDetailsService;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        userDetailsService.ifAvailable(service -> service.evict(user.getUsername()));
+    }
+}
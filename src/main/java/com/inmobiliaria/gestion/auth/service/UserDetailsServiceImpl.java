@@ -3,24 +3,102 @@ package com.inmobiliaria.gestion.auth.service;
 import com.inmobiliaria.gestion.auth.model.User;
 import com.inmobiliaria.gestion.auth.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads users with their roles in a single query and keeps them in a size- and
+ * TTL-bounded cache, so authenticated requests do not hit the database on every call.
+ * Changes to a {@link User} evict its entry through {@link UserCacheEvictionListener}.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+
+    @Value("${auth.user-cache.enabled:true}")
+    private boolean cacheEnabled = true;
+
+    @Value("${auth.user-cache.max-size:10000}")
+    private int cacheMaxSize = 10_000;
+
+    @Value("${auth.user-cache.ttl:PT5M}")
+    private Duration cacheTtl = Duration.ofMinutes(5);
+
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (!cacheEnabled) {
+            return loadFromDatabase(username);
+        }
+
+        long now = System.nanoTime();
+        CachedUser cached = cache.get(username);
+        if (cached != null && now - cached.expiresAt() < 0) {
+            return cached.userDetails();
+        }
+
+        UserDetailsImpl userDetails = loadFromDatabase(username);
+        if (cache.size() >= cacheMaxSize) {
+            purge(now);
+        }
+        cache.put(username, new CachedUser(userDetails, now + cacheTtl.toNanos()));
+        return userDetails;
+    }
+
+    public void evict(String username) {
+        runAfterCommit(() -> cache.remove(username));
+    }
+
+    public void evictAll() {
+        runAfterCommit(cache::clear);
+    }
+
+    private UserDetailsImpl loadFromDatabase(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
 
         return UserDetailsImpl.build(user);
     }
-}
\ No newline at end of file
+
+    // Drops expired entries first; if the cache is still full, frees room for the new entry
+    private void purge(long now) {
+        cache.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() >= cacheMaxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+        log.debug("Purged user cache down to {} entries", cache.size());
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record CachedUser(UserDetailsImpl userDetails, long expiresAt) {
+    }
+}
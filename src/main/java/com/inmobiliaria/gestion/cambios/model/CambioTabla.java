@@ -0,0 +1,35 @@
+package com.inmobiliaria.gestion.cambios.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change counter of one versioned table. Every committed write to the table increments
+ * {@link #version}, which list endpoints use as their ETag.
+ */
+@Entity
+@Table(name = "cambio_tabla")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CambioTabla {
+
+    @Id
+    @Column(name = "tabla", length = 64)
+    private String tabla;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "modificado_en")
+    private LocalDateTime modificadoEn;
+}
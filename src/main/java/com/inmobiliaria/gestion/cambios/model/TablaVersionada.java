@@ -0,0 +1,35 @@
+package com.inmobiliaria.gestion.cambios.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table and primary key column of a versioned entity, read from its JPA mapping.
+ */
+public record TablaVersionada(String tabla, String columnaId) {
+
+    private static final Map<Class<?>, TablaVersionada> POR_ENTIDAD = new ConcurrentHashMap<>();
+
+    public static TablaVersionada de(Class<?> entidad) {
+        return POR_ENTIDAD.computeIfAbsent(entidad, TablaVersionada::leer);
+    }
+
+    private static TablaVersionada leer(Class<?> entidad) {
+        Table table = entidad.getAnnotation(Table.class);
+        if (table == null) {
+            throw new IllegalArgumentException(entidad.getName() + " has no @Table mapping");
+        }
+        for (Field campo : entidad.getDeclaredFields()) {
+            if (campo.isAnnotationPresent(Id.class)) {
+                Column column = campo.getAnnotation(Column.class);
+                return new TablaVersionada(table.name(), column != null ? column.name() : campo.getName());
+            }
+        }
+        throw new IllegalArgumentException(entidad.getName() + " has no @Id field");
+    }
+}
@@ -0,0 +1,79 @@
+package com.inmobiliaria.gestion.cambios.repository;
+
+import com.inmobiliaria.gestion.cambios.model.CambioTabla;
+import com.inmobiliaria.gestion.cambios.model.TablaVersionada;
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Table change counters and entity versions for HTTP conditional requests.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(MetricsConfig.JDBC_TIMER)
+public class CambioTablaJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Increments the counter of a table. The counter row stays locked until the caller's
+     * transaction ends, so callers run it in a transaction of its own once the write that
+     * caused it has committed. The row is normally created at startup by {@link #registrarTabla}.
+     */
+    public void incrementar(String tabla) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        int actualizadas = jdbcTemplate.update(
+                "UPDATE cambio_tabla SET version = version + 1, modificado_en = ? WHERE tabla = ?", ahora, tabla);
+        if (actualizadas == 0) {
+            jdbcTemplate.update("INSERT INTO cambio_tabla (tabla, version, modificado_en) VALUES (?, 1, ?)", tabla, ahora);
+        }
+    }
+
+    /**
+     * Creates the counter row of a table if it does not exist yet.
+     */
+    public void registrarTabla(String tabla) {
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO cambio_tabla (tabla, version, modificado_en) " +
+                    "SELECT ?, 0, ? WHERE NOT EXISTS (SELECT 1 FROM cambio_tabla WHERE tabla = ?)",
+                    tabla, Timestamp.valueOf(LocalDateTime.now()), tabla);
+        } catch (DuplicateKeyException e) {
+            // Another instance registered it first
+        }
+    }
+
+    public Optional<CambioTabla> findByTabla(String tabla) {
+        List<CambioTabla> cambios = jdbcTemplate.query(
+                "SELECT tabla, version, modificado_en FROM cambio_tabla WHERE tabla = ?",
+                (rs, rowNum) -> {
+                    Timestamp modificadoEn = rs.getTimestamp("modificado_en");
+                    return new CambioTabla(rs.getString("tabla"), rs.getLong("version"),
+                            modificadoEn != null ? modificadoEn.toLocalDateTime() : null);
+                },
+                tabla);
+        return cambios.stream().findFirst();
+    }
+
+    public Optional<Long> findVersionEntidad(TablaVersionada tabla, Object id) {
+        List<Long> versiones = jdbcTemplate.queryForList(
+                "SELECT version FROM " + tabla.tabla() + " WHERE " + tabla.columnaId() + " = ?", Long.class, id);
+        return versiones.stream().findFirst();
+    }
+
+    /**
+     * Gives rows written before the version column existed their initial version.
+     */
+    public int inicializarVersiones(TablaVersionada tabla) {
+        return jdbcTemplate.update("UPDATE " + tabla.tabla() + " SET version = 0 WHERE version IS NULL");
+    }
+}
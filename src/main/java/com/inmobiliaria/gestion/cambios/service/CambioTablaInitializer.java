@@ -0,0 +1,44 @@
+package com.inmobiliaria.gestion.cambios.service;
+
+import com.inmobiliaria.gestion.cambios.model.TablaVersionada;
+import com.inmobiliaria.gestion.cambios.repository.CambioTablaJdbcRepository;
+import com.inmobiliaria.gestion.conceptos.model.ConceptosPago;
+import com.inmobiliaria.gestion.configuracion_recargos.model.ConfiguracionRecargos;
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import com.inmobiliaria.gestion.inmobiliaria.model.Inmobiliaria;
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the change counter of every versioned table and backfills the optimistic-lock version
+ * of rows written before the version column existed. Hibernate cannot increment a null version,
+ * so those rows would fail on their next update.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CambioTablaInitializer {
+
+    static final List<Class<?>> ENTIDADES_VERSIONADAS = List.of(
+            Inmobiliaria.class, Propiedad.class, ContratoRenta.class, ConceptosPago.class, ConfiguracionRecargos.class);
+
+    private final CambioTablaJdbcRepository cambioTablaJdbcRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        for (Class<?> entidad : ENTIDADES_VERSIONADAS) {
+            TablaVersionada tabla = TablaVersionada.de(entidad);
+            cambioTablaJdbcRepository.registrarTabla(tabla.tabla());
+            int filas = cambioTablaJdbcRepository.inicializarVersiones(tabla);
+            if (filas > 0) {
+                log.info("Initialized the version of {} rows in {}", filas, tabla.tabla());
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.inmobiliaria.gestion.cambios.service;
+
+import com.inmobiliaria.gestion.cambios.model.TablaVersionada;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Bumps the change counter of a versioned entity's table on every insert, update and delete.
+ * The callbacks run during the flush and only record the table; the counter is bumped once
+ * the write has committed, so a rolled-back write bumps nothing. The
+ * service is looked up lazily because Hibernate creates this listener while the entity
+ * manager factory is still being built.
+ */
+@RequiredArgsConstructor
+public class CambioTablaListener {
+
+    private final ObjectProvider<CambioTablaService> cambioTablaService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void registrarCambio(Object entidad) {
+        cambioTablaService.ifAvailable(service -> service.registrarCambio(TablaVersionada.de(Hibernate.getClass(entidad)).tabla()));
+    }
+}
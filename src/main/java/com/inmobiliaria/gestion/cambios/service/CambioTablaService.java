@@ -0,0 +1,80 @@
+package com.inmobiliaria.gestion.cambios.service;
+
+import com.inmobiliaria.gestion.cambios.repository.CambioTablaJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Bumps table change counters. Inside a transaction the written tables are only collected,
+ * and each is bumped once after the transaction commits, in a short transaction of its own:
+ * the counter row is locked for that single statement instead of for the whole write, so
+ * concurrent writers of a table are not serialized on it, and a rolled-back write bumps
+ * nothing. The bump finishes before the writing request returns, so a client never sees its
+ * own write behind a stale ETag; a bump that fails is logged and the next write catches up.
+ */
+@Service
+@Slf4j
+public class CambioTablaService {
+
+    private final Object claveTransaccion = new Object();
+
+    private final CambioTablaJdbcRepository cambioTablaJdbcRepository;
+    private final TransactionTemplate transaccionPropia;
+
+    public CambioTablaService(CambioTablaJdbcRepository cambioTablaJdbcRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.cambioTablaJdbcRepository = cambioTablaJdbcRepository;
+        this.transaccionPropia = new TransactionTemplate(transactionManager);
+        this.transaccionPropia.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void registrarCambio(String tabla) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cambioTablaJdbcRepository.incrementar(tabla);
+            return;
+        }
+        tablasDeTransaccion().add(tabla);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> tablasDeTransaccion() {
+        Set<String> tablas = (Set<String>) TransactionSynchronizationManager.getResource(claveTransaccion);
+        if (tablas == null) {
+            Set<String> nuevas = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(claveTransaccion, nuevas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementar(nuevas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(claveTransaccion);
+                }
+            });
+            tablas = nuevas;
+        }
+        return tablas;
+    }
+
+    // The committed transaction's connection is still bound here, so the bump needs its own
+    private void incrementar(Set<String> tablas) {
+        for (String tabla : tablas) {
+            try {
+                transaccionPropia.executeWithoutResult(status -> cambioTablaJdbcRepository.incrementar(tabla));
+            } catch (DataAccessException e) {
+                log.warn("Could not bump the change counter of {}: {}", tabla, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.inmobiliaria.gestion.cambios.web;
+
+import com.inmobiliaria.gestion.cambios.model.CambioTabla;
+import com.inmobiliaria.gestion.cambios.model.TablaVersionada;
+import com.inmobiliaria.gestion.cambios.repository.CambioTablaJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers conditional GETs on {@link EtagLista} and {@link EtagEntidad} handlers. Ordered last,
+ * so method security has already authorized the call when the version is looked up. A 304 is
+ * signalled by returning {@code null} after {@link ServletWebRequest#checkNotModified}, which
+ * Spring MVC treats as a handled request; otherwise the handler runs and the validators are
+ * already set on the response.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class EtagAspect {
+
+    private final CambioTablaJdbcRepository cambioTablaJdbcRepository;
+
+    @Around("@annotation(etagLista)")
+    public Object lista(ProceedingJoinPoint joinPoint, EtagLista etagLista) throws Throwable {
+        ServletWebRequest request = requestActual();
+        if (request == null) {
+            return joinPoint.proceed();
+        }
+        String tabla = TablaVersionada.de(etagLista.value()).tabla();
+        Optional<CambioTabla> cambio = cambioTablaJdbcRepository.findByTabla(tabla);
+        long version = cambio.map(CambioTabla::getVersion).orElse(0L);
+        long modificadoEn = cambio.map(CambioTabla::getModificadoEn)
+                .map(fecha -> fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .orElse(-1L);
+        if (request.checkNotModified("\"" + tabla + "-" + version + "\"", modificadoEn)) {
+            return null;
+        }
+        return joinPoint.proceed();
+    }
+
+    @Around("@annotation(etagEntidad)")
+    public Object entidad(ProceedingJoinPoint joinPoint, EtagEntidad etagEntidad) throws Throwable {
+        ServletWebRequest request = requestActual();
+        String id = request != null ? variableRuta(request, etagEntidad.variableId()) : null;
+        if (id == null) {
+            return joinPoint.proceed();
+        }
+        Optional<Long> version = cambioTablaJdbcRepository.findVersionEntidad(TablaVersionada.de(etagEntidad.value()), id);
+        // Missing rows fall through to the handler's own 404
+        if (version.isPresent() && request.checkNotModified("\"" + id + "-" + version.get() + "\"")) {
+            return null;
+        }
+        return joinPoint.proceed();
+    }
+
+    private static ServletWebRequest requestActual() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos instanceof ServletRequestAttributes servlet && servlet.getResponse() != null) {
+            return new ServletWebRequest(servlet.getRequest(), servlet.getResponse());
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String variableRuta(ServletWebRequest request, String nombre) {
+        Map<String, String> variables = (Map<String, String>) request.getRequest()
+                .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables != null ? variables.get(nombre) : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.inmobiliaria.gestion.cambios.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler returning one versioned entity, identified by a path variable. The
+ * ETag is built from the entity's id and version, and a matching conditional request is
+ * answered with 304 without loading or serializing the entity.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EtagEntidad {
+
+    Class<?> value();
+
+    /**
+     * Name of the path variable holding the entity id.
+     */
+    String variableId() default "id";
+}
@@ -0,0 +1,23 @@
+package com.inmobiliaria.gestion.cambios.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response depends only on the rows of one entity's table. The
+ * ETag and Last-Modified come from the table's change counter, and a matching conditional
+ * request is answered with 304 before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EtagLista {
+
+    /**
+     * Versioned entity whose table backs the response.
+     */
+    Class<?> value();
+}
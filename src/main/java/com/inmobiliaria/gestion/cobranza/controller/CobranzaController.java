@@ -0,0 +1,206 @@
+package com.inmobiliaria.gestion.cobranza.controller;
+
+import com.inmobiliaria.gestion.cobranza.dto.AntiguedadSaldosReport;
+import com.inmobiliaria.gestion.cobranza.dto.MovimientoCuentaCursorPage;
+import com.inmobiliaria.gestion.cobranza.dto.NivelAntiguedad;
+import com.inmobiliaria.gestion.cobranza.dto.PagoDTO;
+import com.inmobiliaria.gestion.cobranza.dto.PagoRegistrado;
+import com.inmobiliaria.gestion.cobranza.dto.PagoRequest;
+import com.inmobiliaria.gestion.cobranza.dto.SaldoContratoDTO;
+import com.inmobiliaria.gestion.cobranza.service.AntiguedadSaldosService;
+import com.inmobiliaria.gestion.cobranza.service.CobranzaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/cobranza")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Cobranza", description = "Tenant payments, account ledger and balances")
+public class CobranzaController {
+
+    private final CobranzaService cobranzaService;
+    private final AntiguedadSaldosService antiguedadSaldosService;
+
+    @Operation(summary = "Register a payment",
+            description = "Record a tenant payment and allocate it to the contract's unpaid charges, oldest first. " +
+                    "Resending a known external reference returns the original payment")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Payment registered",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PagoDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Reference already registered; original payment returned",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PagoDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or contract not found"),
+            @ApiResponse(responseCode = "409", description = "Reference already used for a different payment"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/pagos")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PagoDTO> registrarPago(
+            @Parameter(description = "Payment to register", required = true)
+            @Valid @RequestBody PagoRequest request) {
+        log.info("POST /api/v1/cobranza/pagos - Registering payment {} for contract {}",
+                request.referenciaExterna(), request.idContrato());
+        try {
+            PagoRegistrado registro = cobranzaService.registrarPago(request);
+            return ResponseEntity.status(registro.nuevo() ? HttpStatus.CREATED : HttpStatus.OK).body(registro.pago());
+        } catch (IllegalArgumentException e) {
+            log.error("Error registering payment: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.warn("Payment rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @Operation(summary = "Get a payment", description = "Retrieve a payment and its allocation")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PagoDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Payment not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/pagos/{idPago}")
+    public ResponseEntity<PagoDTO> getPago(
+            @Parameter(description = "Payment ID", required = true)
+            @PathVariable Long idPago) {
+        log.debug("GET /api/v1/cobranza/pagos/{} - Fetching payment", idPago);
+        return cobranzaService.getPago(idPago)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Reverse a payment",
+            description = "Undo a payment's allocation, reopen the charges it paid and book the reversal in the ledger")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment reversed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PagoDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Payment not found"),
+            @ApiResponse(responseCode = "409", description = "Payment already reversed"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/pagos/{idPago}/reversion")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PagoDTO> revertirPago(
+            @Parameter(description = "Payment ID", required = true)
+            @PathVariable Long idPago) {
+        log.info("POST /api/v1/cobranza/pagos/{}/reversion - Reversing payment", idPago);
+        try {
+            return cobranzaService.revertirPago(idPago)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            log.warn("Payment reversal rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @Operation(summary = "Get payments by contract", description = "Retrieve the payments of a contract, newest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payments retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PagoDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/contratos/{idContrato}/pagos")
+    public ResponseEntity<List<PagoDTO>> getPagosByContrato(
+            @Parameter(description = "Contract ID", required = true)
+            @PathVariable Integer idContrato) {
+        log.debug("GET /api/v1/cobranza/contratos/{}/pagos - Fetching payments", idContrato);
+        return ResponseEntity.ok(cobranzaService.getPagosByContrato(idContrato));
+    }
+
+    @Operation(summary = "Get contract balance", description = "Retrieve the running balance of a contract")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SaldoContratoDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Contract has no ledger entries"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/contratos/{idContrato}/saldo")
+    public ResponseEntity<SaldoContratoDTO> getSaldo(
+            @Parameter(description = "Contract ID", required = true)
+            @PathVariable Integer idContrato) {
+        log.debug("GET /api/v1/cobranza/contratos/{}/saldo - Fetching balance", idContrato);
+        return cobranzaService.getSaldo(idContrato)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Get contract ledger", description = "Retrieve a contract's ledger entries ordered by ID using keyset pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Entries retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = MovimientoCuentaCursorPage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/contratos/{idContrato}/movimientos")
+    public ResponseEntity<MovimientoCuentaCursorPage> getMovimientos(
+            @Parameter(description = "Contract ID", required = true)
+            @PathVariable Integer idContrato,
+            @Parameter(description = "Return entries with ID greater than this cursor", example = "0")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size (max 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int size) {
+        log.debug("GET /api/v1/cobranza/contratos/{}/movimientos - Fetching ledger after {} (size {})", idContrato, after, size);
+        return ResponseEntity.ok(cobranzaService.getMovimientos(idContrato, after, size));
+    }
+
+    @Operation(summary = "Get accounts-receivable aging",
+            description = "Outstanding balances of an inmobiliaria split into not due, 0-30, 31-60, 61-90 and 90+ days " +
+                    "past due, per contract or per property, with the agency totals")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Aging computed successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AntiguedadSaldosReport.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid paging parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/inmobiliarias/{idInmobiliaria}/antiguedad")
+    public ResponseEntity<AntiguedadSaldosReport> getAntiguedadSaldos(
+            @Parameter(description = "Inmobiliaria ID", required = true)
+            @PathVariable Long idInmobiliaria,
+            @Parameter(description = "Cut-off date (defaults to today)", example = "2024-06-30")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaCorte,
+            @Parameter(description = "Row level", example = "CONTRATO")
+            @RequestParam(defaultValue = "CONTRATO") NivelAntiguedad nivel,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 500)", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+        LocalDate corte = fechaCorte != null ? fechaCorte : LocalDate.now();
+        log.debug("GET /api/v1/cobranza/inmobiliarias/{}/antiguedad - Aging at {} by {} (page {}, size {})",
+                idInmobiliaria, corte, nivel, page, size);
+        try {
+            return ResponseEntity.ok(antiguedadSaldosService.getReporte(idInmobiliaria, corte, nivel, page, size));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid aging request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Outstanding balance split by days past due")
+public record AntiguedadSaldoFila(
+
+        @Schema(description = "ID of the contract; null for property rows and totals", example = "1")
+        Integer idContrato,
+
+        @Schema(description = "ID of the property; null for totals", example = "3")
+        Integer idPropiedad,
+
+        @Schema(description = "Balance not yet due", example = "12000.00")
+        BigDecimal saldoPorVencer,
+
+        @Schema(description = "Balance 0 to 30 days past due", example = "6000.00")
+        BigDecimal saldo0a30,
+
+        @Schema(description = "Balance 31 to 60 days past due", example = "0.00")
+        BigDecimal saldo31a60,
+
+        @Schema(description = "Balance 61 to 90 days past due", example = "0.00")
+        BigDecimal saldo61a90,
+
+        @Schema(description = "Balance more than 90 days past due", example = "0.00")
+        BigDecimal saldoMas90,
+
+        @Schema(description = "Total outstanding balance", example = "18000.00")
+        BigDecimal saldoTotal
+) {
+}
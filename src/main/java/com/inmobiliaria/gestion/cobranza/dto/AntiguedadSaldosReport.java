@@ -0,0 +1,42 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Accounts-receivable aging of an inmobiliaria, one page of rows plus agency totals")
+public record AntiguedadSaldosReport(
+
+        @Schema(description = "ID of the inmobiliaria", example = "1")
+        Long idInmobiliaria,
+
+        @Schema(description = "Date days past due are counted from", example = "2024-06-30")
+        LocalDate fechaCorte,
+
+        @Schema(description = "Row level", example = "CONTRATO")
+        NivelAntiguedad nivel,
+
+        @Schema(description = "Totals of the whole inmobiliaria")
+        AntiguedadSaldoFila totales,
+
+        @Schema(description = "Rows in this page, largest balance first")
+        List<AntiguedadSaldoFila> content,
+
+        @Schema(description = "Page number (0-based)", example = "0")
+        int page,
+
+        @Schema(description = "Page size", example = "50")
+        int size,
+
+        @Schema(description = "Rows at this level", example = "1240")
+        long totalElements,
+
+        @Schema(description = "Number of pages", example = "25")
+        int totalPages,
+
+        @Schema(description = "When the underlying snapshot was computed", example = "2024-06-30T08:00:00")
+        LocalDateTime generadoEn
+) {
+}
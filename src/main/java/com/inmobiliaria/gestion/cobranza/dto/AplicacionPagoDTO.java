@@ -0,0 +1,16 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Portion of a payment allocated to one charge")
+public record AplicacionPagoDTO(
+
+        @Schema(description = "ID of the charge", example = "15")
+        Long idCargo,
+
+        @Schema(description = "Amount allocated to the charge", example = "6000.00")
+        BigDecimal monto
+) {
+}
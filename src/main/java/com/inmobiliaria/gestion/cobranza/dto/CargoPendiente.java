@@ -0,0 +1,11 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Unpaid charge considered by payment allocation, with what is still owed on it
+ * (amount plus surcharge minus payments already applied).
+ */
+public record CargoPendiente(Long idCargo, LocalDate fechaVencimiento, BigDecimal pendiente) {
+}
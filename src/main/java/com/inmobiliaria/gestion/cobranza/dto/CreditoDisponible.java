@@ -0,0 +1,10 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Part of a payment that could not be allocated when it was registered and stays as credit
+ * on the contract until new charges are billed.
+ */
+public record CreditoDisponible(Long idPago, Integer idContrato, BigDecimal disponible) {
+}
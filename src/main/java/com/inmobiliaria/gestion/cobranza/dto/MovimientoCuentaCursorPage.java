@@ -0,0 +1,19 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Keyset-paginated page of ledger entries ordered by entry ID")
+public record MovimientoCuentaCursorPage(
+
+        @Schema(description = "Entries in this page")
+        List<MovimientoCuentaDTO> content,
+
+        @Schema(description = "Cursor to request the next page (ID of the last entry in this page)", example = "250")
+        Long nextCursor,
+
+        @Schema(description = "Whether more entries exist after this page", example = "true")
+        boolean hasNext
+) {
+}
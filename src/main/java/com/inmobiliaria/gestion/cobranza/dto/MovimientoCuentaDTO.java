@@ -0,0 +1,38 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Entry of a contract's account ledger")
+public record MovimientoCuentaDTO(
+
+        @Schema(description = "Unique identifier of the entry", example = "1")
+        Long idMovimiento,
+
+        @Schema(description = "ID of the contract", example = "1")
+        Integer idContrato,
+
+        @Schema(description = "ID of the inmobiliaria", example = "1")
+        Long idInmobiliaria,
+
+        @Schema(description = "Entry type", example = "CARGO", allowableValues = {"CARGO", "RECARGO", "PAGO", "REVERSO"})
+        String tipoMovimiento,
+
+        @Schema(description = "Signed amount: positive increases the amount owed, negative reduces it", example = "12000.00")
+        BigDecimal monto,
+
+        @Schema(description = "Charge the entry refers to", example = "15")
+        Long idCargo,
+
+        @Schema(description = "Payment the entry refers to", example = "3")
+        Long idPago,
+
+        @Schema(description = "Entry description", example = "Cargo 2024-06")
+        String descripcion,
+
+        @Schema(description = "When the entry was recorded", example = "2024-06-01T02:00:00")
+        LocalDateTime fechaMovimiento
+) {
+}
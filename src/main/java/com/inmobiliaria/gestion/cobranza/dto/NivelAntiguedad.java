@@ -0,0 +1,7 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+public enum NivelAntiguedad {
+
+    CONTRATO,
+    PROPIEDAD
+}
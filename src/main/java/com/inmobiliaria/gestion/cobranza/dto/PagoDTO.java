@@ -0,0 +1,49 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Registered payment and how it was allocated")
+public record PagoDTO(
+
+        @Schema(description = "Unique identifier of the payment", example = "1")
+        Long idPago,
+
+        @Schema(description = "ID of the paid contract", example = "1")
+        Integer idContrato,
+
+        @Schema(description = "ID of the inmobiliaria that received the payment", example = "1")
+        Long idInmobiliaria,
+
+        @Schema(description = "Bank or gateway reference", example = "SPEI-20240605-000123")
+        String referenciaExterna,
+
+        @Schema(description = "Amount paid", example = "12000.00")
+        BigDecimal monto,
+
+        @Schema(description = "Amount allocated to charges; the rest is credit on the contract", example = "12000.00")
+        BigDecimal montoAplicado,
+
+        @Schema(description = "Date the payment was made", example = "2024-06-05")
+        LocalDate fechaPago,
+
+        @Schema(description = "Payment method", example = "TRANSFERENCIA")
+        String metodoPago,
+
+        @Schema(description = "Payment status", example = "APLICADO", allowableValues = {"APLICADO", "REVERTIDO"})
+        String estatusPago,
+
+        @Schema(description = "When the payment was registered", example = "2024-06-05T10:15:00")
+        LocalDateTime fechaRegistro,
+
+        @Schema(description = "When the payment was reversed", example = "2024-06-07T09:00:00")
+        LocalDateTime fechaReversion,
+
+        @Schema(description = "Charges the payment was allocated to, oldest first")
+        List<AplicacionPagoDTO> aplicaciones
+) {
+}
@@ -0,0 +1,8 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+/**
+ * Outcome of a payment ingestion: the payment, and whether this call created it or
+ * matched an earlier delivery of the same external reference.
+ */
+public record PagoRegistrado(PagoDTO pago, boolean nuevo) {
+}
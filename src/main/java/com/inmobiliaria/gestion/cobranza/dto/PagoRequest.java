@@ -0,0 +1,40 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Payment received for a rental contract")
+public record PagoRequest(
+
+        @NotNull(message = "Contract ID is required")
+        @Schema(description = "ID of the paid contract", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+        Integer idContrato,
+
+        @NotBlank(message = "External reference is required")
+        @Size(max = 100, message = "External reference must not exceed 100 characters")
+        @Schema(description = "Bank or gateway reference; resending the same reference returns the original payment",
+                example = "SPEI-20240605-000123", requiredMode = Schema.RequiredMode.REQUIRED)
+        String referenciaExterna,
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.0", inclusive = false, message = "Amount must be greater than 0")
+        @Digits(integer = 10, fraction = 2, message = "Amount must have at most 2 decimals")
+        @Schema(description = "Amount paid", example = "12000.00", requiredMode = Schema.RequiredMode.REQUIRED)
+        BigDecimal monto,
+
+        @NotNull(message = "Payment date is required")
+        @Schema(description = "Date the payment was made", example = "2024-06-05", requiredMode = Schema.RequiredMode.REQUIRED)
+        LocalDate fechaPago,
+
+        @Size(max = 30, message = "Payment method must not exceed 30 characters")
+        @Schema(description = "Payment method", example = "TRANSFERENCIA")
+        String metodoPago
+) {
+}
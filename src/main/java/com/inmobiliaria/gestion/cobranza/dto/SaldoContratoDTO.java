@@ -0,0 +1,23 @@
+package com.inmobiliaria.gestion.cobranza.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Running balance of a rental contract")
+public record SaldoContratoDTO(
+
+        @Schema(description = "ID of the contract", example = "1")
+        Integer idContrato,
+
+        @Schema(description = "ID of the inmobiliaria", example = "1")
+        Long idInmobiliaria,
+
+        @Schema(description = "Amount owed; negative when the tenant has unapplied credit", example = "6360.00")
+        BigDecimal saldo,
+
+        @Schema(description = "When the balance last changed", example = "2024-06-05T10:15:00")
+        LocalDateTime fechaActualizacion
+) {
+}
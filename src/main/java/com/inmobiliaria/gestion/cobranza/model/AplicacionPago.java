@@ -0,0 +1,38 @@
+package com.inmobiliaria.gestion.cobranza.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Portion of a payment allocated to one charge, kept so a reversal can undo it exactly.
+ */
+@Entity
+@Table(name = "aplicacion_pago", indexes = {
+        @Index(name = "idx_aplicacion_pago_pago", columnList = "id_pago"),
+        @Index(name = "idx_aplicacion_pago_cargo", columnList = "id_cargo")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AplicacionPago {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_aplicacion")
+    private Long idAplicacion;
+
+    @Column(name = "id_pago", nullable = false)
+    private Long idPago;
+
+    @Column(name = "id_cargo", nullable = false)
+    private Long idCargo;
+
+    @Column(name = "monto", precision = 12, scale = 2, nullable = false)
+    private BigDecimal monto;
+}
@@ -0,0 +1,64 @@
+package com.inmobiliaria.gestion.cobranza.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only ledger entry of a contract's account. Amounts are signed from the tenant's
+ * point of view: charges and surcharges increase what is owed, payments decrease it and a
+ * reversal adds a reversed payment back. Entries are written through JDBC and never updated;
+ * corrections are new entries.
+ */
+@Entity
+@Immutable
+@Table(name = "movimiento_cuenta", indexes = {
+        @Index(name = "idx_movimiento_cuenta_contrato", columnList = "id_contrato, id_movimiento"),
+        @Index(name = "idx_movimiento_cuenta_inmobiliaria_fecha", columnList = "id_inmobiliaria, fecha_movimiento")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovimientoCuenta {
+
+    public static final String TIPO_CARGO = "CARGO";
+    public static final String TIPO_RECARGO = "RECARGO";
+    public static final String TIPO_PAGO = "PAGO";
+    public static final String TIPO_REVERSO = "REVERSO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_movimiento")
+    private Long idMovimiento;
+
+    @Column(name = "id_contrato", nullable = false)
+    private Integer idContrato;
+
+    @Column(name = "id_inmobiliaria", nullable = false)
+    private Long idInmobiliaria;
+
+    @Column(name = "tipo_movimiento", length = 20, nullable = false)
+    private String tipoMovimiento;
+
+    @Column(name = "monto", precision = 14, scale = 2, nullable = false)
+    private BigDecimal monto;
+
+    @Column(name = "id_cargo")
+    private Long idCargo;
+
+    @Column(name = "id_pago")
+    private Long idPago;
+
+    @Column(name = "descripcion")
+    private String descripcion;
+
+    @Column(name = "fecha_movimiento", nullable = false)
+    private LocalDateTime fechaMovimiento;
+}
@@ -0,0 +1,81 @@
+package com.inmobiliaria.gestion.cobranza.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Payment received for a contract. The external reference (bank or gateway id) is unique
+ * per inmobiliaria, which makes re-delivered payments idempotent.
+ */
+@Entity
+@Table(name = "pago_renta",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_pago_renta_inmobiliaria_referencia",
+                             columnNames = {"id_inmobiliaria", "referencia_externa"})
+       },
+       indexes = {
+           @Index(name = "idx_pago_renta_contrato", columnList = "id_contrato")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PagoRenta {
+
+    public static final String ESTATUS_APLICADO = "APLICADO";
+    public static final String ESTATUS_REVERTIDO = "REVERTIDO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_pago")
+    private Long idPago;
+
+    @Column(name = "id_contrato", nullable = false)
+    private Integer idContrato;
+
+    @Column(name = "id_inmobiliaria", nullable = false)
+    private Long idInmobiliaria;
+
+    @Column(name = "referencia_externa", length = 100, nullable = false)
+    private String referenciaExterna;
+
+    @Column(name = "monto", precision = 12, scale = 2, nullable = false)
+    private BigDecimal monto;
+
+    /**
+     * Part of the payment allocated to charges; the rest stays as credit on the contract.
+     */
+    @Column(name = "monto_aplicado", precision = 12, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal montoAplicado = BigDecimal.ZERO;
+
+    @Column(name = "fecha_pago", nullable = false)
+    private LocalDate fechaPago;
+
+    @Column(name = "metodo_pago", length = 30)
+    private String metodoPago;
+
+    @Column(name = "estatus_pago", length = 20, nullable = false)
+    @Builder.Default
+    private String estatusPago = ESTATUS_APLICADO;
+
+    @Column(name = "fecha_registro", nullable = false)
+    private LocalDateTime fechaRegistro;
+
+    @Column(name = "fecha_reversion")
+    private LocalDateTime fechaReversion;
+
+    @PrePersist
+    protected void onCreate() {
+        if (fechaRegistro == null) {
+            fechaRegistro = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.inmobiliaria.gestion.cobranza.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running balance of a contract: the sum of its ledger entries, maintained with every
+ * entry written so a balance lookup is a primary-key read. Positive means the tenant owes
+ * money, negative is unapplied credit. Written only through JDBC.
+ */
+@Entity
+@Immutable
+@Table(name = "saldo_contrato", indexes = {
+        @Index(name = "idx_saldo_contrato_inmobiliaria", columnList = "id_inmobiliaria")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SaldoContrato {
+
+    @Id
+    @Column(name = "id_contrato")
+    private Integer idContrato;
+
+    @Column(name = "id_inmobiliaria", nullable = false)
+    private Long idInmobiliaria;
+
+    @Column(name = "saldo", precision = 14, scale = 2, nullable = false)
+    private BigDecimal saldo;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
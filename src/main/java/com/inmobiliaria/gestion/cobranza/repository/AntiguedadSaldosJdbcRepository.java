@@ -0,0 +1,75 @@
+package com.inmobiliaria.gestion.cobranza.repository;
+
+import com.inmobiliaria.gestion.cobranza.dto.AntiguedadSaldoFila;
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Accounts-receivable aging in one grouped pass over an agency's unpaid charges. The
+ * bucket boundaries are bound as dates, so the database compares fecha_vencimiento
+ * directly and returns one already-bucketed row per contract.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(MetricsConfig.JDBC_TIMER)
+public class AntiguedadSaldosJdbcRepository {
+
+    private static final String SQL_ANTIGUEDAD_POR_CONTRATO =
+            "SELECT c.id_contrato, ct.id_propiedad, " +
+            "SUM(CASE WHEN c.fecha_vencimiento > ? THEN c.pendiente ELSE 0 END) AS por_vencer, " +
+            "SUM(CASE WHEN c.fecha_vencimiento <= ? AND c.fecha_vencimiento >= ? THEN c.pendiente ELSE 0 END) AS d0_30, " +
+            "SUM(CASE WHEN c.fecha_vencimiento < ? AND c.fecha_vencimiento >= ? THEN c.pendiente ELSE 0 END) AS d31_60, " +
+            "SUM(CASE WHEN c.fecha_vencimiento < ? AND c.fecha_vencimiento >= ? THEN c.pendiente ELSE 0 END) AS d61_90, " +
+            "SUM(CASE WHEN c.fecha_vencimiento < ? THEN c.pendiente ELSE 0 END) AS mas_90, " +
+            "SUM(c.pendiente) AS total " +
+            "FROM (SELECT id_contrato, fecha_vencimiento, monto + monto_recargo - monto_pagado AS pendiente " +
+            "      FROM cargo_renta WHERE id_inmobiliaria = ? AND estatus_cargo = 'PENDIENTE') c " +
+            "LEFT JOIN contrato_renta ct ON ct.id_contrato = c.id_contrato " +
+            "GROUP BY c.id_contrato, ct.id_propiedad " +
+            "HAVING SUM(c.pendiente) > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams one aging row per contract with an outstanding balance. Must run inside a
+     * transaction so PostgreSQL honours the fetch size.
+     */
+    public void recorrerPorContrato(Long idInmobiliaria, LocalDate fechaCorte, int fetchSize,
+                                    Consumer<AntiguedadSaldoFila> consumer) {
+        Date corte = Date.valueOf(fechaCorte);
+        Date hace30 = Date.valueOf(fechaCorte.minusDays(30));
+        Date hace60 = Date.valueOf(fechaCorte.minusDays(60));
+        Date hace90 = Date.valueOf(fechaCorte.minusDays(90));
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_ANTIGUEDAD_POR_CONTRATO);
+            ps.setFetchSize(fetchSize);
+            ps.setDate(1, corte);
+            ps.setDate(2, corte);
+            ps.setDate(3, hace30);
+            ps.setDate(4, hace30);
+            ps.setDate(5, hace60);
+            ps.setDate(6, hace60);
+            ps.setDate(7, hace90);
+            ps.setDate(8, hace90);
+            ps.setLong(9, idInmobiliaria);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(new AntiguedadSaldoFila(
+                rs.getInt("id_contrato"),
+                rs.getObject("id_propiedad", Integer.class),
+                rs.getBigDecimal("por_vencer"),
+                rs.getBigDecimal("d0_30"),
+                rs.getBigDecimal("d31_60"),
+                rs.getBigDecimal("d61_90"),
+                rs.getBigDecimal("mas_90"),
+                rs.getBigDecimal("total"))));
+    }
+}
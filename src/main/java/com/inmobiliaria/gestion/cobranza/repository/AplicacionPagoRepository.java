@@ -0,0 +1,13 @@
+package com.inmobiliaria.gestion.cobranza.repository;
+
+import com.inmobiliaria.gestion.cobranza.model.AplicacionPago;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AplicacionPagoRepository extends JpaRepository<AplicacionPago, Long> {
+
+    List<AplicacionPago> findByIdPagoOrderByIdAplicacionAsc(Long idPago);
+}
@@ -0,0 +1,246 @@
+package com.inmobiliaria.gestion.cobranza.repository;
+
+import com.inmobiliaria.gestion.cobranza.dto.CargoPendiente;
+import com.inmobiliaria.gestion.cobranza.dto.CreditoDisponible;
+import com.inmobiliaria.gestion.cobranza.model.AplicacionPago;
+import com.inmobiliaria.gestion.cobranza.model.MovimientoCuenta;
+import com.inmobiliaria.gestion.cobranza.model.PagoRenta;
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.facturacion.model.CargoRenta;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * JDBC writes of the account ledger. Every batch of entries is inserted together with the
+ * matching running-balance deltas, aggregated per contract, so the balance table always
+ * equals the sum of the ledger. Balance rows are upserted in ascending contract order,
+ * which keeps concurrent writers from deadlocking on them.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(MetricsConfig.JDBC_TIMER)
+public class LibroCuentaJdbcRepository {
+
+    private static final String SQL_INSERT_MOVIMIENTO =
+            "INSERT INTO movimiento_cuenta (id_contrato, id_inmobiliaria, tipo_movimiento, monto, id_cargo, " +
+            "id_pago, descripcion, fecha_movimiento) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Ledger entries for charges just inserted by the billing run, which only knows their ids in the database
+    private static final String SQL_INSERT_MOVIMIENTOS_CARGO =
+            "INSERT INTO movimiento_cuenta (id_contrato, id_inmobiliaria, tipo_movimiento, monto, id_cargo, " +
+            "descripcion, fecha_movimiento) " +
+            "SELECT c.id_contrato, c.id_inmobiliaria, '" + MovimientoCuenta.TIPO_CARGO + "', c.monto, c.id_cargo, " +
+            "CONCAT('Cargo ', c.periodo), c.fecha_creacion FROM cargo_renta c " +
+            "WHERE c.id_inmobiliaria = ? AND c.periodo = ? AND c.id_contrato BETWEEN ? AND ?";
+
+    private static final String SQL_UPSERT_SALDO_POSTGRES =
+            "INSERT INTO saldo_contrato (id_contrato, id_inmobiliaria, saldo, fecha_actualizacion) " +
+            "VALUES (?, ?, ?, ?) ON CONFLICT (id_contrato) DO UPDATE " +
+            "SET saldo = saldo_contrato.saldo + EXCLUDED.saldo, fecha_actualizacion = EXCLUDED.fecha_actualizacion";
+
+    private static final String SQL_UPSERT_SALDO_ESTANDAR =
+            "MERGE INTO saldo_contrato s USING (SELECT CAST(? AS INTEGER) AS id_contrato, " +
+            "CAST(? AS BIGINT) AS id_inmobiliaria, CAST(? AS NUMERIC(14, 2)) AS delta, " +
+            "CAST(? AS TIMESTAMP) AS fecha) d ON s.id_contrato = d.id_contrato " +
+            "WHEN MATCHED THEN UPDATE SET saldo = s.saldo + d.delta, fecha_actualizacion = d.fecha " +
+            "WHEN NOT MATCHED THEN INSERT (id_contrato, id_inmobiliaria, saldo, fecha_actualizacion) " +
+            "VALUES (d.id_contrato, d.id_inmobiliaria, d.delta, d.fecha)";
+
+    private static final String SQL_CARGOS_PENDIENTES =
+            "SELECT id_cargo, fecha_vencimiento, monto + monto_recargo - monto_pagado AS pendiente " +
+            "FROM cargo_renta WHERE id_inmobiliaria = ? AND id_contrato = ? AND estatus_cargo = 'PENDIENTE' " +
+            "ORDER BY fecha_vencimiento, id_cargo";
+
+    // The amount is added twice because SET expressions read the row as it was before the update
+    private static final String SQL_ABONAR_CARGO =
+            "UPDATE cargo_renta SET monto_pagado = monto_pagado + ?, " +
+            "estatus_cargo = CASE WHEN monto_pagado + ? >= monto + monto_recargo THEN 'PAGADO' ELSE 'PENDIENTE' END " +
+            "WHERE id_inmobiliaria = ? AND id_cargo = ?";
+
+    private static final String SQL_CREDITOS_DISPONIBLES =
+            "SELECT id_pago, id_contrato, monto - monto_aplicado AS disponible FROM pago_renta " +
+            "WHERE id_inmobiliaria = ? AND id_contrato BETWEEN ? AND ? " +
+            "AND estatus_pago = '" + PagoRenta.ESTATUS_APLICADO + "' AND monto > monto_aplicado " +
+            "ORDER BY id_contrato, fecha_pago, id_pago";
+
+    private static final String SQL_SUMAR_APLICADO =
+            "UPDATE pago_renta SET monto_aplicado = monto_aplicado + ? WHERE id_pago = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    public Optional<Long> findInmobiliariaDeContrato(Integer idContrato) {
+        return jdbcTemplate.queryForList(
+                "SELECT p.id_inmobiliaria FROM contrato_renta c JOIN propiedad p ON p.id_propiedad = c.id_propiedad " +
+                "WHERE c.id_contrato = ?", Long.class, idContrato).stream().findFirst();
+    }
+
+    /**
+     * Appends the entries and moves the running balance of every contract they touch.
+     */
+    public void registrarMovimientos(List<MovimientoCuenta> movimientos) {
+        if (movimientos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERT_MOVIMIENTO, movimientos, movimientos.size(), (ps, movimiento) -> {
+            ps.setInt(1, movimiento.getIdContrato());
+            ps.setLong(2, movimiento.getIdInmobiliaria());
+            ps.setString(3, movimiento.getTipoMovimiento());
+            ps.setBigDecimal(4, movimiento.getMonto());
+            ps.setObject(5, movimiento.getIdCargo(), Types.BIGINT);
+            ps.setObject(6, movimiento.getIdPago(), Types.BIGINT);
+            ps.setString(7, movimiento.getDescripcion());
+            ps.setTimestamp(8, Timestamp.valueOf(movimiento.getFechaMovimiento()));
+        });
+
+        Map<Integer, Delta> deltas = new TreeMap<>();
+        for (MovimientoCuenta movimiento : movimientos) {
+            deltas.computeIfAbsent(movimiento.getIdContrato(), id -> new Delta(movimiento.getIdInmobiliaria()))
+                    .sumar(movimiento.getMonto());
+        }
+        actualizarSaldos(deltas);
+    }
+
+    /**
+     * Ledger entries and balance deltas for charges the billing run has just inserted. All
+     * charges belong to one inmobiliaria and period, as in a billing batch.
+     */
+    public void registrarCargosFacturados(List<CargoRenta> cargos) {
+        if (cargos.isEmpty()) {
+            return;
+        }
+        CargoRenta primero = cargos.get(0);
+        int desde = Integer.MAX_VALUE;
+        int hasta = Integer.MIN_VALUE;
+        Map<Integer, Delta> deltas = new TreeMap<>();
+        for (CargoRenta cargo : cargos) {
+            desde = Math.min(desde, cargo.getIdContrato());
+            hasta = Math.max(hasta, cargo.getIdContrato());
+            deltas.computeIfAbsent(cargo.getIdContrato(), id -> new Delta(cargo.getIdInmobiliaria()))
+                    .sumar(cargo.getMonto());
+        }
+        jdbcTemplate.update(SQL_INSERT_MOVIMIENTOS_CARGO, primero.getIdInmobiliaria(), primero.getPeriodo(), desde, hasta);
+        actualizarSaldos(deltas);
+    }
+
+    /**
+     * Creates the contract's balance row if missing and holds its row lock until the
+     * transaction ends, serialising payment allocation per contract.
+     */
+    public void bloquearSaldo(Integer idContrato, Long idInmobiliaria) {
+        Map<Integer, Delta> delta = new TreeMap<>();
+        delta.put(idContrato, new Delta(idInmobiliaria));
+        actualizarSaldos(delta);
+    }
+
+    /**
+     * Unpaid charges of the contract, oldest due date first.
+     */
+    public List<CargoPendiente> findCargosPendientes(Long idInmobiliaria, Integer idContrato) {
+        return jdbcTemplate.query(SQL_CARGOS_PENDIENTES,
+                (rs, rowNum) -> new CargoPendiente(
+                        rs.getLong("id_cargo"),
+                        rs.getDate("fecha_vencimiento").toLocalDate(),
+                        rs.getBigDecimal("pendiente")),
+                idInmobiliaria, idContrato);
+    }
+
+    /**
+     * Payments of the contracts in the id range with an unallocated remainder, per contract
+     * oldest payment first.
+     */
+    public List<CreditoDisponible> findCreditosDisponibles(Long idInmobiliaria, Integer desde, Integer hasta) {
+        return jdbcTemplate.query(SQL_CREDITOS_DISPONIBLES,
+                (rs, rowNum) -> new CreditoDisponible(
+                        rs.getLong("id_pago"),
+                        rs.getInt("id_contrato"),
+                        rs.getBigDecimal("disponible")),
+                idInmobiliaria, desde, hasta);
+    }
+
+    /**
+     * Adds allocations made after registration to the applied amount of their payments.
+     */
+    public void sumarMontoAplicado(List<AplicacionPago> aplicaciones) {
+        if (aplicaciones.isEmpty()) {
+            return;
+        }
+        Map<Long, BigDecimal> porPago = new TreeMap<>();
+        for (AplicacionPago aplicacion : aplicaciones) {
+            porPago.merge(aplicacion.getIdPago(), aplicacion.getMonto(), BigDecimal::add);
+        }
+        List<Map.Entry<Long, BigDecimal>> filas = new ArrayList<>(porPago.entrySet());
+        jdbcTemplate.batchUpdate(SQL_SUMAR_APLICADO, filas, filas.size(), (ps, fila) -> {
+            ps.setBigDecimal(1, fila.getValue());
+            ps.setLong(2, fila.getKey());
+        });
+    }
+
+    /**
+     * Adds the allocated amounts to the charges (negative amounts undo an allocation) and
+     * settles their status in the same statement, so concurrent surcharge updates are not lost.
+     */
+    public void abonarCargos(Long idInmobiliaria, List<AplicacionPago> aplicaciones, boolean revertir) {
+        if (aplicaciones.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(SQL_ABONAR_CARGO, aplicaciones, aplicaciones.size(), (ps, aplicacion) -> {
+            BigDecimal monto = revertir ? aplicacion.getMonto().negate() : aplicacion.getMonto();
+            ps.setBigDecimal(1, monto);
+            ps.setBigDecimal(2, monto);
+            ps.setLong(3, idInmobiliaria);
+            ps.setLong(4, aplicacion.getIdCargo());
+        });
+    }
+
+    private void actualizarSaldos(Map<Integer, Delta> deltas) {
+        List<Map.Entry<Integer, Delta>> filas = new ArrayList<>(deltas.entrySet());
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(esPostgres() ? SQL_UPSERT_SALDO_POSTGRES : SQL_UPSERT_SALDO_ESTANDAR,
+                filas, filas.size(), (ps, fila) -> {
+                    ps.setInt(1, fila.getKey());
+                    ps.setLong(2, fila.getValue().idInmobiliaria);
+                    ps.setBigDecimal(3, fila.getValue().monto);
+                    ps.setTimestamp(4, ahora);
+                });
+    }
+
+    private boolean esPostgres() {
+        Boolean esPostgres = postgres;
+        if (esPostgres == null) {
+            String producto = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            esPostgres = "PostgreSQL".equalsIgnoreCase(producto);
+            postgres = esPostgres;
+        }
+        return esPostgres;
+    }
+
+    private static final class Delta {
+
+        private final Long idInmobiliaria;
+        private BigDecimal monto = BigDecimal.ZERO;
+
+        private Delta(Long idInmobiliaria) {
+            this.idInmobiliaria = idInmobiliaria;
+        }
+
+        private void sumar(BigDecimal valor) {
+            monto = monto.add(valor);
+        }
+    }
+}
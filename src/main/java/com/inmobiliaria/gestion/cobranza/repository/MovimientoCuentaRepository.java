@@ -0,0 +1,14 @@
+package com.inmobiliaria.gestion.cobranza.repository;
+
+import com.inmobiliaria.gestion.cobranza.model.MovimientoCuenta;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MovimientoCuentaRepository extends JpaRepository<MovimientoCuenta, Long> {
+
+    List<MovimientoCuenta> findByIdContratoAndIdMovimientoGreaterThanOrderByIdMovimientoAsc(Integer idContrato, Long afterId, Limit limit);
+}
@@ -0,0 +1,16 @@
+package com.inmobiliaria.gestion.cobranza.repository;
+
+import com.inmobiliaria.gestion.cobranza.model.PagoRenta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PagoRentaRepository extends JpaRepository<PagoRenta, Long> {
+
+    Optional<PagoRenta> findByIdInmobiliariaAndReferenciaExterna(Long idInmobiliaria, String referenciaExterna);
+
+    List<PagoRenta> findByIdContratoOrderByFechaPagoDescIdPagoDesc(Integer idContrato);
+}
@@ -0,0 +1,9 @@
+package com.inmobiliaria.gestion.cobranza.repository;
+
+import com.inmobiliaria.gestion.cobranza.model.SaldoContrato;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SaldoContratoRepository extends JpaRepository<SaldoContrato, Integer> {
+}
@@ -0,0 +1,192 @@
+package com.inmobiliaria.gestion.cobranza.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inmobiliaria.gestion.cobranza.dto.AntiguedadSaldoFila;
+import com.inmobiliaria.gestion.cobranza.dto.AntiguedadSaldosReport;
+import com.inmobiliaria.gestion.cobranza.dto.NivelAntiguedad;
+import com.inmobiliaria.gestion.cobranza.repository.AntiguedadSaldosJdbcRepository;
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accounts-receivable aging per inmobiliaria. The database returns one bucketed row per
+ * contract in a single grouped pass; property rows and agency totals are folded from that
+ * stream, and the resulting snapshot is cached per agency and cut-off date so paging through
+ * the report does not re-aggregate. Writes to charges or payments call {@link #invalidar},
+ * which drops the agency's snapshots once their transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class AntiguedadSaldosService {
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    private static final Comparator<AntiguedadSaldoFila> MAYOR_SALDO_PRIMERO =
+            Comparator.comparing(AntiguedadSaldoFila::saldoTotal).reversed()
+                    .thenComparing(fila -> fila.idContrato() != null ? fila.idContrato() : fila.idPropiedad(),
+                            Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final AntiguedadSaldosJdbcRepository antiguedadSaldosJdbcRepository;
+
+    private final Map<Long, Long> generaciones = new ConcurrentHashMap<>();
+    private final AtomicLong generacionGlobal = new AtomicLong();
+    private Cache<Clave, Snapshot> snapshots;
+
+    @Value("${cobranza.antiguedad.cache-spec:maximumSize=200,expireAfterWrite=10m}")
+    private String cacheSpec = "maximumSize=200,expireAfterWrite=10m";
+
+    @Value("${cobranza.antiguedad.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    @PostConstruct
+    void init() {
+        snapshots = Caffeine.from(cacheSpec).build();
+    }
+
+    @Transactional(readOnly = true)
+    public AntiguedadSaldosReport getReporte(Long idInmobiliaria, LocalDate fechaCorte, NivelAntiguedad nivel,
+                                             int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number must not be negative");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Snapshot snapshot = obtenerSnapshot(new Clave(idInmobiliaria, fechaCorte));
+
+        List<AntiguedadSaldoFila> filas = nivel == NivelAntiguedad.PROPIEDAD ? snapshot.propiedades() : snapshot.contratos();
+        int desde = (int) Math.min((long) page * pageSize, filas.size());
+        int hasta = Math.min(desde + pageSize, filas.size());
+        int totalPages = (filas.size() + pageSize - 1) / pageSize;
+        return new AntiguedadSaldosReport(idInmobiliaria, fechaCorte, nivel, snapshot.totales(),
+                List.copyOf(filas.subList(desde, hasta)), page, pageSize, filas.size(), totalPages,
+                snapshot.generadoEn());
+    }
+
+    /**
+     * Drops the cached aging of the inmobiliaria after the current transaction commits.
+     */
+    public void invalidar(Long idInmobiliaria) {
+        alConfirmar(() -> {
+            generaciones.merge(idInmobiliaria, 1L, Long::sum);
+            snapshots.asMap().keySet().removeIf(clave -> clave.idInmobiliaria().equals(idInmobiliaria));
+        });
+    }
+
+    /**
+     * Drops every cached aging after the current transaction commits, for writes that span agencies.
+     */
+    public void invalidarTodo() {
+        alConfirmar(() -> {
+            generacionGlobal.incrementAndGet();
+            snapshots.invalidateAll();
+        });
+    }
+
+    private Snapshot obtenerSnapshot(Clave clave) {
+        Snapshot actual = snapshots.getIfPresent(clave);
+        if (actual != null) {
+            return actual;
+        }
+
+        long generacionInicial = generacionGlobal.get();
+        long generacionAgencia = generaciones.getOrDefault(clave.idInmobiliaria(), 0L);
+        Snapshot snapshot = calcular(clave);
+        // Only cache if no write for the agency committed while the report was being computed
+        if (generacionGlobal.get() == generacionInicial
+                && generaciones.getOrDefault(clave.idInmobiliaria(), 0L) == generacionAgencia) {
+            snapshots.put(clave, snapshot);
+        }
+        return snapshot;
+    }
+
+    private Snapshot calcular(Clave clave) {
+        long inicio = System.nanoTime();
+        List<AntiguedadSaldoFila> contratos = new ArrayList<>();
+        Map<Integer, Acumulado> propiedades = new HashMap<>();
+        Acumulado totales = new Acumulado(null);
+
+        antiguedadSaldosJdbcRepository.recorrerPorContrato(clave.idInmobiliaria(), clave.fechaCorte(), fetchSize, fila -> {
+            contratos.add(fila);
+            propiedades.computeIfAbsent(fila.idPropiedad(), Acumulado::new).sumar(fila);
+            totales.sumar(fila);
+        });
+
+        contratos.sort(MAYOR_SALDO_PRIMERO);
+        List<AntiguedadSaldoFila> filasPropiedad = new ArrayList<>(propiedades.size());
+        propiedades.values().forEach(acumulado -> filasPropiedad.add(acumulado.toFila()));
+        filasPropiedad.sort(MAYOR_SALDO_PRIMERO);
+
+        log.debug("Computed aging for inmobiliaria {} at {}: {} contracts in {} ms", clave.idInmobiliaria(),
+                clave.fechaCorte(), contratos.size(), (System.nanoTime() - inicio) / 1_000_000);
+        return new Snapshot(List.copyOf(contratos), List.copyOf(filasPropiedad), totales.toFila(), LocalDateTime.now());
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    private record Clave(Long idInmobiliaria, LocalDate fechaCorte) {
+    }
+
+    private record Snapshot(List<AntiguedadSaldoFila> contratos, List<AntiguedadSaldoFila> propiedades,
+                            AntiguedadSaldoFila totales, LocalDateTime generadoEn) {
+    }
+
+    private static final class Acumulado {
+
+        private final Integer idPropiedad;
+        private BigDecimal porVencer = BigDecimal.ZERO;
+        private BigDecimal d0a30 = BigDecimal.ZERO;
+        private BigDecimal d31a60 = BigDecimal.ZERO;
+        private BigDecimal d61a90 = BigDecimal.ZERO;
+        private BigDecimal mas90 = BigDecimal.ZERO;
+        private BigDecimal total = BigDecimal.ZERO;
+
+        private Acumulado(Integer idPropiedad) {
+            this.idPropiedad = idPropiedad;
+        }
+
+        private void sumar(AntiguedadSaldoFila fila) {
+            porVencer = porVencer.add(fila.saldoPorVencer());
+            d0a30 = d0a30.add(fila.saldo0a30());
+            d31a60 = d31a60.add(fila.saldo31a60());
+            d61a90 = d61a90.add(fila.saldo61a90());
+            mas90 = mas90.add(fila.saldoMas90());
+            total = total.add(fila.saldoTotal());
+        }
+
+        private AntiguedadSaldoFila toFila() {
+            return new AntiguedadSaldoFila(null, idPropiedad, porVencer, d0a30, d31a60, d61a90, mas90, total);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.inmobiliaria.gestion.cobranza.service;
+
+import com.inmobiliaria.gestion.cobranza.dto.CargoPendiente;
+import com.inmobiliaria.gestion.cobranza.model.AplicacionPago;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Oldest-first payment allocation: the payment settles charges in the order given (due
+ * date, then id) until it runs out, partially paying the last one it reaches.
+ */
+public final class AsignadorPagos {
+
+    private AsignadorPagos() {
+    }
+
+    public static List<AplicacionPago> asignar(Long idPago, BigDecimal monto, List<CargoPendiente> pendientes) {
+        List<AplicacionPago> aplicaciones = new ArrayList<>();
+        BigDecimal restante = monto;
+        for (CargoPendiente cargo : pendientes) {
+            if (restante.signum() <= 0) {
+                break;
+            }
+            if (cargo.pendiente().signum() <= 0) {
+                continue;
+            }
+            BigDecimal aplicado = restante.min(cargo.pendiente());
+            aplicaciones.add(AplicacionPago.builder()
+                    .idPago(idPago)
+                    .idCargo(cargo.idCargo())
+                    .monto(aplicado)
+                    .build());
+            restante = restante.subtract(aplicado);
+        }
+        return aplicaciones;
+    }
+
+    /**
+     * The charges with the given allocations taken off what is still owed on them, so several
+     * payments can be allocated against the same list one after another.
+     */
+    public static List<CargoPendiente> descontar(List<CargoPendiente> pendientes, List<AplicacionPago> aplicaciones) {
+        Map<Long, BigDecimal> aplicado = new HashMap<>();
+        for (AplicacionPago aplicacion : aplicaciones) {
+            aplicado.merge(aplicacion.getIdCargo(), aplicacion.getMonto(), BigDecimal::add);
+        }
+        List<CargoPendiente> restantes = new ArrayList<>(pendientes.size());
+        for (CargoPendiente cargo : pendientes) {
+            BigDecimal monto = aplicado.get(cargo.idCargo());
+            restantes.add(monto == null ? cargo
+                    : new CargoPendiente(cargo.idCargo(), cargo.fechaVencimiento(), cargo.pendiente().subtract(monto)));
+        }
+        return restantes;
+    }
+}
@@ -0,0 +1,279 @@
+package com.inmobiliaria.gestion.cobranza.service;
+
+import com.inmobiliaria.gestion.cobranza.dto.AplicacionPagoDTO;
+import com.inmobiliaria.gestion.cobranza.dto.CargoPendiente;
+import com.inmobiliaria.gestion.cobranza.dto.CreditoDisponible;
+import com.inmobiliaria.gestion.cobranza.dto.MovimientoCuentaCursorPage;
+import com.inmobiliaria.gestion.cobranza.dto.MovimientoCuentaDTO;
+import com.inmobiliaria.gestion.cobranza.dto.PagoDTO;
+import com.inmobiliaria.gestion.cobranza.dto.PagoRegistrado;
+import com.inmobiliaria.gestion.cobranza.dto.PagoRequest;
+import com.inmobiliaria.gestion.cobranza.dto.SaldoContratoDTO;
+import com.inmobiliaria.gestion.cobranza.model.AplicacionPago;
+import com.inmobiliaria.gestion.cobranza.model.MovimientoCuenta;
+import com.inmobiliaria.gestion.cobranza.model.PagoRenta;
+import com.inmobiliaria.gestion.cobranza.repository.AplicacionPagoRepository;
+import com.inmobiliaria.gestion.cobranza.repository.LibroCuentaJdbcRepository;
+import com.inmobiliaria.gestion.cobranza.repository.MovimientoCuentaRepository;
+import com.inmobiliaria.gestion.cobranza.repository.PagoRentaRepository;
+import com.inmobiliaria.gestion.cobranza.repository.SaldoContratoRepository;
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Payment ingestion and account queries. A payment locks its contract's balance row, is
+ * allocated to the unpaid charges oldest first and is booked in the ledger in one
+ * transaction; the external reference makes redelivered payments return the original.
+ * What a payment cannot allocate stays as credit and is allocated to the contract's charges
+ * as soon as the billing run books new ones.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class CobranzaService {
+
+    static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
+    private final LibroCuentaJdbcRepository libroCuentaJdbcRepository;
+    private final PagoRentaRepository pagoRentaRepository;
+    private final AplicacionPagoRepository aplicacionPagoRepository;
+    private final SaldoContratoRepository saldoContratoRepository;
+    private final MovimientoCuentaRepository movimientoCuentaRepository;
+    private final AntiguedadSaldosService antiguedadSaldosService;
+    private final EventoOutboxService eventoOutboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    public PagoRegistrado registrarPago(PagoRequest request) {
+        Long idInmobiliaria = libroCuentaJdbcRepository.findInmobiliariaDeContrato(request.idContrato())
+                .orElseThrow(() -> new IllegalArgumentException("Contract not found with id: " + request.idContrato()));
+
+        Optional<PagoRenta> existente = pagoRentaRepository
+                .findByIdInmobiliariaAndReferenciaExterna(idInmobiliaria, request.referenciaExterna());
+        if (existente.isPresent()) {
+            return repetido(existente.get(), request);
+        }
+        try {
+            return transactionTemplate.execute(status -> aplicarPago(request, idInmobiliaria));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent delivery of the same reference committed first
+            return pagoRentaRepository.findByIdInmobiliariaAndReferenciaExterna(idInmobiliaria, request.referenciaExterna())
+                    .map(pago -> repetido(pago, request))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    @Transactional
+    public Optional<PagoDTO> revertirPago(Long idPago) {
+        return pagoRentaRepository.findById(idPago).map(pago -> {
+            if (PagoRenta.ESTATUS_REVERTIDO.equals(pago.getEstatusPago())) {
+                throw new IllegalStateException("Payment " + idPago + " is already reversed");
+            }
+            libroCuentaJdbcRepository.bloquearSaldo(pago.getIdContrato(), pago.getIdInmobiliaria());
+            List<AplicacionPago> aplicaciones = aplicacionPagoRepository.findByIdPagoOrderByIdAplicacionAsc(idPago);
+            libroCuentaJdbcRepository.abonarCargos(pago.getIdInmobiliaria(), aplicaciones, true);
+
+            LocalDateTime ahora = LocalDateTime.now();
+            pago.setEstatusPago(PagoRenta.ESTATUS_REVERTIDO);
+            pago.setFechaReversion(ahora);
+            pagoRentaRepository.save(pago);
+            libroCuentaJdbcRepository.registrarMovimientos(List.of(MovimientoCuenta.builder()
+                    .idContrato(pago.getIdContrato())
+                    .idInmobiliaria(pago.getIdInmobiliaria())
+                    .tipoMovimiento(MovimientoCuenta.TIPO_REVERSO)
+                    .monto(pago.getMonto())
+                    .idPago(idPago)
+                    .descripcion("Reverso de pago " + pago.getReferenciaExterna())
+                    .fechaMovimiento(ahora)
+                    .build()));
+            antiguedadSaldosService.invalidar(pago.getIdInmobiliaria());
+            log.info("Reversed payment {} of contract {} ({} charges restored)", idPago, pago.getIdContrato(), aplicaciones.size());
+            PagoDTO dto = convertToDTO(pago, aplicaciones);
+            eventoOutboxService.registrar(EventoOutbox.AGREGADO_PAGO_RENTA, idPago, "PAGO_RENTA_REVERTIDO", dto);
+            return dto;
+        });
+    }
+
+    /**
+     * Allocates the credit of the given contracts to their unpaid charges, oldest payment and
+     * oldest charge first, recording the allocations on the payments that left the credit so
+     * a reversal still undoes them. The ledger is untouched: the balance already nets the
+     * payments against the charges. Runs in the caller's transaction, which must hold the
+     * contracts' balance rows locked, and returns the number of allocations made.
+     */
+    @Transactional
+    public int aplicarCreditos(Long idInmobiliaria, Collection<Integer> idContratos) {
+        if (idContratos.isEmpty()) {
+            return 0;
+        }
+        Integer desde = Collections.min(idContratos);
+        Integer hasta = Collections.max(idContratos);
+        Map<Integer, List<CreditoDisponible>> porContrato = new LinkedHashMap<>();
+        for (CreditoDisponible credito : libroCuentaJdbcRepository.findCreditosDisponibles(idInmobiliaria, desde, hasta)) {
+            if (idContratos.contains(credito.idContrato())) {
+                porContrato.computeIfAbsent(credito.idContrato(), id -> new ArrayList<>()).add(credito);
+            }
+        }
+        if (porContrato.isEmpty()) {
+            return 0;
+        }
+
+        List<AplicacionPago> aplicaciones = new ArrayList<>();
+        for (Map.Entry<Integer, List<CreditoDisponible>> contrato : porContrato.entrySet()) {
+            List<CargoPendiente> pendientes = libroCuentaJdbcRepository.findCargosPendientes(idInmobiliaria, contrato.getKey());
+            for (CreditoDisponible credito : contrato.getValue()) {
+                List<AplicacionPago> asignadas = AsignadorPagos.asignar(credito.idPago(), credito.disponible(), pendientes);
+                if (asignadas.isEmpty()) {
+                    break;
+                }
+                aplicaciones.addAll(asignadas);
+                pendientes = AsignadorPagos.descontar(pendientes, asignadas);
+            }
+        }
+
+        libroCuentaJdbcRepository.abonarCargos(idInmobiliaria, aplicaciones, false);
+        aplicacionPagoRepository.saveAll(aplicaciones);
+        libroCuentaJdbcRepository.sumarMontoAplicado(aplicaciones);
+        log.debug("Applied credit of {} contracts of inmobiliaria {} to {} charges", porContrato.size(), idInmobiliaria,
+                aplicaciones.size());
+        return aplicaciones.size();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PagoDTO> getPago(Long idPago) {
+        return pagoRentaRepository.findById(idPago)
+                .map(pago -> convertToDTO(pago, aplicacionPagoRepository.findByIdPagoOrderByIdAplicacionAsc(idPago)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PagoDTO> getPagosByContrato(Integer idContrato) {
+        return pagoRentaRepository.findByIdContratoOrderByFechaPagoDescIdPagoDesc(idContrato)
+                .stream()
+                .map(pago -> convertToDTO(pago, aplicacionPagoRepository.findByIdPagoOrderByIdAplicacionAsc(pago.getIdPago())))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SaldoContratoDTO> getSaldo(Integer idContrato) {
+        return saldoContratoRepository.findById(idContrato)
+                .map(saldo -> new SaldoContratoDTO(saldo.getIdContrato(), saldo.getIdInmobiliaria(),
+                        saldo.getSaldo(), saldo.getFechaActualizacion()));
+    }
+
+    @Transactional(readOnly = true)
+    public MovimientoCuentaCursorPage getMovimientos(Integer idContrato, Long cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        long afterId = cursor != null ? cursor : 0L;
+
+        // Fetch one extra row to know whether another page exists without a count query
+        List<MovimientoCuenta> movimientos = movimientoCuentaRepository
+                .findByIdContratoAndIdMovimientoGreaterThanOrderByIdMovimientoAsc(idContrato, afterId, Limit.of(pageSize + 1));
+        boolean hasNext = movimientos.size() > pageSize;
+        List<MovimientoCuentaDTO> content = movimientos.stream()
+                .limit(pageSize)
+                .map(this::convertToDTO)
+                .toList();
+        Long nextCursor = content.isEmpty() ? null : content.get(content.size() - 1).idMovimiento();
+        return new MovimientoCuentaCursorPage(content, nextCursor, hasNext);
+    }
+
+    private PagoRegistrado aplicarPago(PagoRequest request, Long idInmobiliaria) {
+        PagoRenta pago = pagoRentaRepository.saveAndFlush(PagoRenta.builder()
+                .idContrato(request.idContrato())
+                .idInmobiliaria(idInmobiliaria)
+                .referenciaExterna(request.referenciaExterna())
+                .monto(request.monto())
+                .fechaPago(request.fechaPago())
+                .metodoPago(request.metodoPago())
+                .build());
+
+        // Charges are read only after the lock, so concurrent payments never allocate the same balance twice
+        libroCuentaJdbcRepository.bloquearSaldo(request.idContrato(), idInmobiliaria);
+        List<AplicacionPago> aplicaciones = AsignadorPagos.asignar(pago.getIdPago(), request.monto(),
+                libroCuentaJdbcRepository.findCargosPendientes(idInmobiliaria, request.idContrato()));
+        libroCuentaJdbcRepository.abonarCargos(idInmobiliaria, aplicaciones, false);
+        aplicacionPagoRepository.saveAll(aplicaciones);
+
+        pago.setMontoAplicado(aplicaciones.stream()
+                .map(AplicacionPago::getMonto)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        pagoRentaRepository.save(pago);
+
+        libroCuentaJdbcRepository.registrarMovimientos(List.of(MovimientoCuenta.builder()
+                .idContrato(request.idContrato())
+                .idInmobiliaria(idInmobiliaria)
+                .tipoMovimiento(MovimientoCuenta.TIPO_PAGO)
+                .monto(request.monto().negate())
+                .idPago(pago.getIdPago())
+                .descripcion("Pago " + request.referenciaExterna())
+                .fechaMovimiento(pago.getFechaRegistro())
+                .build()));
+        antiguedadSaldosService.invalidar(idInmobiliaria);
+        log.info("Registered payment {} of {} for contract {}: {} applied to {} charges",
+                pago.getIdPago(), request.monto(), request.idContrato(), pago.getMontoAplicado(), aplicaciones.size());
+        PagoDTO dto = convertToDTO(pago, aplicaciones);
+        eventoOutboxService.registrar(EventoOutbox.AGREGADO_PAGO_RENTA, pago.getIdPago(), "PAGO_RENTA_REGISTRADO", dto);
+        return new PagoRegistrado(dto, true);
+    }
+
+    private PagoRegistrado repetido(PagoRenta pago, PagoRequest request) {
+        if (!pago.getIdContrato().equals(request.idContrato()) || pago.getMonto().compareTo(request.monto()) != 0) {
+            throw new IllegalStateException("Reference " + request.referenciaExterna()
+                    + " was already used for a different payment");
+        }
+        log.debug("Payment reference {} already registered as payment {}", request.referenciaExterna(), pago.getIdPago());
+        return new PagoRegistrado(convertToDTO(pago, aplicacionPagoRepository.findByIdPagoOrderByIdAplicacionAsc(pago.getIdPago())), false);
+    }
+
+    private PagoDTO convertToDTO(PagoRenta pago, List<AplicacionPago> aplicaciones) {
+        return new PagoDTO(
+                pago.getIdPago(),
+                pago.getIdContrato(),
+                pago.getIdInmobiliaria(),
+                pago.getReferenciaExterna(),
+                pago.getMonto(),
+                pago.getMontoAplicado(),
+                pago.getFechaPago(),
+                pago.getMetodoPago(),
+                pago.getEstatusPago(),
+                pago.getFechaRegistro(),
+                pago.getFechaReversion(),
+                aplicaciones.stream()
+                        .map(aplicacion -> new AplicacionPagoDTO(aplicacion.getIdCargo(), aplicacion.getMonto()))
+                        .toList()
+        );
+    }
+
+    private MovimientoCuentaDTO convertToDTO(MovimientoCuenta movimiento) {
+        return new MovimientoCuentaDTO(
+                movimiento.getIdMovimiento(),
+                movimiento.getIdContrato(),
+                movimiento.getIdInmobiliaria(),
+                movimiento.getTipoMovimiento(),
+                movimiento.getMonto(),
+                movimiento.getIdCargo(),
+                movimiento.getIdPago(),
+                movimiento.getDescripcion(),
+                movimiento.getFechaMovimiento()
+        );
+    }
+}
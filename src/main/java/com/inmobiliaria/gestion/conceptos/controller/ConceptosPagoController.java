@@ -1,8 +1,11 @@
 package com.inmobiliaria.gestion.conceptos.controller;
 
+import com.inmobiliaria.gestion.cambios.web.EtagEntidad;
+import com.inmobiliaria.gestion.cambios.web.EtagLista;
 import com.inmobiliaria.gestion.conceptos.dto.ConceptosPagoCreateRequest;
 import com.inmobiliaria.gestion.conceptos.dto.ConceptosPagoDTO;
 import com.inmobiliaria.gestion.conceptos.dto.ConceptosPagoUpdateRequest;
+import com.inmobiliaria.gestion.conceptos.model.ConceptosPago;
 import com.inmobiliaria.gestion.conceptos.service.ConceptosPagoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -44,6 +47,7 @@ public class ConceptosPagoController {
             @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
             @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions")
     })
+    @EtagLista(ConceptosPago.class)
     @GetMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Page<ConceptosPagoDTO>> getAllConceptosPago(
@@ -56,7 +60,7 @@ public class ConceptosPagoController {
             @Parameter(description = "Sort direction", example = "asc")
             @RequestParam(defaultValue = "asc") String sortDir) {
 
-        log.info("Getting all conceptos de pago - page: {}, size: {}, sortBy: {}, sortDir: {}", page, size, sortBy, sortDir);
+        log.debug("Getting all conceptos de pago - page: {}, size: {}, sortBy: {}, sortDir: {}", page, size, sortBy, sortDir);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
@@ -75,13 +79,14 @@ public class ConceptosPagoController {
             @ApiResponse(responseCode = "404", description = "Payment concept not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
+    @EtagEntidad(ConceptosPago.class)
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ConceptosPagoDTO> getConceptoPagoById(
             @Parameter(description = "Payment concept ID", required = true, example = "1")
             @PathVariable Integer id) {
         
-        log.info("Getting concepto de pago by id: {}", id);
+        log.debug("Getting concepto de pago by id: {}", id);
         
         return conceptosPagoService.findById(id)
                 .map(ResponseEntity::ok)
@@ -93,6 +98,7 @@ public class ConceptosPagoController {
             @ApiResponse(responseCode = "200", description = "Payment concepts found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
+    @EtagLista(ConceptosPago.class)
     @GetMapping("/inmobiliaria/{idInmobiliaria}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Page<ConceptosPagoDTO>> getConceptosPagoByInmobiliaria(
@@ -104,7 +110,7 @@ public class ConceptosPagoController {
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "nombreConcepto") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
         
-        log.info("Getting conceptos de pago by inmobiliaria: {}, activo: {}", idInmobiliaria, activo);
+        log.debug("Getting conceptos de pago by inmobiliaria: {}, activo: {}", idInmobiliaria, activo);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
@@ -123,6 +129,7 @@ public class ConceptosPagoController {
             @ApiResponse(responseCode = "200", description = "Search completed successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
+    @EtagLista(ConceptosPago.class)
     @GetMapping("/search")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Page<ConceptosPagoDTO>> searchConceptosPago(
@@ -136,7 +143,7 @@ public class ConceptosPagoController {
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "nombreConcepto") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
 
-        log.info("Searching conceptos de pago with filters - inmobiliaria: {}, nombre: {}, tipo: {}, activo: {}, permite recargos: {}", 
+        log.debug("Searching conceptos de pago with filters - inmobiliaria: {}, nombre: {}, tipo: {}, activo: {}, permite recargos: {}", 
                 idInmobiliaria, nombreConcepto, tipoConcepto, activo, permiteRecargos);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
@@ -165,7 +172,7 @@ public class ConceptosPagoController {
             @Parameter(description = "Payment concept data", required = true)
             @Valid @RequestBody ConceptosPagoCreateRequest request) {
         
-        log.info("Creating new concepto de pago: {}", request.nombreConcepto());
+        log.debug("Creating new concepto de pago: {}", request.nombreConcepto());
         
         try {
             ConceptosPagoDTO createdConcepto = conceptosPagoService.create(request);
@@ -193,7 +200,7 @@ public class ConceptosPagoController {
             @Parameter(description = "Updated payment concept data", required = true)
             @Valid @RequestBody ConceptosPagoUpdateRequest request) {
         
-        log.info("Updating concepto de pago with id: {}", id);
+        log.debug("Updating concepto de pago with id: {}", id);
         
         try {
             ConceptosPagoDTO updatedConcepto = conceptosPagoService.update(id, request);
@@ -220,7 +227,7 @@ public class ConceptosPagoController {
             @Parameter(description = "Payment concept ID", required = true)
             @PathVariable Integer id) {
         
-        log.info("Deleting concepto de pago with id: {}", id);
+        log.debug("Deleting concepto de pago with id: {}", id);
         
         try {
             conceptosPagoService.deleteById(id);
@@ -246,7 +253,7 @@ public class ConceptosPagoController {
             @Parameter(description = "New active status", required = true)
             @RequestParam Boolean activo) {
         
-        log.info("Changing status of concepto de pago with id: {} to: {}", id, activo);
+        log.debug("Changing status of concepto de pago with id: {} to: {}", id, activo);
         
         try {
             ConceptosPagoDTO updatedConcepto = conceptosPagoService.changeStatus(id, activo);
@@ -258,6 +265,7 @@ public class ConceptosPagoController {
     }
 
     @Operation(summary = "Get payment concepts by type", description = "Get all payment concepts with a specific type")
+    @EtagLista(ConceptosPago.class)
     @GetMapping("/tipo/{tipoConcepto}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Page<ConceptosPagoDTO>> getConceptosPagoByTipo(
@@ -268,7 +276,7 @@ public class ConceptosPagoController {
             @RequestParam(defaultValue = "nombreConcepto") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir) {
 
-        log.info("Getting conceptos de pago by tipo: {}", tipoConcepto);
+        log.debug("Getting conceptos de pago by tipo: {}", tipoConcepto);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
@@ -281,6 +289,7 @@ public class ConceptosPagoController {
     }
 
     @Operation(summary = "Get payment concepts by charges permission", description = "Get all payment concepts that allow or don't allow charges")
+    @EtagLista(ConceptosPago.class)
     @GetMapping("/permite-recargos/{permiteRecargos}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Page<ConceptosPagoDTO>> getConceptosPagoByPermiteRecargos(
@@ -291,7 +300,7 @@ public class ConceptosPagoController {
             @RequestParam(defaultValue = "nombreConcepto") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir) {
 
-        log.info("Getting conceptos de pago by permite recargos: {}", permiteRecargos);
+        log.debug("Getting conceptos de pago by permite recargos: {}", permiteRecargos);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
@@ -309,7 +318,7 @@ public class ConceptosPagoController {
     public ResponseEntity<Map<String, Object>> getStatistics(
             @Parameter(description = "Inmobiliaria ID to filter statistics") @RequestParam(required = false) Long idInmobiliaria) {
         
-        log.info("Getting conceptos de pago statistics for inmobiliaria: {}", idInmobiliaria);
+        log.debug("Getting conceptos de pago statistics for inmobiliaria: {}", idInmobiliaria);
         
         Map<String, Object> statistics;
         
@@ -333,7 +342,7 @@ public class ConceptosPagoController {
     public ResponseEntity<List<String>> getDistinctTiposConcepto(
             @Parameter(description = "Inmobiliaria ID to filter types") @RequestParam(required = false) Long idInmobiliaria) {
         
-        log.info("Getting distinct tipos concepto for inmobiliaria: {}", idInmobiliaria);
+        log.debug("Getting distinct tipos concepto for inmobiliaria: {}", idInmobiliaria);
         
         List<String> tipos = (idInmobiliaria != null) 
                 ? conceptosPagoService.getDistinctTiposConceptoByInmobiliaria(idInmobiliaria)
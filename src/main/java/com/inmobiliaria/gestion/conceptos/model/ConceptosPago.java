@@ -1,5 +1,6 @@
 package com.inmobiliaria.gestion.conceptos.model;
 
+import com.inmobiliaria.gestion.cambios.service.CambioTablaListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -13,6 +14,7 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "conceptos_pago")
+@EntityListeners(CambioTablaListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +22,8 @@ import java.time.LocalDate;
 public class ConceptosPago {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conceptos_pago_seq")
+    @SequenceGenerator(name = "conceptos_pago_seq", sequenceName = "conceptos_pago_seq", allocationSize = 50)
     @Column(name = "id_concepto")
     private Integer idConcepto;
 
@@ -51,6 +54,10 @@ public class ConceptosPago {
     @Column(name = "fecha_creacion")
     private LocalDate fechaCreacion;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (fechaCreacion == null) {
@@ -5,8 +5,17 @@ import com.inmobiliaria.gestion.conceptos.dto.ConceptosPagoDTO;
 import com.inmobiliaria.gestion.conceptos.dto.ConceptosPagoUpdateRequest;
 import com.inmobiliaria.gestion.conceptos.model.ConceptosPago;
 import com.inmobiliaria.gestion.conceptos.repository.ConceptosPagoRepository;
+import com.inmobiliaria.gestion.config.CacheConfig;
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.configuracion_recargos.service.PoliticaRecargoCache;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,9 +29,13 @@ import java.util.Optional;
 @Transactional
 @RequiredArgsConstructor
 @Slf4j
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ConceptosPagoService {
 
     private final ConceptosPagoRepository conceptosPagoRepository;
+    private final PoliticaRecargoCache politicaRecargoCache;
+    private final DashboardService dashboardService;
+    private final EventoOutboxService eventoOutboxService;
 
     @Transactional(readOnly = true)
     public List<ConceptosPagoDTO> findAll() {
@@ -129,6 +142,7 @@ public class ConceptosPagoService {
                 .map(this::convertToDTO);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TIPOS_CONCEPTO, allEntries = true)
     public ConceptosPagoDTO create(ConceptosPagoCreateRequest request) {
         log.debug("Creating new concepto de pago: {}", request.nombreConcepto());
         
@@ -149,11 +163,14 @@ public class ConceptosPagoService {
         }
 
         ConceptosPago savedConcepto = conceptosPagoRepository.save(conceptoPago);
+        politicaRecargoCache.invalidar(savedConcepto.getIdInmobiliaria());
+        dashboardService.invalidar();
         log.info("Created concepto de pago with id: {}", savedConcepto.getIdConcepto());
         
         return convertToDTO(savedConcepto);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TIPOS_CONCEPTO, allEntries = true)
     public ConceptosPagoDTO update(Integer id, ConceptosPagoUpdateRequest request) {
         log.debug("Updating concepto de pago with id: {}", id);
         
@@ -175,11 +192,14 @@ public class ConceptosPagoService {
         existingConcepto.setActivo(request.activo() != null ? request.activo() : true);
 
         ConceptosPago updatedConcepto = conceptosPagoRepository.save(existingConcepto);
+        politicaRecargoCache.invalidar(updatedConcepto.getIdInmobiliaria());
+        dashboardService.invalidar();
         log.info("Updated concepto de pago with id: {}", updatedConcepto.getIdConcepto());
         
         return convertToDTO(updatedConcepto);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TIPOS_CONCEPTO, allEntries = true)
     public void deleteById(Integer id) {
         log.debug("Deleting concepto de pago with id: {}", id);
         
@@ -188,6 +208,8 @@ public class ConceptosPagoService {
         }
 
         conceptosPagoRepository.deleteById(id);
+        politicaRecargoCache.invalidarTodo();
+        dashboardService.invalidar();
         log.info("Deleted concepto de pago with id: {}", id);
     }
 
@@ -199,9 +221,13 @@ public class ConceptosPagoService {
 
         concepto.setActivo(activo);
         ConceptosPago updatedConcepto = conceptosPagoRepository.save(concepto);
+        politicaRecargoCache.invalidar(updatedConcepto.getIdInmobiliaria());
+        dashboardService.invalidar();
         log.info("Changed status of concepto de pago with id: {} to: {}", id, activo);
-        
-        return convertToDTO(updatedConcepto);
+
+        ConceptosPagoDTO dto = convertToDTO(updatedConcepto);
+        eventoOutboxService.registrar(EventoOutbox.AGREGADO_CONCEPTO_PAGO, id, "CONCEPTO_PAGO_ESTATUS_CAMBIADO", dto);
+        return dto;
     }
 
     @Transactional(readOnly = true)
@@ -211,12 +237,14 @@ public class ConceptosPagoService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TIPOS_CONCEPTO, key = "'all'")
     public List<String> getDistinctTiposConcepto() {
         log.debug("Getting distinct tipos concepto");
         return conceptosPagoRepository.findDistinctTiposConcepto();
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TIPOS_CONCEPTO, key = "#idInmobiliaria")
     public List<String> getDistinctTiposConceptoByInmobiliaria(Long idInmobiliaria) {
         log.debug("Getting distinct tipos concepto by inmobiliaria: {}", idInmobiliaria);
         return conceptosPagoRepository.findDistinctTiposConceptoByInmobiliaria(idInmobiliaria);
@@ -0,0 +1,46 @@
+package com.inmobiliaria.gestion.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Caffeine caches for rarely-changing reference data: roles, payment concept types, the
+ * cities and states of inmobiliarias and surcharge configurations. Writes evict through
+ * {@code @CacheEvict}; the transaction-aware proxy defers evictions and puts to the commit,
+ * so a concurrent reader cannot re-cache rows that are about to change. Statistics are
+ * recorded, which makes Spring Boot publish {@code cache.gets} (hit/miss), {@code cache.puts}
+ * and {@code cache.evictions} for every cache.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "cache.reference-data.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+
+    public static final String ROLES = "roles";
+    public static final String TIPOS_CONCEPTO = "tiposConcepto";
+    public static final String CIUDADES_INMOBILIARIA = "inmobiliariaCiudades";
+    public static final String ESTADOS_INMOBILIARIA = "inmobiliariaEstados";
+    public static final String CONFIGURACIONES_RECARGO = "configuracionesRecargo";
+
+    @Value("${cache.reference-data.spec:maximumSize=1000,expireAfterWrite=1h}")
+    private String spec = "maximumSize=1000,expireAfterWrite=1h";
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.from(spec).recordStats());
+        // Fixed names, so the caches exist (and are bound to metrics) at startup
+        caffeineCacheManager.setCacheNames(List.of(
+                ROLES, TIPOS_CONCEPTO, CIUDADES_INMOBILIARIA, ESTADOS_INMOBILIARIA, CONFIGURACIONES_RECARGO));
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
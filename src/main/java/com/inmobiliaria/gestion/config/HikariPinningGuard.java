@@ -0,0 +1,57 @@
+package com.inmobiliaria.gestion.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Sizes the Hikari pool for virtual threads. A driver that performs socket IO inside
+ * {@code synchronized} pins the virtual thread to its carrier for the whole query, so with
+ * more pooled connections than carriers every carrier can end up blocked on the database and
+ * no other request makes progress. For such drivers the pool is capped at the carrier count;
+ * drivers that use j.u.c locks (PostgreSQL 42.6 and later) keep the configured size.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class HikariPinningGuard implements BeanPostProcessor {
+
+    private final int carriers;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource && dataSource.getJdbcUrl() != null) {
+            guard(dataSource);
+        }
+        return bean;
+    }
+
+    void guard(HikariDataSource dataSource) {
+        Driver driver;
+        try {
+            driver = DriverManager.getDriver(dataSource.getJdbcUrl());
+        } catch (SQLException e) {
+            log.warn("Cannot resolve the JDBC driver for {}; pool size left at {}", dataSource.getJdbcUrl(), dataSource.getMaximumPoolSize());
+            return;
+        }
+        String nombre = driver.getClass().getName();
+        if (pinsCarrierThreads(nombre, driver.getMajorVersion(), driver.getMinorVersion())
+                && dataSource.getMaximumPoolSize() > carriers) {
+            log.warn("JDBC driver {} {}.{} pins virtual threads; capping the connection pool from {} to {} (carrier threads)",
+                    nombre, driver.getMajorVersion(), driver.getMinorVersion(), dataSource.getMaximumPoolSize(), carriers);
+            dataSource.setMaximumPoolSize(carriers);
+            if (dataSource.getMinimumIdle() > carriers) {
+                dataSource.setMinimumIdle(carriers);
+            }
+        }
+        log.info("Virtual threads enabled: {} carrier threads, connection pool of {}", carriers, dataSource.getMaximumPoolSize());
+    }
+
+    static boolean pinsCarrierThreads(String driverClass, int major, int minor) {
+        return driverClass.startsWith("org.postgresql.") && (major < 42 || (major == 42 && minor < 6));
+    }
+}
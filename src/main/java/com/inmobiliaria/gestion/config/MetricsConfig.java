@@ -0,0 +1,22 @@
+package com.inmobiliaria.gestion.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on services and JDBC repositories. HTTP requests, Spring Data
+ * repository invocations and the Hikari pool are instrumented by Spring Boot itself.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "app.service.calls";
+    public static final String JDBC_TIMER = "app.jdbc.queries";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.inmobiliaria.gestion.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Virtual-thread mode, switched with {@code spring.threads.virtual.enabled}. Spring Boot then
+ * serves Tomcat requests and runs {@code @Async} and {@code @Scheduled} work on virtual threads;
+ * this configuration only adds the connection pool guard that mode needs.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static HikariPinningGuard hikariPinningGuard() {
+        return new HikariPinningGuard(carrierParallelism());
+    }
+
+    static int carrierParallelism() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -1,6 +1,9 @@
 package com.inmobiliaria.gestion.configuracion_recargos.controller;
 
+import com.inmobiliaria.gestion.cambios.web.EtagEntidad;
+import com.inmobiliaria.gestion.cambios.web.EtagLista;
 import com.inmobiliaria.gestion.configuracion_recargos.dto.ConfiguracionRecargosDTO;
+import com.inmobiliaria.gestion.configuracion_recargos.model.ConfiguracionRecargos;
 import com.inmobiliaria.gestion.configuracion_recargos.service.ConfiguracionRecargosService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -38,6 +41,7 @@ public class ConfiguracionRecargosController {
 
     @Operation(summary = "Obtener todas las configuraciones", description = "Recupera todas las configuraciones de recargos del sistema")
     @ApiResponse(responseCode = "200", description = "Lista de configuraciones obtenida exitosamente")
+    @EtagLista(ConfiguracionRecargos.class)
     @GetMapping
     public ResponseEntity<List<ConfiguracionRecargosDTO>> findAll() {
         List<ConfiguracionRecargosDTO> configurations = configuracionRecargosService.findAll();
@@ -49,6 +53,7 @@ public class ConfiguracionRecargosController {
             @ApiResponse(responseCode = "200", description = "Configuración encontrada"),
             @ApiResponse(responseCode = "404", description = "Configuración no encontrada")
     })
+    @EtagEntidad(ConfiguracionRecargos.class)
     @GetMapping("/{id}")
     public ResponseEntity<ConfiguracionRecargosDTO> findById(
             @Parameter(description = "ID de la configuración") @PathVariable Long id) {
@@ -88,6 +93,7 @@ public class ConfiguracionRecargosController {
 
     @Operation(summary = "Obtener configuraciones por inmobiliaria", description = "Recupera todas las configuraciones de una inmobiliaria específica")
     @ApiResponse(responseCode = "200", description = "Lista de configuraciones por inmobiliaria obtenida exitosamente")
+    @EtagLista(ConfiguracionRecargos.class)
     @GetMapping("/inmobiliaria/{idInmobiliaria}")
     public ResponseEntity<List<ConfiguracionRecargosDTO>> findByInmobiliaria(
             @Parameter(description = "ID de la inmobiliaria") @PathVariable Long idInmobiliaria) {
@@ -97,6 +103,7 @@ public class ConfiguracionRecargosController {
 
     @Operation(summary = "Obtener configuraciones activas por inmobiliaria", description = "Recupera las configuraciones activas de una inmobiliaria específica")
     @ApiResponse(responseCode = "200", description = "Lista de configuraciones activas obtenida exitosamente")
+    @EtagLista(ConfiguracionRecargos.class)
     @GetMapping("/inmobiliaria/{idInmobiliaria}/activas")
     public ResponseEntity<List<ConfiguracionRecargosDTO>> findActiveByInmobiliaria(
             @Parameter(description = "ID de la inmobiliaria") @PathVariable Long idInmobiliaria) {
@@ -106,6 +113,7 @@ public class ConfiguracionRecargosController {
 
     @Operation(summary = "Obtener configuraciones por tipo de recargo", description = "Recupera configuraciones filtradas por tipo de recargo")
     @ApiResponse(responseCode = "200", description = "Lista de configuraciones por tipo obtenida exitosamente")
+    @EtagLista(ConfiguracionRecargos.class)
     @GetMapping("/tipo/{tipoRecargo}")
     public ResponseEntity<List<ConfiguracionRecargosDTO>> findByTipoRecargo(
             @Parameter(description = "Tipo de recargo") @PathVariable String tipoRecargo) {
@@ -118,6 +126,7 @@ public class ConfiguracionRecargosController {
             @ApiResponse(responseCode = "200", description = "Configuración encontrada"),
             @ApiResponse(responseCode = "404", description = "Configuración no encontrada")
     })
+    @EtagLista(ConfiguracionRecargos.class)
     @GetMapping("/inmobiliaria/{idInmobiliaria}/tipo/{tipoRecargo}")
     public ResponseEntity<ConfiguracionRecargosDTO> findByInmobiliariaAndTipoRecargo(
             @Parameter(description = "ID de la inmobiliaria") @PathVariable Long idInmobiliaria,
@@ -1,5 +1,6 @@
 package com.inmobiliaria.gestion.configuracion_recargos.model;
 
+import com.inmobiliaria.gestion.cambios.service.CambioTablaListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Getter;
@@ -11,9 +12,11 @@ import java.math.BigDecimal;
 @Setter
 @Entity
 @Table(name = "configuracion_recargos")
+@EntityListeners(CambioTablaListener.class)
 public class ConfiguracionRecargos {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "configuracion_recargos_seq")
+    @SequenceGenerator(name = "configuracion_recargos_seq", sequenceName = "configuracion_recargos_seq", allocationSize = 50)
     @Column(name = "id_configuracion", nullable = false)
     private Long idConfiguracionRecargo;
 
@@ -80,4 +83,7 @@ public class ConfiguracionRecargos {
     @DecimalMin(value = "0.0", inclusive = false)
     private BigDecimal monto;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
\ No newline at end of file
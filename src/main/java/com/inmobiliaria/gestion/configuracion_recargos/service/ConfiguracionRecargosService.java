@@ -1,9 +1,17 @@
 package com.inmobiliaria.gestion.configuracion_recargos.service;
 
+import com.inmobiliaria.gestion.config.CacheConfig;
+import com.inmobiliaria.gestion.config.MetricsConfig;
 import com.inmobiliaria.gestion.configuracion_recargos.dto.ConfiguracionRecargosDTO;
 import com.inmobiliaria.gestion.configuracion_recargos.model.ConfiguracionRecargos;
 import com.inmobiliaria.gestion.configuracion_recargos.repository.ConfiguracionRecargosRepository;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,85 +21,109 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ConfiguracionRecargosService {
     private final ConfiguracionRecargosRepository configuracionRecargosRepository;
+    private final PoliticaRecargoCache politicaRecargoCache;
+    private final DashboardService dashboardService;
+    private final EventoOutboxService eventoOutboxService;
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CONFIGURACIONES_RECARGO, allEntries = true)
     public ConfiguracionRecargosDTO save(ConfiguracionRecargosDTO dto) {
         ConfiguracionRecargos entity = new ConfiguracionRecargos();
         updateEntityFromDto(entity, dto);
         ConfiguracionRecargos savedEntity = configuracionRecargosRepository.save(entity);
+        politicaRecargoCache.invalidar(savedEntity.getIdInmobiliaria());
+        dashboardService.invalidar();
         return toDto(savedEntity);
     }
 
     @Transactional(readOnly = true)
     public List<ConfiguracionRecargosDTO> findAll() {
         return configuracionRecargosRepository.findAll().stream()
-                .map(this::toDto)
+                .map(ConfiguracionRecargosService::toDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Optional<ConfiguracionRecargosDTO> findById(Long id) {
-        return configuracionRecargosRepository.findById(id).map(this::toDto);
+        return configuracionRecargosRepository.findById(id).map(ConfiguracionRecargosService::toDto);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CONFIGURACIONES_RECARGO, allEntries = true)
     public Optional<ConfiguracionRecargosDTO> update(Long id, ConfiguracionRecargosDTO dto) {
         return configuracionRecargosRepository.findById(id)
                 .map(entity -> {
+                    politicaRecargoCache.invalidar(entity.getIdInmobiliaria());
                     updateEntityFromDto(entity, dto);
-                    return toDto(configuracionRecargosRepository.save(entity));
+                    ConfiguracionRecargos savedEntity = configuracionRecargosRepository.save(entity);
+                    politicaRecargoCache.invalidar(savedEntity.getIdInmobiliaria());
+                    dashboardService.invalidar();
+                    return toDto(savedEntity);
                 });
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CONFIGURACIONES_RECARGO, allEntries = true)
     public boolean deleteById(Long id) {
         if (configuracionRecargosRepository.existsById(id)) {
             configuracionRecargosRepository.deleteById(id);
+            politicaRecargoCache.invalidarTodo();
+            dashboardService.invalidar();
             return true;
         }
         return false;
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CONFIGURACIONES_RECARGO, key = "'todas:' + #idInmobiliaria")
     public List<ConfiguracionRecargosDTO> findByInmobiliaria(Long idInmobiliaria) {
         return configuracionRecargosRepository.findByIdInmobiliaria(idInmobiliaria).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+                .map(ConfiguracionRecargosService::toDto)
+                .toList();
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CONFIGURACIONES_RECARGO, key = "'activas:' + #idInmobiliaria")
     public List<ConfiguracionRecargosDTO> findActiveByInmobiliaria(Long idInmobiliaria) {
         return configuracionRecargosRepository.findByIdInmobiliaria(idInmobiliaria).stream()
                 .filter(ConfiguracionRecargos::getActivo)
-                .map(this::toDto)
-                .collect(Collectors.toList());
+                .map(ConfiguracionRecargosService::toDto)
+                .toList();
     }
 
     @Transactional(readOnly = true)
     public List<ConfiguracionRecargosDTO> findByTipoRecargo(String tipoRecargo) {
         return configuracionRecargosRepository.findByTipoRecargo(tipoRecargo).stream()
-                .map(this::toDto)
+                .map(ConfiguracionRecargosService::toDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Optional<ConfiguracionRecargosDTO> findByInmobiliariaAndTipoRecargo(Long idInmobiliaria, String tipoRecargo) {
         return configuracionRecargosRepository.findByIdInmobiliariaAndTipoRecargo(idInmobiliaria, tipoRecargo)
-                .map(this::toDto);
+                .map(ConfiguracionRecargosService::toDto);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CONFIGURACIONES_RECARGO, allEntries = true)
     public Optional<ConfiguracionRecargosDTO> toggleActive(Long id) {
         return configuracionRecargosRepository.findById(id)
                 .map(entity -> {
                     entity.setActivo(!entity.getActivo());
-                    return toDto(configuracionRecargosRepository.save(entity));
+                    ConfiguracionRecargos savedEntity = configuracionRecargosRepository.save(entity);
+                    politicaRecargoCache.invalidar(savedEntity.getIdInmobiliaria());
+                    dashboardService.invalidar();
+                    ConfiguracionRecargosDTO dto = toDto(savedEntity);
+                    eventoOutboxService.registrar(EventoOutbox.AGREGADO_CONFIGURACION_RECARGO, id,
+                            "CONFIGURACION_RECARGO_ESTATUS_CAMBIADO", dto);
+                    return dto;
                 });
     }
 
-    private ConfiguracionRecargosDTO toDto(ConfiguracionRecargos entity) {
+    static ConfiguracionRecargosDTO toDto(ConfiguracionRecargos entity) {
         return new ConfiguracionRecargosDTO(
                 entity.getIdConfiguracionRecargo(),
                 entity.getActiva(),
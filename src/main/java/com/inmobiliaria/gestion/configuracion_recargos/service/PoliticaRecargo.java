@@ -0,0 +1,129 @@
+package com.inmobiliaria.gestion.configuracion_recargos.service;
+
+import com.inmobiliaria.gestion.conceptos.model.ConceptosPago;
+import com.inmobiliaria.gestion.configuracion_recargos.model.ConfiguracionRecargos;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable, precompiled form of an active {@link ConfiguracionRecargos}. The concept
+ * list is resolved once into concept IDs and the monetary constants are pre-scaled, so
+ * evaluating a charge is pure arithmetic and safe to share across threads.
+ * <p>
+ * For a charge {@code d} days past its grace period the surcharge is
+ * {@code tasaRecargoFija + monto * porcentajeDiario / 100 * d + montoRecargoFijo * d},
+ * capped at {@code recargoMaximo}. {@code tasaRecargoDiaria} is used when
+ * {@code porcentajeRecargoDiario} is not set.
+ */
+public final class PoliticaRecargo {
+
+    static final int ESCALA_MONTO = 2;
+    private static final int ESCALA_FACTOR = 6;
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+
+    private final Long idConfiguracion;
+    private final Set<Integer> conceptos;
+    private final int diasGracia;
+    private final BigDecimal factorDiario;
+    private final BigDecimal montoDiario;
+    private final BigDecimal cargoFijo;
+    private final BigDecimal maximo;
+
+    private PoliticaRecargo(Long idConfiguracion, Set<Integer> conceptos, int diasGracia, BigDecimal factorDiario,
+                            BigDecimal montoDiario, BigDecimal cargoFijo, BigDecimal maximo) {
+        this.idConfiguracion = idConfiguracion;
+        this.conceptos = conceptos;
+        this.diasGracia = diasGracia;
+        this.factorDiario = factorDiario;
+        this.montoDiario = montoDiario;
+        this.cargoFijo = cargoFijo;
+        this.maximo = maximo;
+    }
+
+    /**
+     * Compiles a policy against the concepts of its inmobiliaria. {@code aplicaAConceptos}
+     * is a comma-separated list of concept IDs, types or names; when blank the policy
+     * applies to every concept that allows surcharges.
+     */
+    public static PoliticaRecargo compilar(ConfiguracionRecargos configuracion, List<ConceptosPago> conceptosInmobiliaria) {
+        BigDecimal porcentaje = configuracion.getPorcentajeRecargoDiario() != null
+                ? configuracion.getPorcentajeRecargoDiario()
+                : configuracion.getTasaRecargoDiaria();
+        return new PoliticaRecargo(
+                configuracion.getIdConfiguracionRecargo(),
+                resolverConceptos(configuracion.getAplicaAConceptos(), conceptosInmobiliaria),
+                configuracion.getDiasGracia() != null ? configuracion.getDiasGracia() : 0,
+                porcentaje != null ? porcentaje.divide(CIEN, ESCALA_FACTOR, RoundingMode.HALF_UP) : BigDecimal.ZERO,
+                escalar(configuracion.getMontoRecargoFijo()),
+                escalar(configuracion.getTasaRecargoFija()),
+                configuracion.getRecargoMaximo() != null ? escalar(configuracion.getRecargoMaximo()) : null
+        );
+    }
+
+    public Long getIdConfiguracion() {
+        return idConfiguracion;
+    }
+
+    public boolean aplicaA(Integer idConcepto) {
+        return conceptos.contains(idConcepto);
+    }
+
+    /**
+     * Surcharge accrued by a charge of {@code monto} due on {@code fechaVencimiento}, as of
+     * {@code fechaCorte}. Returns zero while the charge is within its grace period.
+     */
+    public BigDecimal calcular(BigDecimal monto, LocalDate fechaVencimiento, LocalDate fechaCorte) {
+        long diasAtraso = ChronoUnit.DAYS.between(fechaVencimiento, fechaCorte) - diasGracia;
+        if (diasAtraso <= 0) {
+            return BigDecimal.ZERO.setScale(ESCALA_MONTO);
+        }
+        BigDecimal dias = BigDecimal.valueOf(diasAtraso);
+        BigDecimal recargo = cargoFijo
+                .add(monto.multiply(factorDiario).multiply(dias))
+                .add(montoDiario.multiply(dias));
+        if (maximo != null && recargo.compareTo(maximo) > 0) {
+            recargo = maximo;
+        }
+        return recargo.setScale(ESCALA_MONTO, RoundingMode.HALF_UP);
+    }
+
+    private static Set<Integer> resolverConceptos(String aplicaAConceptos, List<ConceptosPago> conceptosInmobiliaria) {
+        List<ConceptosPago> candidatos = conceptosInmobiliaria.stream()
+                .filter(concepto -> Boolean.TRUE.equals(concepto.getPermiteRecargos()))
+                .toList();
+        if (aplicaAConceptos == null || aplicaAConceptos.isBlank()) {
+            return Set.copyOf(candidatos.stream().map(ConceptosPago::getIdConcepto).toList());
+        }
+
+        Set<String> claves = new HashSet<>();
+        for (String token : aplicaAConceptos.split(",")) {
+            if (!token.isBlank()) {
+                claves.add(token.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (ConceptosPago concepto : candidatos) {
+            if (claves.contains(String.valueOf(concepto.getIdConcepto()))
+                    || coincide(claves, concepto.getTipoConcepto())
+                    || coincide(claves, concepto.getNombreConcepto())) {
+                ids.add(concepto.getIdConcepto());
+            }
+        }
+        return Set.copyOf(ids);
+    }
+
+    private static boolean coincide(Set<String> claves, String valor) {
+        return valor != null && claves.contains(valor.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static BigDecimal escalar(BigDecimal valor) {
+        return valor != null ? valor.setScale(ESCALA_MONTO, RoundingMode.HALF_UP) : BigDecimal.ZERO.setScale(ESCALA_MONTO);
+    }
+}
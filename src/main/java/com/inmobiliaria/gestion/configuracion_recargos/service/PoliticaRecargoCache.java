@@ -0,0 +1,71 @@
+package com.inmobiliaria.gestion.configuracion_recargos.service;
+
+import com.inmobiliaria.gestion.conceptos.model.ConceptosPago;
+import com.inmobiliaria.gestion.conceptos.repository.ConceptosPagoRepository;
+import com.inmobiliaria.gestion.configuracion_recargos.model.ConfiguracionRecargos;
+import com.inmobiliaria.gestion.configuracion_recargos.repository.ConfiguracionRecargosRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled surcharge policies per inmobiliaria. Entries are built on first use and
+ * evicted by the write paths of policies and payment concepts; inside a transaction the
+ * eviction waits for the commit so a concurrent reader cannot re-cache stale rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PoliticaRecargoCache {
+
+    private final ConfiguracionRecargosRepository configuracionRecargosRepository;
+    private final ConceptosPagoRepository conceptosPagoRepository;
+
+    private final ConcurrentMap<Long, List<PoliticaRecargo>> politicas = new ConcurrentHashMap<>();
+
+    public List<PoliticaRecargo> getPoliticas(Long idInmobiliaria) {
+        return politicas.computeIfAbsent(idInmobiliaria, this::compilar);
+    }
+
+    public void invalidar(Long idInmobiliaria) {
+        if (idInmobiliaria != null) {
+            despuesDeCommit(() -> politicas.remove(idInmobiliaria));
+        }
+    }
+
+    public void invalidarTodo() {
+        despuesDeCommit(politicas::clear);
+    }
+
+    private List<PoliticaRecargo> compilar(Long idInmobiliaria) {
+        List<ConfiguracionRecargos> configuraciones =
+                configuracionRecargosRepository.findByIdInmobiliariaAndActivo(idInmobiliaria, true);
+        if (configuraciones.isEmpty()) {
+            return List.of();
+        }
+        List<ConceptosPago> conceptos = conceptosPagoRepository.findByIdInmobiliaria(idInmobiliaria);
+        log.debug("Compiling {} surcharge policies for inmobiliaria {}", configuraciones.size(), idInmobiliaria);
+        return configuraciones.stream()
+                .map(configuracion -> PoliticaRecargo.compilar(configuracion, conceptos))
+                .toList();
+    }
+
+    private void despuesDeCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
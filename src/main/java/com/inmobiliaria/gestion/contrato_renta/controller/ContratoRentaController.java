@@ -1,8 +1,13 @@
 package com.inmobiliaria.gestion.contrato_renta.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inmobiliaria.gestion.cambios.web.EtagEntidad;
+import com.inmobiliaria.gestion.cambios.web.EtagLista;
 import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaCreateRequest;
+import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaCursorPage;
 import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaDTO;
 import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaUpdateRequest;
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
 import com.inmobiliaria.gestion.contrato_renta.service.ContratoRentaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,9 +21,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +40,7 @@ import java.util.Optional;
 public class ContratoRentaController {
 
     private final ContratoRentaService contratoRentaService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Get all rental contracts", description = "Retrieve a list of all rental contracts")
     @ApiResponses(value = {
@@ -39,13 +49,58 @@ public class ContratoRentaController {
                             schema = @Schema(implementation = ContratoRentaDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @EtagLista(ContratoRenta.class)
     @GetMapping
     public ResponseEntity<List<ContratoRentaDTO>> getAllContratos() {
-        log.info("GET /api/v1/contratos-renta - Fetching all rental contracts");
+        log.debug("GET /api/v1/contratos-renta - Fetching all rental contracts");
         List<ContratoRentaDTO> contratos = contratoRentaService.getAllContratos();
         return ResponseEntity.ok(contratos);
     }
 
+    @Operation(summary = "Get rental contracts by cursor", description = "Retrieve rental contracts ordered by ID using keyset pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contracts retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ContratoRentaCursorPage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @EtagLista(ContratoRenta.class)
+    @GetMapping("/cursor")
+    public ResponseEntity<ContratoRentaCursorPage> getContratosByCursor(
+            @Parameter(description = "Return contracts with ID greater than this cursor", example = "0")
+            @RequestParam(required = false) Integer after,
+            @Parameter(description = "Page size (max 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int size,
+            @Parameter(description = "Filter by contract status", example = "ACTIVO")
+            @RequestParam(required = false) String estatus) {
+        log.debug("GET /api/v1/contratos-renta/cursor - Fetching contracts after {} (size {}, estatus {})", after, size, estatus);
+        ContratoRentaCursorPage contratos = contratoRentaService.getContratosAfter(after, size, estatus);
+        return ResponseEntity.ok(contratos);
+    }
+
+    @Operation(summary = "Stream all rental contracts", description = "Stream every rental contract as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contracts streamed successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = ContratoRentaDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamContratos() {
+        log.debug("GET /api/v1/contratos-renta/stream - Streaming all rental contracts");
+        StreamingResponseBody body = outputStream -> contratoRentaService.streamAllContratos(contrato -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(contrato));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(summary = "Get rental contract by ID", description = "Retrieve a specific rental contract by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Contract found",
@@ -54,11 +109,12 @@ public class ContratoRentaController {
             @ApiResponse(responseCode = "404", description = "Contract not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @EtagEntidad(ContratoRenta.class)
     @GetMapping("/{id}")
     public ResponseEntity<ContratoRentaDTO> getContratoById(
             @Parameter(description = "Contract ID", required = true)
             @PathVariable Integer id) {
-        log.info("GET /api/v1/contratos-renta/{} - Fetching contract by id", id);
+        log.debug("GET /api/v1/contratos-renta/{} - Fetching contract by id", id);
         Optional<ContratoRentaDTO> contrato = contratoRentaService.getContratoById(id);
         return contrato.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -71,11 +127,12 @@ public class ContratoRentaController {
                             schema = @Schema(implementation = ContratoRentaDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @EtagLista(ContratoRenta.class)
     @GetMapping("/propiedad/{idPropiedad}")
     public ResponseEntity<List<ContratoRentaDTO>> getContratosByPropiedad(
             @Parameter(description = "Property ID", required = true)
             @PathVariable Integer idPropiedad) {
-        log.info("GET /api/v1/contratos-renta/propiedad/{} - Fetching contracts by property", idPropiedad);
+        log.debug("GET /api/v1/contratos-renta/propiedad/{} - Fetching contracts by property", idPropiedad);
         List<ContratoRentaDTO> contratos = contratoRentaService.getContratosByPropiedad(idPropiedad);
         return ResponseEntity.ok(contratos);
     }
@@ -87,11 +144,12 @@ public class ContratoRentaController {
                             schema = @Schema(implementation = ContratoRentaDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @EtagLista(ContratoRenta.class)
     @GetMapping("/estatus/{estatus}")
     public ResponseEntity<List<ContratoRentaDTO>> getContratosByEstatus(
             @Parameter(description = "Contract status", required = true)
             @PathVariable String estatus) {
-        log.info("GET /api/v1/contratos-renta/estatus/{} - Fetching contracts by status", estatus);
+        log.debug("GET /api/v1/contratos-renta/estatus/{} - Fetching contracts by status", estatus);
         List<ContratoRentaDTO> contratos = contratoRentaService.getContratosByEstatus(estatus);
         return ResponseEntity.ok(contratos);
     }
@@ -110,7 +168,7 @@ public class ContratoRentaController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @Parameter(description = "End date (yyyy-MM-dd'T'HH:mm:ss)", required = true)
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        log.info("GET /api/v1/contratos-renta/expirando - Fetching contracts expiring between {} and {}", startDate, endDate);
+        log.debug("GET /api/v1/contratos-renta/expirando - Fetching contracts expiring between {} and {}", startDate, endDate);
         List<ContratoRentaDTO> contratos = contratoRentaService.getContratosExpiringBetween(startDate, endDate);
         return ResponseEntity.ok(contratos);
     }
@@ -127,7 +185,7 @@ public class ContratoRentaController {
     public ResponseEntity<List<ContratoRentaDTO>> getActiveContractsExpiringBefore(
             @Parameter(description = "Date threshold (yyyy-MM-dd'T'HH:mm:ss)", required = true)
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date) {
-        log.info("GET /api/v1/contratos-renta/activos/expirando - Fetching active contracts expiring before {}", date);
+        log.debug("GET /api/v1/contratos-renta/activos/expirando - Fetching active contracts expiring before {}", date);
         List<ContratoRentaDTO> contratos = contratoRentaService.getActiveContractsExpiringBefore(date);
         return ResponseEntity.ok(contratos);
     }
@@ -141,7 +199,7 @@ public class ContratoRentaController {
     })
     @GetMapping("/notificaciones")
     public ResponseEntity<List<ContratoRentaDTO>> getContractsNeedingNotification() {
-        log.info("GET /api/v1/contratos-renta/notificaciones - Fetching contracts needing notification");
+        log.debug("GET /api/v1/contratos-renta/notificaciones - Fetching contracts needing notification");
         List<ContratoRentaDTO> contratos = contratoRentaService.getContractsNeedingNotification();
         return ResponseEntity.ok(contratos);
     }
@@ -158,7 +216,7 @@ public class ContratoRentaController {
     public ResponseEntity<ContratoRentaDTO> createContrato(
             @Parameter(description = "Contract creation request", required = true)
             @Valid @RequestBody ContratoRentaCreateRequest request) {
-        log.info("POST /api/v1/contratos-renta - Creating new rental contract");
+        log.debug("POST /api/v1/contratos-renta - Creating new rental contract");
         try {
             ContratoRentaDTO createdContrato = contratoRentaService.createContrato(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdContrato);
@@ -183,7 +241,7 @@ public class ContratoRentaController {
             @PathVariable Integer id,
             @Parameter(description = "Contract update request", required = true)
             @Valid @RequestBody ContratoRentaUpdateRequest request) {
-        log.info("PUT /api/v1/contratos-renta/{} - Updating rental contract", id);
+        log.debug("PUT /api/v1/contratos-renta/{} - Updating rental contract", id);
         Optional<ContratoRentaDTO> updatedContrato = contratoRentaService.updateContrato(id, request);
         return updatedContrato.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -199,7 +257,7 @@ public class ContratoRentaController {
     public ResponseEntity<Void> deleteContrato(
             @Parameter(description = "Contract ID", required = true)
             @PathVariable Integer id) {
-        log.info("DELETE /api/v1/contratos-renta/{} - Deleting rental contract", id);
+        log.debug("DELETE /api/v1/contratos-renta/{} - Deleting rental contract", id);
         boolean deleted = contratoRentaService.deleteContrato(id);
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
@@ -214,7 +272,7 @@ public class ContratoRentaController {
     public ResponseEntity<Void> terminateContrato(
             @Parameter(description = "Contract ID", required = true)
             @PathVariable Integer id) {
-        log.info("PATCH /api/v1/contratos-renta/{}/terminar - Terminating rental contract", id);
+        log.debug("PATCH /api/v1/contratos-renta/{}/terminar - Terminating rental contract", id);
         boolean terminated = contratoRentaService.terminateContrato(id);
         return terminated ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
     }
@@ -232,7 +290,7 @@ public class ContratoRentaController {
             @PathVariable Integer id,
             @Parameter(description = "Additional months for renewal", required = true)
             @RequestParam Integer meses) {
-        log.info("PATCH /api/v1/contratos-renta/{}/renovar - Renewing rental contract for {} months", id, meses);
+        log.debug("PATCH /api/v1/contratos-renta/{}/renovar - Renewing rental contract for {} months", id, meses);
         try {
             boolean renewed = contratoRentaService.renewContrato(id, meses);
             return renewed ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
@@ -251,7 +309,7 @@ public class ContratoRentaController {
     public ResponseEntity<Long> countContratosByEstatus(
             @Parameter(description = "Contract status", required = true)
             @PathVariable String estatus) {
-        log.info("GET /api/v1/contratos-renta/estatus/{}/count - Counting contracts by status", estatus);
+        log.debug("GET /api/v1/contratos-renta/estatus/{}/count - Counting contracts by status", estatus);
         long count = contratoRentaService.countContratosByEstatus(estatus);
         return ResponseEntity.ok(count);
     }
@@ -266,7 +324,7 @@ public class ContratoRentaController {
     public ResponseEntity<Long> countActiveContractsExpiringBefore(
             @Parameter(description = "Date threshold (yyyy-MM-dd'T'HH:mm:ss)", required = true)
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date) {
-        log.info("GET /api/v1/contratos-renta/activos/expirando/count - Counting active contracts expiring before {}", date);
+        log.debug("GET /api/v1/contratos-renta/activos/expirando/count - Counting active contracts expiring before {}", date);
         long count = contratoRentaService.countActiveContractsExpiringBefore(date);
         return ResponseEntity.ok(count);
     }
@@ -0,0 +1,89 @@
+package com.inmobiliaria.gestion.contrato_renta.controller;
+
+import com.inmobiliaria.gestion.contrato_renta.dto.OperacionMasivaJobDTO;
+import com.inmobiliaria.gestion.contrato_renta.dto.OperacionMasivaRequest;
+import com.inmobiliaria.gestion.contrato_renta.service.ContratoRentaMasivoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/contratos-renta/masivo")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Contratos de Renta", description = "Rental contract management operations")
+public class ContratoRentaMasivoController {
+
+    private final ContratoRentaMasivoService contratoRentaMasivoService;
+
+    @Operation(summary = "Run a bulk contract operation",
+            description = "Renew, terminate or change the status of every contract matched by an id list and/or a filter. " +
+                    "A dry run only returns the number of matching contracts; otherwise the job runs in the background " +
+                    "in chunks and its progress is available at the returned location")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dry run counted the matching contracts",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OperacionMasivaJobDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Bulk job started",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OperacionMasivaJobDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid or unfiltered request"),
+            @ApiResponse(responseCode = "409", description = "Another bulk operation is in progress"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OperacionMasivaJobDTO> ejecutar(
+            @Parameter(description = "Bulk operation request", required = true)
+            @Valid @RequestBody OperacionMasivaRequest request) {
+        log.info("POST /api/v1/contratos-renta/masivo - Bulk {} (dry run: {})", request.accion(), request.simulacion());
+        try {
+            OperacionMasivaJobDTO job = contratoRentaMasivoService.ejecutar(request);
+            if (request.simulacion()) {
+                return ResponseEntity.ok(job);
+            }
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/contratos-renta/masivo/" + job.idJob()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid bulk contract operation: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.warn("Bulk contract operation rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @Operation(summary = "Get bulk job status", description = "Retrieve the progress of a bulk contract operation")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OperacionMasivaJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found or no longer retained"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/{idJob}")
+    public ResponseEntity<OperacionMasivaJobDTO> getJob(
+            @Parameter(description = "Job ID", required = true)
+            @PathVariable String idJob) {
+        log.debug("GET /api/v1/contratos-renta/masivo/{} - Fetching bulk job status", idJob);
+        return contratoRentaMasivoService.findJob(idJob)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
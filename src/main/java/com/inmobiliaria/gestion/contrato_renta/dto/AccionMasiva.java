@@ -0,0 +1,8 @@
+package com.inmobiliaria.gestion.contrato_renta.dto;
+
+public enum AccionMasiva {
+
+    RENOVAR,
+    TERMINAR,
+    CAMBIAR_ESTATUS
+}
@@ -0,0 +1,19 @@
+package com.inmobiliaria.gestion.contrato_renta.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Keyset-paginated page of rental contracts ordered by contract ID")
+public record ContratoRentaCursorPage(
+
+        @Schema(description = "Contracts in this page")
+        List<ContratoRentaDTO> content,
+
+        @Schema(description = "Cursor to request the next page (ID of the last contract in this page)", example = "250")
+        Integer nextCursor,
+
+        @Schema(description = "Whether more contracts exist after this page", example = "true")
+        boolean hasNext
+) {
+}
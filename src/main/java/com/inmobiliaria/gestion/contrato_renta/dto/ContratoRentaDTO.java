@@ -51,6 +51,9 @@ public record ContratoRentaDTO(
         @Pattern(regexp = "^\\+?[0-9\\s\\-\\(\\)]{7,15}$", message = "Invalid phone number format")
         @Size(max = 255, message = "Phone must not exceed 255 characters")
         @Schema(description = "Phone number for notifications", example = "+52 55 1234 5678")
-        String telefonoNotificaciones
+        String telefonoNotificaciones,
+
+        @Schema(description = "Monthly rent amount billed for this contract", example = "12000.00")
+        BigDecimal montoRenta
 ) {
 }
\ No newline at end of file
@@ -40,6 +40,10 @@ public record ContratoRentaUpdateRequest(
         @Pattern(regexp = "^\\+?[0-9\\s\\-\\(\\)]{7,15}$", message = "Invalid phone number format")
         @Size(max = 255, message = "Phone must not exceed 255 characters")
         @Schema(description = "Phone number for notifications", example = "+52 55 1234 5678")
-        String telefonoNotificaciones
+        String telefonoNotificaciones,
+
+        @DecimalMin(value = "0.0", inclusive = false, message = "Monthly rent must be greater than 0")
+        @Schema(description = "Monthly rent amount billed for this contract", example = "12000.00")
+        BigDecimal montoRenta
 ) {
 }
\ No newline at end of file
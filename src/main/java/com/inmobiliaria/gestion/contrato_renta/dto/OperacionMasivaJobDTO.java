@@ -0,0 +1,37 @@
+package com.inmobiliaria.gestion.contrato_renta.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Progress of a bulk contract operation")
+public record OperacionMasivaJobDTO(
+
+        @Schema(description = "Job identifier; null for a dry run", example = "5f0c6f1e-8a53-4d2b-9a57-0c1f2d3e4a5b")
+        String idJob,
+
+        @Schema(description = "Operation applied", example = "RENOVAR")
+        AccionMasiva accion,
+
+        @Schema(description = "Job state", example = "EN_PROCESO", allowableValues = {"SIMULACION", "EN_PROCESO", "COMPLETADO", "FALLIDO"})
+        String estado,
+
+        @Schema(description = "Contracts matching the operation when it started", example = "4200")
+        long contratosObjetivo,
+
+        @Schema(description = "Contracts updated so far", example = "2000")
+        long contratosActualizados,
+
+        @Schema(description = "Chunks committed so far", example = "2")
+        int lotesProcesados,
+
+        @Schema(description = "When the job started", example = "2024-05-31T23:00:00")
+        LocalDateTime fechaInicio,
+
+        @Schema(description = "When the job finished, null while it is running", example = "2024-05-31T23:00:12")
+        LocalDateTime fechaFin,
+
+        @Schema(description = "Failure cause when the job failed; chunks committed before the failure stay applied")
+        String error
+) {
+}
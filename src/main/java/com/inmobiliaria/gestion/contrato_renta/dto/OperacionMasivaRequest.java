@@ -0,0 +1,50 @@
+package com.inmobiliaria.gestion.contrato_renta.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Bulk lifecycle operation over the rental contracts matched by an id list and/or a filter")
+public record OperacionMasivaRequest(
+
+        @NotNull(message = "Action is required")
+        @Schema(description = "Operation to apply", example = "RENOVAR", requiredMode = Schema.RequiredMode.REQUIRED)
+        AccionMasiva accion,
+
+        @Size(max = 10000, message = "At most 10000 contract ids can be given")
+        @Schema(description = "Explicit contract IDs; combined with the other filters when present", example = "[1, 2, 3]")
+        List<Integer> ids,
+
+        @Schema(description = "Only contracts of properties belonging to this inmobiliaria", example = "1")
+        Long idInmobiliaria,
+
+        @Schema(description = "Only contracts currently in this status", example = "ACTIVO")
+        String estatus,
+
+        @Schema(description = "Only contracts ending on or after this date", example = "2024-06-01T00:00:00")
+        LocalDateTime venceDesde,
+
+        @Schema(description = "Only contracts ending on or before this date", example = "2024-06-30T23:59:59")
+        LocalDateTime venceHasta,
+
+        @Min(value = 1, message = "Renewal must be at least 1 month")
+        @Schema(description = "Months added to each contract (RENOVAR only)", example = "12")
+        Integer meses,
+
+        @Schema(description = "Status assigned to each contract (CAMBIAR_ESTATUS only)", example = "SUSPENDIDO",
+                allowableValues = {"ACTIVO", "VENCIDO", "TERMINADO", "SUSPENDIDO"})
+        String nuevoEstatus,
+
+        @Schema(description = "Only count the contracts that would be affected, without updating them", example = "false")
+        boolean simulacion
+) {
+
+    public boolean tieneCriterio() {
+        return (ids != null && !ids.isEmpty()) || idInmobiliaria != null || estatus != null
+                || venceDesde != null || venceHasta != null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.inmobiliaria.gestion.contrato_renta.model;
 
+import com.inmobiliaria.gestion.cambios.service.CambioTablaListener;
 import com.inmobiliaria.gestion.propiedad.model.Propiedad;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -15,23 +16,31 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "contrato_renta")
+@Table(name = "contrato_renta", indexes = {
+        @Index(name = "idx_contrato_renta_estatus_fecha_notificacion", columnList = "estatus_contrato, fecha_notificacion")
+})
+@EntityListeners(CambioTablaListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ContratoRenta {
 
+    public static final String ESTATUS_TERMINADO = "TERMINADO";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contrato_renta_seq")
+    @SequenceGenerator(name = "contrato_renta_seq", sequenceName = "contrato_renta_seq", allocationSize = 50)
     @Column(name = "id_contrato")
     private Integer idContrato;
 
     @Column(name = "id_propiedad")
     private Integer idPropiedad;
 
+    // The foreign key is owned by the schema migrations: it cannot exist once propiedad is partitioned
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "id_propiedad", insertable = false, updatable = false)
+    @JoinColumn(name = "id_propiedad", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Propiedad propiedad;
 
     @Column(name = "fecha_inicio_contrato")
@@ -57,6 +66,9 @@ public class ContratoRenta {
     @Column(name = "deposito_garantia", precision = 38, scale = 2)
     private BigDecimal depositoGarantia;
 
+    @Column(name = "monto_renta", precision = 12, scale = 2)
+    private BigDecimal montoRenta;
+
     @Min(value = 1, message = "Duration must be at least 1 month")
     @Column(name = "duracion_meses")
     private Integer duracionMeses;
@@ -70,17 +82,54 @@ public class ContratoRenta {
     @Column(name = "telefono_notificaciones")
     private String telefonoNotificaciones;
 
+    /**
+     * Moment from which the expiry notification is due (fecha_fin_contrato minus
+     * notificacion_dias_previos). Kept in sync on every write and cleared once the
+     * notification job has handled it, so the due scan only touches pending rows.
+     */
+    @Column(name = "fecha_notificacion")
+    private LocalDateTime fechaNotificacion;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
+        completarFechasDerivadas();
+    }
+
+    /**
+     * Derives the end date (when not given) and the notification date of a new contract.
+     * Also used by bulk imports, which insert through JDBC and bypass the JPA callbacks.
+     */
+    public void completarFechasDerivadas() {
         if (fechaInicioContrato != null && fechaFinContrato == null && duracionMeses != null) {
             fechaFinContrato = fechaInicioContrato.plusMonths(duracionMeses);
         }
+        fechaNotificacion = calcularFechaNotificacion();
     }
 
+    /**
+     * Re-derives the end date from the start and duration, except on terminated contracts: those
+     * end on their termination date and are no longer notified, as the bulk termination writes them.
+     */
     @PreUpdate
     protected void onUpdate() {
+        if (ESTATUS_TERMINADO.equals(estatusContrato)) {
+            fechaNotificacion = null;
+            return;
+        }
         if (fechaInicioContrato != null && duracionMeses != null) {
             fechaFinContrato = fechaInicioContrato.plusMonths(duracionMeses);
         }
+        fechaNotificacion = calcularFechaNotificacion();
+    }
+
+    private LocalDateTime calcularFechaNotificacion() {
+        if (fechaFinContrato == null || notificacionDiasPrevios == null) {
+            return null;
+        }
+        return fechaFinContrato.minusDays(notificacionDiasPrevios);
     }
 }
\ No newline at end of file
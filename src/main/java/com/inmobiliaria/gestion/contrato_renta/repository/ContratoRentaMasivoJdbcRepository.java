@@ -0,0 +1,198 @@
+package com.inmobiliaria.gestion.contrato_renta.repository;
+
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.contrato_renta.dto.OperacionMasivaRequest;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Set-based UPDATEs for bulk contract renewals, terminations and status changes. Work is split
+ * into id ranges: {@link #findLimiteLote} finds the upper id of the next chunk and
+ * {@link #actualizarLote} locks the matching rows inside that range and updates them in one
+ * statement, so each chunk takes two round trips regardless of its size. The derived dates that
+ * {@code ContratoRenta}'s JPA callbacks would maintain are recomputed in SQL, and the
+ * version column is bumped so optimistic locking and ETags see the change.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(MetricsConfig.JDBC_TIMER)
+public class ContratoRentaMasivoJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    public long contar(OperacionMasivaRequest solicitud) {
+        Condicion condicion = condicion(solicitud);
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM contrato_renta WHERE " + condicion.sql(),
+                Long.class, condicion.parametros().toArray());
+        return total != null ? total : 0L;
+    }
+
+    /**
+     * Highest contract id among the next {@code tamanoLote} matching contracts after
+     * {@code afterId}, or null when none remain.
+     */
+    public Integer findLimiteLote(OperacionMasivaRequest solicitud, int afterId, int tamanoLote) {
+        Condicion condicion = condicion(solicitud);
+        List<Object> parametros = new ArrayList<>();
+        parametros.add(afterId);
+        parametros.addAll(condicion.parametros());
+        parametros.add(tamanoLote);
+        return jdbcTemplate.queryForObject(
+                "SELECT MAX(id_contrato) FROM (SELECT id_contrato FROM contrato_renta " +
+                "WHERE id_contrato > ? AND " + condicion.sql() + " ORDER BY id_contrato LIMIT ?) lote",
+                Integer.class, parametros.toArray());
+    }
+
+    /**
+     * Applies the operation to the matching contracts with {@code afterId < id <= hastaId} and
+     * returns their state before the update. The matching rows are first selected FOR UPDATE,
+     * which re-evaluates the filter, so contracts changed concurrently since the chunk was sized
+     * are skipped rather than overwritten, and the rows stay locked while the caller records
+     * their events and audit entries.
+     */
+    public List<EstadoAnterior> actualizarLote(OperacionMasivaRequest solicitud, int afterId, int hastaId,
+                                               LocalDateTime fechaCorte) {
+        Condicion condicion = condicion(solicitud);
+        List<Object> filtro = new ArrayList<>();
+        filtro.add(afterId);
+        filtro.add(hastaId);
+        filtro.addAll(condicion.parametros());
+        List<EstadoAnterior> anteriores = jdbcTemplate.query(
+                "SELECT id_contrato, estatus_contrato, fecha_fin_contrato, duracion_meses, fecha_notificacion " +
+                "FROM contrato_renta WHERE id_contrato > ? AND id_contrato <= ? AND " +
+                condicion.sql() + " ORDER BY id_contrato FOR UPDATE",
+                (rs, rowNum) -> new EstadoAnterior(
+                        rs.getInt("id_contrato"),
+                        rs.getString("estatus_contrato"),
+                        fecha(rs.getTimestamp("fecha_fin_contrato")),
+                        rs.getObject("duracion_meses", Integer.class),
+                        fecha(rs.getTimestamp("fecha_notificacion"))),
+                filtro.toArray());
+        if (anteriores.isEmpty()) {
+            return anteriores;
+        }
+        List<Integer> ids = anteriores.stream().map(EstadoAnterior::idContrato).toList();
+
+        List<Object> parametros = new ArrayList<>();
+        String asignaciones = switch (solicitud.accion()) {
+            case RENOVAR -> asignacionesRenovacion(solicitud.meses(), parametros);
+            case TERMINAR -> asignacionesTerminacion(fechaCorte, parametros);
+            case CAMBIAR_ESTATUS -> asignacionesCambioEstatus(solicitud.nuevoEstatus(), parametros);
+        };
+        parametros.addAll(ids);
+        jdbcTemplate.update(
+                "UPDATE contrato_renta SET " + asignaciones + ", version = version + 1 " +
+                "WHERE id_contrato IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")",
+                parametros.toArray());
+        return anteriores;
+    }
+
+    // Mirrors renewContrato followed by @PreUpdate: the duration grows and the end date is re-derived from the start
+    private String asignacionesRenovacion(int meses, List<Object> parametros) {
+        String fechaFin = "CASE WHEN fecha_inicio_contrato IS NOT NULL " +
+                "THEN " + sumarMeses("fecha_inicio_contrato", "duracion_meses + CAST(? AS INTEGER)") + " " +
+                "ELSE " + sumarMeses("fecha_fin_contrato", "CAST(? AS INTEGER)") + " END";
+        // SET expressions all read the old row, so the notification date repeats the end date expression
+        parametros.addAll(Collections.nCopies(5, meses));
+        return "duracion_meses = duracion_meses + CAST(? AS INTEGER), " +
+                "fecha_fin_contrato = " + fechaFin + ", " +
+                "fecha_notificacion = CASE WHEN notificacion_dias_previos IS NULL THEN NULL " +
+                "ELSE " + restarDias(fechaFin, "notificacion_dias_previos") + " END";
+    }
+
+    // A terminated contract is no longer notified about its expiry
+    private String asignacionesTerminacion(LocalDateTime fechaCorte, List<Object> parametros) {
+        parametros.add(Timestamp.valueOf(fechaCorte));
+        return "estatus_contrato = 'TERMINADO', fecha_fin_contrato = ?, fecha_notificacion = NULL";
+    }
+
+    private String asignacionesCambioEstatus(String nuevoEstatus, List<Object> parametros) {
+        parametros.add(nuevoEstatus);
+        return "estatus_contrato = ?";
+    }
+
+    private Condicion condicion(OperacionMasivaRequest solicitud) {
+        List<String> predicados = new ArrayList<>();
+        List<Object> parametros = new ArrayList<>();
+
+        switch (solicitud.accion()) {
+            case RENOVAR -> predicados.add("estatus_contrato = 'ACTIVO' AND duracion_meses IS NOT NULL " +
+                    "AND fecha_fin_contrato IS NOT NULL");
+            case TERMINAR -> predicados.add("(estatus_contrato IS NULL OR estatus_contrato <> 'TERMINADO')");
+            case CAMBIAR_ESTATUS -> {
+                predicados.add("(estatus_contrato IS NULL OR estatus_contrato <> ?)");
+                parametros.add(solicitud.nuevoEstatus());
+            }
+        }
+        if (solicitud.ids() != null && !solicitud.ids().isEmpty()) {
+            predicados.add("id_contrato IN (" + String.join(", ", Collections.nCopies(solicitud.ids().size(), "?")) + ")");
+            parametros.addAll(solicitud.ids());
+        }
+        if (solicitud.idInmobiliaria() != null) {
+            predicados.add("id_propiedad IN (SELECT p.id_propiedad FROM propiedad p WHERE p.id_inmobiliaria = ?)");
+            parametros.add(solicitud.idInmobiliaria());
+        }
+        if (solicitud.estatus() != null) {
+            predicados.add("estatus_contrato = ?");
+            parametros.add(solicitud.estatus());
+        }
+        if (solicitud.venceDesde() != null) {
+            predicados.add("fecha_fin_contrato >= ?");
+            parametros.add(Timestamp.valueOf(solicitud.venceDesde()));
+        }
+        if (solicitud.venceHasta() != null) {
+            predicados.add("fecha_fin_contrato <= ?");
+            parametros.add(Timestamp.valueOf(solicitud.venceHasta()));
+        }
+        return new Condicion(String.join(" AND ", predicados), parametros);
+    }
+
+    private String sumarMeses(String fecha, String meses) {
+        return esPostgres()
+                ? "(" + fecha + " + (" + meses + ") * INTERVAL '1 month')"
+                : "DATEADD(MONTH, " + meses + ", " + fecha + ")";
+    }
+
+    private String restarDias(String fecha, String dias) {
+        return esPostgres()
+                ? "(" + fecha + " - " + dias + " * INTERVAL '1 day')"
+                : "DATEADD(DAY, -" + dias + ", " + fecha + ")";
+    }
+
+    private boolean esPostgres() {
+        Boolean esPostgres = postgres;
+        if (esPostgres == null) {
+            String producto = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            esPostgres = "PostgreSQL".equalsIgnoreCase(producto);
+            postgres = esPostgres;
+        }
+        return esPostgres;
+    }
+
+    private static LocalDateTime fecha(Timestamp valor) {
+        return valor != null ? valor.toLocalDateTime() : null;
+    }
+
+    /**
+     * Columns a bulk operation may change, as they were before the update.
+     */
+    public record EstadoAnterior(Integer idContrato, String estatusContrato, LocalDateTime fechaFinContrato,
+                                 Integer duracionMeses, LocalDateTime fechaNotificacion) {
+    }
+
+    private record Condicion(String sql, List<Object> parametros) {
+    }
+}
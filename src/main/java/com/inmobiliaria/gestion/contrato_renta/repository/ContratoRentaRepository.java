@@ -1,14 +1,24 @@
 package com.inmobiliaria.gestion.contrato_renta.repository;
 
+import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaDTO;
 import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContratoRentaRepository extends JpaRepository<ContratoRenta, Integer> {
@@ -51,4 +61,25 @@ public interface ContratoRentaRepository extends JpaRepository<ContratoRenta, In
     
     @Query("SELECT c FROM ContratoRenta c WHERE c.depositoGarantia >= :minDeposito")
     List<ContratoRenta> findByDepositoGarantiaGreaterThanEqual(@Param("minDeposito") java.math.BigDecimal minDeposito);
-}
\ No newline at end of file
+
+    List<ContratoRenta> findByIdContratoGreaterThanOrderByIdContratoAsc(Integer idContrato, Limit limit);
+
+    List<ContratoRenta> findByEstatusContratoAndIdContratoGreaterThanOrderByIdContratoAsc(String estatusContrato, Integer idContrato, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaDTO(" +
+           "c.idContrato, c.idPropiedad, c.fechaInicioContrato, c.fechaFinContrato, c.condicionesEspeciales, " +
+           "c.emailNotificaciones, c.estatusContrato, c.depositoGarantia, c.duracionMeses, " +
+           "c.notificacionDiasPrevios, c.telefonoNotificaciones, c.montoRenta) " +
+           "FROM ContratoRenta c ORDER BY c.idContrato ASC")
+    Stream<ContratoRentaDTO> streamAllAsDTO();
+
+    @Query("SELECT c FROM ContratoRenta c WHERE c.estatusContrato = 'ACTIVO' AND " +
+           "c.fechaNotificacion <= :now AND c.idContrato > :afterId ORDER BY c.idContrato ASC")
+    List<ContratoRenta> findDueForNotification(@Param("now") LocalDateTime now, @Param("afterId") Integer afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ContratoRenta c SET c.fechaNotificacion = NULL WHERE c.idContrato IN :ids")
+    int clearFechaNotificacion(@Param("ids") Collection<Integer> ids);
+}
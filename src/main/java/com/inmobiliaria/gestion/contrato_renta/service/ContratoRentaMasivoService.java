@@ -0,0 +1,247 @@
+package com.inmobiliaria.gestion.contrato_renta.service;
+
+import com.inmobiliaria.gestion.auditoria.service.AuditoriaLoteService;
+import com.inmobiliaria.gestion.cambios.service.CambioTablaService;
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.contrato_renta.dto.AccionMasiva;
+import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaDTO;
+import com.inmobiliaria.gestion.contrato_renta.dto.OperacionMasivaJobDTO;
+import com.inmobiliaria.gestion.contrato_renta.dto.OperacionMasivaRequest;
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import com.inmobiliaria.gestion.contrato_renta.repository.ContratoRentaMasivoJdbcRepository;
+import com.inmobiliaria.gestion.contrato_renta.repository.ContratoRentaMasivoJdbcRepository.EstadoAnterior;
+import com.inmobiliaria.gestion.contrato_renta.repository.ContratoRentaRepository;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bulk renewals, terminations and status changes. A request is either counted (dry run) or
+ * started as a background job that walks the matching contracts in id-ranged chunks, each
+ * committed in its own transaction, so a month-end run over thousands of contracts never
+ * holds one long transaction and a failure keeps the chunks already applied. Each chunk records
+ * one outbox event and one audit entry per updated contract in its own transaction, attributed
+ * to the user who started the job. Job progress is
+ * kept in memory and served by {@link #findJob}; only one job runs at a time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ContratoRentaMasivoService {
+
+    static final String ESTADO_SIMULACION = "SIMULACION";
+    static final String ESTADO_EN_PROCESO = "EN_PROCESO";
+    static final String ESTADO_COMPLETADO = "COMPLETADO";
+    static final String ESTADO_FALLIDO = "FALLIDO";
+
+    static final Set<String> ESTATUS_VALIDOS = Set.of("ACTIVO", "VENCIDO", "TERMINADO", "SUSPENDIDO");
+
+    private final ContratoRentaMasivoJdbcRepository masivoJdbcRepository;
+    private final ContratoRentaRepository contratoRentaRepository;
+    private final CambioTablaService cambioTablaService;
+    private final DashboardService dashboardService;
+    private final EventoOutboxService eventoOutboxService;
+    private final AuditoriaLoteService auditoriaLoteService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore ejecucion = new Semaphore(1);
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Value("${contratos.masivo.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${contratos.masivo.jobs-retenidos:100}")
+    private int jobsRetenidos = 100;
+
+    public OperacionMasivaJobDTO ejecutar(OperacionMasivaRequest solicitud) {
+        validar(solicitud);
+        if (solicitud.simulacion()) {
+            long objetivo = masivoJdbcRepository.contar(solicitud);
+            log.info("Dry run of bulk {} matched {} contracts", solicitud.accion(), objetivo);
+            return new OperacionMasivaJobDTO(null, solicitud.accion(), ESTADO_SIMULACION, objetivo, 0, 0,
+                    LocalDateTime.now(), LocalDateTime.now(), null);
+        }
+
+        if (!ejecucion.tryAcquire()) {
+            throw new IllegalStateException("A bulk contract operation is already in progress");
+        }
+        Job job = new Job(UUID.randomUUID().toString(), solicitud.accion(), auditoriaLoteService.usuarioActual(),
+                LocalDateTime.now());
+        try {
+            job.objetivo = masivoJdbcRepository.contar(solicitud);
+            purgarJobsTerminados();
+            jobs.put(job.id, job);
+            executor.execute(() -> {
+                try {
+                    procesar(job, solicitud);
+                } finally {
+                    ejecucion.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            ejecucion.release();
+            throw e;
+        }
+        log.info("Started bulk {} job {} over {} contracts", solicitud.accion(), job.id, job.objetivo);
+        return job.toDTO();
+    }
+
+    public Optional<OperacionMasivaJobDTO> findJob(String idJob) {
+        return Optional.ofNullable(jobs.get(idJob)).map(Job::toDTO);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.close();
+    }
+
+    private void procesar(Job job, OperacionMasivaRequest solicitud) {
+        // One cut-off for the whole job so every terminated contract gets the same end date
+        LocalDateTime fechaCorte = job.fechaInicio;
+        int afterId = 0;
+        try {
+            Integer hastaId;
+            while ((hastaId = masivoJdbcRepository.findLimiteLote(solicitud, afterId, chunkSize)) != null) {
+                int desde = afterId;
+                int hasta = hastaId;
+                Integer actualizados = transactionTemplate.execute(status ->
+                        aplicarLote(solicitud, desde, hasta, fechaCorte, job.usuario));
+                job.actualizados += actualizados != null ? actualizados : 0;
+                job.lotes++;
+                afterId = hasta;
+            }
+            job.estado = ESTADO_COMPLETADO;
+            log.info("Bulk {} job {} updated {} contracts in {} chunks", job.accion, job.id, job.actualizados, job.lotes);
+        } catch (RuntimeException e) {
+            log.error("Bulk {} job {} failed after contract id {}", job.accion, job.id, afterId, e);
+            job.error = e.getMessage();
+            job.estado = ESTADO_FALLIDO;
+        } finally {
+            if (job.actualizados > 0) {
+                dashboardService.invalidar();
+            }
+            job.fechaFin = LocalDateTime.now();
+        }
+    }
+
+    private int aplicarLote(OperacionMasivaRequest solicitud, int afterId, int hastaId, LocalDateTime fechaCorte,
+                            String usuario) {
+        List<EstadoAnterior> anteriores = masivoJdbcRepository.actualizarLote(solicitud, afterId, hastaId, fechaCorte);
+        if (anteriores.isEmpty()) {
+            return 0;
+        }
+        // Rows bypass the JPA listener, so the list ETags are invalidated once the chunk commits
+        cambioTablaService.registrarCambio("contrato_renta");
+        Map<Integer, EstadoAnterior> porId = new LinkedHashMap<>();
+        anteriores.forEach(anterior -> porId.put(anterior.idContrato(), anterior));
+        // Read back through JPA so the payloads match the single-contract events
+        Map<Integer, ContratoRentaDTO> contratos = new LinkedHashMap<>();
+        List<AuditoriaLoteService.Modificacion> modificaciones = new ArrayList<>(anteriores.size());
+        for (ContratoRenta contrato : contratoRentaRepository.findAllById(List.copyOf(porId.keySet()))) {
+            contratos.put(contrato.getIdContrato(), ContratoRentaService.convertToDTO(contrato));
+            modificaciones.add(new AuditoriaLoteService.Modificacion(contrato, camposAnteriores(porId.get(contrato.getIdContrato()))));
+        }
+        eventoOutboxService.registrarLote(EventoOutbox.AGREGADO_CONTRATO_RENTA, tipoEvento(solicitud.accion()), contratos);
+        auditoriaLoteService.registrarModificaciones(modificaciones, usuario);
+        return anteriores.size();
+    }
+
+    // Map.of rejects null values, and any of these columns may be null
+    private static Map<String, Object> camposAnteriores(EstadoAnterior anterior) {
+        Map<String, Object> campos = new HashMap<>();
+        campos.put("estatusContrato", anterior.estatusContrato());
+        campos.put("fechaFinContrato", anterior.fechaFinContrato());
+        campos.put("duracionMeses", anterior.duracionMeses());
+        campos.put("fechaNotificacion", anterior.fechaNotificacion());
+        return campos;
+    }
+
+    private static String tipoEvento(AccionMasiva accion) {
+        return switch (accion) {
+            case RENOVAR -> "CONTRATO_RENTA_RENOVADO";
+            case TERMINAR -> "CONTRATO_RENTA_TERMINADO";
+            case CAMBIAR_ESTATUS -> "CONTRATO_RENTA_ESTATUS_CAMBIADO";
+        };
+    }
+
+    private void validar(OperacionMasivaRequest solicitud) {
+        if (solicitud.accion() == null) {
+            throw new IllegalArgumentException("Action is required");
+        }
+        // Without a criterion the operation would touch the whole table
+        if (!solicitud.tieneCriterio()) {
+            throw new IllegalArgumentException("At least one contract id or filter is required");
+        }
+        if (solicitud.venceDesde() != null && solicitud.venceHasta() != null
+                && solicitud.venceDesde().isAfter(solicitud.venceHasta())) {
+            throw new IllegalArgumentException("venceDesde must not be after venceHasta");
+        }
+        if (solicitud.accion() == AccionMasiva.RENOVAR && (solicitud.meses() == null || solicitud.meses() < 1)) {
+            throw new IllegalArgumentException("Renewal requires at least 1 month");
+        }
+        if (solicitud.accion() == AccionMasiva.CAMBIAR_ESTATUS && !ESTATUS_VALIDOS.contains(solicitud.nuevoEstatus())) {
+            throw new IllegalArgumentException("Unsupported contract status: " + solicitud.nuevoEstatus());
+        }
+    }
+
+    private void purgarJobsTerminados() {
+        if (jobs.size() < jobsRetenidos) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.fechaFin != null)
+                .sorted((a, b) -> a.fechaFin.compareTo(b.fechaFin))
+                .limit(jobs.size() - jobsRetenidos + 1L)
+                .forEach(job -> jobs.remove(job.id));
+    }
+
+    // Written only by the worker thread; volatile so status reads see its progress
+    private static final class Job {
+
+        private final String id;
+        private final AccionMasiva accion;
+        private final String usuario;
+        private final LocalDateTime fechaInicio;
+        private volatile long objetivo;
+        private volatile long actualizados;
+        private volatile int lotes;
+        private volatile String estado = ESTADO_EN_PROCESO;
+        private volatile LocalDateTime fechaFin;
+        private volatile String error;
+
+        private Job(String id, AccionMasiva accion, String usuario, LocalDateTime fechaInicio) {
+            this.id = id;
+            this.accion = accion;
+            this.usuario = usuario;
+            this.fechaInicio = fechaInicio;
+        }
+
+        private OperacionMasivaJobDTO toDTO() {
+            return new OperacionMasivaJobDTO(id, accion, estado, objetivo, actualizados, lotes,
+                    fechaInicio, fechaFin, error);
+        }
+    }
+}
@@ -1,78 +1,123 @@
 package com.inmobiliaria.gestion.contrato_renta.service;
 
+import com.inmobiliaria.gestion.config.MetricsConfig;
 import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaCreateRequest;
+import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaCursorPage;
 import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaDTO;
 import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaUpdateRequest;
 import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
 import com.inmobiliaria.gestion.contrato_renta.repository.ContratoRentaRepository;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
 import com.inmobiliaria.gestion.propiedad.repository.PropiedadRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ContratoRentaService {
 
+    static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     private final ContratoRentaRepository contratoRentaRepository;
     private final PropiedadRepository propiedadRepository;
+    private final DashboardService dashboardService;
+    private final EventoOutboxService eventoOutboxService;
 
     public List<ContratoRentaDTO> getAllContratos() {
-        log.info("Fetching all rental contracts");
+        log.debug("Fetching all rental contracts");
         return contratoRentaRepository.findAll()
                 .stream()
-                .map(this::convertToDTO)
+                .map(ContratoRentaService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public ContratoRentaCursorPage getContratosAfter(Integer cursor, int size, String estatus) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        int afterId = cursor != null ? cursor : 0;
+        log.debug("Fetching rental contracts after id: {} with size: {} and status: {}", afterId, pageSize, estatus);
+
+        // Fetch one extra row to know whether another page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<ContratoRenta> contratos = estatus != null
+                ? contratoRentaRepository.findByEstatusContratoAndIdContratoGreaterThanOrderByIdContratoAsc(estatus, afterId, limit)
+                : contratoRentaRepository.findByIdContratoGreaterThanOrderByIdContratoAsc(afterId, limit);
+
+        boolean hasNext = contratos.size() > pageSize;
+        List<ContratoRentaDTO> content = contratos.stream()
+                .limit(pageSize)
+                .map(ContratoRentaService::convertToDTO)
+                .toList();
+        Integer nextCursor = hasNext ? content.get(content.size() - 1).idContrato() : null;
+
+        return new ContratoRentaCursorPage(content, nextCursor, hasNext);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllContratos(Consumer<ContratoRentaDTO> consumer) {
+        log.debug("Streaming all rental contracts");
+        try (Stream<ContratoRentaDTO> contratos = contratoRentaRepository.streamAllAsDTO()) {
+            contratos.forEach(consumer);
+        }
+    }
+
     public Optional<ContratoRentaDTO> getContratoById(Integer id) {
-        log.info("Fetching rental contract with id: {}", id);
+        log.debug("Fetching rental contract with id: {}", id);
         return contratoRentaRepository.findById(id)
-                .map(this::convertToDTO);
+                .map(ContratoRentaService::convertToDTO);
     }
 
     public List<ContratoRentaDTO> getContratosByPropiedad(Integer idPropiedad) {
-        log.info("Fetching rental contracts for property: {}", idPropiedad);
+        log.debug("Fetching rental contracts for property: {}", idPropiedad);
         return contratoRentaRepository.findByIdPropiedad(idPropiedad)
                 .stream()
-                .map(this::convertToDTO)
+                .map(ContratoRentaService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<ContratoRentaDTO> getContratosByEstatus(String estatus) {
-        log.info("Fetching rental contracts with status: {}", estatus);
+        log.debug("Fetching rental contracts with status: {}", estatus);
         return contratoRentaRepository.findByEstatusContrato(estatus)
                 .stream()
-                .map(this::convertToDTO)
+                .map(ContratoRentaService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<ContratoRentaDTO> getContratosExpiringBetween(LocalDateTime startDate, LocalDateTime endDate) {
-        log.info("Fetching rental contracts expiring between {} and {}", startDate, endDate);
+        log.debug("Fetching rental contracts expiring between {} and {}", startDate, endDate);
         return contratoRentaRepository.findByFechaFinContratoBetween(startDate, endDate)
                 .stream()
-                .map(this::convertToDTO)
+                .map(ContratoRentaService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<ContratoRentaDTO> getActiveContractsExpiringBefore(LocalDateTime date) {
-        log.info("Fetching active rental contracts expiring before: {}", date);
+        log.debug("Fetching active rental contracts expiring before: {}", date);
         return contratoRentaRepository.findActiveContractsExpiringBefore(date)
                 .stream()
-                .map(this::convertToDTO)
+                .map(ContratoRentaService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<ContratoRentaDTO> getContractsNeedingNotification() {
-        log.info("Fetching contracts needing notification");
+        log.debug("Fetching contracts needing notification");
         LocalDateTime now = LocalDateTime.now();
         return contratoRentaRepository.findContractsNeedingNotification(now)
                 .stream()
@@ -84,12 +129,12 @@ public class ContratoRentaService {
                     }
                     return false;
                 })
-                .map(this::convertToDTO)
+                .map(ContratoRentaService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public ContratoRentaDTO createContrato(ContratoRentaCreateRequest request) {
-        log.info("Creating new rental contract for property: {}", request.idPropiedad());
+        log.debug("Creating new rental contract for property: {}", request.idPropiedad());
         
         if (!propiedadRepository.existsById(request.idPropiedad())) {
             throw new IllegalArgumentException("Property with id " + request.idPropiedad() + " does not exist");
@@ -109,32 +154,42 @@ public class ContratoRentaService {
                 .duracionMeses(request.duracionMeses())
                 .notificacionDiasPrevios(request.notificacionDiasPrevios())
                 .telefonoNotificaciones(request.telefonoNotificaciones())
+                .montoRenta(request.montoRenta())
                 .build();
 
         ContratoRenta savedContrato = contratoRentaRepository.save(contrato);
         log.info("Rental contract created successfully with id: {}", savedContrato.getIdContrato());
-        
-        return convertToDTO(savedContrato);
+        dashboardService.invalidar();
+
+        ContratoRentaDTO dto = convertToDTO(savedContrato);
+        eventoOutboxService.registrar(EventoOutbox.AGREGADO_CONTRATO_RENTA, dto.idContrato(), "CONTRATO_RENTA_CREADO", dto);
+        return dto;
     }
 
     public Optional<ContratoRentaDTO> updateContrato(Integer id, ContratoRentaUpdateRequest request) {
-        log.info("Updating rental contract with id: {}", id);
+        log.debug("Updating rental contract with id: {}", id);
         
         return contratoRentaRepository.findById(id)
                 .map(existingContrato -> {
                     updateContratoFields(existingContrato, request);
                     ContratoRenta updatedContrato = contratoRentaRepository.save(existingContrato);
                     log.info("Rental contract updated successfully with id: {}", updatedContrato.getIdContrato());
-                    return convertToDTO(updatedContrato);
+                    dashboardService.invalidar();
+                    ContratoRentaDTO dto = convertToDTO(updatedContrato);
+                    eventoOutboxService.registrar(EventoOutbox.AGREGADO_CONTRATO_RENTA, id, "CONTRATO_RENTA_ACTUALIZADO", dto);
+                    return dto;
                 });
     }
 
     public boolean deleteContrato(Integer id) {
-        log.info("Deleting rental contract with id: {}", id);
+        log.debug("Deleting rental contract with id: {}", id);
         
         if (contratoRentaRepository.existsById(id)) {
             contratoRentaRepository.deleteById(id);
             log.info("Rental contract deleted successfully with id: {}", id);
+            dashboardService.invalidar();
+            eventoOutboxService.registrar(EventoOutbox.AGREGADO_CONTRATO_RENTA, id, "CONTRATO_RENTA_ELIMINADO",
+                    Map.of("idContrato", id));
             return true;
         }
         
@@ -143,21 +198,25 @@ public class ContratoRentaService {
     }
 
     public boolean terminateContrato(Integer id) {
-        log.info("Terminating rental contract with id: {}", id);
+        log.debug("Terminating rental contract with id: {}", id);
         
         return contratoRentaRepository.findById(id)
                 .map(contrato -> {
-                    contrato.setEstatusContrato("TERMINADO");
+                    contrato.setEstatusContrato(ContratoRenta.ESTATUS_TERMINADO);
                     contrato.setFechaFinContrato(LocalDateTime.now());
-                    contratoRentaRepository.save(contrato);
+                    // Flushed so the event carries the dates @PreUpdate derives, as stored
+                    ContratoRenta terminado = contratoRentaRepository.saveAndFlush(contrato);
                     log.info("Rental contract terminated successfully with id: {}", id);
+                    dashboardService.invalidar();
+                    eventoOutboxService.registrar(EventoOutbox.AGREGADO_CONTRATO_RENTA, id,
+                            "CONTRATO_RENTA_TERMINADO", convertToDTO(terminado));
                     return true;
                 })
                 .orElse(false);
     }
 
     public boolean renewContrato(Integer id, Integer newDurationMonths) {
-        log.info("Renewing rental contract with id: {} for {} months", id, newDurationMonths);
+        log.debug("Renewing rental contract with id: {} for {} months", id, newDurationMonths);
         
         return contratoRentaRepository.findById(id)
                 .map(contrato -> {
@@ -169,8 +228,11 @@ public class ContratoRentaService {
                     contrato.setFechaFinContrato(newEndDate);
                     contrato.setDuracionMeses(contrato.getDuracionMeses() + newDurationMonths);
                     
-                    contratoRentaRepository.save(contrato);
+                    ContratoRenta renovado = contratoRentaRepository.saveAndFlush(contrato);
                     log.info("Rental contract renewed successfully with id: {}", id);
+                    dashboardService.invalidar();
+                    eventoOutboxService.registrar(EventoOutbox.AGREGADO_CONTRATO_RENTA, id,
+                            "CONTRATO_RENTA_RENOVADO", convertToDTO(renovado));
                     return true;
                 })
                 .orElse(false);
@@ -209,9 +271,12 @@ public class ContratoRentaService {
         if (request.telefonoNotificaciones() != null) {
             contrato.setTelefonoNotificaciones(request.telefonoNotificaciones());
         }
+        if (request.montoRenta() != null) {
+            contrato.setMontoRenta(request.montoRenta());
+        }
     }
 
-    private ContratoRentaDTO convertToDTO(ContratoRenta contrato) {
+    public static ContratoRentaDTO convertToDTO(ContratoRenta contrato) {
         return new ContratoRentaDTO(
                 contrato.getIdContrato(),
                 contrato.getIdPropiedad(),
@@ -223,7 +288,8 @@ public class ContratoRentaService {
                 contrato.getDepositoGarantia(),
                 contrato.getDuracionMeses(),
                 contrato.getNotificacionDiasPrevios(),
-                contrato.getTelefonoNotificaciones()
+                contrato.getTelefonoNotificaciones(),
+                contrato.getMontoRenta()
         );
     }
 }
\ No newline at end of file
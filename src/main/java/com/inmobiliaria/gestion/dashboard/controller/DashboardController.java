@@ -0,0 +1,39 @@
+package com.inmobiliaria.gestion.dashboard.controller;
+
+import com.inmobiliaria.gestion.dashboard.dto.DashboardSummaryDTO;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Dashboard", description = "Aggregated dashboard statistics")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @Operation(summary = "Get dashboard summary", description = "Retrieve every dashboard count in a single call")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DashboardSummaryDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummaryDTO> getSummary() {
+        log.debug("GET /api/v1/dashboard/summary - Fetching dashboard summary");
+        return ResponseEntity.ok(dashboardService.getSummary());
+    }
+}
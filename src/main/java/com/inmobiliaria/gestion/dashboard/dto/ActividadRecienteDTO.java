@@ -0,0 +1,17 @@
+package com.inmobiliaria.gestion.dashboard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Recently created record shown in the dashboard activity feed")
+public record ActividadRecienteDTO(
+
+        @Schema(description = "Kind of record", example = "contrato", allowableValues = {"contrato", "propiedad"})
+        String tipo,
+
+        @Schema(description = "Identifier of the record", example = "42")
+        Integer id,
+
+        @Schema(description = "Short description of the record", example = "ACTIVO")
+        String descripcion
+) {
+}
@@ -0,0 +1,54 @@
+package com.inmobiliaria.gestion.dashboard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Aggregated counts shown on the dashboard")
+public record DashboardSummaryDTO(
+
+        @Schema(description = "Total inmobiliarias", example = "12")
+        long totalInmobiliarias,
+
+        @Schema(description = "Inmobiliarias per status")
+        Map<String, Long> inmobiliariasPorEstatus,
+
+        @Schema(description = "Total properties", example = "850")
+        long totalPropiedades,
+
+        @Schema(description = "Properties per status")
+        Map<String, Long> propiedadesPorEstatus,
+
+        @Schema(description = "Properties per type")
+        Map<String, Long> propiedadesPorTipo,
+
+        @Schema(description = "Total rental contracts", example = "640")
+        long totalContratos,
+
+        @Schema(description = "Rental contracts per status")
+        Map<String, Long> contratosPorEstatus,
+
+        @Schema(description = "Active contracts expiring within the configured window", example = "18")
+        long contratosPorVencer,
+
+        @Schema(description = "Total payment concepts", example = "40")
+        long totalConceptos,
+
+        @Schema(description = "Active payment concepts", example = "35")
+        long conceptosActivos,
+
+        @Schema(description = "Total surcharge configurations", example = "6")
+        long totalConfiguracionesRecargo,
+
+        @Schema(description = "Active surcharge configurations", example = "4")
+        long configuracionesRecargoActivas,
+
+        @Schema(description = "Most recently created contracts and properties")
+        List<ActividadRecienteDTO> actividadReciente,
+
+        @Schema(description = "When these figures were computed", example = "2024-05-20T10:15:00")
+        LocalDateTime generado
+) {
+}
@@ -0,0 +1,93 @@
+package com.inmobiliaria.gestion.dashboard.repository;
+
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.dashboard.dto.ActividadRecienteDTO;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grouped count queries behind the dashboard summary. Each method is a single
+ * aggregate statement, so the summary never loads entity rows.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(MetricsConfig.JDBC_TIMER)
+public class DashboardRepository {
+
+    static final String SIN_VALOR = "SIN_DEFINIR";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Map<String, Long> contarInmobiliariasPorEstatus() {
+        return contarPor("SELECT estatus, COUNT(*) FROM inmobiliaria GROUP BY estatus");
+    }
+
+    /**
+     * Property counts keyed by {@code estatus|tipo}, so both breakdowns come from one scan.
+     */
+    public Map<String, Long> contarPropiedadesPorEstatusYTipo() {
+        return contarPor("SELECT COALESCE(estatus_propiedad, '" + SIN_VALOR + "') || '|' || " +
+                "COALESCE(tipo_propiedad, '" + SIN_VALOR + "'), COUNT(*) FROM propiedad " +
+                "GROUP BY estatus_propiedad, tipo_propiedad");
+    }
+
+    public Map<String, Long> contarContratosPorEstatus() {
+        return contarPor("SELECT estatus_contrato, COUNT(*) FROM contrato_renta GROUP BY estatus_contrato");
+    }
+
+    public long contarContratosActivosPorVencer(LocalDateTime desde, LocalDateTime hasta) {
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM contrato_renta WHERE estatus_contrato = 'ACTIVO' " +
+                "AND fecha_fin_contrato BETWEEN ? AND ?",
+                Long.class, Timestamp.valueOf(desde), Timestamp.valueOf(hasta));
+        return total != null ? total : 0;
+    }
+
+    public TotalYActivos contarConceptos() {
+        return contarTotalYActivos("SELECT COUNT(*), COUNT(CASE WHEN activo = TRUE THEN 1 END) FROM conceptos_pago");
+    }
+
+    public TotalYActivos contarConfiguracionesRecargo() {
+        return contarTotalYActivos("SELECT COUNT(*), COUNT(CASE WHEN activo = TRUE THEN 1 END) FROM configuracion_recargos");
+    }
+
+    public List<ActividadRecienteDTO> findContratosRecientes(int limite) {
+        return jdbcTemplate.query(
+                "SELECT id_contrato, estatus_contrato FROM contrato_renta ORDER BY id_contrato DESC LIMIT ?",
+                (rs, rowNum) -> new ActividadRecienteDTO("contrato", rs.getInt(1), rs.getString(2)),
+                limite);
+    }
+
+    public List<ActividadRecienteDTO> findPropiedadesRecientes(int limite) {
+        return jdbcTemplate.query(
+                "SELECT id_propiedad, COALESCE(tipo_propiedad, 'N/A') || ' - ' || COALESCE(estatus_propiedad, 'N/A') " +
+                "FROM propiedad ORDER BY id_propiedad DESC LIMIT ?",
+                (rs, rowNum) -> new ActividadRecienteDTO("propiedad", rs.getInt(1), rs.getString(2)),
+                limite);
+    }
+
+    private TotalYActivos contarTotalYActivos(String sql) {
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> new TotalYActivos(rs.getLong(1), rs.getLong(2)));
+    }
+
+    private Map<String, Long> contarPor(String sql) {
+        Map<String, Long> conteos = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            String clave = rs.getString(1);
+            conteos.merge(clave != null ? clave : SIN_VALOR, rs.getLong(2), Long::sum);
+        });
+        return conteos;
+    }
+
+    public record TotalYActivos(long total, long activos) {
+    }
+}
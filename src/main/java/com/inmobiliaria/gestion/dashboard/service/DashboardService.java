@@ -0,0 +1,126 @@
+package com.inmobiliaria.gestion.dashboard.service;
+
+import com.inmobiliaria.gestion.dashboard.dto.ActividadRecienteDTO;
+import com.inmobiliaria.gestion.dashboard.dto.DashboardSummaryDTO;
+import com.inmobiliaria.gestion.dashboard.repository.DashboardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dashboard summary built from a handful of grouped count queries and cached for a short
+ * TTL. Write paths of the counted entities call {@link #invalidar()}, which drops the
+ * cached summary once their transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardService {
+
+    private static final int ACTIVIDAD_CONTRATOS = 3;
+    private static final int ACTIVIDAD_PROPIEDADES = 2;
+
+    private final DashboardRepository dashboardRepository;
+
+    private final AtomicLong generacion = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @Value("${dashboard.cache-ttl:PT30S}")
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    @Value("${dashboard.dias-por-vencer:30}")
+    private int diasPorVencer = 30;
+
+    @Transactional(readOnly = true)
+    public DashboardSummaryDTO getSummary() {
+        Snapshot actual = snapshot;
+        if (actual != null && System.nanoTime() < actual.expiraEn()) {
+            return actual.summary();
+        }
+
+        long generacionInicial = generacion.get();
+        DashboardSummaryDTO summary = calcularSummary();
+        // Only cache if no write committed while the counts were being computed
+        if (generacion.get() == generacionInicial) {
+            snapshot = new Snapshot(summary, System.nanoTime() + cacheTtl.toNanos());
+        }
+        return summary;
+    }
+
+    public void invalidar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    descartar();
+                }
+            });
+        } else {
+            descartar();
+        }
+    }
+
+    private void descartar() {
+        generacion.incrementAndGet();
+        snapshot = null;
+    }
+
+    private DashboardSummaryDTO calcularSummary() {
+        log.debug("Computing dashboard summary");
+        LocalDateTime ahora = LocalDateTime.now();
+
+        Map<String, Long> inmobiliarias = dashboardRepository.contarInmobiliariasPorEstatus();
+
+        Map<String, Long> propiedadesPorEstatus = new LinkedHashMap<>();
+        Map<String, Long> propiedadesPorTipo = new LinkedHashMap<>();
+        dashboardRepository.contarPropiedadesPorEstatusYTipo().forEach((clave, total) -> {
+            int separador = clave.indexOf('|');
+            propiedadesPorEstatus.merge(clave.substring(0, separador), total, Long::sum);
+            propiedadesPorTipo.merge(clave.substring(separador + 1), total, Long::sum);
+        });
+
+        Map<String, Long> contratos = dashboardRepository.contarContratosPorEstatus();
+        long porVencer = dashboardRepository.contarContratosActivosPorVencer(ahora, ahora.plusDays(diasPorVencer));
+        DashboardRepository.TotalYActivos conceptos = dashboardRepository.contarConceptos();
+        DashboardRepository.TotalYActivos configuraciones = dashboardRepository.contarConfiguracionesRecargo();
+
+        List<ActividadRecienteDTO> actividad = new ArrayList<>(dashboardRepository.findContratosRecientes(ACTIVIDAD_CONTRATOS));
+        actividad.addAll(dashboardRepository.findPropiedadesRecientes(ACTIVIDAD_PROPIEDADES));
+
+        return new DashboardSummaryDTO(
+                total(inmobiliarias),
+                inmobiliarias,
+                total(propiedadesPorEstatus),
+                propiedadesPorEstatus,
+                propiedadesPorTipo,
+                total(contratos),
+                contratos,
+                porVencer,
+                conceptos.total(),
+                conceptos.activos(),
+                configuraciones.total(),
+                configuraciones.activos(),
+                actividad,
+                ahora
+        );
+    }
+
+    private long total(Map<String, Long> conteos) {
+        return conteos.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private record Snapshot(DashboardSummaryDTO summary, long expiraEn) {
+    }
+}
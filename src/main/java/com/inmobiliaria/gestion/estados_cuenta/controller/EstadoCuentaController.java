@@ -0,0 +1,56 @@
+package com.inmobiliaria.gestion.estados_cuenta.controller;
+
+import com.inmobiliaria.gestion.estados_cuenta.dto.EstadoCuentaRunReport;
+import com.inmobiliaria.gestion.estados_cuenta.service.EstadoCuentaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/v1/estados-cuenta")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Estados de Cuenta", description = "Monthly tenant account statement operations")
+public class EstadoCuentaController {
+
+    private final EstadoCuentaService estadoCuentaService;
+
+    @Operation(summary = "Run account statements",
+            description = "Render, store and email the PDF statement of every active contract for a period. " +
+                    "Re-running a period skips statements that were already stored unchanged")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statement run completed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadoCuentaRunReport.class))),
+            @ApiResponse(responseCode = "409", description = "Another statement run is in progress"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/corridas")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EstadoCuentaRunReport> generarEstados(
+            @Parameter(description = "Statement period (yyyy-MM)", required = true, example = "2024-05")
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth periodo) {
+        log.info("POST /api/v1/estados-cuenta/corridas - Generating account statements for period {}", periodo);
+        try {
+            return ResponseEntity.ok(estadoCuentaService.generarEstados(periodo));
+        } catch (IllegalStateException e) {
+            log.warn("Account statement run rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
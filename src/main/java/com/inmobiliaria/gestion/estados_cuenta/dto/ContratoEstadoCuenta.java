@@ -0,0 +1,8 @@
+package com.inmobiliaria.gestion.estados_cuenta.dto;
+
+/**
+ * Active contract read by the statement run, with what its statement header shows.
+ */
+public record ContratoEstadoCuenta(Integer idContrato, Long idInmobiliaria, String nombreInmobiliaria,
+                                   String direccionPropiedad, String emailNotificaciones) {
+}
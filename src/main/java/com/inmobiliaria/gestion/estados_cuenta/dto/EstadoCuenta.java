@@ -0,0 +1,12 @@
+package com.inmobiliaria.gestion.estados_cuenta.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Everything rendered on one contract's statement for a period: the balance carried in,
+ * the period's ledger entries in booking order and the closing balance.
+ */
+public record EstadoCuenta(ContratoEstadoCuenta contrato, String periodo, BigDecimal saldoInicial,
+                           List<MovimientoEstadoCuenta> movimientos, BigDecimal saldoFinal) {
+}
@@ -0,0 +1,43 @@
+package com.inmobiliaria.gestion.estados_cuenta.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Summary of one monthly account statement run")
+public record EstadoCuentaRunReport(
+
+        @Schema(description = "Statement period", example = "2024-05")
+        String periodo,
+
+        @Schema(description = "Active contracts read in this run", example = "50000")
+        long contratosProcesados,
+
+        @Schema(description = "Statements rendered and stored in this run", example = "49990")
+        long estadosGenerados,
+
+        @Schema(description = "Statements skipped because an identical document was already stored and sent", example = "10")
+        long estadosOmitidos,
+
+        @Schema(description = "Statements emailed to the contract's notification address", example = "48000")
+        long correosEnviados,
+
+        @Schema(description = "Statements stored but not emailed because the contract has no notification email", example = "1990")
+        long contratosSinCorreo,
+
+        @Schema(description = "Contracts whose statement failed; rerunning the period retries them", example = "0")
+        long fallidos,
+
+        @Schema(description = "PDF pages rendered", example = "52000")
+        long paginas,
+
+        @Schema(description = "Run duration in milliseconds", example = "600000")
+        long duracionMs,
+
+        @Schema(description = "Rendered pages per second", example = "86.7")
+        double paginasPorSegundo,
+
+        @Schema(description = "First failures of the run, one line per contract")
+        List<String> fallas
+) {
+}
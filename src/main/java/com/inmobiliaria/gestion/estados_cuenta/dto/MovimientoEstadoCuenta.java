@@ -0,0 +1,12 @@
+package com.inmobiliaria.gestion.estados_cuenta.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ledger entry listed on a statement. The amount is signed as in the ledger: positive
+ * entries are charged to the tenant, negative entries are credited.
+ */
+public record MovimientoEstadoCuenta(Integer idContrato, LocalDateTime fechaMovimiento, String descripcion,
+                                     BigDecimal monto) {
+}
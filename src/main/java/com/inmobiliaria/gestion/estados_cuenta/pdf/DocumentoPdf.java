@@ -0,0 +1,7 @@
+package com.inmobiliaria.gestion.estados_cuenta.pdf;
+
+/**
+ * A rendered PDF document and its page count.
+ */
+public record DocumentoPdf(byte[] contenido, int paginas) {
+}
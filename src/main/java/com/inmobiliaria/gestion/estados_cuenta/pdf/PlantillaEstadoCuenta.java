@@ -0,0 +1,238 @@
+package com.inmobiliaria.gestion.estados_cuenta.pdf;
+
+import com.inmobiliaria.gestion.estados_cuenta.dto.ContratoEstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.dto.EstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.dto.MovimientoEstadoCuenta;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Account statement layout, compiled once into PDF objects. The catalog, the two standard
+ * Helvetica fonts and the page frame (title, column headings and rules) are fixed byte
+ * arrays shared by every page of every statement; rendering a statement only writes its page
+ * objects, one small content stream per page and the cross-reference table. No font is
+ * embedded and nothing time-dependent is written, so a statement is a few kilobytes and the
+ * same data always renders to the same bytes. Thread-safe: rendering keeps no shared state.
+ */
+@Component
+public class PlantillaEstadoCuenta {
+
+    static final int FILAS_POR_PAGINA = 38;
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int LARGO_MAXIMO_CONCEPTO = 48;
+
+    private static final int OBJ_CATALOGO = 1;
+    private static final int OBJ_PAGINAS = 2;
+    private static final int PRIMER_OBJ_FIJO = 3;
+    private static final int PRIMER_OBJ_PAGINA = 6;
+
+    // Column offsets relative to the previous column, used with Td inside a row's text object
+    private static final int X_FECHA = 50;
+    private static final int DX_CONCEPTO = 65;
+    private static final int DX_CARGO = 255;
+    private static final int DX_ABONO = 70;
+    private static final int DX_SALDO = 70;
+    private static final int Y_PRIMERA_FILA = 615;
+    private static final int ALTO_FILA = 14;
+
+    private static final String MARCO =
+            "BT /F2 16 Tf 50 740 Td " + texto("Estado de cuenta") + " Tj ET\n" +
+            "BT /F2 9 Tf " + X_FECHA + " 640 Td " + texto("Fecha") + " Tj " +
+            DX_CONCEPTO + " 0 Td " + texto("Concepto") + " Tj " +
+            DX_CARGO + " 0 Td " + texto("Cargo") + " Tj " +
+            DX_ABONO + " 0 Td " + texto("Abono") + " Tj " +
+            DX_SALDO + " 0 Td " + texto("Saldo") + " Tj ET\n" +
+            "0.5 w 50 632 m 562 632 l S\n" +
+            "50 55 m 562 55 l S\n";
+
+    private final byte[] encabezado;
+    private final byte[] catalogo;
+    private final byte[] objetosFijos;
+    private final long[] desplazamientosFijos;
+
+    public PlantillaEstadoCuenta() {
+        encabezado = "%PDF-1.4\n%\u00e2\u00e3\u00cf\u00d3\n".getBytes(StandardCharsets.ISO_8859_1);
+        catalogo = objeto(OBJ_CATALOGO, "<< /Type /Catalog /Pages " + OBJ_PAGINAS + " 0 R >>");
+        List<byte[]> fijos = List.of(
+                objeto(3, "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>"),
+                objeto(4, "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>"),
+                flujo(5, MARCO));
+        Salida salida = new Salida();
+        desplazamientosFijos = new long[fijos.size()];
+        for (int i = 0; i < fijos.size(); i++) {
+            desplazamientosFijos[i] = salida.size();
+            salida.write(fijos.get(i));
+        }
+        objetosFijos = salida.toByteArray();
+    }
+
+    public DocumentoPdf render(EstadoCuenta estado) {
+        List<String[]> filas = filas(estado);
+        int paginas = Math.max(1, (filas.size() + FILAS_POR_PAGINA - 1) / FILAS_POR_PAGINA);
+        int totalObjetos = PRIMER_OBJ_PAGINA - 1 + paginas * 2;
+        long[] posiciones = new long[totalObjetos + 1];
+
+        Salida salida = new Salida();
+        salida.write(encabezado);
+        posiciones[OBJ_CATALOGO] = salida.size();
+        salida.write(catalogo);
+
+        StringBuilder hijos = new StringBuilder();
+        for (int i = 0; i < paginas; i++) {
+            hijos.append(objPagina(i)).append(" 0 R ");
+        }
+        posiciones[OBJ_PAGINAS] = salida.size();
+        salida.write(objeto(OBJ_PAGINAS, "<< /Type /Pages /Kids [ " + hijos + "] /Count " + paginas + " >>"));
+
+        // The fixed objects are stored back to back; only their start shifts with the page tree above
+        long inicioFijos = salida.size();
+        salida.write(objetosFijos);
+        for (int i = 0; i < desplazamientosFijos.length; i++) {
+            posiciones[PRIMER_OBJ_FIJO + i] = inicioFijos + desplazamientosFijos[i];
+        }
+
+        for (int i = 0; i < paginas; i++) {
+            posiciones[objPagina(i)] = salida.size();
+            salida.write(objeto(objPagina(i), "<< /Type /Page /Parent " + OBJ_PAGINAS + " 0 R " +
+                    "/MediaBox [0 0 612 792] /Resources << /Font << /F1 3 0 R /F2 4 0 R >> >> " +
+                    "/Contents [5 0 R " + (objPagina(i) + 1) + " 0 R] >>"));
+            posiciones[objPagina(i) + 1] = salida.size();
+            int desde = i * FILAS_POR_PAGINA;
+            salida.write(flujo(objPagina(i) + 1, contenidoPagina(estado, filas.subList(desde,
+                    Math.min(desde + FILAS_POR_PAGINA, filas.size())), i + 1, paginas)));
+        }
+
+        long inicioXref = salida.size();
+        StringBuilder xref = new StringBuilder();
+        xref.append("xref\n0 ").append(totalObjetos + 1).append('\n').append("0000000000 65535 f \n");
+        for (int i = 1; i <= totalObjetos; i++) {
+            xref.append(String.format(Locale.ROOT, "%010d 00000 n \n", posiciones[i]));
+        }
+        xref.append("trailer\n<< /Size ").append(totalObjetos + 1).append(" /Root ").append(OBJ_CATALOGO)
+                .append(" 0 R >>\nstartxref\n").append(inicioXref).append("\n%%EOF\n");
+        salida.write(xref.toString().getBytes(StandardCharsets.ISO_8859_1));
+        return new DocumentoPdf(salida.toByteArray(), paginas);
+    }
+
+    private List<String[]> filas(EstadoCuenta estado) {
+        List<String[]> filas = new ArrayList<>(estado.movimientos().size() + 2);
+        filas.add(new String[]{"", "Saldo inicial", "", "", importe(estado.saldoInicial())});
+        BigDecimal saldo = estado.saldoInicial();
+        for (MovimientoEstadoCuenta movimiento : estado.movimientos()) {
+            saldo = saldo.add(movimiento.monto());
+            boolean abono = movimiento.monto().signum() < 0;
+            filas.add(new String[]{
+                    movimiento.fechaMovimiento().format(FORMATO_FECHA),
+                    recortar(movimiento.descripcion()),
+                    abono ? "" : importe(movimiento.monto()),
+                    abono ? importe(movimiento.monto().negate()) : "",
+                    importe(saldo)});
+        }
+        filas.add(new String[]{"", "Saldo al cierre", "", "", importe(estado.saldoFinal())});
+        return filas;
+    }
+
+    private String contenidoPagina(EstadoCuenta estado, List<String[]> filas, int pagina, int paginas) {
+        ContratoEstadoCuenta contrato = estado.contrato();
+        StringBuilder contenido = new StringBuilder(256 + filas.size() * 96);
+        linea(contenido, "F2", 11, 712, contrato.nombreInmobiliaria() != null
+                ? contrato.nombreInmobiliaria() : "Inmobiliaria #" + contrato.idInmobiliaria());
+        linea(contenido, "F1", 9, 698, "Contrato #" + contrato.idContrato() + "   Periodo " + estado.periodo());
+        if (contrato.direccionPropiedad() != null) {
+            linea(contenido, "F1", 9, 686, "Propiedad: " + contrato.direccionPropiedad());
+        }
+        if (contrato.emailNotificaciones() != null) {
+            linea(contenido, "F1", 9, 674, "Enviado a: " + contrato.emailNotificaciones());
+        }
+
+        int y = Y_PRIMERA_FILA;
+        for (String[] fila : filas) {
+            contenido.append("BT /F1 9 Tf ").append(X_FECHA).append(' ').append(y).append(" Td ");
+            celda(contenido, 0, fila[0]);
+            celda(contenido, DX_CONCEPTO, fila[1]);
+            celda(contenido, DX_CARGO, fila[2]);
+            celda(contenido, DX_ABONO, fila[3]);
+            celda(contenido, DX_SALDO, fila[4]);
+            contenido.append("ET\n");
+            y -= ALTO_FILA;
+        }
+        linea(contenido, "F1", 8, 40, "Página " + pagina + " de " + paginas);
+        return contenido.toString();
+    }
+
+    private static void linea(StringBuilder contenido, String fuente, int tamano, int y, String valor) {
+        contenido.append("BT /").append(fuente).append(' ').append(tamano).append(" Tf 50 ").append(y)
+                .append(" Td ").append(texto(valor)).append(" Tj ET\n");
+    }
+
+    private static void celda(StringBuilder contenido, int dx, String valor) {
+        if (dx > 0) {
+            contenido.append(dx).append(" 0 Td ");
+        }
+        if (!valor.isEmpty()) {
+            contenido.append(texto(valor)).append(" Tj ");
+        }
+    }
+
+    private static String importe(BigDecimal monto) {
+        return String.format(Locale.US, "%,.2f", monto);
+    }
+
+    private static String recortar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        return valor.length() > LARGO_MAXIMO_CONCEPTO ? valor.substring(0, LARGO_MAXIMO_CONCEPTO - 3) + "..." : valor;
+    }
+
+    // PDF literal string in WinAnsi encoding, which matches ISO-8859-1 for Spanish text
+    private static String texto(String valor) {
+        StringBuilder literal = new StringBuilder(valor.length() + 2).append('(');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < 0x20) {
+                literal.append(' ');
+            } else if (c > 0xFF) {
+                literal.append('?');
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append(')').toString();
+    }
+
+    private static int objPagina(int indice) {
+        return PRIMER_OBJ_PAGINA + indice * 2;
+    }
+
+    private static byte[] objeto(int numero, String diccionario) {
+        return (numero + " 0 obj\n" + diccionario + "\nendobj\n").getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] flujo(int numero, String contenido) {
+        byte[] datos = contenido.getBytes(StandardCharsets.ISO_8859_1);
+        Salida salida = new Salida();
+        salida.write((numero + " 0 obj\n<< /Length " + datos.length + " >>\nstream\n").getBytes(StandardCharsets.ISO_8859_1));
+        salida.write(datos);
+        salida.write("\nendstream\nendobj\n".getBytes(StandardCharsets.ISO_8859_1));
+        return salida.toByteArray();
+    }
+
+    private static final class Salida extends ByteArrayOutputStream {
+
+        @Override
+        public void write(byte[] datos) {
+            write(datos, 0, datos.length);
+        }
+    }
+}
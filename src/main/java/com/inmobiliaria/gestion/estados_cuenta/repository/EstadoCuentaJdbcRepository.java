@@ -0,0 +1,80 @@
+package com.inmobiliaria.gestion.estados_cuenta.repository;
+
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.estados_cuenta.dto.ContratoEstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.dto.MovimientoEstadoCuenta;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC reads for the statement run: keyset batches of active contracts, and the
+ * balances and ledger entries of a whole batch by contract id range, so a batch costs three
+ * queries however many contracts it holds.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(MetricsConfig.JDBC_TIMER)
+public class EstadoCuentaJdbcRepository {
+
+    private static final String SQL_CONTRATOS_ACTIVOS =
+            "SELECT c.id_contrato, c.email_notificaciones, p.id_inmobiliaria, p.direccion_completa, " +
+            "i.nombre_comercial FROM contrato_renta c " +
+            "JOIN propiedad p ON p.id_propiedad = c.id_propiedad " +
+            "LEFT JOIN inmobiliaria i ON i.id_inmobiliaria = p.id_inmobiliaria " +
+            "WHERE c.estatus_contrato = 'ACTIVO' AND c.id_contrato > ? " +
+            "ORDER BY c.id_contrato LIMIT ?";
+
+    private static final String SQL_SALDOS =
+            "SELECT id_contrato, saldo FROM saldo_contrato WHERE id_contrato BETWEEN ? AND ?";
+
+    private static final String SQL_MOVIMIENTOS_DESDE =
+            "SELECT id_contrato, fecha_movimiento, descripcion, monto FROM movimiento_cuenta " +
+            "WHERE id_contrato BETWEEN ? AND ? AND fecha_movimiento >= ? ORDER BY id_contrato, id_movimiento";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<ContratoEstadoCuenta> findContratosActivos(Integer afterId, int limit) {
+        return jdbcTemplate.query(SQL_CONTRATOS_ACTIVOS,
+                (rs, rowNum) -> new ContratoEstadoCuenta(
+                        rs.getInt("id_contrato"),
+                        rs.getLong("id_inmobiliaria"),
+                        rs.getString("nombre_comercial"),
+                        rs.getString("direccion_completa"),
+                        rs.getString("email_notificaciones")),
+                afterId, limit);
+    }
+
+    /**
+     * Current running balances of the contracts in the id range, by contract.
+     */
+    public Map<Integer, BigDecimal> findSaldos(Integer desde, Integer hasta) {
+        Map<Integer, BigDecimal> saldos = new HashMap<>();
+        jdbcTemplate.query(SQL_SALDOS, rs -> {
+            saldos.put(rs.getInt("id_contrato"), rs.getBigDecimal("saldo"));
+        }, desde, hasta);
+        return saldos;
+    }
+
+    /**
+     * Ledger entries of the contracts in the id range booked at or after the given instant,
+     * grouped by contract in booking order.
+     */
+    public List<MovimientoEstadoCuenta> findMovimientosDesde(Integer desde, Integer hasta, LocalDateTime inicio) {
+        return jdbcTemplate.query(SQL_MOVIMIENTOS_DESDE,
+                (rs, rowNum) -> new MovimientoEstadoCuenta(
+                        rs.getInt("id_contrato"),
+                        rs.getTimestamp("fecha_movimiento").toLocalDateTime(),
+                        rs.getString("descripcion"),
+                        rs.getBigDecimal("monto")),
+                desde, hasta, Timestamp.valueOf(inicio));
+    }
+}
@@ -0,0 +1,17 @@
+package com.inmobiliaria.gestion.estados_cuenta.service;
+
+/**
+ * Storage for rendered statements, addressed by a key derived from the document's content.
+ * Implementations must be thread-safe: the statement run stores documents concurrently.
+ */
+public interface AlmacenEstadosCuenta {
+
+    boolean existe(String clave);
+
+    /**
+     * Stores the document under the key and returns where it can be retrieved from.
+     */
+    String guardar(String clave, byte[] contenido);
+
+    void eliminar(String clave);
+}
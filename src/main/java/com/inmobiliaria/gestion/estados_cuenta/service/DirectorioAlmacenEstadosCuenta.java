@@ -0,0 +1,63 @@
+package com.inmobiliaria.gestion.estados_cuenta.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Local-directory stand-in for an object store. Documents are written under a two-character
+ * prefix of their key to keep directories small, through a temporary file and an atomic
+ * rename so a reader never sees a partial document. Replace it by declaring a
+ * {@code @Primary} {@link AlmacenEstadosCuenta} bean backed by a real object store.
+ */
+@Component
+@Slf4j
+public class DirectorioAlmacenEstadosCuenta implements AlmacenEstadosCuenta {
+
+    @Value("${estados-cuenta.directorio:estados-cuenta}")
+    private String directorio = "estados-cuenta";
+
+    @Override
+    public boolean existe(String clave) {
+        return Files.exists(ruta(clave));
+    }
+
+    @Override
+    public String guardar(String clave, byte[] contenido) {
+        Path destino = ruta(clave);
+        try {
+            Files.createDirectories(destino.getParent());
+            Path temporal = Files.createTempFile(destino.getParent(), clave, ".tmp");
+            try {
+                Files.write(temporal, contenido);
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporal);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store statement " + clave, e);
+        }
+        log.trace("Stored statement {} ({} bytes)", destino, contenido.length);
+        return destino.toString();
+    }
+
+    @Override
+    public void eliminar(String clave) {
+        try {
+            Files.deleteIfExists(ruta(clave));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete statement " + clave, e);
+        }
+    }
+
+    private Path ruta(String clave) {
+        return Paths.get(directorio, clave.substring(0, 2), clave);
+    }
+}
@@ -0,0 +1,25 @@
+package com.inmobiliaria.gestion.estados_cuenta.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "estados-cuenta.enabled", havingValue = "true")
+public class EstadoCuentaScheduler {
+
+    private final EstadoCuentaService estadoCuentaService;
+
+    @Scheduled(cron = "${estados-cuenta.cron:0 0 2 1 * *}")
+    public void generarEstadosMesAnterior() {
+        YearMonth periodo = YearMonth.now().minusMonths(1);
+        log.debug("Running scheduled account statement job for period {}", periodo);
+        estadoCuentaService.generarEstados(periodo);
+    }
+}
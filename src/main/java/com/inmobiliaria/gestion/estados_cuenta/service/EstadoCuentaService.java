@@ -0,0 +1,222 @@
+package com.inmobiliaria.gestion.estados_cuenta.service;
+
+import com.inmobiliaria.gestion.estados_cuenta.dto.ContratoEstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.dto.EstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.dto.EstadoCuentaRunReport;
+import com.inmobiliaria.gestion.estados_cuenta.dto.MovimientoEstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.pdf.DocumentoPdf;
+import com.inmobiliaria.gestion.estados_cuenta.pdf.PlantillaEstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.repository.EstadoCuentaJdbcRepository;
+import com.inmobiliaria.gestion.notificaciones.model.NotificacionContrato;
+import com.inmobiliaria.gestion.notificaciones.service.NotificacionSender;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Monthly account statement run. Active contracts are read in keyset batches; for each batch
+ * the balances and ledger entries are loaded in bulk, and the statements are rendered from
+ * the precompiled template, stored and emailed on a fixed pool of workers. The next batch is
+ * read only when the current one is done, so memory is bounded by one batch whatever the
+ * number of contracts.
+ * <p>
+ * Documents are stored under the SHA-256 of their content. Rendering is deterministic, so a
+ * statement already stored by an earlier run of the period is skipped and not emailed again;
+ * a statement whose email fails is removed so the next run retries it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EstadoCuentaService {
+
+    static final int MAX_FALLAS_REPORTADAS = 100;
+
+    private final EstadoCuentaJdbcRepository estadoCuentaJdbcRepository;
+    private final PlantillaEstadoCuenta plantillaEstadoCuenta;
+    private final AlmacenEstadosCuenta almacenEstadosCuenta;
+    private final NotificacionSender notificacionSender;
+
+    private final ReentrantLock ejecucionLock = new ReentrantLock();
+
+    @Value("${estados-cuenta.lote-size:500}")
+    private int loteSize = 500;
+
+    @Value("${estados-cuenta.paralelismo:4}")
+    private int paralelismo = 4;
+
+    public EstadoCuentaRunReport generarEstados(YearMonth periodo) {
+        if (!ejecucionLock.tryLock()) {
+            throw new IllegalStateException("An account statement run is already in progress");
+        }
+        try {
+            return ejecutar(periodo);
+        } finally {
+            ejecucionLock.unlock();
+        }
+    }
+
+    private EstadoCuentaRunReport ejecutar(YearMonth periodo) {
+        long inicio = System.nanoTime();
+        LocalDateTime inicioPeriodo = periodo.atDay(1).atStartOfDay();
+        LocalDateTime finPeriodo = periodo.plusMonths(1).atDay(1).atStartOfDay();
+        log.info("Starting account statement run for period {}", periodo);
+
+        Acumulador acumulador = new Acumulador();
+        try (ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, paralelismo))) {
+            int afterId = 0;
+            List<ContratoEstadoCuenta> lote;
+            do {
+                lote = estadoCuentaJdbcRepository.findContratosActivos(afterId, loteSize);
+                if (lote.isEmpty()) {
+                    break;
+                }
+                List<EstadoCuenta> estados = armarEstados(periodo, lote, inicioPeriodo, finPeriodo);
+                List<Future<Resultado>> resultados = new ArrayList<>(estados.size());
+                for (EstadoCuenta estado : estados) {
+                    resultados.add(pool.submit(() -> generar(estado)));
+                }
+                for (int i = 0; i < resultados.size(); i++) {
+                    Integer idContrato = estados.get(i).contrato().idContrato();
+                    try {
+                        acumulador.sumar(resultados.get(i).get());
+                    } catch (ExecutionException e) {
+                        log.warn("Account statement for contract {} and period {} failed: {}",
+                                idContrato, periodo, e.getCause().getMessage());
+                        acumulador.fallo("Contrato " + idContrato + ": " + e.getCause().getMessage());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Account statement run interrupted", e);
+                    }
+                }
+                acumulador.contratos += lote.size();
+                afterId = lote.get(lote.size() - 1).idContrato();
+            } while (lote.size() == loteSize);
+        }
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        double paginasPorSegundo = duracionMs > 0 ? acumulador.paginas * 1000.0 / duracionMs : acumulador.paginas;
+        log.info("Account statement run for period {} finished: {} contracts, {} generated, {} skipped, {} emailed, " +
+                        "{} failed, {} pages in {} ms ({} pages/s)", periodo, acumulador.contratos, acumulador.generados,
+                acumulador.omitidos, acumulador.enviados, acumulador.fallidos, acumulador.paginas, duracionMs,
+                String.format(Locale.ROOT, "%.1f", paginasPorSegundo));
+        return new EstadoCuentaRunReport(periodo.toString(), acumulador.contratos, acumulador.generados,
+                acumulador.omitidos, acumulador.enviados, acumulador.sinCorreo, acumulador.fallidos,
+                acumulador.paginas, duracionMs, paginasPorSegundo, acumulador.fallas);
+    }
+
+    private List<EstadoCuenta> armarEstados(YearMonth periodo, List<ContratoEstadoCuenta> lote,
+                                            LocalDateTime inicioPeriodo, LocalDateTime finPeriodo) {
+        Integer desde = lote.get(0).idContrato();
+        Integer hasta = lote.get(lote.size() - 1).idContrato();
+        Map<Integer, BigDecimal> saldos = estadoCuentaJdbcRepository.findSaldos(desde, hasta);
+
+        // Entries after the period are read too: the opening balance is the current balance minus everything since
+        Map<Integer, List<MovimientoEstadoCuenta>> delPeriodo = new HashMap<>();
+        Map<Integer, BigDecimal> desdeInicio = new HashMap<>();
+        for (MovimientoEstadoCuenta movimiento : estadoCuentaJdbcRepository.findMovimientosDesde(desde, hasta, inicioPeriodo)) {
+            desdeInicio.merge(movimiento.idContrato(), movimiento.monto(), BigDecimal::add);
+            if (movimiento.fechaMovimiento().isBefore(finPeriodo)) {
+                delPeriodo.computeIfAbsent(movimiento.idContrato(), id -> new ArrayList<>()).add(movimiento);
+            }
+        }
+
+        List<EstadoCuenta> estados = new ArrayList<>(lote.size());
+        for (ContratoEstadoCuenta contrato : lote) {
+            Integer idContrato = contrato.idContrato();
+            BigDecimal saldoInicial = saldos.getOrDefault(idContrato, BigDecimal.ZERO)
+                    .subtract(desdeInicio.getOrDefault(idContrato, BigDecimal.ZERO));
+            List<MovimientoEstadoCuenta> movimientos = delPeriodo.getOrDefault(idContrato, List.of());
+            BigDecimal saldoFinal = movimientos.stream()
+                    .map(MovimientoEstadoCuenta::monto)
+                    .reduce(saldoInicial, BigDecimal::add);
+            estados.add(new EstadoCuenta(contrato, periodo.toString(), saldoInicial, movimientos, saldoFinal));
+        }
+        return estados;
+    }
+
+    private Resultado generar(EstadoCuenta estado) {
+        DocumentoPdf documento = plantillaEstadoCuenta.render(estado);
+        String clave = huella(documento.contenido()) + ".pdf";
+        if (almacenEstadosCuenta.existe(clave)) {
+            return new Resultado(documento.paginas(), false, false);
+        }
+        String ubicacion = almacenEstadosCuenta.guardar(clave, documento.contenido());
+
+        String email = estado.contrato().emailNotificaciones();
+        if (email == null || email.isBlank()) {
+            return new Resultado(documento.paginas(), true, false);
+        }
+        try {
+            notificacionSender.enviar(NotificacionContrato.Canal.EMAIL, email,
+                    "Estado de cuenta " + estado.periodo() + " - contrato #" + estado.contrato().idContrato(),
+                    "Su estado de cuenta del periodo " + estado.periodo() + " está disponible en " + ubicacion
+                            + ". Saldo al cierre: " + String.format(Locale.US, "%,.2f", estado.saldoFinal()) + ".");
+        } catch (RuntimeException e) {
+            almacenEstadosCuenta.eliminar(clave);
+            throw e;
+        }
+        return new Resultado(documento.paginas(), true, true);
+    }
+
+    private static String huella(byte[] contenido) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(contenido));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Resultado(int paginas, boolean generado, boolean enviado) {
+    }
+
+    private static final class Acumulador {
+
+        private long contratos;
+        private long generados;
+        private long omitidos;
+        private long enviados;
+        private long sinCorreo;
+        private long fallidos;
+        private long paginas;
+        private final List<String> fallas = new ArrayList<>();
+
+        private void sumar(Resultado resultado) {
+            paginas += resultado.paginas();
+            if (!resultado.generado()) {
+                omitidos++;
+                return;
+            }
+            generados++;
+            if (resultado.enviado()) {
+                enviados++;
+            } else {
+                sinCorreo++;
+            }
+        }
+
+        private void fallo(String detalle) {
+            fallidos++;
+            if (fallas.size() < MAX_FALLAS_REPORTADAS) {
+                fallas.add(detalle);
+            }
+        }
+    }
+}
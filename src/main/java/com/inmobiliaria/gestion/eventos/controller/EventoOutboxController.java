@@ -0,0 +1,50 @@
+package com.inmobiliaria.gestion.eventos.controller;
+
+import com.inmobiliaria.gestion.eventos.dto.OutboxRunReport;
+import com.inmobiliaria.gestion.eventos.service.OutboxRelay;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/eventos-outbox")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Eventos de Dominio", description = "Domain event outbox operations")
+public class EventoOutboxController {
+
+    private final OutboxRelay outboxRelay;
+
+    @Operation(summary = "Run the outbox relay",
+            description = "Deliver every due pending domain event to the enabled destinations now, " +
+                    "instead of waiting for the scheduled relay")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relay run completed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OutboxRunReport.class))),
+            @ApiResponse(responseCode = "409", description = "Another relay run is in progress"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/ejecutar")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OutboxRunReport> publicarPendientes() {
+        log.info("POST /api/v1/eventos-outbox/ejecutar - Running outbox relay");
+        try {
+            return ResponseEntity.ok(outboxRelay.publicarPendientes());
+        } catch (IllegalStateException e) {
+            log.warn("Outbox relay run rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.inmobiliaria.gestion.eventos.destino;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inmobiliaria.gestion.eventos.dto.EventoDominio;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends each event as one JSON line to a local file, for consumers that tail it.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "outbox.destinos.archivo.enabled", havingValue = "true")
+public class ArchivoDestinoEventos implements DestinoEventos {
+
+    private final ObjectMapper objectMapper;
+    private final Path ruta;
+
+    public ArchivoDestinoEventos(ObjectMapper objectMapper,
+                                 @Value("${outbox.destinos.archivo.ruta:eventos/eventos.jsonl}") String ruta) {
+        this.objectMapper = objectMapper;
+        this.ruta = Path.of(ruta).toAbsolutePath();
+        log.info("Domain events will be appended to {}", this.ruta);
+    }
+
+    @Override
+    public String nombre() {
+        return "archivo";
+    }
+
+    @Override
+    public void publicar(EventoDominio evento) {
+        byte[] linea;
+        try {
+            linea = (objectMapper.writeValueAsString(evento) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event " + evento.idEvento(), e);
+        }
+        synchronized (this) {
+            try {
+                Files.createDirectories(ruta.getParent());
+                Files.write(ruta, linea, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append event " + evento.idEvento() + " to " + ruta, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.inmobiliaria.gestion.eventos.destino;
+
+import com.inmobiliaria.gestion.eventos.dto.EventoDominio;
+
+/**
+ * Destination the outbox relay publishes events to. {@link #publicar} must throw when the
+ * event was not accepted; the relay then retries it later. Events of different aggregates
+ * are published concurrently, so implementations must be thread-safe.
+ */
+public interface DestinoEventos {
+
+    String nombre();
+
+    void publicar(EventoDominio evento);
+}
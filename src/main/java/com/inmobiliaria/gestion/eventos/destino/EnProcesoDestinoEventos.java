@@ -0,0 +1,29 @@
+package com.inmobiliaria.gestion.eventos.destino;
+
+import com.inmobiliaria.gestion.eventos.dto.EventoDominio;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes events to {@code @EventListener} methods of this application. Listeners run on
+ * the relay's thread; an exception thrown by one fails the delivery and the event is retried.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.destinos.en-proceso.enabled", havingValue = "true", matchIfMissing = true)
+public class EnProcesoDestinoEventos implements DestinoEventos {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public String nombre() {
+        return "en-proceso";
+    }
+
+    @Override
+    public void publicar(EventoDominio evento) {
+        applicationEventPublisher.publishEvent(evento);
+    }
+}
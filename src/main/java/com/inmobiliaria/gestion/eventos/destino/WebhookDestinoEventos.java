@@ -0,0 +1,78 @@
+package com.inmobiliaria.gestion.eventos.destino;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inmobiliaria.gestion.eventos.dto.EventoDominio;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * POSTs each event as JSON to a webhook URL. Any response other than 2xx fails the delivery.
+ * The event id and type also travel as headers so receivers can deduplicate and route without
+ * parsing the body.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "outbox.destinos.webhook.enabled", havingValue = "true")
+public class WebhookDestinoEventos implements DestinoEventos {
+
+    private final ObjectMapper objectMapper;
+    private final URI url;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    public WebhookDestinoEventos(ObjectMapper objectMapper,
+                                 @Value("${outbox.destinos.webhook.url}") String url,
+                                 @Value("${outbox.destinos.webhook.timeout:PT5S}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.url = URI.create(url);
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        log.info("Domain events will be posted to {}", this.url);
+    }
+
+    @Override
+    public String nombre() {
+        return "webhook";
+    }
+
+    @Override
+    public void publicar(EventoDominio evento) {
+        String cuerpo;
+        try {
+            cuerpo = objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event " + evento.idEvento(), e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("X-Evento-Id", String.valueOf(evento.idEvento()))
+                .header("X-Evento-Tipo", evento.tipoEvento())
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Webhook delivery of event " + evento.idEvento() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Webhook delivery of event " + evento.idEvento() + " interrupted", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Webhook rejected event " + evento.idEvento()
+                    + " with status " + response.statusCode());
+        }
+    }
+}
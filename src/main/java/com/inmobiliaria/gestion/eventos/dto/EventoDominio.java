@@ -0,0 +1,34 @@
+package com.inmobiliaria.gestion.eventos.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event as delivered to destinations. Delivery is at least once: consumers should ignore
+ * an {@code idEvento} they have already processed.
+ */
+@Schema(description = "Domain event published from the outbox")
+public record EventoDominio(
+
+        @Schema(description = "Unique, increasing event id; consumers deduplicate on it", example = "1042")
+        Long idEvento,
+
+        @Schema(description = "Aggregate type", example = "CONTRATO_RENTA")
+        String tipoAgregado,
+
+        @Schema(description = "Aggregate id", example = "15")
+        String idAgregado,
+
+        @Schema(description = "Event type", example = "CONTRATO_RENTA_TERMINADO")
+        String tipoEvento,
+
+        @Schema(description = "State of the aggregate after the change, as JSON")
+        @JsonRawValue
+        String payload,
+
+        @Schema(description = "When the change was committed", example = "2024-06-01T10:15:30")
+        LocalDateTime fechaCreacion
+) {
+}
@@ -0,0 +1,23 @@
+package com.inmobiliaria.gestion.eventos.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Summary of one outbox relay run")
+public record OutboxRunReport(
+
+        @Schema(description = "Batches read from the outbox", example = "3")
+        int lotes,
+
+        @Schema(description = "Events delivered to every destination", example = "1200")
+        int publicados,
+
+        @Schema(description = "Events whose delivery failed and will be retried", example = "2")
+        int fallidos,
+
+        @Schema(description = "Events given up after reaching the maximum attempts", example = "0")
+        int descartados,
+
+        @Schema(description = "Run duration in milliseconds", example = "850")
+        long duracionMs
+) {
+}
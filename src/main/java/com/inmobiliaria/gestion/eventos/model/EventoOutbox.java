@@ -0,0 +1,74 @@
+package com.inmobiliaria.gestion.eventos.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event waiting to be published, written in the same transaction as the change it
+ * describes. Events of one aggregate are published in id order; the relay marks them
+ * PUBLICADO once every destination accepted them, or DESCARTADO after too many failures.
+ */
+@Entity
+@Table(name = "evento_outbox", indexes = {
+        @Index(name = "idx_evento_outbox_estatus", columnList = "estatus, id_evento"),
+        @Index(name = "idx_evento_outbox_agregado", columnList = "tipo_agregado, id_agregado, id_evento")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoOutbox {
+
+    public static final String ESTATUS_PENDIENTE = "PENDIENTE";
+    public static final String ESTATUS_PUBLICADO = "PUBLICADO";
+    public static final String ESTATUS_DESCARTADO = "DESCARTADO";
+
+    public static final String AGREGADO_INMOBILIARIA = "INMOBILIARIA";
+    public static final String AGREGADO_CONTRATO_RENTA = "CONTRATO_RENTA";
+    public static final String AGREGADO_PROPIEDAD = "PROPIEDAD";
+    public static final String AGREGADO_CONCEPTO_PAGO = "CONCEPTO_PAGO";
+    public static final String AGREGADO_CONFIGURACION_RECARGO = "CONFIGURACION_RECARGO";
+    public static final String AGREGADO_PAGO_RENTA = "PAGO_RENTA";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_evento")
+    private Long idEvento;
+
+    @Column(name = "tipo_agregado", length = 50, nullable = false)
+    private String tipoAgregado;
+
+    @Column(name = "id_agregado", length = 50, nullable = false)
+    private String idAgregado;
+
+    @Column(name = "tipo_evento", length = 100, nullable = false)
+    private String tipoEvento;
+
+    @Column(name = "payload", columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "estatus", length = 20, nullable = false)
+    @Builder.Default
+    private String estatus = ESTATUS_PENDIENTE;
+
+    @Column(name = "intentos", nullable = false)
+    @Builder.Default
+    private Integer intentos = 0;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+
+    @Column(name = "proximo_intento")
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_publicacion")
+    private LocalDateTime fechaPublicacion;
+}
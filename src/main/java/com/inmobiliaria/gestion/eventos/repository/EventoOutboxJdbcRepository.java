@@ -0,0 +1,164 @@
+package com.inmobiliaria.gestion.eventos.repository;
+
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC access for the outbox relay, plus the batched insert used by the bulk write paths.
+ * The relay claims a batch by locking the due events FOR UPDATE and pushing their
+ * {@code proximo_intento} to the end of a lease in one short transaction; the pending query
+ * skips an aggregate while one of its events is leased or waiting for a retry, so no other
+ * relay instance delivers it, or overtakes it with a later event, until the lease ends or the
+ * outcome is recorded. SKIP LOCKED is not used on purpose: it would let a concurrent claim take
+ * a later event of an aggregate whose older event is locked by the first claim.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(MetricsConfig.JDBC_TIMER)
+public class EventoOutboxJdbcRepository {
+
+    private static final String SQL_PENDIENTES =
+            "SELECT e.id_evento, e.tipo_agregado, e.id_agregado, e.tipo_evento, e.payload, e.intentos, " +
+            "e.proximo_intento, e.fecha_creacion FROM evento_outbox e " +
+            "WHERE e.estatus = '" + EventoOutbox.ESTATUS_PENDIENTE + "' AND NOT EXISTS (" +
+            "SELECT 1 FROM evento_outbox b WHERE b.tipo_agregado = e.tipo_agregado AND b.id_agregado = e.id_agregado " +
+            "AND b.id_evento <= e.id_evento AND b.estatus = '" + EventoOutbox.ESTATUS_PENDIENTE + "' " +
+            "AND b.proximo_intento > ?) " +
+            "ORDER BY e.id_evento LIMIT ? FOR UPDATE";
+
+    private static final String SQL_INSERTAR =
+            "INSERT INTO evento_outbox (tipo_agregado, id_agregado, tipo_evento, payload, estatus, intentos, " +
+            "fecha_creacion) VALUES (?, ?, ?, ?, '" + EventoOutbox.ESTATUS_PENDIENTE + "', 0, ?)";
+
+    private static final String SQL_PROXIMO_INTENTO =
+            "UPDATE evento_outbox SET proximo_intento = ? WHERE id_evento = ?";
+
+    private static final String SQL_PUBLICADO =
+            "UPDATE evento_outbox SET estatus = '" + EventoOutbox.ESTATUS_PUBLICADO + "', fecha_publicacion = ?, " +
+            "ultimo_error = NULL WHERE id_evento = ?";
+
+    private static final String SQL_FALLIDO =
+            "UPDATE evento_outbox SET intentos = intentos + 1, ultimo_error = ?, proximo_intento = ?, " +
+            "estatus = CASE WHEN intentos + 1 >= ? THEN '" + EventoOutbox.ESTATUS_DESCARTADO + "' ELSE estatus END " +
+            "WHERE id_evento = ?";
+
+    private static final String SQL_PURGAR =
+            "DELETE FROM evento_outbox WHERE id_evento IN (SELECT id_evento FROM evento_outbox " +
+            "WHERE estatus = '" + EventoOutbox.ESTATUS_PUBLICADO + "' AND fecha_publicacion < ? ORDER BY id_evento LIMIT ?)";
+
+    private static final int LARGO_MAXIMO_ERROR = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims the oldest pending events that are due by setting their next attempt to
+     * {@code reservadoHasta}, and returns them as they were before the claim. Must run in a
+     * transaction, which should commit right away. An event waiting for a retry holds back
+     * the later events of its aggregate, which are not returned.
+     */
+    public List<EventoOutbox> reservarPendientes(LocalDateTime ahora, int limite, LocalDateTime reservadoHasta) {
+        List<EventoOutbox> pendientes = jdbcTemplate.query(SQL_PENDIENTES,
+                (rs, rowNum) -> {
+                    Timestamp proximoIntento = rs.getTimestamp("proximo_intento");
+                    return EventoOutbox.builder()
+                            .idEvento(rs.getLong("id_evento"))
+                            .tipoAgregado(rs.getString("tipo_agregado"))
+                            .idAgregado(rs.getString("id_agregado"))
+                            .tipoEvento(rs.getString("tipo_evento"))
+                            .payload(rs.getString("payload"))
+                            .intentos(rs.getInt("intentos"))
+                            .proximoIntento(proximoIntento != null ? proximoIntento.toLocalDateTime() : null)
+                            .fechaCreacion(rs.getTimestamp("fecha_creacion").toLocalDateTime())
+                            .build();
+                },
+                Timestamp.valueOf(ahora), limite);
+        if (!pendientes.isEmpty()) {
+            Timestamp reserva = Timestamp.valueOf(reservadoHasta);
+            jdbcTemplate.batchUpdate(SQL_PROXIMO_INTENTO, pendientes, pendientes.size(), (ps, evento) -> {
+                ps.setTimestamp(1, reserva);
+                ps.setLong(2, evento.getIdEvento());
+            });
+        }
+        return pendientes;
+    }
+
+    /**
+     * Ends the lease of claimed events that were not attempted, restoring their next attempt.
+     */
+    public void liberarReservas(List<EventoOutbox> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(SQL_PROXIMO_INTENTO, eventos, eventos.size(), (ps, evento) -> {
+            if (evento.getProximoIntento() != null) {
+                ps.setTimestamp(1, Timestamp.valueOf(evento.getProximoIntento()));
+            } else {
+                ps.setNull(1, Types.TIMESTAMP);
+            }
+            ps.setLong(2, evento.getIdEvento());
+        });
+    }
+
+    /**
+     * Inserts the events in one JDBC batch, in list order, within the calling transaction.
+     */
+    public void insertarLote(List<EventoOutbox> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERTAR, eventos, eventos.size(), (ps, evento) -> {
+            ps.setString(1, evento.getTipoAgregado());
+            ps.setString(2, evento.getIdAgregado());
+            ps.setString(3, evento.getTipoEvento());
+            ps.setString(4, evento.getPayload());
+            ps.setTimestamp(5, Timestamp.valueOf(evento.getFechaCreacion()));
+        });
+    }
+
+    public void marcarPublicados(List<Long> ids, LocalDateTime fecha) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timestamp publicacion = Timestamp.valueOf(fecha);
+        jdbcTemplate.batchUpdate(SQL_PUBLICADO, ids, ids.size(), (ps, id) -> {
+            ps.setTimestamp(1, publicacion);
+            ps.setLong(2, id);
+        });
+    }
+
+    /**
+     * Records a failed attempt; the event is discarded once it reaches {@code maxIntentos}.
+     */
+    public void registrarFallos(List<Fallo> fallos, int maxIntentos) {
+        if (fallos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(SQL_FALLIDO, fallos, fallos.size(), (ps, fallo) -> {
+            String error = fallo.error() != null && fallo.error().length() > LARGO_MAXIMO_ERROR
+                    ? fallo.error().substring(0, LARGO_MAXIMO_ERROR) : fallo.error();
+            ps.setString(1, error);
+            ps.setTimestamp(2, Timestamp.valueOf(fallo.proximoIntento()));
+            ps.setInt(3, maxIntentos);
+            ps.setLong(4, fallo.idEvento());
+        });
+    }
+
+    /**
+     * Deletes up to {@code limite} events published before the given instant.
+     */
+    public int purgarPublicados(LocalDateTime antesDe, int limite) {
+        return jdbcTemplate.update(SQL_PURGAR, Timestamp.valueOf(antesDe), limite);
+    }
+
+    public record Fallo(Long idEvento, String error, LocalDateTime proximoIntento) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.inmobiliaria.gestion.eventos.repository;
+
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    long countByEstatus(String estatus);
+}
@@ -0,0 +1,78 @@
+package com.inmobiliaria.gestion.eventos.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.repository.EventoOutboxJdbcRepository;
+import com.inmobiliaria.gestion.eventos.repository.EventoOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records domain events in the outbox table. Must be called inside the transaction that makes
+ * the change, so the event commits or rolls back with it; the relay publishes it afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventoOutboxService {
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final EventoOutboxJdbcRepository eventoOutboxJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(String tipoAgregado, Object idAgregado, String tipoEvento, Object datos) {
+        String payload = serializar(tipoEvento, datos);
+
+        // Flushing first takes the aggregate's row lock before the event id is drawn, so
+        // concurrent writers of one aggregate get ids in the order their changes commit
+        eventoOutboxRepository.flush();
+        EventoOutbox evento = eventoOutboxRepository.save(EventoOutbox.builder()
+                .tipoAgregado(tipoAgregado)
+                .idAgregado(String.valueOf(idAgregado))
+                .tipoEvento(tipoEvento)
+                .payload(payload)
+                .fechaCreacion(LocalDateTime.now())
+                .build());
+        log.debug("Recorded {} event {} for {} {}", tipoEvento, evento.getIdEvento(), tipoAgregado, idAgregado);
+    }
+
+    /**
+     * Records one event per aggregate with a single JDBC batch, for the bulk write paths. The
+     * caller must already hold the aggregates' row locks, as the JDBC chunk that changed them does.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarLote(String tipoAgregado, String tipoEvento, Map<?, ?> datosPorAgregado) {
+        if (datosPorAgregado.isEmpty()) {
+            return;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        List<EventoOutbox> eventos = new ArrayList<>(datosPorAgregado.size());
+        datosPorAgregado.forEach((idAgregado, datos) -> eventos.add(EventoOutbox.builder()
+                .tipoAgregado(tipoAgregado)
+                .idAgregado(String.valueOf(idAgregado))
+                .tipoEvento(tipoEvento)
+                .payload(serializar(tipoEvento, datos))
+                .fechaCreacion(ahora)
+                .build()));
+        eventoOutboxJdbcRepository.insertarLote(eventos);
+        log.debug("Recorded {} {} events for {}", eventos.size(), tipoEvento, tipoAgregado);
+    }
+
+    private String serializar(String tipoEvento, Object datos) {
+        try {
+            return objectMapper.writeValueAsString(datos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + tipoEvento + " event payload", e);
+        }
+    }
+}
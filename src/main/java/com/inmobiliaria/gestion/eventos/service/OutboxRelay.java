@@ -0,0 +1,267 @@
+package com.inmobiliaria.gestion.eventos.service;
+
+import com.inmobiliaria.gestion.eventos.destino.DestinoEventos;
+import com.inmobiliaria.gestion.eventos.dto.EventoDominio;
+import com.inmobiliaria.gestion.eventos.dto.OutboxRunReport;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.repository.EventoOutboxJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the outbox. Each batch of due events is claimed with a lease of {@code outbox.reserva}
+ * in a short transaction, delivered with no transaction or row lock held, and its outcome
+ * recorded in a second short transaction, so a slow destination never keeps a database
+ * connection or the outbox rows locked. Events are grouped by aggregate, the aggregates are
+ * delivered concurrently on virtual threads, and within an aggregate events go out one by one
+ * in id order, stopping at the first failure so a later event never overtakes an earlier one.
+ * Deliveries stop halfway through the lease; events not attempted by then are released. An
+ * event is marked published only once every destination accepted it; a failed event is
+ * retried with exponential backoff and discarded after {@code outbox.max-intentos} attempts.
+ * <p>
+ * The claim runs under REPEATABLE READ: a relay instance whose claim collides with another's
+ * gets a serialization failure and claims nothing this round, instead of taking later events
+ * of an aggregate the other instance is delivering.
+ * <p>
+ * Delivery is at least once: a destination may see an event again when another destination
+ * failed or the relay stopped before recording the outcome, in which case the events are
+ * delivered again once the lease ends, so consumers deduplicate on {@code idEvento}.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+
+    private static final Duration INTERVALO_PURGA = Duration.ofMinutes(10);
+
+    private final EventoOutboxJdbcRepository eventoOutboxJdbcRepository;
+    private final List<DestinoEventos> destinos;
+    private final TransactionTemplate transaccionReserva;
+    private final TransactionTemplate transaccionResultado;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ReentrantLock ejecucionLock = new ReentrantLock();
+    private LocalDateTime proximaPurga = LocalDateTime.MIN;
+
+    @Value("${outbox.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${outbox.max-intentos:10}")
+    private int maxIntentos = 10;
+
+    @Value("${outbox.reintento-base:PT5S}")
+    private Duration reintentoBase = Duration.ofSeconds(5);
+
+    @Value("${outbox.reintento-maximo:PT10M}")
+    private Duration reintentoMaximo = Duration.ofMinutes(10);
+
+    @Value("${outbox.retencion:P7D}")
+    private Duration retencion = Duration.ofDays(7);
+
+    @Value("${outbox.max-entregas-concurrentes:20}")
+    private int maxEntregasConcurrentes = 20;
+
+    @Value("${outbox.reserva:PT2M}")
+    private Duration reserva = Duration.ofMinutes(2);
+
+    public OutboxRelay(EventoOutboxJdbcRepository eventoOutboxJdbcRepository, List<DestinoEventos> destinos,
+                       PlatformTransactionManager transactionManager) {
+        this.eventoOutboxJdbcRepository = eventoOutboxJdbcRepository;
+        this.destinos = destinos;
+        this.transaccionReserva = new TransactionTemplate(transactionManager);
+        this.transaccionReserva.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transaccionResultado = new TransactionTemplate(transactionManager);
+    }
+
+    public OutboxRunReport publicarPendientes() {
+        if (!ejecucionLock.tryLock()) {
+            throw new IllegalStateException("An outbox relay run is already in progress");
+        }
+        try {
+            return ejecutar();
+        } finally {
+            ejecucionLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.close();
+    }
+
+    private OutboxRunReport ejecutar() {
+        long inicio = System.nanoTime();
+        if (destinos.isEmpty()) {
+            log.warn("No domain event destinations are enabled; outbox events stay pending");
+            return new OutboxRunReport(0, 0, 0, 0, 0);
+        }
+
+        Semaphore permisos = new Semaphore(maxEntregasConcurrentes);
+        int lotes = 0;
+        int publicados = 0;
+        int fallidos = 0;
+        int descartados = 0;
+        ResultadoLote resultado;
+        do {
+            resultado = procesarLote(LocalDateTime.now(), permisos);
+            if (resultado.leidos() == 0) {
+                break;
+            }
+            lotes++;
+            publicados += resultado.publicados();
+            fallidos += resultado.fallidos();
+            descartados += resultado.descartados();
+        } while (resultado.leidos() == batchSize && resultado.publicados() + resultado.fallidos() > 0);
+
+        purgarSiCorresponde();
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        if (lotes > 0) {
+            log.info("Outbox relay run finished: {} batches, {} published, {} failed, {} discarded in {} ms",
+                    lotes, publicados, fallidos, descartados, duracionMs);
+        }
+        return new OutboxRunReport(lotes, publicados, fallidos, descartados, duracionMs);
+    }
+
+    private ResultadoLote procesarLote(LocalDateTime ahora, Semaphore permisos) {
+        List<EventoOutbox> pendientes = reservar(ahora);
+        if (pendientes.isEmpty()) {
+            return new ResultadoLote(0, 0, 0, 0);
+        }
+        LocalDateTime limiteEntregas = ahora.plus(reserva.dividedBy(2));
+
+        Map<String, List<EventoOutbox>> porAgregado = new LinkedHashMap<>();
+        for (EventoOutbox evento : pendientes) {
+            porAgregado.computeIfAbsent(evento.getTipoAgregado() + ":" + evento.getIdAgregado(), clave -> new ArrayList<>())
+                    .add(evento);
+        }
+
+        List<Future<Entrega>> entregas = new ArrayList<>(porAgregado.size());
+        for (List<EventoOutbox> eventos : porAgregado.values()) {
+            entregas.add(executor.submit(() -> entregarAgregado(eventos, ahora, limiteEntregas, permisos)));
+        }
+
+        List<Long> publicados = new ArrayList<>();
+        List<EventoOutboxJdbcRepository.Fallo> fallos = new ArrayList<>();
+        List<EventoOutbox> sinEntregar = new ArrayList<>();
+        int descartados = 0;
+        for (Future<Entrega> futuro : entregas) {
+            Entrega entrega;
+            try {
+                entrega = futuro.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Outbox delivery failed unexpectedly", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Outbox relay run interrupted", e);
+            }
+            publicados.addAll(entrega.publicados());
+            sinEntregar.addAll(entrega.sinEntregar());
+            if (entrega.fallido() != null) {
+                EventoOutbox fallido = entrega.fallido();
+                int intentos = fallido.getIntentos() + 1;
+                if (intentos >= maxIntentos) {
+                    log.error("Discarding {} event {} for {} {} after {} attempts: {}", fallido.getTipoEvento(),
+                            fallido.getIdEvento(), fallido.getTipoAgregado(), fallido.getIdAgregado(), intentos,
+                            entrega.error());
+                    descartados++;
+                }
+                fallos.add(new EventoOutboxJdbcRepository.Fallo(fallido.getIdEvento(), entrega.error(),
+                        ahora.plus(espera(fallido.getIntentos()))));
+            }
+        }
+
+        transaccionResultado.executeWithoutResult(status -> {
+            eventoOutboxJdbcRepository.marcarPublicados(publicados, LocalDateTime.now());
+            eventoOutboxJdbcRepository.registrarFallos(fallos, maxIntentos);
+            eventoOutboxJdbcRepository.liberarReservas(sinEntregar);
+        });
+        return new ResultadoLote(pendientes.size(), publicados.size(), fallos.size(), descartados);
+    }
+
+    private List<EventoOutbox> reservar(LocalDateTime ahora) {
+        try {
+            List<EventoOutbox> reservados = transaccionReserva.execute(status ->
+                    eventoOutboxJdbcRepository.reservarPendientes(ahora, batchSize, ahora.plus(reserva)));
+            return reservados != null ? reservados : List.of();
+        } catch (ConcurrencyFailureException e) {
+            log.debug("Another relay instance is claiming outbox events: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private Entrega entregarAgregado(List<EventoOutbox> eventos, LocalDateTime ahora, LocalDateTime limiteEntregas,
+                                     Semaphore permisos) throws InterruptedException {
+        List<Long> publicados = new ArrayList<>(eventos.size());
+        permisos.acquire();
+        try {
+            for (int i = 0; i < eventos.size(); i++) {
+                EventoOutbox evento = eventos.get(i);
+                if ((evento.getProximoIntento() != null && evento.getProximoIntento().isAfter(ahora))
+                        || !LocalDateTime.now().isBefore(limiteEntregas)) {
+                    return new Entrega(publicados, eventos.subList(i, eventos.size()), null, null);
+                }
+                EventoDominio dominio = new EventoDominio(evento.getIdEvento(), evento.getTipoAgregado(),
+                        evento.getIdAgregado(), evento.getTipoEvento(), evento.getPayload(), evento.getFechaCreacion());
+                for (DestinoEventos destino : destinos) {
+                    try {
+                        destino.publicar(dominio);
+                    } catch (RuntimeException e) {
+                        log.warn("Destination {} rejected {} event {}: {}", destino.nombre(), evento.getTipoEvento(),
+                                evento.getIdEvento(), e.getMessage());
+                        return new Entrega(publicados, eventos.subList(i + 1, eventos.size()), evento,
+                                destino.nombre() + ": " + e.getMessage());
+                    }
+                }
+                publicados.add(evento.getIdEvento());
+            }
+            return new Entrega(publicados, List.of(), null, null);
+        } finally {
+            permisos.release();
+        }
+    }
+
+    private Duration espera(int intentosPrevios) {
+        Duration espera = reintentoBase.multipliedBy(1L << Math.min(intentosPrevios, 20));
+        return espera.compareTo(reintentoMaximo) > 0 ? reintentoMaximo : espera;
+    }
+
+    private void purgarSiCorresponde() {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (ahora.isBefore(proximaPurga)) {
+            return;
+        }
+        proximaPurga = ahora.plus(INTERVALO_PURGA);
+        int purgados;
+        do {
+            purgados = eventoOutboxJdbcRepository.purgarPublicados(ahora.minus(retencion), batchSize);
+            if (purgados > 0) {
+                log.debug("Purged {} published outbox events", purgados);
+            }
+        } while (purgados == batchSize);
+    }
+
+    private record Entrega(List<Long> publicados, List<EventoOutbox> sinEntregar, EventoOutbox fallido, String error) {
+    }
+
+    private record ResultadoLote(int leidos, int publicados, int fallidos, int descartados) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.inmobiliaria.gestion.eventos.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true")
+public class OutboxRelayScheduler {
+
+    private final OutboxRelay outboxRelay;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.intervalo:PT1S}",
+            initialDelayString = "${outbox.relay.retraso-inicial:PT10S}")
+    public void publicarPendientes() {
+        try {
+            outboxRelay.publicarPendientes();
+        } catch (IllegalStateException e) {
+            log.debug("Skipping scheduled outbox relay run: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.inmobiliaria.gestion.exportacion.controller;
+
+import com.inmobiliaria.gestion.exportacion.dto.FiltroConceptos;
+import com.inmobiliaria.gestion.exportacion.dto.FiltroContratos;
+import com.inmobiliaria.gestion.exportacion.dto.FiltroPropiedades;
+import com.inmobiliaria.gestion.exportacion.service.ExportacionService;
+import com.inmobiliaria.gestion.exportacion.writer.EscritorFilas;
+import com.inmobiliaria.gestion.exportacion.writer.FormatoExportacion;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/exportaciones")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Exportaciones", description = "Streaming CSV/XLSX exports")
+public class ExportacionController {
+
+    private final ExportacionService exportacionService;
+
+    @Operation(summary = "Export properties", description = "Stream the properties matching the filters as CSV or XLSX. Columns match the property import")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/propiedades")
+    public ResponseEntity<StreamingResponseBody> exportarPropiedades(
+            @Parameter(description = "File format (csv or xlsx)", example = "csv")
+            @RequestParam(defaultValue = "csv") String formato,
+            @Parameter(description = "Words that must appear in the address", example = "reforma centro")
+            @RequestParam(required = false) String direccion,
+            @Parameter(description = "Filter by inmobiliaria ID", example = "1")
+            @RequestParam(required = false) Long idInmobiliaria,
+            @Parameter(description = "Filter by property status", example = "DISPONIBLE")
+            @RequestParam(required = false) String estatus,
+            @Parameter(description = "Filter by property type", example = "CASA")
+            @RequestParam(required = false) String tipo) {
+        log.debug("GET /api/v1/exportaciones/propiedades - Exporting properties as {}", formato);
+        FiltroPropiedades filtro = new FiltroPropiedades(direccion, idInmobiliaria, estatus, tipo);
+        return exportar("propiedades", formato, escritor -> exportacionService.exportarPropiedades(filtro, escritor));
+    }
+
+    @Operation(summary = "Export rental contracts", description = "Stream the rental contracts matching the filters as CSV or XLSX")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/contratos")
+    public ResponseEntity<StreamingResponseBody> exportarContratos(
+            @Parameter(description = "File format (csv or xlsx)", example = "csv")
+            @RequestParam(defaultValue = "csv") String formato,
+            @Parameter(description = "Filter by inmobiliaria ID", example = "1")
+            @RequestParam(required = false) Long idInmobiliaria,
+            @Parameter(description = "Filter by property ID", example = "1")
+            @RequestParam(required = false) Integer idPropiedad,
+            @Parameter(description = "Filter by contract status", example = "ACTIVO")
+            @RequestParam(required = false) String estatus,
+            @Parameter(description = "Contracts ending on or after this date", example = "2024-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Contracts ending on or before this date", example = "2024-12-31T23:59:59")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        log.debug("GET /api/v1/exportaciones/contratos - Exporting rental contracts as {}", formato);
+        FiltroContratos filtro = new FiltroContratos(idInmobiliaria, idPropiedad, estatus, startDate, endDate);
+        return exportar("contratos", formato, escritor -> exportacionService.exportarContratos(filtro, escritor));
+    }
+
+    @Operation(summary = "Export payment concepts", description = "Stream the payment concepts matching the search filters as CSV or XLSX")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/conceptos-pago")
+    public ResponseEntity<StreamingResponseBody> exportarConceptos(
+            @Parameter(description = "File format (csv or xlsx)", example = "csv")
+            @RequestParam(defaultValue = "csv") String formato,
+            @Parameter(description = "Inmobiliaria ID to filter by") @RequestParam(required = false) Long idInmobiliaria,
+            @Parameter(description = "Concept name to search for") @RequestParam(required = false) String nombreConcepto,
+            @Parameter(description = "Concept type to filter by") @RequestParam(required = false) String tipoConcepto,
+            @Parameter(description = "Active status to filter by") @RequestParam(required = false) Boolean activo,
+            @Parameter(description = "Allows charges filter") @RequestParam(required = false) Boolean permiteRecargos) {
+        log.debug("GET /api/v1/exportaciones/conceptos-pago - Exporting payment concepts as {}", formato);
+        FiltroConceptos filtro = new FiltroConceptos(idInmobiliaria, nombreConcepto, tipoConcepto, activo, permiteRecargos);
+        return exportar("conceptos-pago", formato, escritor -> exportacionService.exportarConceptos(filtro, escritor));
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportar(String nombre, String formato, Exportador exportador) {
+        FormatoExportacion tipo;
+        try {
+            tipo = FormatoExportacion.desde(formato);
+        } catch (IllegalArgumentException e) {
+            log.warn("Export rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = (OutputStream outputStream) -> exportador.exportar(tipo.crearEscritor(outputStream));
+        String archivo = nombre + "-" + LocalDate.now() + "." + tipo.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(tipo.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archivo).build().toString())
+                .body(body);
+    }
+
+    @FunctionalInterface
+    private interface Exportador {
+        long exportar(EscritorFilas escritor) throws IOException;
+    }
+}
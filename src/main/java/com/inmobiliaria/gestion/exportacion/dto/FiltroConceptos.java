@@ -0,0 +1,8 @@
+package com.inmobiliaria.gestion.exportacion.dto;
+
+/**
+ * Payment concept export filters, the same as the concept search endpoint; every filter is optional.
+ */
+public record FiltroConceptos(Long idInmobiliaria, String nombreConcepto, String tipoConcepto,
+                              Boolean activo, Boolean permiteRecargos) {
+}
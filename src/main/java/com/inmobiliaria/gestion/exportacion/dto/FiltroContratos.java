@@ -0,0 +1,11 @@
+package com.inmobiliaria.gestion.exportacion.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rental contract export filters; every filter is optional. The end date range matches the
+ * expiring-contracts endpoint.
+ */
+public record FiltroContratos(Long idInmobiliaria, Integer idPropiedad, String estatus,
+                              LocalDateTime fechaFinDesde, LocalDateTime fechaFinHasta) {
+}
@@ -0,0 +1,8 @@
+package com.inmobiliaria.gestion.exportacion.dto;
+
+/**
+ * Property export filters; every filter is optional. {@code direccion} matches like the
+ * address search: each word must appear in the normalized address.
+ */
+public record FiltroPropiedades(String direccion, Long idInmobiliaria, String estatus, String tipo) {
+}
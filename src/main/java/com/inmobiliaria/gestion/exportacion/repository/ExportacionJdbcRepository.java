@@ -0,0 +1,147 @@
+package com.inmobiliaria.gestion.exportacion.repository;
+
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.exportacion.dto.FiltroConceptos;
+import com.inmobiliaria.gestion.exportacion.dto.FiltroContratos;
+import com.inmobiliaria.gestion.exportacion.dto.FiltroPropiedades;
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Export queries read through a forward-only cursor. The template has its own fetch size so
+ * the driver pulls rows in blocks instead of materializing the result; on PostgreSQL that
+ * only happens inside a transaction, so callers must hold one. Rows are handed out as value
+ * arrays in the order of the {@code COLUMNAS_*} lists, which double as the export headers.
+ */
+@Repository
+@Timed(MetricsConfig.JDBC_TIMER)
+public class ExportacionJdbcRepository {
+
+    public static final List<String> COLUMNAS_PROPIEDADES = List.of(
+            "id_propiedad", "id_inmobiliaria", "tipo_propiedad", "superficie_total", "superficie_construida",
+            "fecha_registro", "estatus_propiedad", "caracteristicas_especiales", "direccion_completa",
+            "numero_banos", "numero_habitaciones");
+
+    public static final List<String> COLUMNAS_CONTRATOS = List.of(
+            "id_contrato", "id_propiedad", "fecha_inicio_contrato", "fecha_fin_contrato", "estatus_contrato",
+            "monto_renta", "deposito_garantia", "duracion_meses", "condiciones_especiales",
+            "email_notificaciones", "telefono_notificaciones", "notificacion_dias_previos");
+
+    public static final List<String> COLUMNAS_CONCEPTOS = List.of(
+            "id_concepto", "id_inmobiliaria", "nombre_concepto", "descripcion", "tipo_concepto",
+            "permite_recargos", "activo", "fecha_creacion");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportacionJdbcRepository(DataSource dataSource,
+                                     @Value("${exportacion.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public void exportarPropiedades(FiltroPropiedades filtro, Consumer<Object[]> consumidor) {
+        List<Object> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", COLUMNAS_PROPIEDADES))
+                .append(" FROM propiedad WHERE 1 = 1");
+        if (filtro.direccion() != null) {
+            String normalizada = Propiedad.normalizarDireccion(filtro.direccion());
+            for (String termino : normalizada.split(" ")) {
+                if (!termino.isEmpty()) {
+                    sql.append(" AND direccion_normalizada LIKE ? ESCAPE '\\'");
+                    parametros.add("%" + escaparLike(termino) + "%");
+                }
+            }
+        }
+        igual(sql, parametros, "id_inmobiliaria", filtro.idInmobiliaria());
+        igual(sql, parametros, "estatus_propiedad", filtro.estatus());
+        igual(sql, parametros, "tipo_propiedad", filtro.tipo());
+        sql.append(" ORDER BY id_propiedad");
+        consultar(sql.toString(), parametros, COLUMNAS_PROPIEDADES.size(), consumidor);
+    }
+
+    public void exportarContratos(FiltroContratos filtro, Consumer<Object[]> consumidor) {
+        List<Object> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < COLUMNAS_CONTRATOS.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append("c.").append(COLUMNAS_CONTRATOS.get(i));
+        }
+        sql.append(" FROM contrato_renta c");
+        if (filtro.idInmobiliaria() != null) {
+            sql.append(" JOIN propiedad p ON p.id_propiedad = c.id_propiedad AND p.id_inmobiliaria = ?");
+            parametros.add(filtro.idInmobiliaria());
+        }
+        sql.append(" WHERE 1 = 1");
+        igual(sql, parametros, "c.id_propiedad", filtro.idPropiedad());
+        igual(sql, parametros, "c.estatus_contrato", filtro.estatus());
+        if (filtro.fechaFinDesde() != null) {
+            sql.append(" AND c.fecha_fin_contrato >= ?");
+            parametros.add(Timestamp.valueOf(filtro.fechaFinDesde()));
+        }
+        if (filtro.fechaFinHasta() != null) {
+            sql.append(" AND c.fecha_fin_contrato <= ?");
+            parametros.add(Timestamp.valueOf(filtro.fechaFinHasta()));
+        }
+        sql.append(" ORDER BY c.id_contrato");
+        consultar(sql.toString(), parametros, COLUMNAS_CONTRATOS.size(), consumidor);
+    }
+
+    public void exportarConceptos(FiltroConceptos filtro, Consumer<Object[]> consumidor) {
+        List<Object> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", COLUMNAS_CONCEPTOS))
+                .append(" FROM conceptos_pago WHERE 1 = 1");
+        igual(sql, parametros, "id_inmobiliaria", filtro.idInmobiliaria());
+        if (filtro.nombreConcepto() != null) {
+            sql.append(" AND LOWER(nombre_concepto) LIKE ? ESCAPE '\\'");
+            parametros.add("%" + escaparLike(filtro.nombreConcepto().toLowerCase(Locale.ROOT)) + "%");
+        }
+        igual(sql, parametros, "tipo_concepto", filtro.tipoConcepto());
+        igual(sql, parametros, "activo", filtro.activo());
+        igual(sql, parametros, "permite_recargos", filtro.permiteRecargos());
+        sql.append(" ORDER BY id_concepto");
+        consultar(sql.toString(), parametros, COLUMNAS_CONCEPTOS.size(), consumidor);
+    }
+
+    private void consultar(String sql, List<Object> parametros, int columnas, Consumer<Object[]> consumidor) {
+        RowCallbackHandler handler = rs -> consumidor.accept(valores(rs, columnas));
+        jdbcTemplate.query(sql, handler, parametros.toArray());
+    }
+
+    private static Object[] valores(ResultSet rs, int columnas) throws SQLException {
+        Object[] valores = new Object[columnas];
+        for (int i = 0; i < columnas; i++) {
+            Object valor = rs.getObject(i + 1);
+            if (valor instanceof Timestamp timestamp) {
+                valor = timestamp.toLocalDateTime();
+            } else if (valor instanceof Date fecha) {
+                valor = fecha.toLocalDate();
+            }
+            valores[i] = valor;
+        }
+        return valores;
+    }
+
+    private static void igual(StringBuilder sql, List<Object> parametros, String columna, Object valor) {
+        if (valor != null) {
+            sql.append(" AND ").append(columna).append(" = ?");
+            parametros.add(valor);
+        }
+    }
+
+    private static String escaparLike(String termino) {
+        return termino.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
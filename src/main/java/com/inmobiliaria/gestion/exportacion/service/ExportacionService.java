@@ -0,0 +1,75 @@
+package com.inmobiliaria.gestion.exportacion.service;
+
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.exportacion.dto.FiltroConceptos;
+import com.inmobiliaria.gestion.exportacion.dto.FiltroContratos;
+import com.inmobiliaria.gestion.exportacion.dto.FiltroPropiedades;
+import com.inmobiliaria.gestion.exportacion.repository.ExportacionJdbcRepository;
+import com.inmobiliaria.gestion.exportacion.writer.EscritorFilas;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams exports from the database cursor straight into an {@link EscritorFilas}. Each export
+ * runs in one read-only transaction, which keeps the cursor open while rows are written.
+ * Returns the number of rows written.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ExportacionService {
+
+    private final ExportacionJdbcRepository exportacionJdbcRepository;
+
+    @Transactional(readOnly = true)
+    public long exportarPropiedades(FiltroPropiedades filtro, EscritorFilas escritor) throws IOException {
+        log.debug("Exporting properties with filter {}", filtro);
+        return exportar("properties", ExportacionJdbcRepository.COLUMNAS_PROPIEDADES, escritor,
+                consumidor -> exportacionJdbcRepository.exportarPropiedades(filtro, consumidor));
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarContratos(FiltroContratos filtro, EscritorFilas escritor) throws IOException {
+        log.debug("Exporting rental contracts with filter {}", filtro);
+        return exportar("rental contracts", ExportacionJdbcRepository.COLUMNAS_CONTRATOS, escritor,
+                consumidor -> exportacionJdbcRepository.exportarContratos(filtro, consumidor));
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarConceptos(FiltroConceptos filtro, EscritorFilas escritor) throws IOException {
+        log.debug("Exporting payment concepts with filter {}", filtro);
+        return exportar("payment concepts", ExportacionJdbcRepository.COLUMNAS_CONCEPTOS, escritor,
+                consumidor -> exportacionJdbcRepository.exportarConceptos(filtro, consumidor));
+    }
+
+    private long exportar(String tipo, List<String> columnas, EscritorFilas escritor,
+                          Consumer<Consumer<Object[]>> consulta) throws IOException {
+        long inicio = System.nanoTime();
+        long[] filas = {0};
+        try (escritor) {
+            escritor.encabezado(columnas);
+            consulta.accept(valores -> {
+                try {
+                    escritor.fila(valores);
+                    filas[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the cursor is closed by the query template
+            throw e.getCause();
+        }
+        log.info("Exported {} {} in {} ms", filas[0], tipo, (System.nanoTime() - inicio) / 1_000_000);
+        return filas[0];
+    }
+}
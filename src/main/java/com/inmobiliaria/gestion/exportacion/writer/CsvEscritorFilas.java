@@ -0,0 +1,53 @@
+package com.inmobiliaria.gestion.exportacion.writer;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * UTF-8 CSV with a byte order mark, so spreadsheet tools detect the encoding of accented
+ * addresses. Dates are written in ISO format, which {@code CsvLectorFilas} reads back.
+ */
+public class CsvEscritorFilas implements EscritorFilas {
+
+    private final BufferedWriter writer;
+    private CSVPrinter printer;
+
+    public CsvEscritorFilas(OutputStream salida) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void encabezado(List<String> columnas) throws IOException {
+        writer.write('\uFEFF');
+        printer = CSVFormat.DEFAULT.builder()
+                .setRecordSeparator("\n")
+                .build()
+                .print(writer);
+        printer.printRecord(columnas);
+    }
+
+    @Override
+    public void fila(Object[] valores) throws IOException {
+        for (Object valor : valores) {
+            printer.print(valor instanceof BigDecimal decimal ? decimal.toPlainString() : valor);
+        }
+        printer.println();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Flush only: the servlet container owns the response stream
+        if (printer != null) {
+            printer.flush();
+        }
+        writer.flush();
+    }
+}
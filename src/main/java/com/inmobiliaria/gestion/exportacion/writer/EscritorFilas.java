@@ -0,0 +1,21 @@
+package com.inmobiliaria.gestion.exportacion.writer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes an export one row at a time to an output stream, so the size of an export is bounded
+ * by the stream and not by memory. {@link #close()} flushes the output but leaves the
+ * underlying stream open for the caller.
+ */
+public interface EscritorFilas extends Closeable {
+
+    void encabezado(List<String> columnas) throws IOException;
+
+    /**
+     * Writes one row. Values may be {@code null}, numbers, booleans, {@code LocalDate},
+     * {@code LocalDateTime} or anything with a meaningful {@code toString()}.
+     */
+    void fila(Object[] valores) throws IOException;
+}
@@ -0,0 +1,38 @@
+package com.inmobiliaria.gestion.exportacion.writer;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+public enum FormatoExportacion {
+
+    CSV("text/csv", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String mediaType;
+    private final String extension;
+
+    FormatoExportacion(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public EscritorFilas crearEscritor(OutputStream salida) {
+        return this == CSV ? new CsvEscritorFilas(salida) : new XlsxEscritorFilas(salida);
+    }
+
+    public static FormatoExportacion desde(String formato) {
+        try {
+            return valueOf(formato.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + formato);
+        }
+    }
+}
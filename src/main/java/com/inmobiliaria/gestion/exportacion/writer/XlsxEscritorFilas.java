@@ -0,0 +1,107 @@
+package com.inmobiliaria.gestion.exportacion.writer;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * XLSX writer on POI's SXSSF streaming workbook. Only the last {@link #VENTANA_FILAS} rows are
+ * kept in memory; older rows are flushed to a compressed temporary file, which is copied to the
+ * output and deleted on {@link #close()}.
+ */
+public class XlsxEscritorFilas implements EscritorFilas {
+
+    static final int VENTANA_FILAS = 100;
+
+    // Excel's hard row limit per sheet
+    private static final int MAX_FILAS_HOJA = 1_048_576;
+
+    private final OutputStream salida;
+    private final SXSSFWorkbook workbook;
+    private final CellStyle estiloFecha;
+    private final CellStyle estiloFechaHora;
+    private List<String> columnas;
+    private SXSSFSheet hoja;
+    private int siguienteFila;
+    private int hojas;
+
+    public XlsxEscritorFilas(OutputStream salida) {
+        this.salida = salida;
+        this.workbook = new SXSSFWorkbook(VENTANA_FILAS);
+        this.workbook.setCompressTempFiles(true);
+        short formatoFecha = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd");
+        short formatoFechaHora = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss");
+        this.estiloFecha = workbook.createCellStyle();
+        this.estiloFecha.setDataFormat(formatoFecha);
+        this.estiloFechaHora = workbook.createCellStyle();
+        this.estiloFechaHora.setDataFormat(formatoFechaHora);
+    }
+
+    @Override
+    public void encabezado(List<String> columnas) {
+        this.columnas = List.copyOf(columnas);
+        nuevaHoja();
+    }
+
+    @Override
+    public void fila(Object[] valores) {
+        if (siguienteFila == MAX_FILAS_HOJA) {
+            nuevaHoja();
+        }
+        Row row = hoja.createRow(siguienteFila++);
+        for (int i = 0; i < valores.length; i++) {
+            escribirCelda(row.createCell(i), valores[i]);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (hoja == null) {
+                workbook.createSheet();
+            }
+            workbook.write(salida);
+            salida.flush();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void nuevaHoja() {
+        hojas++;
+        hoja = workbook.createSheet(hojas == 1 ? "Datos" : "Datos " + hojas);
+        siguienteFila = 0;
+        Row row = hoja.createRow(siguienteFila++);
+        for (int i = 0; i < columnas.size(); i++) {
+            row.createCell(i).setCellValue(columnas.get(i));
+        }
+    }
+
+    private void escribirCelda(Cell cell, Object valor) {
+        if (valor == null) {
+            return;
+        }
+        if (valor instanceof Number numero) {
+            cell.setCellValue(numero.doubleValue());
+        } else if (valor instanceof Boolean booleano) {
+            cell.setCellValue(booleano);
+        } else if (valor instanceof LocalDateTime fechaHora) {
+            cell.setCellValue(fechaHora);
+            cell.setCellStyle(estiloFechaHora);
+        } else if (valor instanceof LocalDate fecha) {
+            cell.setCellValue(fecha);
+            cell.setCellStyle(estiloFecha);
+        } else {
+            cell.setCellValue(valor.toString());
+        }
+    }
+}
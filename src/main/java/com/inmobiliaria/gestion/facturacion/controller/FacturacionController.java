@@ -0,0 +1,71 @@
+package com.inmobiliaria.gestion.facturacion.controller;
+
+import com.inmobiliaria.gestion.facturacion.dto.CargoRentaDTO;
+import com.inmobiliaria.gestion.facturacion.dto.FacturacionRunReport;
+import com.inmobiliaria.gestion.facturacion.service.FacturacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/facturacion")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Facturación", description = "Monthly rent billing operations")
+public class FacturacionController {
+
+    private final FacturacionService facturacionService;
+
+    @Operation(summary = "Run monthly billing", description = "Generate the charges of every active contract for a period. Re-running a period resumes it from its checkpoints")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Billing run completed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = FacturacionRunReport.class))),
+            @ApiResponse(responseCode = "409", description = "Another billing run is in progress"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/corridas")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FacturacionRunReport> ejecutarCorrida(
+            @Parameter(description = "Billing period (yyyy-MM)", required = true, example = "2024-05")
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth periodo) {
+        log.info("POST /api/v1/facturacion/corridas - Running billing for period {}", periodo);
+        try {
+            return ResponseEntity.ok(facturacionService.ejecutarCorrida(periodo));
+        } catch (IllegalStateException e) {
+            log.warn("Billing run rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @Operation(summary = "Get charges by contract", description = "Retrieve the charges generated for a specific rental contract")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Charges retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CargoRentaDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/cargos/contrato/{idContrato}")
+    public ResponseEntity<List<CargoRentaDTO>> getCargosByContrato(
+            @Parameter(description = "Contract ID", required = true, example = "1")
+            @PathVariable Integer idContrato) {
+        log.info("GET /api/v1/facturacion/cargos/contrato/{} - Fetching charges for contract", idContrato);
+        return ResponseEntity.ok(facturacionService.findCargosByContrato(idContrato));
+    }
+}
@@ -0,0 +1,48 @@
+package com.inmobiliaria.gestion.facturacion.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Schema(description = "Monthly charge owed by a tenant for a payment concept")
+public record CargoRentaDTO(
+
+        @Schema(description = "Unique identifier of the charge", example = "1")
+        Long idCargo,
+
+        @Schema(description = "ID of the billed contract", example = "1")
+        Integer idContrato,
+
+        @Schema(description = "ID of the billed payment concept", example = "1")
+        Integer idConcepto,
+
+        @Schema(description = "ID of the inmobiliaria that issued the charge", example = "1")
+        Long idInmobiliaria,
+
+        @Schema(description = "Billing period", example = "2024-05")
+        String periodo,
+
+        @Schema(description = "Charged amount", example = "12000.00")
+        BigDecimal monto,
+
+        @Schema(description = "Due date of the charge", example = "2024-05-15")
+        LocalDate fechaVencimiento,
+
+        @Schema(description = "Current status of the charge", example = "PENDIENTE")
+        String estatusCargo,
+
+        @Schema(description = "Late-payment surcharge accrued so far", example = "360.00")
+        BigDecimal montoRecargo,
+
+        @Schema(description = "Payments allocated to the charge so far", example = "6000.00")
+        BigDecimal montoPagado,
+
+        @Schema(description = "Date the surcharge was last computed", example = "2024-05-20")
+        LocalDate fechaCalculoRecargo,
+
+        @Schema(description = "Date when the charge was generated", example = "2024-05-01T02:00:00")
+        LocalDateTime fechaCreacion
+) {
+}
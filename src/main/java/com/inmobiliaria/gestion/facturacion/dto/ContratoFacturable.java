@@ -0,0 +1,10 @@
+package com.inmobiliaria.gestion.facturacion.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Minimal view of an active contract read by the billing run.
+ */
+public record ContratoFacturable(Integer idContrato, LocalDateTime fechaInicioContrato, BigDecimal montoRenta) {
+}
@@ -0,0 +1,34 @@
+package com.inmobiliaria.gestion.facturacion.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Summary of one monthly billing run")
+public record FacturacionRunReport(
+
+        @Schema(description = "Billed period", example = "2024-05")
+        String periodo,
+
+        @Schema(description = "Inmobiliarias billed successfully in this run", example = "12")
+        int inmobiliariasProcesadas,
+
+        @Schema(description = "Inmobiliarias skipped because a previous run already completed them", example = "0")
+        int inmobiliariasOmitidas,
+
+        @Schema(description = "Active contracts read in this run", example = "100000")
+        long contratosProcesados,
+
+        @Schema(description = "Charges inserted in this run", example = "100000")
+        long cargosGenerados,
+
+        @Schema(description = "Run duration in milliseconds", example = "45000")
+        long duracionMs,
+
+        @Schema(description = "Inserted charges per second", example = "2222.2")
+        double cargosPorSegundo,
+
+        @Schema(description = "Inmobiliarias whose partition failed; rerunning the period resumes them from their checkpoint")
+        List<String> fallas
+) {
+}
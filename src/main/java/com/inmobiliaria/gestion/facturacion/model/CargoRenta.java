@@ -0,0 +1,86 @@
+package com.inmobiliaria.gestion.facturacion.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cargo_renta",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_cargo_renta_contrato_concepto_periodo",
+                             columnNames = {"id_contrato", "id_concepto", "periodo"})
+       },
+       indexes = {
+           @Index(name = "idx_cargo_renta_inmobiliaria_periodo", columnList = "id_inmobiliaria, periodo"),
+           @Index(name = "idx_cargo_renta_estatus_vencimiento", columnList = "estatus_cargo, fecha_vencimiento"),
+           @Index(name = "idx_cargo_renta_inmobiliaria_estatus_contrato", columnList = "id_inmobiliaria, estatus_cargo, id_contrato")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CargoRenta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_cargo")
+    private Long idCargo;
+
+    @Column(name = "id_contrato", nullable = false)
+    private Integer idContrato;
+
+    @Column(name = "id_concepto", nullable = false)
+    private Integer idConcepto;
+
+    @Column(name = "id_inmobiliaria", nullable = false)
+    private Long idInmobiliaria;
+
+    /**
+     * Billing period in ISO {@code yyyy-MM} form.
+     */
+    @Column(name = "periodo", length = 7, nullable = false)
+    private String periodo;
+
+    @Column(name = "monto", precision = 12, scale = 2, nullable = false)
+    private BigDecimal monto;
+
+    @Column(name = "fecha_vencimiento", nullable = false)
+    private LocalDate fechaVencimiento;
+
+    @Column(name = "estatus_cargo", length = 20, nullable = false)
+    @Builder.Default
+    private String estatusCargo = "PENDIENTE";
+
+    @Column(name = "monto_recargo", precision = 12, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal montoRecargo = BigDecimal.ZERO;
+
+    /**
+     * Payments allocated to this charge so far; the charge is PAGADO once they cover
+     * monto plus monto_recargo.
+     */
+    @Column(name = "monto_pagado", precision = 12, scale = 2, nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private BigDecimal montoPagado = BigDecimal.ZERO;
+
+    @Column(name = "fecha_calculo_recargo")
+    private LocalDate fechaCalculoRecargo;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @PrePersist
+    protected void onCreate() {
+        if (fechaCreacion == null) {
+            fechaCreacion = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.inmobiliaria.gestion.facturacion.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one billing run partition (period and inmobiliaria). Written in the same
+ * transaction as each inserted batch of charges, so an interrupted run resumes right
+ * after the last contract it billed.
+ */
+@Entity
+@Table(name = "facturacion_checkpoint",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_facturacion_checkpoint_periodo_inmobiliaria",
+                             columnNames = {"periodo", "id_inmobiliaria"})
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacturacionCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_checkpoint")
+    private Long idCheckpoint;
+
+    @Column(name = "periodo", length = 7, nullable = false)
+    private String periodo;
+
+    @Column(name = "id_inmobiliaria", nullable = false)
+    private Long idInmobiliaria;
+
+    @Column(name = "ultimo_id_contrato", nullable = false)
+    @Builder.Default
+    private Integer ultimoIdContrato = 0;
+
+    @Column(name = "completado", nullable = false)
+    @Builder.Default
+    private Boolean completado = false;
+
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        fechaActualizacion = LocalDateTime.now();
+    }
+}
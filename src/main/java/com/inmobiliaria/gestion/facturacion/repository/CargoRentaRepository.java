@@ -0,0 +1,15 @@
+package com.inmobiliaria.gestion.facturacion.repository;
+
+import com.inmobiliaria.gestion.facturacion.model.CargoRenta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CargoRentaRepository extends JpaRepository<CargoRenta, Long> {
+
+    List<CargoRenta> findByIdContratoOrderByFechaVencimientoDesc(Integer idContrato);
+
+    long countByPeriodo(String periodo);
+}
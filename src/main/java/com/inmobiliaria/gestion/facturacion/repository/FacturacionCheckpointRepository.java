@@ -0,0 +1,13 @@
+package com.inmobiliaria.gestion.facturacion.repository;
+
+import com.inmobiliaria.gestion.facturacion.model.FacturacionCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface FacturacionCheckpointRepository extends JpaRepository<FacturacionCheckpoint, Long> {
+
+    Optional<FacturacionCheckpoint> findByPeriodoAndIdInmobiliaria(String periodo, Long idInmobiliaria);
+}
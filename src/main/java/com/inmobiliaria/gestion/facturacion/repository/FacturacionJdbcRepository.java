@@ -0,0 +1,81 @@
+package com.inmobiliaria.gestion.facturacion.repository;
+
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.facturacion.dto.ContratoFacturable;
+import com.inmobiliaria.gestion.facturacion.model.CargoRenta;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC access for the billing run: keyset reads of billable contracts and batched
+ * charge inserts, avoiding the persistence context for rows that are written once.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(MetricsConfig.JDBC_TIMER)
+public class FacturacionJdbcRepository {
+
+    private static final String SQL_INMOBILIARIAS_ACTIVAS =
+            "SELECT DISTINCT p.id_inmobiliaria FROM contrato_renta c " +
+            "JOIN propiedad p ON p.id_propiedad = c.id_propiedad " +
+            "WHERE c.estatus_contrato = 'ACTIVO' ORDER BY p.id_inmobiliaria";
+
+    private static final String SQL_CONTRATOS_FACTURABLES =
+            "SELECT c.id_contrato, c.fecha_inicio_contrato, c.monto_renta FROM contrato_renta c " +
+            "JOIN propiedad p ON p.id_propiedad = c.id_propiedad " +
+            "WHERE p.id_inmobiliaria = ? AND c.estatus_contrato = 'ACTIVO' AND c.id_contrato > ? " +
+            "AND (c.fecha_inicio_contrato IS NULL OR c.fecha_inicio_contrato < ?) " +
+            "AND (c.fecha_fin_contrato IS NULL OR c.fecha_fin_contrato >= ?) " +
+            "ORDER BY c.id_contrato LIMIT ?";
+
+    private static final String SQL_INSERT_CARGO =
+            "INSERT INTO cargo_renta (id_contrato, id_concepto, id_inmobiliaria, periodo, monto, " +
+            "fecha_vencimiento, estatus_cargo, monto_recargo, monto_pagado, fecha_creacion) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> findInmobiliariasConContratosActivos() {
+        return jdbcTemplate.queryForList(SQL_INMOBILIARIAS_ACTIVAS, Long.class);
+    }
+
+    /**
+     * Active contracts whose term overlaps the billed period: started before the next period
+     * begins and not ended before this one starts.
+     */
+    public List<ContratoFacturable> findContratosFacturables(Long idInmobiliaria, Integer afterId,
+                                                             LocalDateTime inicioPeriodo,
+                                                             LocalDateTime inicioSiguientePeriodo, int limit) {
+        return jdbcTemplate.query(SQL_CONTRATOS_FACTURABLES,
+                (rs, rowNum) -> {
+                    Timestamp inicio = rs.getTimestamp("fecha_inicio_contrato");
+                    return new ContratoFacturable(
+                            rs.getInt("id_contrato"),
+                            inicio != null ? inicio.toLocalDateTime() : null,
+                            rs.getBigDecimal("monto_renta"));
+                },
+                idInmobiliaria, afterId, Timestamp.valueOf(inicioSiguientePeriodo),
+                Timestamp.valueOf(inicioPeriodo), limit);
+    }
+
+    public void insertCargos(List<CargoRenta> cargos) {
+        jdbcTemplate.batchUpdate(SQL_INSERT_CARGO, cargos, cargos.size(), (ps, cargo) -> {
+            ps.setInt(1, cargo.getIdContrato());
+            ps.setInt(2, cargo.getIdConcepto());
+            ps.setLong(3, cargo.getIdInmobiliaria());
+            ps.setString(4, cargo.getPeriodo());
+            ps.setBigDecimal(5, cargo.getMonto());
+            ps.setDate(6, Date.valueOf(cargo.getFechaVencimiento()));
+            ps.setString(7, cargo.getEstatusCargo());
+            ps.setBigDecimal(8, cargo.getMontoRecargo());
+            ps.setBigDecimal(9, cargo.getMontoPagado());
+            ps.setTimestamp(10, Timestamp.valueOf(cargo.getFechaCreacion()));
+        });
+    }
+}
@@ -0,0 +1,266 @@
+package com.inmobiliaria.gestion.facturacion.service;
+
+import com.inmobiliaria.gestion.cobranza.repository.LibroCuentaJdbcRepository;
+import com.inmobiliaria.gestion.cobranza.service.AntiguedadSaldosService;
+import com.inmobiliaria.gestion.cobranza.service.CobranzaService;
+import com.inmobiliaria.gestion.conceptos.model.ConceptosPago;
+import com.inmobiliaria.gestion.conceptos.repository.ConceptosPagoRepository;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
+import com.inmobiliaria.gestion.facturacion.dto.CargoRentaDTO;
+import com.inmobiliaria.gestion.facturacion.dto.ContratoFacturable;
+import com.inmobiliaria.gestion.facturacion.dto.FacturacionRunReport;
+import com.inmobiliaria.gestion.facturacion.model.CargoRenta;
+import com.inmobiliaria.gestion.facturacion.model.FacturacionCheckpoint;
+import com.inmobiliaria.gestion.facturacion.repository.CargoRentaRepository;
+import com.inmobiliaria.gestion.facturacion.repository.FacturacionCheckpointRepository;
+import com.inmobiliaria.gestion.facturacion.repository.FacturacionJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Monthly billing run. Each inmobiliaria is an independent partition processed on a
+ * bounded worker pool: its active contracts in term are read in keyset batches, one rent
+ * charge per contract is bulk-inserted through JDBC batching, and the partition
+ * checkpoint is advanced in the same transaction so a failed run can simply be repeated.
+ * The charges are booked in the account ledger within that transaction as well, and any
+ * credit left on a contract by earlier overpayments is allocated to them right away, and a
+ * CARGO_RENTA_FACTURADO event per charge is batch-inserted into the outbox.
+ * <p>
+ * Rent is charged against the inmobiliaria's active RENTA concept; a partition without one
+ * fails and is left incomplete, so it is billed once the concept is configured.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FacturacionService {
+
+    static final String TIPO_CONCEPTO_RENTA = "RENTA";
+
+    private final FacturacionJdbcRepository facturacionJdbcRepository;
+    private final FacturacionCheckpointRepository checkpointRepository;
+    private final CargoRentaRepository cargoRentaRepository;
+    private final ConceptosPagoRepository conceptosPagoRepository;
+    private final LibroCuentaJdbcRepository libroCuentaJdbcRepository;
+    private final AntiguedadSaldosService antiguedadSaldosService;
+    private final CobranzaService cobranzaService;
+    private final EventoOutboxService eventoOutboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock ejecucionLock = new ReentrantLock();
+
+    @Value("${facturacion.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${facturacion.paralelismo:4}")
+    private int paralelismo = 4;
+
+    public FacturacionRunReport ejecutarCorrida(YearMonth periodo) {
+        if (!ejecucionLock.tryLock()) {
+            throw new IllegalStateException("A billing run is already in progress");
+        }
+        try {
+            return ejecutar(periodo);
+        } finally {
+            ejecucionLock.unlock();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<CargoRentaDTO> findCargosByContrato(Integer idContrato) {
+        return cargoRentaRepository.findByIdContratoOrderByFechaVencimientoDesc(idContrato)
+                .stream()
+                .map(this::convertToDTO)
+                .toList();
+    }
+
+    private FacturacionRunReport ejecutar(YearMonth periodo) {
+        long inicio = System.nanoTime();
+        List<Long> inmobiliarias = facturacionJdbcRepository.findInmobiliariasConContratosActivos();
+        log.info("Starting billing run for period {} over {} inmobiliarias", periodo, inmobiliarias.size());
+
+        int procesadas = 0;
+        int omitidas = 0;
+        long contratos = 0;
+        long cargos = 0;
+        List<String> fallas = new ArrayList<>();
+
+        if (!inmobiliarias.isEmpty()) {
+            int hilos = Math.max(1, Math.min(paralelismo, inmobiliarias.size()));
+            try (ExecutorService pool = Executors.newFixedThreadPool(hilos)) {
+                List<Future<ResultadoParticion>> resultados = new ArrayList<>(inmobiliarias.size());
+                for (Long idInmobiliaria : inmobiliarias) {
+                    resultados.add(pool.submit(() -> facturarInmobiliaria(periodo, idInmobiliaria)));
+                }
+                for (int i = 0; i < resultados.size(); i++) {
+                    Long idInmobiliaria = inmobiliarias.get(i);
+                    try {
+                        ResultadoParticion resultado = resultados.get(i).get();
+                        if (resultado.omitida()) {
+                            omitidas++;
+                        } else {
+                            procesadas++;
+                        }
+                        contratos += resultado.contratos();
+                        cargos += resultado.cargos();
+                    } catch (ExecutionException e) {
+                        log.error("Billing run for period {} failed for inmobiliaria {}", periodo, idInmobiliaria, e.getCause());
+                        fallas.add("Inmobiliaria " + idInmobiliaria + ": " + e.getCause().getMessage());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Billing run interrupted", e);
+                    }
+                }
+            }
+        }
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        double cargosPorSegundo = duracionMs > 0 ? cargos * 1000.0 / duracionMs : cargos;
+        log.info("Billing run for period {} finished: {} inmobiliarias, {} contracts, {} charges, {} failures in {} ms",
+                periodo, procesadas, contratos, cargos, fallas.size(), duracionMs);
+        return new FacturacionRunReport(periodo.toString(), procesadas, omitidas, contratos, cargos,
+                duracionMs, cargosPorSegundo, fallas);
+    }
+
+    private ResultadoParticion facturarInmobiliaria(YearMonth periodo, Long idInmobiliaria) {
+        FacturacionCheckpoint checkpoint = checkpointRepository
+                .findByPeriodoAndIdInmobiliaria(periodo.toString(), idInmobiliaria)
+                .orElseGet(() -> FacturacionCheckpoint.builder()
+                        .periodo(periodo.toString())
+                        .idInmobiliaria(idInmobiliaria)
+                        .build());
+        if (Boolean.TRUE.equals(checkpoint.getCompletado())) {
+            return new ResultadoParticion(0, 0, true);
+        }
+
+        ConceptosPago conceptoRenta = conceptoRenta(idInmobiliaria);
+
+        LocalDateTime inicioPeriodo = periodo.atDay(1).atStartOfDay();
+        LocalDateTime inicioSiguientePeriodo = periodo.plusMonths(1).atDay(1).atStartOfDay();
+        long contratos = 0;
+        long cargos = 0;
+        int afterId = checkpoint.getUltimoIdContrato();
+
+        List<ContratoFacturable> lote;
+        do {
+            lote = facturacionJdbcRepository.findContratosFacturables(idInmobiliaria, afterId, inicioPeriodo,
+                    inicioSiguientePeriodo, batchSize);
+            if (lote.isEmpty()) {
+                break;
+            }
+            List<CargoRenta> nuevos = generarCargos(periodo, idInmobiliaria, lote, conceptoRenta);
+            afterId = lote.get(lote.size() - 1).idContrato();
+            checkpoint = guardarLote(checkpoint, nuevos, afterId);
+            contratos += lote.size();
+            cargos += nuevos.size();
+        } while (lote.size() == batchSize);
+
+        checkpoint.setCompletado(true);
+        checkpointRepository.save(checkpoint);
+        if (cargos > 0) {
+            antiguedadSaldosService.invalidar(idInmobiliaria);
+        }
+        log.debug("Billed inmobiliaria {} for period {}: {} contracts, {} charges", idInmobiliaria, periodo, contratos, cargos);
+        return new ResultadoParticion(contratos, cargos, false);
+    }
+
+    // The lowest id wins when several RENTA concepts are active, so reruns keep using the same one
+    private ConceptosPago conceptoRenta(Long idInmobiliaria) {
+        List<ConceptosPago> conceptos = conceptosPagoRepository.findByIdInmobiliariaAndActivo(idInmobiliaria, true)
+                .stream()
+                .filter(concepto -> TIPO_CONCEPTO_RENTA.equalsIgnoreCase(concepto.getTipoConcepto()))
+                .sorted(Comparator.comparing(ConceptosPago::getIdConcepto))
+                .toList();
+        if (conceptos.isEmpty()) {
+            throw new IllegalStateException(
+                    "No active " + TIPO_CONCEPTO_RENTA + " concept for inmobiliaria " + idInmobiliaria);
+        }
+        if (conceptos.size() > 1) {
+            log.warn("Inmobiliaria {} has {} active {} concepts; billing rent against concept {}", idInmobiliaria,
+                    conceptos.size(), TIPO_CONCEPTO_RENTA, conceptos.get(0).getIdConcepto());
+        }
+        return conceptos.get(0);
+    }
+
+    private FacturacionCheckpoint guardarLote(FacturacionCheckpoint checkpoint, List<CargoRenta> cargos, Integer ultimoIdContrato) {
+        return transactionTemplate.execute(status -> {
+            if (!cargos.isEmpty()) {
+                facturacionJdbcRepository.insertCargos(cargos);
+                libroCuentaJdbcRepository.registrarCargosFacturados(cargos);
+                // Booking the charges locked the contracts' balance rows, as payment allocation requires
+                cobranzaService.aplicarCreditos(cargos.get(0).getIdInmobiliaria(),
+                        cargos.stream().map(CargoRenta::getIdContrato).collect(Collectors.toSet()));
+                eventoOutboxService.registrarLote(EventoOutbox.AGREGADO_CONTRATO_RENTA, "CARGO_RENTA_FACTURADO",
+                        cargos.stream().collect(Collectors.toMap(CargoRenta::getIdContrato, this::convertToDTO,
+                                (anterior, nuevo) -> nuevo, LinkedHashMap::new)));
+            }
+            checkpoint.setUltimoIdContrato(ultimoIdContrato);
+            return checkpointRepository.save(checkpoint);
+        });
+    }
+
+    private List<CargoRenta> generarCargos(YearMonth periodo, Long idInmobiliaria,
+                                           List<ContratoFacturable> contratos, ConceptosPago concepto) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<CargoRenta> cargos = new ArrayList<>(contratos.size());
+        for (ContratoFacturable contrato : contratos) {
+            if (contrato.montoRenta() == null || contrato.montoRenta().signum() <= 0) {
+                continue;
+            }
+            cargos.add(CargoRenta.builder()
+                    .idContrato(contrato.idContrato())
+                    .idConcepto(concepto.getIdConcepto())
+                    .idInmobiliaria(idInmobiliaria)
+                    .periodo(periodo.toString())
+                    .monto(contrato.montoRenta())
+                    .fechaVencimiento(fechaVencimiento(periodo, contrato.fechaInicioContrato()))
+                    .fechaCreacion(ahora)
+                    .build());
+        }
+        return cargos;
+    }
+
+    // Charges fall due on the contract's start day, clamped to the length of the billed month
+    private LocalDate fechaVencimiento(YearMonth periodo, LocalDateTime fechaInicioContrato) {
+        int dia = fechaInicioContrato != null ? fechaInicioContrato.getDayOfMonth() : 1;
+        return periodo.atDay(Math.min(dia, periodo.lengthOfMonth()));
+    }
+
+    private CargoRentaDTO convertToDTO(CargoRenta cargo) {
+        return new CargoRentaDTO(
+                cargo.getIdCargo(),
+                cargo.getIdContrato(),
+                cargo.getIdConcepto(),
+                cargo.getIdInmobiliaria(),
+                cargo.getPeriodo(),
+                cargo.getMonto(),
+                cargo.getFechaVencimiento(),
+                cargo.getEstatusCargo(),
+                cargo.getMontoRecargo(),
+                cargo.getMontoPagado(),
+                cargo.getFechaCalculoRecargo(),
+                cargo.getFechaCreacion()
+        );
+    }
+
+    private record ResultadoParticion(long contratos, long cargos, boolean omitida) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.inmobiliaria.gestion.importacion.controller;
+
+import com.inmobiliaria.gestion.importacion.dto.ImportacionReport;
+import com.inmobiliaria.gestion.importacion.parser.CsvLectorFilas;
+import com.inmobiliaria.gestion.importacion.parser.LectorFilas;
+import com.inmobiliaria.gestion.importacion.parser.XlsxLectorFilas;
+import com.inmobiliaria.gestion.importacion.service.ImportacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/v1/importaciones")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Importaciones", description = "Bulk CSV/XLSX import of properties and rental contracts")
+public class ImportacionController {
+
+    private final ImportacionService importacionService;
+
+    @Operation(summary = "Import properties", description = "Bulk-import properties from a CSV or XLSX file. Each row names its inmobiliaria by id_inmobiliaria or rfc_inmobiliaria, falling back to the idInmobiliaria parameter")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; rejected rows are listed in the report",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ImportacionReport.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported or unreadable file, or unknown inmobiliaria"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/propiedades", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportacionReport> importarPropiedades(
+            @Parameter(description = "CSV or XLSX file with a header row", required = true)
+            @RequestParam("archivo") MultipartFile archivo,
+            @Parameter(description = "Inmobiliaria for rows that do not name one", example = "1")
+            @RequestParam(required = false) Long idInmobiliaria) {
+        log.info("POST /api/v1/importaciones/propiedades - Importing {} ({} bytes)", archivo.getOriginalFilename(), archivo.getSize());
+        return importar(archivo, lector -> importacionService.importarPropiedades(lector, idInmobiliaria));
+    }
+
+    @Operation(summary = "Import rental contracts", description = "Bulk-import active rental contracts for the properties of one inmobiliaria from a CSV or XLSX file. Each row names its property by id_propiedad or direccion_propiedad")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; rejected rows are listed in the report",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ImportacionReport.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported or unreadable file, or unknown inmobiliaria"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/contratos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportacionReport> importarContratos(
+            @Parameter(description = "CSV or XLSX file with a header row", required = true)
+            @RequestParam("archivo") MultipartFile archivo,
+            @Parameter(description = "Inmobiliaria owning the properties", required = true, example = "1")
+            @RequestParam Long idInmobiliaria) {
+        log.info("POST /api/v1/importaciones/contratos - Importing {} ({} bytes) for inmobiliaria {}",
+                archivo.getOriginalFilename(), archivo.getSize(), idInmobiliaria);
+        return importar(archivo, lector -> importacionService.importarContratos(lector, idInmobiliaria));
+    }
+
+    private ResponseEntity<ImportacionReport> importar(MultipartFile archivo, Importador importador) {
+        String nombre = archivo.getOriginalFilename() != null ? archivo.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        try {
+            if (nombre.endsWith(".csv")) {
+                try (InputStream entrada = archivo.getInputStream()) {
+                    return ResponseEntity.ok(importador.importar(new CsvLectorFilas(entrada)));
+                }
+            }
+            if (nombre.endsWith(".xlsx")) {
+                // The XLSX reader needs random access to the zip entries, so the upload is spooled to disk
+                Path temporal = Files.createTempFile("importacion-", ".xlsx");
+                try {
+                    archivo.transferTo(temporal);
+                    return ResponseEntity.ok(importador.importar(new XlsxLectorFilas(temporal)));
+                } finally {
+                    Files.deleteIfExists(temporal);
+                }
+            }
+            log.warn("Import rejected: unsupported file {}", archivo.getOriginalFilename());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Import rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IOException e) {
+            log.warn("Import rejected: unreadable file {}: {}", archivo.getOriginalFilename(), e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Importador {
+        ImportacionReport importar(LectorFilas lector) throws IOException;
+    }
+}
@@ -0,0 +1,17 @@
+package com.inmobiliaria.gestion.importacion.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Problem found in one row of an import file")
+public record ErrorFila(
+
+        @Schema(description = "Row number in the file (the header is row 1)", example = "27")
+        long fila,
+
+        @Schema(description = "Column the problem refers to, if any", example = "monto_renta")
+        String columna,
+
+        @Schema(description = "What is wrong with the row", example = "Monthly rent must be greater than 0")
+        String mensaje
+) {
+}
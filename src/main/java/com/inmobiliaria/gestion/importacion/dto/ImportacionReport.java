@@ -0,0 +1,31 @@
+package com.inmobiliaria.gestion.importacion.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk import")
+public record ImportacionReport(
+
+        @Schema(description = "Imported entity", example = "PROPIEDAD")
+        String tipo,
+
+        @Schema(description = "Data rows read from the file", example = "500000")
+        long filasLeidas,
+
+        @Schema(description = "Rows inserted", example = "499990")
+        long filasImportadas,
+
+        @Schema(description = "Rows rejected", example = "10")
+        long filasRechazadas,
+
+        @Schema(description = "Import duration in milliseconds", example = "42000")
+        long duracionMs,
+
+        @Schema(description = "Rejected rows with their reasons, capped at importacion.max-errores entries")
+        List<ErrorFila> errores,
+
+        @Schema(description = "Whether more errors were found than are listed", example = "false")
+        boolean erroresTruncados
+) {
+}
@@ -0,0 +1,7 @@
+package com.inmobiliaria.gestion.importacion.dto;
+
+/**
+ * Existing property of an inmobiliaria, used to resolve contract rows by id or address.
+ */
+public record PropiedadReferencia(Integer idPropiedad, String direccionNormalizada) {
+}
@@ -0,0 +1,75 @@
+package com.inmobiliaria.gestion.importacion.parser;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * CSV reader backed by Commons CSV, which parses records lazily from the stream. The
+ * delimiter (comma or semicolon, as exported by spreadsheet tools in es-MX locales) is taken
+ * from the header line.
+ */
+public class CsvLectorFilas implements LectorFilas {
+
+    private static final int MAX_ENCABEZADO = 64 * 1024;
+
+    private final InputStream entrada;
+
+    public CsvLectorFilas(InputStream entrada) {
+        this.entrada = entrada;
+    }
+
+    @Override
+    public void leer(Consumer<FilaImportacion> consumidor) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        reader.mark(MAX_ENCABEZADO);
+        char delimitador = detectarDelimitador(reader);
+        reader.reset();
+
+        CSVFormat formato = CSVFormat.DEFAULT.builder()
+                .setDelimiter(delimitador)
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+        try (CSVParser parser = formato.parse(reader)) {
+            List<String> columnas = parser.getHeaderNames().stream()
+                    .map(LectorFilas::normalizarEncabezado)
+                    .toList();
+            for (CSVRecord registro : parser) {
+                Map<String, String> valores = new HashMap<>(columnas.size() * 2);
+                for (int i = 0; i < columnas.size() && i < registro.size(); i++) {
+                    valores.put(columnas.get(i), registro.get(i));
+                }
+                // The header is record 1, so record numbers line up with spreadsheet row numbers
+                consumidor.accept(new FilaImportacion(registro.getRecordNumber() + 1, valores));
+            }
+        }
+    }
+
+    private static char detectarDelimitador(Reader reader) throws IOException {
+        int comas = 0;
+        int puntosYComa = 0;
+        int caracter;
+        while ((caracter = reader.read()) != -1 && caracter != '\n') {
+            if (caracter == ',') {
+                comas++;
+            } else if (caracter == ';') {
+                puntosYComa++;
+            }
+        }
+        return puntosYComa > comas ? ';' : ',';
+    }
+}
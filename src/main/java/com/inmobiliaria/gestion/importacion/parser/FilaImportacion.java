@@ -0,0 +1,23 @@
+package com.inmobiliaria.gestion.importacion.parser;
+
+import java.util.Map;
+
+/**
+ * One data row of an import file, keyed by normalized column name.
+ *
+ * @param numero row number as shown in the source file (the header is row 1)
+ */
+public record FilaImportacion(long numero, Map<String, String> valores) {
+
+    /**
+     * Trimmed value of a column, or {@code null} when the column is missing or blank.
+     */
+    public String valor(String columna) {
+        String valor = valores.get(columna);
+        if (valor == null) {
+            return null;
+        }
+        String recortado = valor.trim();
+        return recortado.isEmpty() ? null : recortado;
+    }
+}
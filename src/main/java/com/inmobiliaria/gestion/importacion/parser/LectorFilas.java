@@ -0,0 +1,29 @@
+package com.inmobiliaria.gestion.importacion.parser;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Streams the data rows of an import file to a consumer one at a time, so files of any size
+ * are processed without being loaded into memory. The first row is the header.
+ */
+public interface LectorFilas {
+
+    void leer(Consumer<FilaImportacion> consumidor) throws IOException;
+
+    /**
+     * Maps a header to the snake_case column name used by the importers, so
+     * "Id Inmobiliaria", "idInmobiliaria" and "id_inmobiliaria" all match.
+     */
+    static String normalizarEncabezado(String encabezado) {
+        if (encabezado == null) {
+            return "";
+        }
+        return encabezado.trim()
+                .replace("\uFEFF", "")
+                .replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                .replaceAll("[\\s\\-]+", "_")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,125 @@
+package com.inmobiliaria.gestion.importacion.parser;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * XLSX reader over POI's SAX event API: the first sheet is parsed element by element from the
+ * file on disk instead of being built as a workbook, so memory stays flat regardless of row
+ * count (only the shared strings table is held). Date cells are rendered as ISO-8601.
+ */
+public class XlsxLectorFilas implements LectorFilas {
+
+    private final Path archivo;
+
+    public XlsxLectorFilas(Path archivo) {
+        this.archivo = archivo;
+    }
+
+    @Override
+    public void leer(Consumer<FilaImportacion> consumidor) throws IOException {
+        try (OPCPackage paquete = OPCPackage.open(archivo.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(paquete);
+            ReadOnlySharedStringsTable cadenas = new ReadOnlySharedStringsTable(paquete);
+            StylesTable estilos = reader.getStylesTable();
+            Iterator<InputStream> hojas = reader.getSheetsData();
+            if (!hojas.hasNext()) {
+                return;
+            }
+            try (InputStream hoja = hojas.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(estilos, null, cadenas,
+                        new ManejadorFilas(consumidor), new FormateadorIso(), false));
+                parser.parse(new InputSource(hoja));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Invalid XLSX file: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class ManejadorFilas implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Consumer<FilaImportacion> consumidor;
+        private Map<Integer, String> columnas;
+        private Map<Integer, String> valores;
+        private int filaActual;
+        private int columnaSiguiente;
+
+        ManejadorFilas(Consumer<FilaImportacion> consumidor) {
+            this.consumidor = consumidor;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            filaActual = rowNum;
+            columnaSiguiente = 0;
+            valores = new HashMap<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (columnas == null) {
+                columnas = new HashMap<>();
+                valores.forEach((indice, encabezado) -> columnas.put(indice, LectorFilas.normalizarEncabezado(encabezado)));
+                return;
+            }
+            if (valores.isEmpty()) {
+                return;
+            }
+            Map<String, String> fila = new HashMap<>(valores.size() * 2);
+            valores.forEach((indice, valor) -> {
+                String columna = columnas.get(indice);
+                if (columna != null) {
+                    fila.put(columna, valor);
+                }
+            });
+            consumidor.accept(new FilaImportacion(filaActual + 1L, fila));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int columna = cellReference != null ? new CellReference(cellReference).getCol() : columnaSiguiente;
+            columnaSiguiente = columna + 1;
+            valores.put(columna, formattedValue);
+        }
+    }
+
+    // Dates are emitted as ISO-8601 whatever display format the sheet uses
+    private static final class FormateadorIso extends DataFormatter {
+
+        FormateadorIso() {
+            super(Locale.ROOT);
+        }
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.inmobiliaria.gestion.importacion.repository;
+
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import com.inmobiliaria.gestion.importacion.dto.PropiedadReferencia;
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reference lookups and batched inserts for bulk imports. Ids are drawn from the same pooled
+ * sequences Hibernate uses: each sequence value reserves a block of {@link #ASIGNACION_SECUENCIA}
+ * ids (pooled-lo), so rows imported here never collide with rows saved through JPA. Rows start
+ * at version 0, matching what Hibernate writes for a freshly persisted entity.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(MetricsConfig.JDBC_TIMER)
+public class ImportacionJdbcRepository {
+
+    // Must match the allocationSize of the entities' @SequenceGenerator
+    static final int ASIGNACION_SECUENCIA = 50;
+
+    private static final String SQL_INSERT_PROPIEDAD =
+            "INSERT INTO propiedad (id_propiedad, id_inmobiliaria, tipo_propiedad, superficie_total, " +
+            "superficie_construida, fecha_registro, estatus_propiedad, caracteristicas_especiales, " +
+            "direccion_completa, numero_banos, numero_habitaciones, direccion_normalizada, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String SQL_INSERT_CONTRATO =
+            "INSERT INTO contrato_renta (id_contrato, id_propiedad, fecha_inicio_contrato, fecha_fin_contrato, " +
+            "condiciones_especiales, email_notificaciones, estatus_contrato, deposito_garantia, monto_renta, " +
+            "duracion_meses, notificacion_dias_previos, telefono_notificaciones, fecha_notificacion, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    public Set<Long> findIdsInmobiliaria() {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id_inmobiliaria FROM inmobiliaria", Long.class));
+    }
+
+    /**
+     * Upper-cased RFC/NIT to inmobiliaria id.
+     */
+    public Map<String, Long> findInmobiliariasPorRfc() {
+        Map<String, Long> porRfc = new HashMap<>();
+        jdbcTemplate.query("SELECT id_inmobiliaria, rfc_nit FROM inmobiliaria WHERE rfc_nit IS NOT NULL",
+                rs -> {
+                    porRfc.put(rs.getString("rfc_nit").trim().toUpperCase(Locale.ROOT), rs.getLong("id_inmobiliaria"));
+                });
+        return porRfc;
+    }
+
+    public List<PropiedadReferencia> findPropiedades(Long idInmobiliaria) {
+        return jdbcTemplate.query(
+                "SELECT id_propiedad, direccion_normalizada FROM propiedad WHERE id_inmobiliaria = ?",
+                (rs, rowNum) -> new PropiedadReferencia(rs.getInt("id_propiedad"), rs.getString("direccion_normalizada")),
+                idInmobiliaria);
+    }
+
+    public Set<Integer> findPropiedadesConContratoActivo(Long idInmobiliaria) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT c.id_propiedad FROM contrato_renta c " +
+                "JOIN propiedad p ON p.id_propiedad = c.id_propiedad " +
+                "WHERE p.id_inmobiliaria = ? AND c.estatus_contrato = 'ACTIVO'",
+                Integer.class, idInmobiliaria));
+    }
+
+    /**
+     * Assigns ids to the properties and inserts them in one JDBC batch.
+     */
+    public void insertPropiedades(List<Propiedad> propiedades) {
+        List<Integer> ids = reservarIds("propiedad_seq", propiedades.size());
+        for (int i = 0; i < propiedades.size(); i++) {
+            propiedades.get(i).setIdPropiedad(ids.get(i));
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERT_PROPIEDAD, propiedades, propiedades.size(), (ps, propiedad) -> {
+            ps.setInt(1, propiedad.getIdPropiedad());
+            ps.setLong(2, propiedad.getIdInmobiliaria());
+            ps.setString(3, propiedad.getTipoPropiedad());
+            ps.setBigDecimal(4, propiedad.getSuperficieTotal());
+            ps.setBigDecimal(5, propiedad.getSuperficieConstruida());
+            ps.setDate(6, Date.valueOf(propiedad.getFechaRegistro()));
+            ps.setString(7, propiedad.getEstatusPropiedad());
+            ps.setString(8, propiedad.getCaracteristicasEspeciales());
+            ps.setString(9, propiedad.getDireccionCompleta());
+            setInteger(ps, 10, propiedad.getNumeroBanos());
+            setInteger(ps, 11, propiedad.getNumeroHabitaciones());
+            ps.setString(12, propiedad.getDireccionNormalizada());
+        });
+    }
+
+    /**
+     * Assigns ids to the contracts and inserts them in one JDBC batch.
+     */
+    public void insertContratos(List<ContratoRenta> contratos) {
+        List<Integer> ids = reservarIds("contrato_renta_seq", contratos.size());
+        for (int i = 0; i < contratos.size(); i++) {
+            contratos.get(i).setIdContrato(ids.get(i));
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERT_CONTRATO, contratos, contratos.size(), (ps, contrato) -> {
+            ps.setInt(1, contrato.getIdContrato());
+            ps.setInt(2, contrato.getIdPropiedad());
+            setTimestamp(ps, 3, contrato.getFechaInicioContrato());
+            setTimestamp(ps, 4, contrato.getFechaFinContrato());
+            ps.setString(5, contrato.getCondicionesEspeciales());
+            ps.setString(6, contrato.getEmailNotificaciones());
+            ps.setString(7, contrato.getEstatusContrato());
+            ps.setBigDecimal(8, contrato.getDepositoGarantia());
+            ps.setBigDecimal(9, contrato.getMontoRenta());
+            setInteger(ps, 10, contrato.getDuracionMeses());
+            setInteger(ps, 11, contrato.getNotificacionDiasPrevios());
+            ps.setString(12, contrato.getTelefonoNotificaciones());
+            setTimestamp(ps, 13, contrato.getFechaNotificacion());
+        });
+    }
+
+    // One sequence call per block of ASIGNACION_SECUENCIA ids, expanded the way Hibernate's pooled-lo optimizer does
+    private List<Integer> reservarIds(String secuencia, int cantidad) {
+        int bloques = (cantidad + ASIGNACION_SECUENCIA - 1) / ASIGNACION_SECUENCIA;
+        String sql = esPostgres()
+                ? "SELECT nextval('" + secuencia + "') FROM generate_series(1, ?)"
+                : "SELECT NEXT VALUE FOR " + secuencia + " FROM SYSTEM_RANGE(1, ?)";
+        List<Long> inicios = jdbcTemplate.queryForList(sql, Long.class, bloques);
+        List<Integer> ids = new ArrayList<>(cantidad);
+        for (Long inicio : inicios) {
+            for (int i = 0; i < ASIGNACION_SECUENCIA && ids.size() < cantidad; i++) {
+                ids.add(Math.toIntExact(inicio + i));
+            }
+        }
+        return ids;
+    }
+
+    private boolean esPostgres() {
+        Boolean esPostgres = postgres;
+        if (esPostgres == null) {
+            String producto = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            esPostgres = "PostgreSQL".equalsIgnoreCase(producto);
+            postgres = esPostgres;
+        }
+        return esPostgres;
+    }
+
+    private static void setInteger(PreparedStatement ps, int indice, Integer valor) throws SQLException {
+        if (valor != null) {
+            ps.setInt(indice, valor);
+        } else {
+            ps.setNull(indice, Types.INTEGER);
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int indice, LocalDateTime valor) throws SQLException {
+        if (valor != null) {
+            ps.setTimestamp(indice, Timestamp.valueOf(valor));
+        } else {
+            ps.setNull(indice, Types.TIMESTAMP);
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.inmobiliaria.gestion.importacion.service;
+
+import com.inmobiliaria.gestion.auditoria.service.AuditoriaLoteService;
+import com.inmobiliaria.gestion.cambios.service.CambioTablaService;
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaCreateRequest;
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import com.inmobiliaria.gestion.contrato_renta.service.ContratoRentaService;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
+import com.inmobiliaria.gestion.importacion.dto.ErrorFila;
+import com.inmobiliaria.gestion.importacion.dto.ImportacionReport;
+import com.inmobiliaria.gestion.importacion.dto.PropiedadReferencia;
+import com.inmobiliaria.gestion.importacion.parser.FilaImportacion;
+import com.inmobiliaria.gestion.importacion.parser.LectorFilas;
+import com.inmobiliaria.gestion.importacion.repository.ImportacionJdbcRepository;
+import com.inmobiliaria.gestion.propiedad.dto.PropiedadCreateRequest;
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import com.inmobiliaria.gestion.propiedad.service.PropiedadService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Bulk import of properties and rental contracts. Rows are streamed from the file, checked with
+ * the same Bean Validation constraints as the create endpoints, resolved against lookup maps
+ * loaded once per import, and inserted through JDBC batches in chunks of
+ * {@code importacion.chunk-size} rows, each in its own transaction together with the outbox
+ * events and audit entries of the rows it creates. A failed chunk rejects only its own rows; the report lists
+ * every rejected row up to {@code importacion.max-errores}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ImportacionService {
+
+    static final String TIPO_PROPIEDADES = "PROPIEDADES";
+    static final String TIPO_CONTRATOS = "CONTRATOS";
+
+    private static final String ESTATUS_ACTIVO = "ACTIVO";
+    private static final String ESTATUS_PROPIEDAD_DEFAULT = "DISPONIBLE";
+
+    private final ImportacionJdbcRepository importacionJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final DashboardService dashboardService;
+    private final CambioTablaService cambioTablaService;
+    private final EventoOutboxService eventoOutboxService;
+    private final AuditoriaLoteService auditoriaLoteService;
+
+    @Value("${importacion.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${importacion.max-errores:1000}")
+    private int maxErrores = 1000;
+
+    /**
+     * Imports properties. Each row names its owner through {@code id_inmobiliaria} or
+     * {@code rfc_inmobiliaria}; {@code idInmobiliaria}, when given, is used for rows naming neither.
+     */
+    public ImportacionReport importarPropiedades(LectorFilas lector, Long idInmobiliaria) throws IOException {
+        Set<Long> inmobiliarias = importacionJdbcRepository.findIdsInmobiliaria();
+        if (idInmobiliaria != null && !inmobiliarias.contains(idInmobiliaria)) {
+            throw new IllegalArgumentException("Inmobiliaria with id " + idInmobiliaria + " does not exist");
+        }
+        Map<String, Long> porRfc = importacionJdbcRepository.findInmobiliariasPorRfc();
+        LocalDate hoy = LocalDate.now();
+
+        Importacion<Propiedad> importacion = new Importacion<>(TIPO_PROPIEDADES,
+                this::insertarPropiedades, lote -> { });
+        lector.leer(fila -> {
+            importacion.filaLeida();
+            List<ErrorFila> errores = new ArrayList<>();
+            Long idPropietaria = resolverInmobiliaria(fila, idInmobiliaria, inmobiliarias, porRfc, errores);
+            boolean referenciaReportada = !errores.isEmpty();
+            PropiedadCreateRequest request = new PropiedadCreateRequest(
+                    idPropietaria,
+                    fila.valor("tipo_propiedad"),
+                    decimal(fila, "superficie_total", errores),
+                    decimal(fila, "superficie_construida", errores),
+                    fila.valor("estatus_propiedad"),
+                    fila.valor("caracteristicas_especiales"),
+                    fila.valor("direccion_completa"),
+                    entero(fila, "numero_banos", errores),
+                    entero(fila, "numero_habitaciones", errores));
+            validar(fila, request, errores, "idInmobiliaria", referenciaReportada);
+            if (!errores.isEmpty()) {
+                importacion.rechazar(errores);
+                return;
+            }
+            importacion.agregar(fila.numero(), Propiedad.builder()
+                    .idInmobiliaria(request.idInmobiliaria())
+                    .tipoPropiedad(request.tipoPropiedad())
+                    .superficieTotal(request.superficieTotal())
+                    .superficieConstruida(request.superficieConstruida())
+                    .fechaRegistro(hoy)
+                    .estatusPropiedad(request.estatusPropiedad() != null ? request.estatusPropiedad() : ESTATUS_PROPIEDAD_DEFAULT)
+                    .caracteristicasEspeciales(request.caracteristicasEspeciales())
+                    .direccionCompleta(request.direccionCompleta())
+                    .direccionNormalizada(Propiedad.normalizarDireccion(request.direccionCompleta()))
+                    .numeroBanos(request.numeroBanos())
+                    .numeroHabitaciones(request.numeroHabitaciones())
+                    .build());
+        });
+        return importacion.terminar();
+    }
+
+    /**
+     * Imports active rental contracts for the properties of one inmobiliaria. Each row names its
+     * property through {@code id_propiedad} or {@code direccion_propiedad}; a property that
+     * already has an active contract, in the database or earlier in the file, is rejected.
+     */
+    public ImportacionReport importarContratos(LectorFilas lector, Long idInmobiliaria) throws IOException {
+        if (idInmobiliaria == null || !importacionJdbcRepository.findIdsInmobiliaria().contains(idInmobiliaria)) {
+            throw new IllegalArgumentException("Inmobiliaria with id " + idInmobiliaria + " does not exist");
+        }
+        Set<Integer> propiedades = new HashSet<>();
+        Map<String, Integer> porDireccion = new HashMap<>();
+        for (PropiedadReferencia propiedad : importacionJdbcRepository.findPropiedades(idInmobiliaria)) {
+            propiedades.add(propiedad.idPropiedad());
+            if (propiedad.direccionNormalizada() != null) {
+                // Addresses shared by several properties map to null: they cannot identify one of them
+                String direccion = propiedad.direccionNormalizada();
+                porDireccion.put(direccion, porDireccion.containsKey(direccion) ? null : propiedad.idPropiedad());
+            }
+        }
+        Set<Integer> conContratoActivo = importacionJdbcRepository.findPropiedadesConContratoActivo(idInmobiliaria);
+
+        Importacion<ContratoRenta> importacion = new Importacion<>(TIPO_CONTRATOS,
+                this::insertarContratos,
+                lote -> lote.forEach(contrato -> conContratoActivo.remove(contrato.getIdPropiedad())));
+        lector.leer(fila -> {
+            importacion.filaLeida();
+            List<ErrorFila> errores = new ArrayList<>();
+            Integer idPropiedad = resolverPropiedad(fila, propiedades, porDireccion, errores);
+            boolean referenciaReportada = !errores.isEmpty();
+            ContratoRentaCreateRequest request = new ContratoRentaCreateRequest(
+                    idPropiedad,
+                    fechaHora(fila, "fecha_inicio_contrato", errores),
+                    fila.valor("condiciones_especiales"),
+                    fila.valor("email_notificaciones"),
+                    decimal(fila, "deposito_garantia", errores),
+                    entero(fila, "duracion_meses", errores),
+                    entero(fila, "notificacion_dias_previos", errores),
+                    fila.valor("telefono_notificaciones"),
+                    decimal(fila, "monto_renta", errores));
+            validar(fila, request, errores, "idPropiedad", referenciaReportada);
+            if (idPropiedad != null && conContratoActivo.contains(idPropiedad)) {
+                errores.add(new ErrorFila(fila.numero(), "id_propiedad", "Property already has an active rental contract"));
+            }
+            if (!errores.isEmpty()) {
+                importacion.rechazar(errores);
+                return;
+            }
+            ContratoRenta contrato = ContratoRenta.builder()
+                    .idPropiedad(request.idPropiedad())
+                    .fechaInicioContrato(request.fechaInicioContrato())
+                    .condicionesEspeciales(request.condicionesEspeciales())
+                    .emailNotificaciones(request.emailNotificaciones())
+                    .estatusContrato(ESTATUS_ACTIVO)
+                    .depositoGarantia(request.depositoGarantia())
+                    .duracionMeses(request.duracionMeses())
+                    .notificacionDiasPrevios(request.notificacionDiasPrevios())
+                    .telefonoNotificaciones(request.telefonoNotificaciones())
+                    .montoRenta(request.montoRenta())
+                    .build();
+            contrato.completarFechasDerivadas();
+            conContratoActivo.add(idPropiedad);
+            importacion.agregar(fila.numero(), contrato);
+        });
+        return importacion.terminar();
+    }
+
+    // Runs inside the chunk transaction; ids are assigned by the insert. Rows bypass the JPA
+    // listener, so the list ETags are invalidated here, once the chunk commits
+    private void insertarPropiedades(List<Propiedad> propiedades) {
+        importacionJdbcRepository.insertPropiedades(propiedades);
+        cambioTablaService.registrarCambio("propiedad");
+        Map<Integer, Object> eventos = new LinkedHashMap<>();
+        propiedades.forEach(propiedad -> eventos.put(propiedad.getIdPropiedad(), PropiedadService.convertToDTO(propiedad)));
+        eventoOutboxService.registrarLote(EventoOutbox.AGREGADO_PROPIEDAD, "PROPIEDAD_CREADA", eventos);
+        auditoriaLoteService.registrarAltas(propiedades, auditoriaLoteService.usuarioActual());
+    }
+
+    private void insertarContratos(List<ContratoRenta> contratos) {
+        importacionJdbcRepository.insertContratos(contratos);
+        cambioTablaService.registrarCambio("contrato_renta");
+        Map<Integer, Object> eventos = new LinkedHashMap<>();
+        contratos.forEach(contrato -> eventos.put(contrato.getIdContrato(), ContratoRentaService.convertToDTO(contrato)));
+        eventoOutboxService.registrarLote(EventoOutbox.AGREGADO_CONTRATO_RENTA, "CONTRATO_RENTA_CREADO", eventos);
+        auditoriaLoteService.registrarAltas(contratos, auditoriaLoteService.usuarioActual());
+    }
+
+    private Long resolverInmobiliaria(FilaImportacion fila, Long idPorDefecto, Set<Long> inmobiliarias,
+                                      Map<String, Long> porRfc, List<ErrorFila> errores) {
+        if (fila.valor("id_inmobiliaria") != null) {
+            Integer id = entero(fila, "id_inmobiliaria", errores);
+            if (id == null) {
+                return null;
+            }
+            if (!inmobiliarias.contains(id.longValue())) {
+                errores.add(new ErrorFila(fila.numero(), "id_inmobiliaria", "Inmobiliaria with id " + id + " does not exist"));
+                return null;
+            }
+            return id.longValue();
+        }
+        String rfc = fila.valor("rfc_inmobiliaria");
+        if (rfc != null) {
+            Long id = porRfc.get(rfc.toUpperCase(Locale.ROOT));
+            if (id == null) {
+                errores.add(new ErrorFila(fila.numero(), "rfc_inmobiliaria", "No inmobiliaria with RFC " + rfc));
+            }
+            return id;
+        }
+        if (idPorDefecto == null) {
+            errores.add(new ErrorFila(fila.numero(), "id_inmobiliaria", "Inmobiliaria ID is required"));
+        }
+        return idPorDefecto;
+    }
+
+    private Integer resolverPropiedad(FilaImportacion fila, Set<Integer> propiedades,
+                                      Map<String, Integer> porDireccion, List<ErrorFila> errores) {
+        if (fila.valor("id_propiedad") != null) {
+            Integer id = entero(fila, "id_propiedad", errores);
+            if (id != null && !propiedades.contains(id)) {
+                errores.add(new ErrorFila(fila.numero(), "id_propiedad",
+                        "Property with id " + id + " does not exist for this inmobiliaria"));
+                return null;
+            }
+            return id;
+        }
+        String direccion = fila.valor("direccion_propiedad");
+        if (direccion == null) {
+            errores.add(new ErrorFila(fila.numero(), "id_propiedad", "Property ID is required"));
+            return null;
+        }
+        String normalizada = Propiedad.normalizarDireccion(direccion);
+        if (!porDireccion.containsKey(normalizada)) {
+            errores.add(new ErrorFila(fila.numero(), "direccion_propiedad", "No property with address " + direccion));
+            return null;
+        }
+        Integer id = porDireccion.get(normalizada);
+        if (id == null) {
+            errores.add(new ErrorFila(fila.numero(), "direccion_propiedad",
+                    "Address " + direccion + " matches more than one property"));
+        }
+        return id;
+    }
+
+    // Skips violations already reported while parsing a column or resolving the row's reference
+    private <T> void validar(FilaImportacion fila, T request, List<ErrorFila> errores,
+                             String referencia, boolean referenciaReportada) {
+        for (ConstraintViolation<T> violacion : validator.validate(request)) {
+            String propiedad = violacion.getPropertyPath().toString();
+            String columna = LectorFilas.normalizarEncabezado(propiedad);
+            boolean yaReportada = (referenciaReportada && referencia.equals(propiedad))
+                    || errores.stream().anyMatch(error -> columna.equals(error.columna()));
+            if (!yaReportada) {
+                errores.add(new ErrorFila(fila.numero(), columna, violacion.getMessage()));
+            }
+        }
+    }
+
+    private static Integer entero(FilaImportacion fila, String columna, List<ErrorFila> errores) {
+        String valor = fila.valor(columna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(valor).intValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            errores.add(new ErrorFila(fila.numero(), columna, "Invalid integer: " + valor));
+            return null;
+        }
+    }
+
+    private static BigDecimal decimal(FilaImportacion fila, String columna, List<ErrorFila> errores) {
+        String valor = fila.valor(columna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(valor);
+        } catch (NumberFormatException e) {
+            errores.add(new ErrorFila(fila.numero(), columna, "Invalid number: " + valor));
+            return null;
+        }
+    }
+
+    // Accepts an ISO date or date-time; spreadsheet date cells arrive as ISO date-times
+    private static LocalDateTime fechaHora(FilaImportacion fila, String columna, List<ErrorFila> errores) {
+        String valor = fila.valor(columna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return valor.length() <= 10 ? LocalDate.parse(valor).atStartOfDay() : LocalDateTime.parse(valor.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            errores.add(new ErrorFila(fila.numero(), columna, "Invalid date: " + valor));
+            return null;
+        }
+    }
+
+    /**
+     * Running state of one import: the pending chunk, counters and the capped error list.
+     */
+    private final class Importacion<T> {
+
+        private final String tipo;
+        private final Consumer<List<T>> insertar;
+        private final Consumer<List<T>> revertir;
+        private final long inicio = System.nanoTime();
+        private final List<T> pendientes = new ArrayList<>(chunkSize);
+        private final List<Long> filasPendientes = new ArrayList<>(chunkSize);
+        private final List<ErrorFila> errores = new ArrayList<>();
+        private long leidas;
+        private long importadas;
+        private long rechazadas;
+        private boolean truncados;
+
+        private Importacion(String tipo, Consumer<List<T>> insertar, Consumer<List<T>> revertir) {
+            this.tipo = tipo;
+            this.insertar = insertar;
+            this.revertir = revertir;
+        }
+
+        void filaLeida() {
+            leidas++;
+        }
+
+        void agregar(long fila, T entidad) {
+            pendientes.add(entidad);
+            filasPendientes.add(fila);
+            if (pendientes.size() >= chunkSize) {
+                vaciar();
+            }
+        }
+
+        void rechazar(List<ErrorFila> erroresFila) {
+            rechazadas++;
+            erroresFila.forEach(this::registrar);
+        }
+
+        ImportacionReport terminar() {
+            vaciar();
+            if (importadas > 0) {
+                dashboardService.invalidar();
+            }
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            log.info("Import of {} finished: {} rows read, {} imported, {} rejected in {} ms",
+                    tipo, leidas, importadas, rechazadas, duracionMs);
+            return new ImportacionReport(tipo, leidas, importadas, rechazadas, duracionMs, List.copyOf(errores), truncados);
+        }
+
+        private void vaciar() {
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            // The buffer is reused for the next chunk, so callers get their own copy of the batch
+            List<T> lote = List.copyOf(pendientes);
+            try {
+                transactionTemplate.execute(status -> {
+                    insertar.accept(lote);
+                    return null;
+                });
+                importadas += lote.size();
+            } catch (RuntimeException e) {
+                log.warn("Import of {} failed for rows {} to {}: {}", tipo, filasPendientes.get(0),
+                        filasPendientes.get(filasPendientes.size() - 1), e.getMessage());
+                revertir.accept(lote);
+                rechazadas += lote.size();
+                for (Long fila : filasPendientes) {
+                    registrar(new ErrorFila(fila, null, "Batch insert failed: " + e.getMessage()));
+                }
+            }
+            pendientes.clear();
+            filasPendientes.clear();
+        }
+
+        private void registrar(ErrorFila error) {
+            if (errores.size() < maxErrores) {
+                errores.add(error);
+            } else {
+                truncados = true;
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.inmobiliaria.gestion.inmobiliaria.controller;
 
+import com.inmobiliaria.gestion.cambios.web.EtagEntidad;
+import com.inmobiliaria.gestion.cambios.web.EtagLista;
 import com.inmobiliaria.gestion.inmobiliaria.dto.InmobiliariaDTO;
+import com.inmobiliaria.gestion.inmobiliaria.model.Inmobiliaria;
 import com.inmobiliaria.gestion.inmobiliaria.service.InmobiliariaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -42,6 +45,7 @@ public class InmobiliariaController {
             @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
             @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions")
     })
+    @EtagLista(Inmobiliaria.class)
     @GetMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Page<InmobiliariaDTO>> getAllInmobiliarias(
@@ -54,7 +58,7 @@ public class InmobiliariaController {
             @Parameter(description = "Sort direction", example = "asc")
             @RequestParam(defaultValue = "asc") String sortDir) {
 
-        log.info("Getting all inmobiliarias - page: {}, size: {}, sortBy: {}, sortDir: {}", page, size, sortBy, sortDir);
+        log.debug("Getting all inmobiliarias - page: {}, size: {}, sortBy: {}, sortDir: {}", page, size, sortBy, sortDir);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
@@ -73,13 +77,14 @@ public class InmobiliariaController {
             @ApiResponse(responseCode = "404", description = "Inmobiliaria not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
+    @EtagEntidad(Inmobiliaria.class)
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<InmobiliariaDTO> getInmobiliariaById(
             @Parameter(description = "Inmobiliaria ID", required = true, example = "1")
             @PathVariable Long id) {
         
-        log.info("Getting inmobiliaria by id: {}", id);
+        log.debug("Getting inmobiliaria by id: {}", id);
         
         return inmobiliariaService.findById(id)
                 .map(ResponseEntity::ok)
@@ -92,13 +97,14 @@ public class InmobiliariaController {
             @ApiResponse(responseCode = "404", description = "Inmobiliaria not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
+    @EtagLista(Inmobiliaria.class)
     @GetMapping("/rfc/{rfcNit}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<InmobiliariaDTO> getInmobiliariaByRfcNit(
             @Parameter(description = "RFC/NIT", required = true, example = "ABC123456789")
             @PathVariable String rfcNit) {
         
-        log.info("Getting inmobiliaria by RFC/NIT: {}", rfcNit);
+        log.debug("Getting inmobiliaria by RFC/NIT: {}", rfcNit);
         
         return inmobiliariaService.findByRfcNit(rfcNit)
                 .map(ResponseEntity::ok)
@@ -110,6 +116,7 @@ public class InmobiliariaController {
             @ApiResponse(responseCode = "200", description = "Search completed successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
+    @EtagLista(Inmobiliaria.class)
     @GetMapping("/search")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Page<InmobiliariaDTO>> searchInmobiliarias(
@@ -122,7 +129,7 @@ public class InmobiliariaController {
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "nombreComercial") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
 
-        log.info("Searching inmobiliarias with filters - name: {}, city: {}, state: {}, status: {}", 
+        log.debug("Searching inmobiliarias with filters - name: {}, city: {}, state: {}, status: {}", 
                 nombreComercial, ciudad, estado, estatus);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
@@ -151,7 +158,7 @@ public class InmobiliariaController {
             @Parameter(description = "Inmobiliaria data", required = true)
             @Valid @RequestBody InmobiliariaDTO inmobiliariaDTO) {
         
-        log.info("Creating new inmobiliaria: {}", inmobiliariaDTO.nombreComercial());
+        log.debug("Creating new inmobiliaria: {}", inmobiliariaDTO.nombreComercial());
         
         try {
             InmobiliariaDTO createdInmobiliaria = inmobiliariaService.create(inmobiliariaDTO);
@@ -179,7 +186,7 @@ public class InmobiliariaController {
             @Parameter(description = "Updated inmobiliaria data", required = true)
             @Valid @RequestBody InmobiliariaDTO inmobiliariaDTO) {
         
-        log.info("Updating inmobiliaria with id: {}", id);
+        log.debug("Updating inmobiliaria with id: {}", id);
         
         try {
             InmobiliariaDTO updatedInmobiliaria = inmobiliariaService.update(id, inmobiliariaDTO);
@@ -206,7 +213,7 @@ public class InmobiliariaController {
             @Parameter(description = "Inmobiliaria ID", required = true)
             @PathVariable Long id) {
         
-        log.info("Deleting inmobiliaria with id: {}", id);
+        log.debug("Deleting inmobiliaria with id: {}", id);
         
         try {
             inmobiliariaService.deleteById(id);
@@ -232,7 +239,7 @@ public class InmobiliariaController {
             @Parameter(description = "New status", required = true)
             @RequestParam String status) {
         
-        log.info("Changing status of inmobiliaria with id: {} to: {}", id, status);
+        log.debug("Changing status of inmobiliaria with id: {} to: {}", id, status);
         
         try {
             InmobiliariaDTO updatedInmobiliaria = inmobiliariaService.changeStatus(id, status);
@@ -244,6 +251,7 @@ public class InmobiliariaController {
     }
 
     @Operation(summary = "Get inmobiliarias by status", description = "Get all inmobiliarias with a specific status")
+    @EtagLista(Inmobiliaria.class)
     @GetMapping("/status/{estatus}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Page<InmobiliariaDTO>> getInmobiliariasByStatus(
@@ -254,7 +262,7 @@ public class InmobiliariaController {
             @RequestParam(defaultValue = "nombreComercial") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir) {
 
-        log.info("Getting inmobiliarias by status: {}", estatus);
+        log.debug("Getting inmobiliarias by status: {}", estatus);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
@@ -270,7 +278,7 @@ public class InmobiliariaController {
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getStatistics() {
-        log.info("Getting inmobiliarias statistics");
+        log.debug("Getting inmobiliarias statistics");
         
         Map<String, Object> statistics = Map.of(
                 "total", inmobiliariaService.countByEstatus("ACTIVE") + inmobiliariaService.countByEstatus("INACTIVE"),
@@ -287,7 +295,7 @@ public class InmobiliariaController {
     @GetMapping("/cities")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<List<String>> getDistinctCities() {
-        log.info("Getting distinct cities");
+        log.debug("Getting distinct cities");
         List<String> cities = inmobiliariaService.getDistinctCiudades();
         return ResponseEntity.ok(cities);
     }
@@ -296,7 +304,7 @@ public class InmobiliariaController {
     @GetMapping("/states")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<List<String>> getDistinctStates() {
-        log.info("Getting distinct states");
+        log.debug("Getting distinct states");
         List<String> states = inmobiliariaService.getDistinctEstados();
         return ResponseEntity.ok(states);
     }
@@ -1,5 +1,6 @@
 package com.inmobiliaria.gestion.inmobiliaria.model;
 
+import com.inmobiliaria.gestion.cambios.service.CambioTablaListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Size;
@@ -12,6 +13,7 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "inmobiliaria")
+@EntityListeners(CambioTablaListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +21,8 @@ import java.time.LocalDate;
 public class Inmobiliaria {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inmobiliaria_seq")
+    @SequenceGenerator(name = "inmobiliaria_seq", sequenceName = "inmobiliaria_seq", allocationSize = 50)
     @Column(name = "id_inmobiliaria")
     private Long idInmobiliaria;
 
@@ -72,6 +75,10 @@ public class Inmobiliaria {
     @Builder.Default
     private String estatus = "ACTIVE";
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (fechaRegistro == null) {
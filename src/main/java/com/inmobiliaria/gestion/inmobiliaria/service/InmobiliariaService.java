@@ -1,10 +1,19 @@
 package com.inmobiliaria.gestion.inmobiliaria.service;
 
+import com.inmobiliaria.gestion.config.CacheConfig;
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
 import com.inmobiliaria.gestion.inmobiliaria.dto.InmobiliariaDTO;
 import com.inmobiliaria.gestion.inmobiliaria.model.Inmobiliaria;
 import com.inmobiliaria.gestion.inmobiliaria.repository.InmobiliariaRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -12,15 +21,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 @Slf4j
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class InmobiliariaService {
 
     private final InmobiliariaRepository inmobiliariaRepository;
+    private final DashboardService dashboardService;
+    private final EventoOutboxService eventoOutboxService;
 
     @Transactional(readOnly = true)
     public List<InmobiliariaDTO> findAll() {
@@ -97,6 +110,10 @@ public class InmobiliariaService {
                 .map(this::convertToDTO);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CIUDADES_INMOBILIARIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ESTADOS_INMOBILIARIA, allEntries = true)
+    })
     public InmobiliariaDTO create(InmobiliariaDTO inmobiliariaDTO) {
         log.debug("Creating new inmobiliaria: {}", inmobiliariaDTO.nombreComercial());
         
@@ -115,10 +132,17 @@ public class InmobiliariaService {
 
         Inmobiliaria savedInmobiliaria = inmobiliariaRepository.save(inmobiliaria);
         log.info("Created inmobiliaria with id: {}", savedInmobiliaria.getIdInmobiliaria());
-        
-        return convertToDTO(savedInmobiliaria);
+        dashboardService.invalidar();
+
+        InmobiliariaDTO dto = convertToDTO(savedInmobiliaria);
+        eventoOutboxService.registrar(EventoOutbox.AGREGADO_INMOBILIARIA, dto.idInmobiliaria(), "INMOBILIARIA_CREADA", dto);
+        return dto;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CIUDADES_INMOBILIARIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ESTADOS_INMOBILIARIA, allEntries = true)
+    })
     public InmobiliariaDTO update(Long id, InmobiliariaDTO inmobiliariaDTO) {
         log.debug("Updating inmobiliaria with id: {}", id);
         
@@ -146,10 +170,17 @@ public class InmobiliariaService {
 
         Inmobiliaria updatedInmobiliaria = inmobiliariaRepository.save(existingInmobiliaria);
         log.info("Updated inmobiliaria with id: {}", updatedInmobiliaria.getIdInmobiliaria());
-        
-        return convertToDTO(updatedInmobiliaria);
+        dashboardService.invalidar();
+
+        InmobiliariaDTO dto = convertToDTO(updatedInmobiliaria);
+        eventoOutboxService.registrar(EventoOutbox.AGREGADO_INMOBILIARIA, id, "INMOBILIARIA_ACTUALIZADA", dto);
+        return dto;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CIUDADES_INMOBILIARIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ESTADOS_INMOBILIARIA, allEntries = true)
+    })
     public void deleteById(Long id) {
         log.debug("Deleting inmobiliaria with id: {}", id);
         
@@ -159,6 +190,9 @@ public class InmobiliariaService {
 
         inmobiliariaRepository.deleteById(id);
         log.info("Deleted inmobiliaria with id: {}", id);
+        dashboardService.invalidar();
+        eventoOutboxService.registrar(EventoOutbox.AGREGADO_INMOBILIARIA, id, "INMOBILIARIA_ELIMINADA",
+                Map.of("idInmobiliaria", id));
     }
 
     public InmobiliariaDTO changeStatus(Long id, String newStatus) {
@@ -170,8 +204,11 @@ public class InmobiliariaService {
         inmobiliaria.setEstatus(newStatus);
         Inmobiliaria updatedInmobiliaria = inmobiliariaRepository.save(inmobiliaria);
         log.info("Changed status of inmobiliaria with id: {} to: {}", id, newStatus);
-        
-        return convertToDTO(updatedInmobiliaria);
+        dashboardService.invalidar();
+
+        InmobiliariaDTO dto = convertToDTO(updatedInmobiliaria);
+        eventoOutboxService.registrar(EventoOutbox.AGREGADO_INMOBILIARIA, id, "INMOBILIARIA_ESTATUS_CAMBIADO", dto);
+        return dto;
     }
 
     @Transactional(readOnly = true)
@@ -181,12 +218,14 @@ public class InmobiliariaService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CIUDADES_INMOBILIARIA, key = "'all'")
     public List<String> getDistinctCiudades() {
         log.debug("Getting distinct cities");
         return inmobiliariaRepository.findDistinctCiudades();
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ESTADOS_INMOBILIARIA, key = "'all'")
     public List<String> getDistinctEstados() {
         log.debug("Getting distinct states");
         return inmobiliariaRepository.findDistinctEstados();
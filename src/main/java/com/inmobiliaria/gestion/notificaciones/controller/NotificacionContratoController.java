@@ -0,0 +1,62 @@
+package com.inmobiliaria.gestion.notificaciones.controller;
+
+import com.inmobiliaria.gestion.notificaciones.dto.NotificacionContratoDTO;
+import com.inmobiliaria.gestion.notificaciones.dto.NotificacionRunReport;
+import com.inmobiliaria.gestion.notificaciones.service.NotificacionContratoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/notificaciones-contrato")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Notificaciones de Contrato", description = "Contract expiry notification operations")
+public class NotificacionContratoController {
+
+    private final NotificacionContratoService notificacionContratoService;
+
+    @Operation(summary = "Run contract notifications", description = "Send pending contract expiry notifications immediately")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notification run completed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = NotificacionRunReport.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/ejecutar")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<NotificacionRunReport> ejecutarNotificaciones() {
+        log.info("POST /api/v1/notificaciones-contrato/ejecutar - Running contract notifications");
+        NotificacionRunReport report = notificacionContratoService.procesarNotificacionesPendientes();
+        return ResponseEntity.ok(report);
+    }
+
+    @Operation(summary = "Get notifications by contract", description = "Retrieve notifications sent for a specific rental contract")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = NotificacionContratoDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/contrato/{idContrato}")
+    public ResponseEntity<List<NotificacionContratoDTO>> getNotificacionesByContrato(
+            @Parameter(description = "Contract ID", required = true, example = "1")
+            @PathVariable Integer idContrato) {
+        log.info("GET /api/v1/notificaciones-contrato/contrato/{} - Fetching notifications for contract", idContrato);
+        List<NotificacionContratoDTO> notificaciones = notificacionContratoService.findByContrato(idContrato);
+        return ResponseEntity.ok(notificaciones);
+    }
+}
@@ -0,0 +1,28 @@
+package com.inmobiliaria.gestion.notificaciones.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Expiry notification sent for a rental contract")
+public record NotificacionContratoDTO(
+
+        @Schema(description = "Unique identifier of the notification", example = "1")
+        Long idNotificacion,
+
+        @Schema(description = "ID of the notified contract", example = "1")
+        Integer idContrato,
+
+        @Schema(description = "Delivery channel", example = "EMAIL", allowableValues = {"EMAIL", "SMS"})
+        String canal,
+
+        @Schema(description = "Email address or phone number the notification was sent to", example = "tenant@example.com")
+        String destinatario,
+
+        @Schema(description = "Contract end date the notification refers to", example = "2024-12-15T10:00:00")
+        LocalDateTime fechaFinContrato,
+
+        @Schema(description = "When the notification was sent", example = "2024-11-15T08:00:00")
+        LocalDateTime fechaEnvio
+) {
+}
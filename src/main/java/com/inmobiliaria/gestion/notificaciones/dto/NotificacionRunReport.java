@@ -0,0 +1,23 @@
+package com.inmobiliaria.gestion.notificaciones.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Summary of one contract expiry notification run")
+public record NotificacionRunReport(
+
+        @Schema(description = "Due contracts scanned in this run", example = "120")
+        int contratosProcesados,
+
+        @Schema(description = "Notifications delivered in this run", example = "200")
+        int enviadas,
+
+        @Schema(description = "Notifications skipped because they had already been sent", example = "3")
+        int omitidas,
+
+        @Schema(description = "Notifications whose delivery failed and will be retried on the next run", example = "1")
+        int fallidas,
+
+        @Schema(description = "Run duration in milliseconds", example = "850")
+        long duracionMs
+) {
+}
@@ -0,0 +1,49 @@
+package com.inmobiliaria.gestion.notificaciones.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notificacion_contrato",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_notificacion_contrato_canal_vencimiento",
+                             columnNames = {"id_contrato", "canal", "fecha_fin_contrato"})
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificacionContrato {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notificacion_contrato_seq")
+    @SequenceGenerator(name = "notificacion_contrato_seq", sequenceName = "notificacion_contrato_seq", allocationSize = 50)
+    @Column(name = "id_notificacion")
+    private Long idNotificacion;
+
+    @Column(name = "id_contrato", nullable = false)
+    private Integer idContrato;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "canal", length = 10, nullable = false)
+    private Canal canal;
+
+    @Column(name = "destinatario", nullable = false)
+    private String destinatario;
+
+    @Column(name = "fecha_fin_contrato", nullable = false)
+    private LocalDateTime fechaFinContrato;
+
+    @Column(name = "fecha_envio", nullable = false)
+    private LocalDateTime fechaEnvio;
+
+    public enum Canal {
+        EMAIL,
+        SMS
+    }
+}
@@ -0,0 +1,16 @@
+package com.inmobiliaria.gestion.notificaciones.repository;
+
+import com.inmobiliaria.gestion.notificaciones.model.NotificacionContrato;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificacionContratoRepository extends JpaRepository<NotificacionContrato, Long> {
+
+    List<NotificacionContrato> findByIdContratoIn(Collection<Integer> idsContrato);
+
+    List<NotificacionContrato> findByIdContratoOrderByFechaEnvioDesc(Integer idContrato);
+}
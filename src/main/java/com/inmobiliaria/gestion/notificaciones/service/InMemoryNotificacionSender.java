@@ -0,0 +1,48 @@
+package com.inmobiliaria.gestion.notificaciones.service;
+
+import com.inmobiliaria.gestion.notificaciones.model.NotificacionContrato;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Local stand-in for an email/SMS gateway. Keeps the most recent messages in a
+ * bounded buffer and logs them. Replace it by declaring a {@code @Primary}
+ * {@link NotificacionSender} bean backed by a real provider.
+ */
+@Component
+@Slf4j
+public class InMemoryNotificacionSender implements NotificacionSender {
+
+    @Value("${notificaciones.sender.buffer-size:1000}")
+    private int bufferSize = 1000;
+
+    private final Deque<MensajeEnviado> enviados = new ArrayDeque<>();
+
+    @Override
+    public void enviar(NotificacionContrato.Canal canal, String destinatario, String asunto, String mensaje) {
+        log.debug("Sending {} notification to {}: {}", canal, destinatario, asunto);
+        synchronized (enviados) {
+            if (enviados.size() >= bufferSize) {
+                enviados.removeFirst();
+            }
+            enviados.addLast(new MensajeEnviado(canal, destinatario, asunto, mensaje, LocalDateTime.now()));
+        }
+    }
+
+    public List<MensajeEnviado> getEnviados() {
+        synchronized (enviados) {
+            return new ArrayList<>(enviados);
+        }
+    }
+
+    public record MensajeEnviado(NotificacionContrato.Canal canal, String destinatario, String asunto,
+                                 String mensaje, LocalDateTime fechaEnvio) {
+    }
+}
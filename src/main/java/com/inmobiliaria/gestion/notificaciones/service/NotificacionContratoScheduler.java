@@ -0,0 +1,23 @@
+package com.inmobiliaria.gestion.notificaciones.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "notificaciones.contratos.enabled", havingValue = "true")
+public class NotificacionContratoScheduler {
+
+    private final NotificacionContratoService notificacionContratoService;
+
+    @Scheduled(fixedDelayString = "${notificaciones.contratos.intervalo:PT5M}",
+            initialDelayString = "${notificaciones.contratos.retraso-inicial:PT1M}")
+    public void procesarNotificaciones() {
+        log.debug("Running scheduled contract notification job");
+        notificacionContratoService.procesarNotificacionesPendientes();
+    }
+}
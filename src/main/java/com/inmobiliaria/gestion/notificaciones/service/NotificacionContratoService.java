@@ -0,0 +1,222 @@
+package com.inmobiliaria.gestion.notificaciones.service;
+
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import com.inmobiliaria.gestion.contrato_renta.repository.ContratoRentaRepository;
+import com.inmobiliaria.gestion.notificaciones.dto.NotificacionContratoDTO;
+import com.inmobiliaria.gestion.notificaciones.dto.NotificacionRunReport;
+import com.inmobiliaria.gestion.notificaciones.model.NotificacionContrato;
+import com.inmobiliaria.gestion.notificaciones.repository.NotificacionContratoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Incremental contract-expiry notification job. Due contracts are found through the
+ * precomputed {@code fecha_notificacion} column in bounded batches, notifications are
+ * dispatched on virtual threads and recorded in {@code notificacion_contrato}, whose
+ * unique key makes re-runs idempotent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificacionContratoService {
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final ContratoRentaRepository contratoRentaRepository;
+    private final NotificacionContratoRepository notificacionContratoRepository;
+    private final NotificacionSender notificacionSender;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ReentrantLock ejecucionLock = new ReentrantLock();
+
+    @Value("${notificaciones.contratos.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${notificaciones.contratos.max-envios-concurrentes:50}")
+    private int maxEnviosConcurrentes = 50;
+
+    public NotificacionRunReport procesarNotificacionesPendientes() {
+        if (!ejecucionLock.tryLock()) {
+            log.warn("Contract notification run already in progress, skipping");
+            return new NotificacionRunReport(0, 0, 0, 0, 0);
+        }
+        try {
+            return ejecutar(LocalDateTime.now());
+        } finally {
+            ejecucionLock.unlock();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<NotificacionContratoDTO> findByContrato(Integer idContrato) {
+        return notificacionContratoRepository.findByIdContratoOrderByFechaEnvioDesc(idContrato)
+                .stream()
+                .map(this::convertToDTO)
+                .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.close();
+    }
+
+    private NotificacionRunReport ejecutar(LocalDateTime ahora) {
+        long inicio = System.nanoTime();
+        Semaphore permisos = new Semaphore(maxEnviosConcurrentes);
+        int procesados = 0;
+        int enviadas = 0;
+        int omitidas = 0;
+        int fallidas = 0;
+        int afterId = 0;
+
+        List<ContratoRenta> lote;
+        do {
+            lote = contratoRentaRepository.findDueForNotification(ahora, afterId, PageRequest.of(0, batchSize));
+            if (lote.isEmpty()) {
+                break;
+            }
+            ResultadoLote resultado = procesarLote(lote, permisos);
+            procesados += lote.size();
+            enviadas += resultado.enviadas();
+            omitidas += resultado.omitidas();
+            fallidas += resultado.fallidas();
+            afterId = lote.get(lote.size() - 1).getIdContrato();
+        } while (lote.size() == batchSize);
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        if (procesados > 0) {
+            log.info("Contract notification run finished: {} contracts, {} sent, {} skipped, {} failed in {} ms",
+                    procesados, enviadas, omitidas, fallidas, duracionMs);
+        }
+        return new NotificacionRunReport(procesados, enviadas, omitidas, fallidas, duracionMs);
+    }
+
+    private ResultadoLote procesarLote(List<ContratoRenta> lote, Semaphore permisos) {
+        Set<String> yaEnviadas = new HashSet<>();
+        notificacionContratoRepository.findByIdContratoIn(lote.stream().map(ContratoRenta::getIdContrato).toList())
+                .forEach(n -> yaEnviadas.add(clave(n.getIdContrato(), n.getCanal(), n.getFechaFinContrato())));
+
+        List<Envio> envios = new ArrayList<>();
+        int omitidas = 0;
+        for (ContratoRenta contrato : lote) {
+            for (NotificacionContrato.Canal canal : NotificacionContrato.Canal.values()) {
+                String destinatario = destinatario(contrato, canal);
+                if (destinatario == null || destinatario.isBlank()) {
+                    continue;
+                }
+                if (yaEnviadas.contains(clave(contrato.getIdContrato(), canal, contrato.getFechaFinContrato()))) {
+                    omitidas++;
+                    continue;
+                }
+                envios.add(new Envio(contrato, canal, destinatario));
+            }
+        }
+
+        List<Future<NotificacionContrato>> resultados = new ArrayList<>(envios.size());
+        for (Envio envio : envios) {
+            resultados.add(executor.submit(enviarConPermiso(envio, permisos)));
+        }
+
+        List<NotificacionContrato> registradas = new ArrayList<>();
+        Set<Integer> conFallas = new HashSet<>();
+        int fallidas = 0;
+        for (int i = 0; i < resultados.size(); i++) {
+            Envio envio = envios.get(i);
+            try {
+                registradas.add(resultados.get(i).get());
+            } catch (ExecutionException e) {
+                log.warn("Failed to send {} notification for contract {}: {}",
+                        envio.canal(), envio.contrato().getIdContrato(), e.getCause().getMessage());
+                conFallas.add(envio.contrato().getIdContrato());
+                fallidas++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Contract notification run interrupted", e);
+            }
+        }
+
+        if (!registradas.isEmpty()) {
+            notificacionContratoRepository.saveAll(registradas);
+        }
+
+        // Contracts with a failed channel stay due so the next run retries them
+        List<Integer> atendidos = lote.stream()
+                .map(ContratoRenta::getIdContrato)
+                .filter(id -> !conFallas.contains(id))
+                .toList();
+        if (!atendidos.isEmpty()) {
+            contratoRentaRepository.clearFechaNotificacion(atendidos);
+        }
+
+        return new ResultadoLote(registradas.size(), omitidas, fallidas);
+    }
+
+    private Callable<NotificacionContrato> enviarConPermiso(Envio envio, Semaphore permisos) {
+        return () -> {
+            permisos.acquire();
+            try {
+                ContratoRenta contrato = envio.contrato();
+                String fechaFin = contrato.getFechaFinContrato().format(FORMATO_FECHA);
+                notificacionSender.enviar(envio.canal(), envio.destinatario(),
+                        "Vencimiento de contrato #" + contrato.getIdContrato(),
+                        "Su contrato de renta #" + contrato.getIdContrato() + " vence el " + fechaFin + ".");
+                return NotificacionContrato.builder()
+                        .idContrato(contrato.getIdContrato())
+                        .canal(envio.canal())
+                        .destinatario(envio.destinatario())
+                        .fechaFinContrato(contrato.getFechaFinContrato())
+                        .fechaEnvio(LocalDateTime.now())
+                        .build();
+            } finally {
+                permisos.release();
+            }
+        };
+    }
+
+    private String destinatario(ContratoRenta contrato, NotificacionContrato.Canal canal) {
+        return switch (canal) {
+            case EMAIL -> contrato.getEmailNotificaciones();
+            case SMS -> contrato.getTelefonoNotificaciones();
+        };
+    }
+
+    private String clave(Integer idContrato, NotificacionContrato.Canal canal, LocalDateTime fechaFinContrato) {
+        return idContrato + "|" + canal + "|" + fechaFinContrato;
+    }
+
+    private NotificacionContratoDTO convertToDTO(NotificacionContrato notificacion) {
+        return new NotificacionContratoDTO(
+                notificacion.getIdNotificacion(),
+                notificacion.getIdContrato(),
+                notificacion.getCanal().name(),
+                notificacion.getDestinatario(),
+                notificacion.getFechaFinContrato(),
+                notificacion.getFechaEnvio()
+        );
+    }
+
+    private record Envio(ContratoRenta contrato, NotificacionContrato.Canal canal, String destinatario) {
+    }
+
+    private record ResultadoLote(int enviadas, int omitidas, int fallidas) {
+    }
+}
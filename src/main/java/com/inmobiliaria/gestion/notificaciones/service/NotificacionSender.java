@@ -0,0 +1,12 @@
+package com.inmobiliaria.gestion.notificaciones.service;
+
+import com.inmobiliaria.gestion.notificaciones.model.NotificacionContrato;
+
+/**
+ * Delivery channel for contract notifications. Implementations must be thread-safe:
+ * the notification job calls {@link #enviar} concurrently from virtual threads.
+ */
+public interface NotificacionSender {
+
+    void enviar(NotificacionContrato.Canal canal, String destinatario, String asunto, String mensaje);
+}
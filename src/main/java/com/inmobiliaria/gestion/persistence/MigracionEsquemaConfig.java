@@ -0,0 +1,63 @@
+package com.inmobiliaria.gestion.persistence;
+
+import org.flywaydb.core.api.Location;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Flyway setup for the PostgreSQL schema. The tables themselves are still created by
+ * Hibernate's schema update, so the migrations can only run once it has finished: the
+ * migration Spring Boot would run before the entity manager factory is turned into a no-op
+ * and {@link MigracionEsquemaInitializer} runs it afterwards.
+ *
+ * <p>With {@code persistence.particionado.enabled} the hash-partitioning migration is added.
+ * It is allowed to run out of order, so it can be switched on after later migrations have
+ * already been applied.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "true", matchIfMissing = true)
+public class MigracionEsquemaConfig {
+
+    static final String UBICACION_PARTICIONADO = "classpath:db/particionado/postgresql";
+
+    @Value("${persistence.particionado.enabled:false}")
+    private boolean particionado = false;
+
+    @Value("${persistence.particionado.particiones:16}")
+    private int particiones = 16;
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            // Deferred to MigracionEsquemaInitializer
+        };
+    }
+
+    @Bean
+    public FlywayConfigurationCustomizer particionadoFlywayCustomizer() {
+        return configuration -> {
+            if (particiones < 1) {
+                throw new IllegalArgumentException("persistence.particionado.particiones must be at least 1");
+            }
+            Map<String, String> placeholders = new HashMap<>(configuration.getPlaceholders());
+            placeholders.put("particiones", String.valueOf(particiones));
+            configuration.placeholders(placeholders);
+            if (particionado) {
+                configuration.locations(Stream.concat(
+                                Arrays.stream(configuration.getLocations()).map(Location::getDescriptor),
+                                Stream.of(UBICACION_PARTICIONADO))
+                        .toArray(String[]::new));
+                configuration.outOfOrder(true);
+            }
+        };
+    }
+}
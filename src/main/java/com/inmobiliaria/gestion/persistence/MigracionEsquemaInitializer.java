@@ -0,0 +1,38 @@
+package com.inmobiliaria.gestion.persistence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the Flyway migrations once Hibernate's schema update has created the tables.
+ * Schemas that predate Flyway are baselined at version 0, so every migration runs on them.
+ *
+ * <p>Depending on the {@link EntityManagerFactory} guarantees the schema update has already
+ * run, and running in {@code @PostConstruct} finishes the migration before any request is served.
+ */
+@Component
+@Slf4j
+public class MigracionEsquemaInitializer {
+
+    private final ObjectProvider<Flyway> flyway;
+
+    public MigracionEsquemaInitializer(ObjectProvider<Flyway> flyway, EntityManagerFactory entityManagerFactory) {
+        this.flyway = flyway;
+    }
+
+    @PostConstruct
+    public void migrar() {
+        flyway.ifAvailable(instancia -> {
+            MigrateResult resultado = instancia.migrate();
+            if (resultado.migrationsExecuted > 0) {
+                log.info("Applied {} schema migrations, schema now at version {}",
+                        resultado.migrationsExecuted, resultado.targetSchemaVersion);
+            }
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package com.inmobiliaria.gestion.persistence;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Migration path from IDENTITY columns to the pooled sequences used by the main entities.
+ * Tables created before the switch already hold ids the new sequences know nothing about,
+ * so at startup each sequence is created if missing (with the entity's allocation size as
+ * increment) and moved past the table's current maximum id. The column's identity is then
+ * dropped and its default switched to the same sequence: an identity counter would keep
+ * handing out ids inside the blocks Hibernate reserves, and a plain {@code nextval} only ever
+ * takes a whole block of its own, so SQL inserts and the entities never collide. Tables that
+ * lost their default when the partitioning migration rebuilt them get it back the same way.
+ * The statements are idempotent and only run on PostgreSQL; H2 test schemas are always
+ * created fresh.
+ *
+ * <p>Depending on the {@link MigracionEsquemaInitializer} guarantees the schema update and the
+ * migrations have already run, and running in {@code @PostConstruct} finishes the alignment
+ * before any request is served.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "persistence.sequence-alignment.enabled", havingValue = "true", matchIfMissing = true)
+public class PooledSequenceInitializer {
+
+    static final int ALLOCATION_SIZE = 50;
+
+    static final List<SecuenciaTabla> SECUENCIAS = List.of(
+            new SecuenciaTabla("inmobiliaria_seq", "inmobiliaria", "id_inmobiliaria"),
+            new SecuenciaTabla("propiedad_seq", "propiedad", "id_propiedad"),
+            new SecuenciaTabla("contrato_renta_seq", "contrato_renta", "id_contrato"),
+            new SecuenciaTabla("conceptos_pago_seq", "conceptos_pago", "id_concepto"),
+            new SecuenciaTabla("configuracion_recargos_seq", "configuracion_recargos", "id_configuracion"),
+            new SecuenciaTabla("notificacion_contrato_seq", "notificacion_contrato", "id_notificacion")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PooledSequenceInitializer(JdbcTemplate jdbcTemplate, MigracionEsquemaInitializer migracionEsquemaInitializer) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alinearSecuencias() {
+        String producto = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(producto)) {
+            return;
+        }
+        for (SecuenciaTabla secuencia : SECUENCIAS) {
+            try {
+                alinear(secuencia);
+            } catch (DataAccessException e) {
+                log.error("Could not align sequence {} with table {}", secuencia.secuencia(), secuencia.tabla(), e);
+                throw e;
+            }
+        }
+    }
+
+    private void alinear(SecuenciaTabla secuencia) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + secuencia.secuencia()
+                + " START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+        jdbcTemplate.execute("ALTER SEQUENCE " + secuencia.secuencia() + " INCREMENT BY " + ALLOCATION_SIZE);
+        // With pooled-lo the next nextval() becomes the low end of the next block, so
+        // moving the sequence to the current maximum id keeps new ids above existing ones
+        Long valor = jdbcTemplate.queryForObject(
+                "SELECT setval('" + secuencia.secuencia() + "', GREATEST(" +
+                "(SELECT COALESCE(MAX(" + secuencia.columna() + "), 0) FROM " + secuencia.tabla() + "), " +
+                "(SELECT last_value FROM " + secuencia.secuencia() + "), 1))",
+                Long.class);
+        log.debug("Sequence {} aligned at {}", secuencia.secuencia(), valor);
+        usarSecuenciaComoDefault(secuencia);
+    }
+
+    // ALTER TABLE locks the table exclusively, so it is only issued while the column still needs it
+    private void usarSecuenciaComoDefault(SecuenciaTabla secuencia) {
+        String defaultEsperado = "nextval('" + secuencia.secuencia() + "'::regclass)";
+        boolean alineada = jdbcTemplate.queryForList(
+                "SELECT 1 FROM information_schema.columns WHERE table_schema = current_schema() " +
+                "AND table_name = ? AND column_name = ? AND is_identity = 'NO' AND column_default = ?",
+                Integer.class, secuencia.tabla(), secuencia.columna(), defaultEsperado).size() == 1;
+        if (alineada) {
+            return;
+        }
+        String columna = "ALTER TABLE " + secuencia.tabla() + " ALTER COLUMN " + secuencia.columna();
+        jdbcTemplate.execute(columna + " DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute(columna + " SET DEFAULT nextval('" + secuencia.secuencia() + "')");
+        log.info("Column {}.{} now defaults to sequence {}", secuencia.tabla(), secuencia.columna(),
+                secuencia.secuencia());
+    }
+
+    record SecuenciaTabla(String secuencia, String tabla, String columna) {
+    }
+}
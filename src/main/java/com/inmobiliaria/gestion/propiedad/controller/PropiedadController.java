@@ -1,8 +1,12 @@
 package com.inmobiliaria.gestion.propiedad.controller;
 
+import com.inmobiliaria.gestion.cambios.web.EtagEntidad;
+import com.inmobiliaria.gestion.cambios.web.EtagLista;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadCreateRequest;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadDTO;
+import com.inmobiliaria.gestion.propiedad.dto.PropiedadFiltro;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadUpdateRequest;
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
 import com.inmobiliaria.gestion.propiedad.service.PropiedadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,10 +18,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,9 +47,10 @@ public class PropiedadController {
                             schema = @Schema(implementation = PropiedadDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @EtagLista(Propiedad.class)
     @GetMapping
     public ResponseEntity<List<PropiedadDTO>> getAllPropiedades() {
-        log.info("GET /api/v1/propiedades - Fetching all propiedades");
+        log.debug("GET /api/v1/propiedades - Fetching all propiedades");
         List<PropiedadDTO> propiedades = propiedadService.getAllPropiedades();
         return ResponseEntity.ok(propiedades);
     }
@@ -52,11 +63,12 @@ public class PropiedadController {
             @ApiResponse(responseCode = "404", description = "Property not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @EtagEntidad(Propiedad.class)
     @GetMapping("/{id}")
     public ResponseEntity<PropiedadDTO> getPropiedadById(
             @Parameter(description = "Property ID", required = true)
             @PathVariable Integer id) {
-        log.info("GET /api/v1/propiedades/{} - Fetching propiedad by id", id);
+        log.debug("GET /api/v1/propiedades/{} - Fetching propiedad by id", id);
         Optional<PropiedadDTO> propiedad = propiedadService.getPropiedadById(id);
         return propiedad.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -69,11 +81,12 @@ public class PropiedadController {
                             schema = @Schema(implementation = PropiedadDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @EtagLista(Propiedad.class)
     @GetMapping("/inmobiliaria/{idInmobiliaria}")
     public ResponseEntity<List<PropiedadDTO>> getPropiedadesByInmobiliaria(
             @Parameter(description = "Inmobiliaria ID", required = true)
             @PathVariable Long idInmobiliaria) {
-        log.info("GET /api/v1/propiedades/inmobiliaria/{} - Fetching propiedades by inmobiliaria", idInmobiliaria);
+        log.debug("GET /api/v1/propiedades/inmobiliaria/{} - Fetching propiedades by inmobiliaria", idInmobiliaria);
         List<PropiedadDTO> propiedades = propiedadService.getPropiedadesByInmobiliaria(idInmobiliaria);
         return ResponseEntity.ok(propiedades);
     }
@@ -85,11 +98,12 @@ public class PropiedadController {
                             schema = @Schema(implementation = PropiedadDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @EtagLista(Propiedad.class)
     @GetMapping("/estatus/{estatus}")
     public ResponseEntity<List<PropiedadDTO>> getPropiedadesByEstatus(
             @Parameter(description = "Property status", required = true)
             @PathVariable String estatus) {
-        log.info("GET /api/v1/propiedades/estatus/{} - Fetching propiedades by estatus", estatus);
+        log.debug("GET /api/v1/propiedades/estatus/{} - Fetching propiedades by estatus", estatus);
         List<PropiedadDTO> propiedades = propiedadService.getPropiedadesByEstatus(estatus);
         return ResponseEntity.ok(propiedades);
     }
@@ -101,29 +115,47 @@ public class PropiedadController {
                             schema = @Schema(implementation = PropiedadDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @EtagLista(Propiedad.class)
     @GetMapping("/tipo/{tipo}")
     public ResponseEntity<List<PropiedadDTO>> getPropiedadesByTipo(
             @Parameter(description = "Property type", required = true)
             @PathVariable String tipo) {
-        log.info("GET /api/v1/propiedades/tipo/{} - Fetching propiedades by tipo", tipo);
+        log.debug("GET /api/v1/propiedades/tipo/{} - Fetching propiedades by tipo", tipo);
         List<PropiedadDTO> propiedades = propiedadService.getPropiedadesByTipo(tipo);
         return ResponseEntity.ok(propiedades);
     }
 
-    @Operation(summary = "Search properties by address", description = "Search properties by address containing the specified text")
+    @Operation(summary = "Search properties by address", description = "Accent- and case-insensitive address search, best match first. Every word of the term must appear in the address")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Properties retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = PropiedadDTO.class))),
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Blank search term"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @EtagLista(Propiedad.class)
     @GetMapping("/search")
-    public ResponseEntity<List<PropiedadDTO>> searchPropiedadesByDireccion(
-            @Parameter(description = "Address search term", required = true)
-            @RequestParam String direccion) {
-        log.info("GET /api/v1/propiedades/search?direccion={} - Searching propiedades by direccion", direccion);
-        List<PropiedadDTO> propiedades = propiedadService.searchPropiedadesByDireccion(direccion);
-        return ResponseEntity.ok(propiedades);
+    public ResponseEntity<Slice<PropiedadDTO>> searchPropiedadesByDireccion(
+            @Parameter(description = "Address search term", required = true, example = "av juarez 120")
+            @RequestParam String direccion,
+            @Parameter(description = "Restrict the search to one inmobiliaria")
+            @RequestParam(required = false) Long idInmobiliaria,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Include the total count; false returns a slice without totals", example = "true")
+            @RequestParam(defaultValue = "true") boolean contar) {
+        log.debug("GET /api/v1/propiedades/search?direccion={} - Searching propiedades by direccion", direccion);
+        try {
+            Slice<PropiedadDTO> propiedades = contar
+                    ? propiedadService.searchPropiedadesByDireccion(direccion, idInmobiliaria, PageRequest.of(page, size))
+                    : propiedadService.searchPropiedadesByDireccionSlice(direccion, idInmobiliaria, PageRequest.of(page, size));
+            return ResponseEntity.ok(propiedades);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid property search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @Operation(summary = "Get properties by inmobiliaria and status", description = "Retrieve properties filtered by inmobiliaria and status")
@@ -133,17 +165,136 @@ public class PropiedadController {
                             schema = @Schema(implementation = PropiedadDTO.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
+    @EtagLista(Propiedad.class)
     @GetMapping("/inmobiliaria/{idInmobiliaria}/estatus/{estatus}")
     public ResponseEntity<List<PropiedadDTO>> getPropiedadesByInmobiliariaAndEstatus(
             @Parameter(description = "Inmobiliaria ID", required = true)
             @PathVariable Long idInmobiliaria,
             @Parameter(description = "Property status", required = true)
             @PathVariable String estatus) {
-        log.info("GET /api/v1/propiedades/inmobiliaria/{}/estatus/{} - Fetching propiedades by inmobiliaria and estatus", idInmobiliaria, estatus);
+        log.debug("GET /api/v1/propiedades/inmobiliaria/{}/estatus/{} - Fetching propiedades by inmobiliaria and estatus", idInmobiliaria, estatus);
         List<PropiedadDTO> propiedades = propiedadService.getPropiedadesByInmobiliariaAndEstatus(idInmobiliaria, estatus);
         return ResponseEntity.ok(propiedades);
     }
 
+    @Operation(summary = "Filter properties", description = "Paginated and sortable property listing combining any of the optional filters")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Properties retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort field or page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @EtagLista(Propiedad.class)
+    @GetMapping("/filtro")
+    public ResponseEntity<Slice<PropiedadDTO>> filtrarPropiedades(
+            @Parameter(description = "Inmobiliaria ID") @RequestParam(required = false) Long idInmobiliaria,
+            @Parameter(description = "Property status") @RequestParam(required = false) String estatus,
+            @Parameter(description = "Property type") @RequestParam(required = false) String tipo,
+            @Parameter(description = "Words that must all appear in the address") @RequestParam(required = false) String direccion,
+            @Parameter(description = "Minimum number of bedrooms") @RequestParam(required = false) Integer habitacionesMin,
+            @Parameter(description = "Minimum number of bathrooms") @RequestParam(required = false) Integer banosMin,
+            @Parameter(description = "Minimum total surface") @RequestParam(required = false) BigDecimal superficieMin,
+            @Parameter(description = "Maximum total surface") @RequestParam(required = false) BigDecimal superficieMax,
+            @Parameter(description = "Page number (0-based)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort by field", example = "idPropiedad") @RequestParam(defaultValue = "idPropiedad") String sortBy,
+            @Parameter(description = "Sort direction", example = "asc") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Include the total count; false returns a slice without totals", example = "true")
+            @RequestParam(defaultValue = "true") boolean contar) {
+        log.debug("GET /api/v1/propiedades/filtro - Filtering propiedades");
+        PropiedadFiltro filtro = new PropiedadFiltro(idInmobiliaria, estatus, tipo, direccion,
+                habitacionesMin, banosMin, superficieMin, superficieMax);
+        return listarPaginado(filtro, page, size, sortBy, sortDir, contar);
+    }
+
+    @Operation(summary = "Get properties by inmobiliaria (paginated)", description = "Paginated and sortable variant of the inmobiliaria listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Properties retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort field or page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @EtagLista(Propiedad.class)
+    @GetMapping("/inmobiliaria/{idInmobiliaria}/paginado")
+    public ResponseEntity<Slice<PropiedadDTO>> getPropiedadesByInmobiliariaPaginado(
+            @Parameter(description = "Inmobiliaria ID", required = true) @PathVariable Long idInmobiliaria,
+            @Parameter(description = "Page number (0-based)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort by field", example = "idPropiedad") @RequestParam(defaultValue = "idPropiedad") String sortBy,
+            @Parameter(description = "Sort direction", example = "asc") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Include the total count", example = "true") @RequestParam(defaultValue = "true") boolean contar) {
+        log.debug("GET /api/v1/propiedades/inmobiliaria/{}/paginado - Fetching page {} of propiedades by inmobiliaria", idInmobiliaria, page);
+        return listarPaginado(PropiedadFiltro.vacio().conInmobiliaria(idInmobiliaria), page, size, sortBy, sortDir, contar);
+    }
+
+    @Operation(summary = "Get properties by status (paginated)", description = "Paginated and sortable variant of the status listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Properties retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort field or page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @EtagLista(Propiedad.class)
+    @GetMapping("/estatus/{estatus}/paginado")
+    public ResponseEntity<Slice<PropiedadDTO>> getPropiedadesByEstatusPaginado(
+            @Parameter(description = "Property status", required = true) @PathVariable String estatus,
+            @Parameter(description = "Page number (0-based)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort by field", example = "idPropiedad") @RequestParam(defaultValue = "idPropiedad") String sortBy,
+            @Parameter(description = "Sort direction", example = "asc") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Include the total count", example = "true") @RequestParam(defaultValue = "true") boolean contar) {
+        log.debug("GET /api/v1/propiedades/estatus/{}/paginado - Fetching page {} of propiedades by estatus", estatus, page);
+        return listarPaginado(PropiedadFiltro.vacio().conEstatus(estatus), page, size, sortBy, sortDir, contar);
+    }
+
+    @Operation(summary = "Get properties by type (paginated)", description = "Paginated and sortable variant of the type listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Properties retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort field or page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @EtagLista(Propiedad.class)
+    @GetMapping("/tipo/{tipo}/paginado")
+    public ResponseEntity<Slice<PropiedadDTO>> getPropiedadesByTipoPaginado(
+            @Parameter(description = "Property type", required = true) @PathVariable String tipo,
+            @Parameter(description = "Page number (0-based)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort by field", example = "idPropiedad") @RequestParam(defaultValue = "idPropiedad") String sortBy,
+            @Parameter(description = "Sort direction", example = "asc") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Include the total count", example = "true") @RequestParam(defaultValue = "true") boolean contar) {
+        log.debug("GET /api/v1/propiedades/tipo/{}/paginado - Fetching page {} of propiedades by tipo", tipo, page);
+        return listarPaginado(PropiedadFiltro.vacio().conTipo(tipo), page, size, sortBy, sortDir, contar);
+    }
+
+    @Operation(summary = "Get properties by inmobiliaria and status (paginated)", description = "Paginated and sortable variant of the inmobiliaria and status listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Properties retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort field or page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @EtagLista(Propiedad.class)
+    @GetMapping("/inmobiliaria/{idInmobiliaria}/estatus/{estatus}/paginado")
+    public ResponseEntity<Slice<PropiedadDTO>> getPropiedadesByInmobiliariaAndEstatusPaginado(
+            @Parameter(description = "Inmobiliaria ID", required = true) @PathVariable Long idInmobiliaria,
+            @Parameter(description = "Property status", required = true) @PathVariable String estatus,
+            @Parameter(description = "Page number (0-based)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort by field", example = "idPropiedad") @RequestParam(defaultValue = "idPropiedad") String sortBy,
+            @Parameter(description = "Sort direction", example = "asc") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Include the total count", example = "true") @RequestParam(defaultValue = "true") boolean contar) {
+        log.debug("GET /api/v1/propiedades/inmobiliaria/{}/estatus/{}/paginado - Fetching page {} of propiedades by inmobiliaria and estatus",
+                idInmobiliaria, estatus, page);
+        return listarPaginado(PropiedadFiltro.vacio().conInmobiliaria(idInmobiliaria).conEstatus(estatus),
+                page, size, sortBy, sortDir, contar);
+    }
+
     @Operation(summary = "Create a new property", description = "Create a new property with the provided information")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Property created successfully",
@@ -156,7 +307,7 @@ public class PropiedadController {
     public ResponseEntity<PropiedadDTO> createPropiedad(
             @Parameter(description = "Property creation request", required = true)
             @Valid @RequestBody PropiedadCreateRequest request) {
-        log.info("POST /api/v1/propiedades - Creating new propiedad");
+        log.debug("POST /api/v1/propiedades - Creating new propiedad");
         PropiedadDTO createdPropiedad = propiedadService.createPropiedad(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdPropiedad);
     }
@@ -176,7 +327,7 @@ public class PropiedadController {
             @PathVariable Integer id,
             @Parameter(description = "Property update request", required = true)
             @Valid @RequestBody PropiedadUpdateRequest request) {
-        log.info("PUT /api/v1/propiedades/{} - Updating propiedad", id);
+        log.debug("PUT /api/v1/propiedades/{} - Updating propiedad", id);
         Optional<PropiedadDTO> updatedPropiedad = propiedadService.updatePropiedad(id, request);
         return updatedPropiedad.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -192,7 +343,7 @@ public class PropiedadController {
     public ResponseEntity<Void> deletePropiedad(
             @Parameter(description = "Property ID", required = true)
             @PathVariable Integer id) {
-        log.info("DELETE /api/v1/propiedades/{} - Deleting propiedad", id);
+        log.debug("DELETE /api/v1/propiedades/{} - Deleting propiedad", id);
         boolean deleted = propiedadService.deletePropiedad(id);
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
@@ -206,7 +357,7 @@ public class PropiedadController {
     public ResponseEntity<Long> countPropiedadesByInmobiliaria(
             @Parameter(description = "Inmobiliaria ID", required = true)
             @PathVariable Long idInmobiliaria) {
-        log.info("GET /api/v1/propiedades/inmobiliaria/{}/count - Counting propiedades by inmobiliaria", idInmobiliaria);
+        log.debug("GET /api/v1/propiedades/inmobiliaria/{}/count - Counting propiedades by inmobiliaria", idInmobiliaria);
         long count = propiedadService.countPropiedadesByInmobiliaria(idInmobiliaria);
         return ResponseEntity.ok(count);
     }
@@ -222,8 +373,22 @@ public class PropiedadController {
             @PathVariable Long idInmobiliaria,
             @Parameter(description = "Property status", required = true)
             @PathVariable String estatus) {
-        log.info("GET /api/v1/propiedades/inmobiliaria/{}/estatus/{}/count - Counting propiedades by inmobiliaria and estatus", idInmobiliaria, estatus);
+        log.debug("GET /api/v1/propiedades/inmobiliaria/{}/estatus/{}/count - Counting propiedades by inmobiliaria and estatus", idInmobiliaria, estatus);
         long count = propiedadService.countPropiedadesByInmobiliariaAndEstatus(idInmobiliaria, estatus);
         return ResponseEntity.ok(count);
     }
+
+    private ResponseEntity<Slice<PropiedadDTO>> listarPaginado(PropiedadFiltro filtro, int page, int size,
+                                                               String sortBy, String sortDir, boolean contar) {
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+        try {
+            Pageable pageable = PageRequest.of(page, size, sort);
+            return ResponseEntity.ok(propiedadService.findByFiltro(filtro, pageable, contar));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid property listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
\ No newline at end of file
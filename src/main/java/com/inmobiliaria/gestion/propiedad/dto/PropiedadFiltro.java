@@ -0,0 +1,55 @@
+package com.inmobiliaria.gestion.propiedad.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * Combined property filters; every filter is optional and the ones given are ANDed.
+ * {@code direccion} matches like the address search: each word must appear in the
+ * normalized address.
+ */
+@Schema(description = "Optional property filters, combined with AND")
+public record PropiedadFiltro(
+
+        @Schema(description = "Inmobiliaria that owns the property", example = "1")
+        Long idInmobiliaria,
+
+        @Schema(description = "Property status", example = "DISPONIBLE")
+        String estatus,
+
+        @Schema(description = "Property type", example = "CASA")
+        String tipo,
+
+        @Schema(description = "Words that must all appear in the address", example = "av juarez")
+        String direccion,
+
+        @Schema(description = "Minimum number of bedrooms", example = "2")
+        Integer habitacionesMin,
+
+        @Schema(description = "Minimum number of bathrooms", example = "1")
+        Integer banosMin,
+
+        @Schema(description = "Minimum total surface in square meters", example = "80")
+        BigDecimal superficieMin,
+
+        @Schema(description = "Maximum total surface in square meters", example = "200")
+        BigDecimal superficieMax
+) {
+
+    public static PropiedadFiltro vacio() {
+        return new PropiedadFiltro(null, null, null, null, null, null, null, null);
+    }
+
+    public PropiedadFiltro conInmobiliaria(Long idInmobiliaria) {
+        return new PropiedadFiltro(idInmobiliaria, estatus, tipo, direccion, habitacionesMin, banosMin, superficieMin, superficieMax);
+    }
+
+    public PropiedadFiltro conEstatus(String estatus) {
+        return new PropiedadFiltro(idInmobiliaria, estatus, tipo, direccion, habitacionesMin, banosMin, superficieMin, superficieMax);
+    }
+
+    public PropiedadFiltro conTipo(String tipo) {
+        return new PropiedadFiltro(idInmobiliaria, estatus, tipo, direccion, habitacionesMin, banosMin, superficieMin, superficieMax);
+    }
+}
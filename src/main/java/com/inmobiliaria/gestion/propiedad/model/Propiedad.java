@@ -1,5 +1,6 @@
 package com.inmobiliaria.gestion.propiedad.model;
 
+import com.inmobiliaria.gestion.cambios.service.CambioTablaListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -9,10 +10,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.text.Normalizer;
 import java.time.LocalDate;
+import java.util.Locale;
 
 @Entity
 @Table(name = "propiedad")
+@EntityListeners(CambioTablaListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +24,8 @@ import java.time.LocalDate;
 public class Propiedad {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "propiedad_seq")
+    @SequenceGenerator(name = "propiedad_seq", sequenceName = "propiedad_seq", allocationSize = 50)
     @Column(name = "id_propiedad")
     private Integer idPropiedad;
 
@@ -59,10 +64,34 @@ public class Propiedad {
     @Column(name = "numero_habitaciones")
     private Integer numeroHabitaciones;
 
+    /**
+     * Lower-cased, accent-free copy of {@link #direccionCompleta} used by the address search.
+     */
+    @Column(name = "direccion_normalizada")
+    private String direccionNormalizada;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (fechaRegistro == null) {
             fechaRegistro = LocalDate.now();
         }
+        direccionNormalizada = normalizarDireccion(direccionCompleta);
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        direccionNormalizada = normalizarDireccion(direccionCompleta);
+    }
+
+    public static String normalizarDireccion(String direccion) {
+        if (direccion == null) {
+            return null;
+        }
+        String sinAcentos = Normalizer.normalize(direccion, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return sinAcentos.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
     }
 }
\ No newline at end of file
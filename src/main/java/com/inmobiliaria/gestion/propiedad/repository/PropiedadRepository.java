@@ -2,6 +2,7 @@ package com.inmobiliaria.gestion.propiedad.repository;
 
 import com.inmobiliaria.gestion.propiedad.model.Propiedad;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,7 +11,8 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PropiedadRepository extends JpaRepository<Propiedad, Integer> {
+public interface PropiedadRepository extends JpaRepository<Propiedad, Integer>,
+        JpaSpecificationExecutor<Propiedad>, PropiedadRepositoryCustom {
     
     List<Propiedad> findByIdInmobiliaria(Long idInmobiliaria);
     
@@ -0,0 +1,15 @@
+package com.inmobiliaria.gestion.propiedad.repository;
+
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface PropiedadRepositoryCustom {
+
+    /**
+     * Like {@code findAll(Specification, Pageable)} but without the count query: one extra
+     * row is fetched to tell whether a next page exists.
+     */
+    Slice<Propiedad> findSlice(Specification<Propiedad> especificacion, Pageable pageable);
+}
@@ -0,0 +1,41 @@
+package com.inmobiliaria.gestion.propiedad.repository;
+
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class PropiedadRepositoryCustomImpl implements PropiedadRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Propiedad> findSlice(Specification<Propiedad> especificacion, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Propiedad> query = cb.createQuery(Propiedad.class);
+        Root<Propiedad> root = query.from(Propiedad.class);
+        Predicate predicado = especificacion.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Propiedad> filas = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hayMas = filas.size() > pageable.getPageSize();
+        return new SliceImpl<>(hayMas ? filas.subList(0, pageable.getPageSize()) : filas, pageable, hayMas);
+    }
+}
@@ -0,0 +1,161 @@
+package com.inmobiliaria.gestion.propiedad.repository;
+
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Address search over {@code propiedad.direccion_normalizada}. On PostgreSQL the column
+ * carries a pg_trgm GIN index, which serves the {@code LIKE '%term%'} filters, and results
+ * are ranked by trigram similarity. Other databases (H2 in tests) fall back to ranking by
+ * match position and address length.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+@Timed(MetricsConfig.JDBC_TIMER)
+public class PropiedadSearchRepository {
+
+    private static final String COLUMNAS = "id_propiedad, id_inmobiliaria, tipo_propiedad, superficie_total, " +
+            "superficie_construida, fecha_registro, estatus_propiedad, caracteristicas_especiales, " +
+            "direccion_completa, numero_banos, numero_habitaciones, direccion_normalizada";
+
+    private static final RowMapper<Propiedad> PROPIEDAD_MAPPER = (rs, rowNum) -> {
+        Date fechaRegistro = rs.getDate("fecha_registro");
+        return Propiedad.builder()
+                .idPropiedad(rs.getInt("id_propiedad"))
+                .idInmobiliaria(rs.getLong("id_inmobiliaria"))
+                .tipoPropiedad(rs.getString("tipo_propiedad"))
+                .superficieTotal(rs.getBigDecimal("superficie_total"))
+                .superficieConstruida(rs.getBigDecimal("superficie_construida"))
+                .fechaRegistro(fechaRegistro != null ? fechaRegistro.toLocalDate() : null)
+                .estatusPropiedad(rs.getString("estatus_propiedad"))
+                .caracteristicasEspeciales(rs.getString("caracteristicas_especiales"))
+                .direccionCompleta(rs.getString("direccion_completa"))
+                .numeroBanos(rs.getObject("numero_banos", Integer.class))
+                .numeroHabitaciones(rs.getObject("numero_habitaciones", Integer.class))
+                .direccionNormalizada(rs.getString("direccion_normalizada"))
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean trigramasDisponibles;
+
+    /**
+     * Finds the properties whose normalized address contains every term, best match first.
+     *
+     * @param terminos normalized search terms
+     * @param consulta full normalized query, used for ranking
+     */
+    public List<Propiedad> buscar(List<String> terminos, String consulta, Long idInmobiliaria, int limite, long offset) {
+        List<Object> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNAS).append(" FROM propiedad");
+        appendFiltros(sql, parametros, terminos, idInmobiliaria);
+        if (usaTrigramas()) {
+            sql.append(" ORDER BY similarity(direccion_normalizada, ?) DESC, id_propiedad");
+            parametros.add(consulta);
+        } else {
+            sql.append(" ORDER BY POSITION(? IN direccion_normalizada), LENGTH(direccion_normalizada), id_propiedad");
+            parametros.add(terminos.get(0));
+        }
+        sql.append(" LIMIT ? OFFSET ?");
+        parametros.add(limite);
+        parametros.add(offset);
+        return jdbcTemplate.query(sql.toString(), PROPIEDAD_MAPPER, parametros.toArray());
+    }
+
+    public long contar(List<String> terminos, Long idInmobiliaria) {
+        List<Object> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM propiedad");
+        appendFiltros(sql, parametros, terminos, idInmobiliaria);
+        Long total = jdbcTemplate.queryForObject(sql.toString(), Long.class, parametros.toArray());
+        return total != null ? total : 0;
+    }
+
+    /**
+     * Creates the trigram index on PostgreSQL. Returns false when the database is not
+     * PostgreSQL or the pg_trgm extension cannot be installed.
+     */
+    public boolean crearIndiceTrigramas() {
+        if (!esPostgres()) {
+            trigramasDisponibles = false;
+            return false;
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            // CONCURRENTLY keeps the table writable while a large index is built, but PostgreSQL
+            // does not support it on a partitioned parent
+            boolean particionada = "p".equals(jdbcTemplate.queryForObject(
+                    "SELECT relkind::text FROM pg_class WHERE oid = 'propiedad'::regclass", String.class));
+            jdbcTemplate.execute("CREATE INDEX " + (particionada ? "" : "CONCURRENTLY ") +
+                    "IF NOT EXISTS idx_propiedad_direccion_trgm " +
+                    "ON propiedad USING gin (direccion_normalizada gin_trgm_ops)");
+            trigramasDisponibles = true;
+        } catch (DataAccessException e) {
+            log.warn("Trigram index for property search unavailable, using unranked fallback: {}", e.getMessage());
+            trigramasDisponibles = false;
+        }
+        return trigramasDisponibles;
+    }
+
+    /**
+     * Fills {@code direccion_normalizada} for rows written before the column existed or
+     * through plain SQL. Returns the number of rows updated by this batch.
+     */
+    public int normalizarDireccionesPendientes(int batchSize) {
+        List<Object[]> pendientes = jdbcTemplate.query(
+                "SELECT id_propiedad, direccion_completa FROM propiedad " +
+                "WHERE direccion_normalizada IS NULL AND direccion_completa IS NOT NULL " +
+                "ORDER BY id_propiedad LIMIT ?",
+                (rs, rowNum) -> new Object[]{Propiedad.normalizarDireccion(rs.getString(2)), rs.getInt(1)},
+                batchSize);
+        if (!pendientes.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE propiedad SET direccion_normalizada = ? WHERE id_propiedad = ?", pendientes);
+        }
+        return pendientes.size();
+    }
+
+    private void appendFiltros(StringBuilder sql, List<Object> parametros, List<String> terminos, Long idInmobiliaria) {
+        sql.append(" WHERE direccion_normalizada IS NOT NULL");
+        for (String termino : terminos) {
+            sql.append(" AND direccion_normalizada LIKE ? ESCAPE '\\'");
+            parametros.add("%" + escaparLike(termino) + "%");
+        }
+        if (idInmobiliaria != null) {
+            sql.append(" AND id_inmobiliaria = ?");
+            parametros.add(idInmobiliaria);
+        }
+    }
+
+    private boolean usaTrigramas() {
+        Boolean disponibles = trigramasDisponibles;
+        if (disponibles == null) {
+            disponibles = esPostgres() && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", Boolean.class));
+            trigramasDisponibles = disponibles;
+        }
+        return disponibles;
+    }
+
+    private boolean esPostgres() {
+        String producto = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(producto);
+    }
+
+    private static String escaparLike(String termino) {
+        return termino.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,63 @@
+package com.inmobiliaria.gestion.propiedad.repository;
+
+import com.inmobiliaria.gestion.propiedad.dto.PropiedadFiltro;
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the JPA specification of a {@link PropiedadFiltro}. Only the filters that are set
+ * become predicates, so an agency-scoped query stays a plain equality on
+ * {@code id_inmobiliaria} that the composite indexes serve.
+ */
+public final class PropiedadSpecifications {
+
+    private PropiedadSpecifications() {
+    }
+
+    public static Specification<Propiedad> de(PropiedadFiltro filtro) {
+        List<Specification<Propiedad>> condiciones = new ArrayList<>();
+        if (filtro.idInmobiliaria() != null) {
+            condiciones.add((root, query, cb) -> cb.equal(root.get("idInmobiliaria"), filtro.idInmobiliaria()));
+        }
+        if (tieneTexto(filtro.estatus())) {
+            condiciones.add((root, query, cb) -> cb.equal(root.get("estatusPropiedad"), filtro.estatus()));
+        }
+        if (tieneTexto(filtro.tipo())) {
+            condiciones.add((root, query, cb) -> cb.equal(root.get("tipoPropiedad"), filtro.tipo()));
+        }
+        String direccion = Propiedad.normalizarDireccion(filtro.direccion());
+        if (tieneTexto(direccion)) {
+            for (String termino : direccion.split(" ")) {
+                condiciones.add((root, query, cb) ->
+                        cb.like(root.get("direccionNormalizada"), "%" + escaparLike(termino) + "%", '\\'));
+            }
+        }
+        if (filtro.habitacionesMin() != null) {
+            condiciones.add((root, query, cb) ->
+                    cb.greaterThanOrEqualTo(root.get("numeroHabitaciones"), filtro.habitacionesMin()));
+        }
+        if (filtro.banosMin() != null) {
+            condiciones.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("numeroBanos"), filtro.banosMin()));
+        }
+        if (filtro.superficieMin() != null) {
+            condiciones.add((root, query, cb) ->
+                    cb.greaterThanOrEqualTo(root.get("superficieTotal"), filtro.superficieMin()));
+        }
+        if (filtro.superficieMax() != null) {
+            condiciones.add((root, query, cb) ->
+                    cb.lessThanOrEqualTo(root.get("superficieTotal"), filtro.superficieMax()));
+        }
+        return Specification.allOf(condiciones);
+    }
+
+    private static boolean tieneTexto(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,42 @@
+package com.inmobiliaria.gestion.propiedad.service;
+
+import com.inmobiliaria.gestion.propiedad.repository.PropiedadSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prepares the address search once the schema is in place: builds the trigram index on
+ * PostgreSQL and backfills the normalized address of existing rows in batches.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "propiedad.search.init-enabled", havingValue = "true", matchIfMissing = true)
+public class PropiedadSearchIndexInitializer {
+
+    private final PropiedadSearchRepository propiedadSearchRepository;
+
+    @Value("${propiedad.search.backfill-batch-size:1000}")
+    private int batchSize = 1000;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        long normalizadas = 0;
+        int lote;
+        do {
+            lote = propiedadSearchRepository.normalizarDireccionesPendientes(batchSize);
+            normalizadas += lote;
+        } while (lote == batchSize);
+        if (normalizadas > 0) {
+            log.info("Normalized {} property addresses for search", normalizadas);
+        }
+
+        boolean trigramas = propiedadSearchRepository.crearIndiceTrigramas();
+        log.info("Property address search ready (trigram index: {})", trigramas);
+    }
+}
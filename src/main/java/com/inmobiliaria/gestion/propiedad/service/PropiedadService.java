@@ -1,91 +1,167 @@
 package com.inmobiliaria.gestion.propiedad.service;
 
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadCreateRequest;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadDTO;
+import com.inmobiliaria.gestion.propiedad.dto.PropiedadFiltro;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadUpdateRequest;
 import com.inmobiliaria.gestion.propiedad.model.Propiedad;
 import com.inmobiliaria.gestion.propiedad.repository.PropiedadRepository;
+import com.inmobiliaria.gestion.propiedad.repository.PropiedadSearchRepository;
+import com.inmobiliaria.gestion.propiedad.repository.PropiedadSpecifications;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class PropiedadService {
 
+    static final int TAMANO_MAXIMO_PAGINA = 500;
+
+    static final Set<String> CAMPOS_ORDENABLES = Set.of(
+            "idPropiedad", "idInmobiliaria", "tipoPropiedad", "superficieTotal", "superficieConstruida",
+            "fechaRegistro", "estatusPropiedad", "direccionCompleta", "numeroBanos", "numeroHabitaciones");
+
     private final PropiedadRepository propiedadRepository;
+    private final PropiedadSearchRepository propiedadSearchRepository;
+    private final DashboardService dashboardService;
+    private final EventoOutboxService eventoOutboxService;
 
     public List<PropiedadDTO> getAllPropiedades() {
-        log.info("Fetching all propiedades");
+        log.debug("Fetching all propiedades");
         return propiedadRepository.findAll()
                 .stream()
-                .map(this::convertToDTO)
+                .map(PropiedadService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public Optional<PropiedadDTO> getPropiedadById(Integer id) {
-        log.info("Fetching propiedad with id: {}", id);
+        log.debug("Fetching propiedad with id: {}", id);
         return propiedadRepository.findById(id)
-                .map(this::convertToDTO);
+                .map(PropiedadService::convertToDTO);
     }
 
     public List<PropiedadDTO> getPropiedadesByInmobiliaria(Long idInmobiliaria) {
-        log.info("Fetching propiedades for inmobiliaria: {}", idInmobiliaria);
+        log.debug("Fetching propiedades for inmobiliaria: {}", idInmobiliaria);
         return propiedadRepository.findByIdInmobiliaria(idInmobiliaria)
                 .stream()
-                .map(this::convertToDTO)
+                .map(PropiedadService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<PropiedadDTO> getPropiedadesByEstatus(String estatus) {
-        log.info("Fetching propiedades with estatus: {}", estatus);
+        log.debug("Fetching propiedades with estatus: {}", estatus);
         return propiedadRepository.findByEstatusPropiedad(estatus)
                 .stream()
-                .map(this::convertToDTO)
+                .map(PropiedadService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<PropiedadDTO> getPropiedadesByTipo(String tipo) {
-        log.info("Fetching propiedades with tipo: {}", tipo);
+        log.debug("Fetching propiedades with tipo: {}", tipo);
         return propiedadRepository.findByTipoPropiedad(tipo)
                 .stream()
-                .map(this::convertToDTO)
+                .map(PropiedadService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<PropiedadDTO> getPropiedadesByInmobiliariaAndEstatus(Long idInmobiliaria, String estatus) {
-        log.info("Fetching propiedades for inmobiliaria: {} with estatus: {}", idInmobiliaria, estatus);
+        log.debug("Fetching propiedades for inmobiliaria: {} with estatus: {}", idInmobiliaria, estatus);
         return propiedadRepository.findByIdInmobiliariaAndEstatusPropiedad(idInmobiliaria, estatus)
                 .stream()
-                .map(this::convertToDTO)
+                .map(PropiedadService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<PropiedadDTO> getPropiedadesByInmobiliariaAndTipo(Long idInmobiliaria, String tipo) {
-        log.info("Fetching propiedades for inmobiliaria: {} with tipo: {}", idInmobiliaria, tipo);
+        log.debug("Fetching propiedades for inmobiliaria: {} with tipo: {}", idInmobiliaria, tipo);
         return propiedadRepository.findByIdInmobiliariaAndTipoPropiedad(idInmobiliaria, tipo)
                 .stream()
-                .map(this::convertToDTO)
+                .map(PropiedadService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
-    public List<PropiedadDTO> searchPropiedadesByDireccion(String direccion) {
-        log.info("Searching propiedades by direccion containing: {}", direccion);
-        return propiedadRepository.findByDireccionContaining(direccion)
+    /**
+     * Paginated listing of the properties matching the filter. With {@code contar} the result
+     * is a {@link Page} carrying the total; without it a {@link Slice} that skips the count
+     * query, which is the expensive part for large agencies. The id is appended to the sort
+     * so rows with equal sort keys keep a stable order across pages.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PropiedadDTO> findByFiltro(PropiedadFiltro filtro, Pageable pageable, boolean contar) {
+        log.debug("Fetching propiedades by filter: {} (page: {}, count: {})", filtro, pageable, contar);
+        Pageable paginacion = validarPaginacion(pageable);
+        Slice<Propiedad> propiedades = contar
+                ? propiedadRepository.findAll(PropiedadSpecifications.de(filtro), paginacion)
+                : propiedadRepository.findSlice(PropiedadSpecifications.de(filtro), paginacion);
+        return propiedades.map(PropiedadService::convertToDTO);
+    }
+
+    /**
+     * Accent- and case-insensitive address search. Every word of the query must appear in
+     * the address; results come back best match first.
+     */
+    @Transactional(readOnly = true)
+    public Page<PropiedadDTO> searchPropiedadesByDireccion(String direccion, Long idInmobiliaria, Pageable pageable) {
+        log.debug("Searching propiedades by direccion: {} (inmobiliaria: {}, page: {})", direccion, idInmobiliaria, pageable);
+        String consulta = normalizarBusqueda(direccion);
+        List<String> terminos = Arrays.asList(consulta.split(" "));
+
+        List<PropiedadDTO> contenido = propiedadSearchRepository
+                .buscar(terminos, consulta, idInmobiliaria, pageable.getPageSize(), pageable.getOffset())
+                .stream()
+                .map(PropiedadService::convertToDTO)
+                .toList();
+        // A short first page already tells the total; only count when more pages may exist
+        long total = pageable.getOffset() == 0 && contenido.size() < pageable.getPageSize()
+                ? contenido.size()
+                : propiedadSearchRepository.contar(terminos, idInmobiliaria);
+        return new PageImpl<>(contenido, pageable, total);
+    }
+
+    /**
+     * Address search without the count query; one extra row tells whether a next page exists.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PropiedadDTO> searchPropiedadesByDireccionSlice(String direccion, Long idInmobiliaria, Pageable pageable) {
+        log.debug("Searching propiedades by direccion without count: {} (inmobiliaria: {}, page: {})", direccion, idInmobiliaria, pageable);
+        String consulta = normalizarBusqueda(direccion);
+        List<String> terminos = Arrays.asList(consulta.split(" "));
+
+        List<PropiedadDTO> contenido = propiedadSearchRepository
+                .buscar(terminos, consulta, idInmobiliaria, pageable.getPageSize() + 1, pageable.getOffset())
                 .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .map(PropiedadService::convertToDTO)
+                .toList();
+        boolean hayMas = contenido.size() > pageable.getPageSize();
+        return new SliceImpl<>(hayMas ? contenido.subList(0, pageable.getPageSize()) : contenido, pageable, hayMas);
     }
 
     public PropiedadDTO createPropiedad(PropiedadCreateRequest request) {
-        log.info("Creating new propiedad for inmobiliaria: {}", request.idInmobiliaria());
+        log.debug("Creating new propiedad for inmobiliaria: {}", request.idInmobiliaria());
         
         Propiedad propiedad = Propiedad.builder()
                 .idInmobiliaria(request.idInmobiliaria())
@@ -101,28 +177,37 @@ public class PropiedadService {
 
         Propiedad savedPropiedad = propiedadRepository.save(propiedad);
         log.info("Propiedad created successfully with id: {}", savedPropiedad.getIdPropiedad());
-        
-        return convertToDTO(savedPropiedad);
+        dashboardService.invalidar();
+
+        PropiedadDTO dto = convertToDTO(savedPropiedad);
+        eventoOutboxService.registrar(EventoOutbox.AGREGADO_PROPIEDAD, dto.idPropiedad(), "PROPIEDAD_CREADA", dto);
+        return dto;
     }
 
     public Optional<PropiedadDTO> updatePropiedad(Integer id, PropiedadUpdateRequest request) {
-        log.info("Updating propiedad with id: {}", id);
+        log.debug("Updating propiedad with id: {}", id);
         
         return propiedadRepository.findById(id)
                 .map(existingPropiedad -> {
                     updatePropiedadFields(existingPropiedad, request);
                     Propiedad updatedPropiedad = propiedadRepository.save(existingPropiedad);
                     log.info("Propiedad updated successfully with id: {}", updatedPropiedad.getIdPropiedad());
-                    return convertToDTO(updatedPropiedad);
+                    dashboardService.invalidar();
+                    PropiedadDTO dto = convertToDTO(updatedPropiedad);
+                    eventoOutboxService.registrar(EventoOutbox.AGREGADO_PROPIEDAD, id, "PROPIEDAD_ACTUALIZADA", dto);
+                    return dto;
                 });
     }
 
     public boolean deletePropiedad(Integer id) {
-        log.info("Deleting propiedad with id: {}", id);
+        log.debug("Deleting propiedad with id: {}", id);
         
         if (propiedadRepository.existsById(id)) {
             propiedadRepository.deleteById(id);
             log.info("Propiedad deleted successfully with id: {}", id);
+            dashboardService.invalidar();
+            eventoOutboxService.registrar(EventoOutbox.AGREGADO_PROPIEDAD, id, "PROPIEDAD_ELIMINADA",
+                    Map.of("idPropiedad", id));
             return true;
         }
         
@@ -169,7 +254,30 @@ public class PropiedadService {
         }
     }
 
-    private PropiedadDTO convertToDTO(Propiedad propiedad) {
+    private String normalizarBusqueda(String direccion) {
+        String consulta = Propiedad.normalizarDireccion(direccion);
+        if (consulta == null || consulta.isEmpty()) {
+            throw new IllegalArgumentException("Search term must not be blank");
+        }
+        return consulta;
+    }
+
+    private Pageable validarPaginacion(Pageable pageable) {
+        if (pageable.getPageSize() > TAMANO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("Page size must not exceed " + TAMANO_MAXIMO_PAGINA);
+        }
+        for (Sort.Order orden : pageable.getSort()) {
+            if (!CAMPOS_ORDENABLES.contains(orden.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort field: " + orden.getProperty());
+            }
+        }
+        Sort sort = pageable.getSort().getOrderFor("idPropiedad") != null
+                ? pageable.getSort()
+                : pageable.getSort().and(Sort.by("idPropiedad"));
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    public static PropiedadDTO convertToDTO(Propiedad propiedad) {
         return new PropiedadDTO(
                 propiedad.getIdPropiedad(),
                 propiedad.getIdInmobiliaria(),
@@ -0,0 +1,48 @@
+package com.inmobiliaria.gestion.recargos.controller;
+
+import com.inmobiliaria.gestion.recargos.dto.RecargoRunReport;
+import com.inmobiliaria.gestion.recargos.service.RecargoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/recargos")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Recargos", description = "Late-payment surcharge operations")
+public class RecargoController {
+
+    private final RecargoService recargoService;
+
+    @Operation(summary = "Apply surcharges", description = "Recompute the accrued surcharge of every overdue charge as of a date")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Surcharge sweep completed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RecargoRunReport.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/aplicar")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecargoRunReport> aplicarRecargos(
+            @Parameter(description = "Cut-off date (defaults to today)", example = "2024-05-20")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        LocalDate fechaCorte = fecha != null ? fecha : LocalDate.now();
+        log.info("POST /api/v1/recargos/aplicar - Applying surcharges as of {}", fechaCorte);
+        return ResponseEntity.ok(recargoService.aplicarRecargos(fechaCorte));
+    }
+}
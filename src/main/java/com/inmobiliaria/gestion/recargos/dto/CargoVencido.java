@@ -0,0 +1,11 @@
+package com.inmobiliaria.gestion.recargos.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Overdue charge row read by the surcharge sweep.
+ */
+public record CargoVencido(Long idCargo, Integer idContrato, Integer idConcepto, Long idInmobiliaria, BigDecimal monto,
+                           LocalDate fechaVencimiento, BigDecimal montoRecargo) {
+}
@@ -0,0 +1,9 @@
+package com.inmobiliaria.gestion.recargos.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * New accrued surcharge of a charge, written back by the surcharge sweep.
+ */
+public record RecargoCalculado(Long idCargo, BigDecimal montoRecargo) {
+}
@@ -0,0 +1,26 @@
+package com.inmobiliaria.gestion.recargos.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Summary of one surcharge sweep over overdue charges")
+public record RecargoRunReport(
+
+        @Schema(description = "Date the surcharges were computed for", example = "2024-05-20")
+        LocalDate fechaCorte,
+
+        @Schema(description = "Overdue charges evaluated", example = "8500")
+        long cargosEvaluados,
+
+        @Schema(description = "Charges whose accrued surcharge changed and was written", example = "8200")
+        long cargosActualizados,
+
+        @Schema(description = "Sum of the surcharges written in this sweep", example = "152300.00")
+        BigDecimal montoRecargos,
+
+        @Schema(description = "Sweep duration in milliseconds", example = "3200")
+        long duracionMs
+) {
+}
@@ -0,0 +1,64 @@
+package com.inmobiliaria.gestion.recargos.repository;
+
+import com.inmobiliaria.gestion.config.MetricsConfig;
+import com.inmobiliaria.gestion.recargos.dto.CargoVencido;
+import com.inmobiliaria.gestion.recargos.dto.RecargoCalculado;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JDBC access for the surcharge sweep: a forward-only cursor over pending overdue
+ * charges and batched write-back of the recomputed surcharges.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(MetricsConfig.JDBC_TIMER)
+public class RecargoJdbcRepository {
+
+    private static final String SQL_CARGOS_VENCIDOS =
+            "SELECT id_cargo, id_contrato, id_concepto, id_inmobiliaria, monto, fecha_vencimiento, monto_recargo " +
+            "FROM cargo_renta WHERE estatus_cargo = 'PENDIENTE' AND fecha_vencimiento < ?";
+
+    private static final String SQL_ACTUALIZAR_RECARGO =
+            "UPDATE cargo_renta SET monto_recargo = ?, fecha_calculo_recargo = ? WHERE id_cargo = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams every pending charge due before {@code fechaCorte}. Must run inside a
+     * transaction so PostgreSQL honours the fetch size instead of materialising the result.
+     */
+    public void recorrerCargosVencidos(LocalDate fechaCorte, int fetchSize, Consumer<CargoVencido> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_CARGOS_VENCIDOS);
+            ps.setFetchSize(fetchSize);
+            ps.setDate(1, Date.valueOf(fechaCorte));
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(new CargoVencido(
+                rs.getLong("id_cargo"),
+                rs.getInt("id_contrato"),
+                rs.getInt("id_concepto"),
+                rs.getLong("id_inmobiliaria"),
+                rs.getBigDecimal("monto"),
+                rs.getDate("fecha_vencimiento").toLocalDate(),
+                rs.getBigDecimal("monto_recargo"))));
+    }
+
+    public void actualizarRecargos(List<RecargoCalculado> recargos, LocalDate fechaCalculo) {
+        Date fecha = Date.valueOf(fechaCalculo);
+        jdbcTemplate.batchUpdate(SQL_ACTUALIZAR_RECARGO, recargos, recargos.size(), (ps, recargo) -> {
+            ps.setBigDecimal(1, recargo.montoRecargo());
+            ps.setDate(2, fecha);
+            ps.setLong(3, recargo.idCargo());
+        });
+    }
+}
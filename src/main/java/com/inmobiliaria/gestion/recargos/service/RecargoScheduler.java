@@ -0,0 +1,24 @@
+package com.inmobiliaria.gestion.recargos.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "recargos.enabled", havingValue = "true")
+public class RecargoScheduler {
+
+    private final RecargoService recargoService;
+
+    @Scheduled(cron = "${recargos.cron:0 30 1 * * *}")
+    public void aplicarRecargos() {
+        log.debug("Running nightly surcharge sweep");
+        recargoService.aplicarRecargos(LocalDate.now());
+    }
+}
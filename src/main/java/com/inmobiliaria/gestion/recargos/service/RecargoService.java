@@ -0,0 +1,123 @@
+package com.inmobiliaria.gestion.recargos.service;
+
+import com.inmobiliaria.gestion.cobranza.model.MovimientoCuenta;
+import com.inmobiliaria.gestion.cobranza.repository.LibroCuentaJdbcRepository;
+import com.inmobiliaria.gestion.cobranza.service.AntiguedadSaldosService;
+import com.inmobiliaria.gestion.configuracion_recargos.service.PoliticaRecargo;
+import com.inmobiliaria.gestion.configuracion_recargos.service.PoliticaRecargoCache;
+import com.inmobiliaria.gestion.recargos.dto.CargoVencido;
+import com.inmobiliaria.gestion.recargos.dto.RecargoCalculado;
+import com.inmobiliaria.gestion.recargos.dto.RecargoRunReport;
+import com.inmobiliaria.gestion.recargos.repository.RecargoJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Surcharge pass over overdue charges. One streaming read walks every pending charge,
+ * each is evaluated against the compiled policies of its inmobiliaria, and only charges
+ * whose accrued surcharge changed are written back in JDBC batches. The accrued amount
+ * is recomputed from scratch, so repeating a sweep for the same date is harmless; the
+ * ledger receives only the difference against the previously accrued amount.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecargoService {
+
+    private final RecargoJdbcRepository recargoJdbcRepository;
+    private final PoliticaRecargoCache politicaRecargoCache;
+    private final LibroCuentaJdbcRepository libroCuentaJdbcRepository;
+    private final AntiguedadSaldosService antiguedadSaldosService;
+
+    @Value("${recargos.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Transactional
+    public RecargoRunReport aplicarRecargos(LocalDate fechaCorte) {
+        long inicio = System.nanoTime();
+        Acumulador acumulador = new Acumulador(fechaCorte);
+
+        recargoJdbcRepository.recorrerCargosVencidos(fechaCorte, batchSize, cargo -> {
+            acumulador.evaluados++;
+            BigDecimal recargo = calcularRecargo(cargo, fechaCorte);
+            if (cargo.montoRecargo() == null || recargo.compareTo(cargo.montoRecargo()) != 0) {
+                acumulador.agregar(cargo, new RecargoCalculado(cargo.idCargo(), recargo));
+            }
+        });
+        acumulador.vaciar();
+        if (acumulador.actualizados > 0) {
+            antiguedadSaldosService.invalidarTodo();
+        }
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("Surcharge sweep for {} finished: {} charges evaluated, {} updated in {} ms",
+                fechaCorte, acumulador.evaluados, acumulador.actualizados, duracionMs);
+        return new RecargoRunReport(fechaCorte, acumulador.evaluados, acumulador.actualizados,
+                acumulador.montoTotal, duracionMs);
+    }
+
+    private BigDecimal calcularRecargo(CargoVencido cargo, LocalDate fechaCorte) {
+        BigDecimal recargo = BigDecimal.ZERO.setScale(2);
+        for (PoliticaRecargo politica : politicaRecargoCache.getPoliticas(cargo.idInmobiliaria())) {
+            if (politica.aplicaA(cargo.idConcepto())) {
+                recargo = recargo.add(politica.calcular(cargo.monto(), cargo.fechaVencimiento(), fechaCorte));
+            }
+        }
+        return recargo;
+    }
+
+    private final class Acumulador {
+
+        private final LocalDate fechaCorte;
+        private final List<RecargoCalculado> pendientes = new ArrayList<>(batchSize);
+        private final List<MovimientoCuenta> movimientos = new ArrayList<>(batchSize);
+        private long evaluados;
+        private long actualizados;
+        private BigDecimal montoTotal = BigDecimal.ZERO;
+
+        private Acumulador(LocalDate fechaCorte) {
+            this.fechaCorte = fechaCorte;
+        }
+
+        private void agregar(CargoVencido cargo, RecargoCalculado recargo) {
+            pendientes.add(recargo);
+            BigDecimal anterior = cargo.montoRecargo() != null ? cargo.montoRecargo() : BigDecimal.ZERO;
+            BigDecimal diferencia = recargo.montoRecargo().subtract(anterior);
+            if (diferencia.signum() != 0) {
+                movimientos.add(MovimientoCuenta.builder()
+                        .idContrato(cargo.idContrato())
+                        .idInmobiliaria(cargo.idInmobiliaria())
+                        .tipoMovimiento(MovimientoCuenta.TIPO_RECARGO)
+                        .monto(diferencia)
+                        .idCargo(cargo.idCargo())
+                        .descripcion("Recargo al " + fechaCorte)
+                        .fechaMovimiento(LocalDateTime.now())
+                        .build());
+            }
+            montoTotal = montoTotal.add(recargo.montoRecargo());
+            if (pendientes.size() >= batchSize) {
+                vaciar();
+            }
+        }
+
+        private void vaciar() {
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            recargoJdbcRepository.actualizarRecargos(new ArrayList<>(pendientes), fechaCorte);
+            libroCuentaJdbcRepository.registrarMovimientos(new ArrayList<>(movimientos));
+            actualizados += pendientes.size();
+            pendientes.clear();
+            movimientos.clear();
+        }
+    }
+}
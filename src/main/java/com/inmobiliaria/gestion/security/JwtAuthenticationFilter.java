@@ -1,12 +1,16 @@
 package com.inmobiliaria.gestion.security;
 
+import com.inmobiliaria.gestion.auth.service.UserDetailsImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,14 +20,34 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String AUTHENTICATION_TIMER = "jwt.authentication";
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final Timer authenticatedTimer;
+    private final Timer anonymousTimer;
+    private final Timer rejectedTimer;
+    private final Timer errorTimer;
+
+    @Value("${jwt.stateless-authentication:false}")
+    private boolean statelessAuthentication = false;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.authenticatedTimer = authenticationTimer(meterRegistry, "authenticated");
+        this.anonymousTimer = authenticationTimer(meterRegistry, "anonymous");
+        this.rejectedTimer = authenticationTimer(meterRegistry, "rejected");
+        this.errorTimer = authenticationTimer(meterRegistry, "error");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -31,34 +55,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
         String method = request.getMethod();
         log.debug("Processing {} request for path: {}", method, path);
-        
+
+        long inicio = System.nanoTime();
+        Timer timer = anonymousTimer;
         try {
             String jwt = parseJwt(request);
             log.debug("JWT token found: {} for path: {}", jwt != null, path);
             
-            if (jwt != null && jwtUtil.validateJwtToken(jwt)) {
-                String username = jwtUtil.getUserNameFromJwtToken(jwt);
+            Optional<JwtClaims> claims = jwt != null ? jwtUtil.parseJwtToken(jwt) : Optional.empty();
+            if (claims.isPresent()) {
+                String username = claims.get().username();
                 log.debug("JWT valid for user: {} on path: {}", username, path);
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UserDetails userDetails = resolveUser(claims.get());
+                if (userDetails.isEnabled()) {
+                    UsernamePasswordAuthenticationToken authentication = 
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Authentication set for user: {} on path: {}", username, path);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    timer = authenticatedTimer;
+                    log.debug("Authentication set for user: {} on path: {}", username, path);
+                } else {
+                    timer = rejectedTimer;
+                    log.warn("Disabled user: {} rejected on path: {}", username, path);
+                }
             } else if (jwt != null) {
+                timer = rejectedTimer;
                 log.warn("Invalid JWT token for path: {}", path);
             } else {
                 log.debug("No JWT token found for {} {}", method, path);
             }
         } catch (Exception e) {
+            timer = errorTimer;
             log.error("Cannot set user authentication for {} {}: {}", method, path, e.getMessage());
         }
+        // Only the authentication work is timed; the rest of the chain is covered by http.server.requests
+        timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
 
+    // With stateless authentication the roles claim is trusted as issued; otherwise the
+    // (cached) user details are consulted so disabled accounts and role changes apply
+    private UserDetails resolveUser(JwtClaims claims) {
+        if (statelessAuthentication && !claims.roles().isEmpty()) {
+            List<SimpleGrantedAuthority> authorities = claims.roles().stream()
+                    .map(SimpleGrantedAuthority::new)
+                    .toList();
+            return new UserDetailsImpl(null, claims.username(), null, null, authorities);
+        }
+        return userDetailsService.loadUserByUsername(claims.username());
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
@@ -75,6 +124,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                path.startsWith("/.well-known/");
     }
 
+    private static Timer authenticationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(AUTHENTICATION_TIMER)
+                .description("Time spent authenticating a request from its bearer token")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
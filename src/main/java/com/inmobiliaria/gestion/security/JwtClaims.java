@@ -0,0 +1,10 @@
+package com.inmobiliaria.gestion.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been verified.
+ */
+public record JwtClaims(String username, List<String> roles, Instant expiresAt) {
+}
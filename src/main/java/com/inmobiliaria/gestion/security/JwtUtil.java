@@ -2,67 +2,101 @@ package com.inmobiliaria.gestion.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Issues and verifies JWTs. The HMAC key and the parser are built once at startup; the
+ * parser is immutable and thread-safe, so every request verifies its token with a single
+ * signature check through {@link #parseJwtToken(String)}.
+ */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
+    static final String ROLES_CLAIM = "roles";
+    static final String VERIFICATION_TIMER = "jwt.verification";
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration:86400}")
     private int jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Timer validTimer;
+    private Timer expiredTimer;
+    private Timer invalidTimer;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        validTimer = verificationTimer("valid");
+        expiredTimer = verificationTimer("expired");
+        invalidTimer = verificationTimer("invalid");
     }
 
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userPrincipal.getUsername());
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return generateTokenFromUsername(userPrincipal.getUsername(), roles);
     }
 
     public String generateTokenFromUsername(String username) {
+        return generateTokenFromUsername(username, List.of());
+    }
+
+    public String generateTokenFromUsername(String username, List<String> roles) {
         Instant now = Instant.now();
         return Jwts.builder()
                 .subject(username)
+                .claim(ROLES_CLAIM, roles)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plus(jwtExpirationMs, ChronoUnit.SECONDS)))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
-    }
-
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the token once and returns its claims, or empty if it is not valid.
+     */
+    public Optional<JwtClaims> parseJwtToken(String authToken) {
+        long inicio = System.nanoTime();
+        Timer timer = invalidTimer;
         try {
-            log.debug("Validating JWT token");
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            log.debug("JWT token validation successful");
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(authToken).getPayload();
+            timer = validTimer;
+            return Optional.of(toJwtClaims(claims));
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
+            timer = expiredTimer;
             log.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
@@ -70,7 +104,34 @@ public class JwtUtil {
             log.error("JWT claims string is empty: {}", e.getMessage());
         } catch (Exception e) {
             log.error("JWT token validation failed: {}", e.getMessage());
+        } finally {
+            timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        return jwtParser.parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return parseJwtToken(authToken).isPresent();
+    }
+
+    private JwtClaims toJwtClaims(Claims claims) {
+        List<String> roles = claims.get(ROLES_CLAIM) instanceof Collection<?> values
+                ? values.stream().map(String::valueOf).toList()
+                : List.of();
+        Date expiration = claims.getExpiration();
+        return new JwtClaims(claims.getSubject(), roles, expiration != null ? expiration.toInstant() : null);
+    }
+
+    private Timer verificationTimer(String outcome) {
+        return Timer.builder(VERIFICATION_TIMER)
+                .description("Time spent verifying JWT signatures and claims")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
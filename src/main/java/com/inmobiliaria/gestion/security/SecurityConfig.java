@@ -1,6 +1,8 @@
 package com.inmobiliaria.gestion.security;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,6 +16,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -29,6 +33,12 @@ public class SecurityConfig {
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:${server.port:8080}}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
@@ -40,6 +50,8 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/api-docs", "/api-docs/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers("/", "/index.html", "/login.html", "/register.html", "/inmobiliaria.html", "/inmobiliaria-add.html", "/inmobiliaria-edit.html", "/propiedades.html", "/propiedad-add.html", "/propiedad-edit.html", "/conceptosPago.html", "/concepto-pago-add.html", "/concepto-pago-edit.html", "/concepto-pago-view.html", "/configuracionRecargos.html", "/configuracion-recargo-add.html", "/configuracion-recargo-edit.html", "/contratos-renta.html", "/contrato-add.html", "/contrato-edit.html", "/css/**", "/js/**", "/images/**", "/components/**", "/favicon.ico").permitAll()
                         .requestMatchers("/error", "/.well-known/**").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers(scrapeEnPuertoGestion()).permitAll()
                         .requestMatchers("/api/v1/inmobiliarias/**").authenticated()
                         .requestMatchers("/api/v1/propiedades/**").authenticated()
                         .requestMatchers("/api/v1/conceptos-pago/**").authenticated()
@@ -53,6 +65,17 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Matches the Prometheus scrape endpoint only when it is served on a dedicated management
+     * port, so the unauthenticated scrape is never reachable through the public application port.
+     */
+    private RequestMatcher scrapeEnPuertoGestion() {
+        RequestMatcher prometheus = new AntPathRequestMatcher("/actuator/prometheus");
+        return (HttpServletRequest request) -> managementPort != serverPort
+                && request.getLocalPort() == managementPort
+                && prometheus.matches(request);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -60,7 +83,7 @@ public class SecurityConfig {
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
         configuration.setAllowCredentials(true);
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "ETag", "Last-Modified"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
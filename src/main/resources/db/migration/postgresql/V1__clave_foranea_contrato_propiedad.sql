@@ -0,0 +1,16 @@
+-- The contrato_renta -> propiedad foreign key used to be generated by Hibernate under a
+-- random name. It is now owned by the migrations so that partitioning can drop it; schemas
+-- that already have the Hibernate one keep it.
+DO $$
+BEGIN
+    IF NOT EXISTS (
+            SELECT 1
+            FROM pg_constraint
+            WHERE contype = 'f'
+              AND conrelid = 'contrato_renta'::regclass
+              AND confrelid = 'propiedad'::regclass) THEN
+        ALTER TABLE contrato_renta
+            ADD CONSTRAINT fk_contrato_renta_propiedad
+            FOREIGN KEY (id_propiedad) REFERENCES propiedad (id_propiedad);
+    END IF;
+END $$;
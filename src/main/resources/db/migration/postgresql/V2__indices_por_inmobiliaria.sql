@@ -0,0 +1,23 @@
+-- Composite indexes leading with id_inmobiliaria for the per-agency lookups of the
+-- repositories. CONCURRENTLY keeps the tables writable while the indexes are built; Flyway
+-- runs this script outside a transaction because of it.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_propiedad_inmobiliaria_estatus
+    ON propiedad (id_inmobiliaria, estatus_propiedad);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_propiedad_inmobiliaria_tipo
+    ON propiedad (id_inmobiliaria, tipo_propiedad);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_conceptos_pago_inmobiliaria_activo
+    ON conceptos_pago (id_inmobiliaria, activo);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_conceptos_pago_inmobiliaria_tipo
+    ON conceptos_pago (id_inmobiliaria, tipo_concepto);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_conceptos_pago_inmobiliaria_nombre
+    ON conceptos_pago (id_inmobiliaria, nombre_concepto);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_configuracion_recargos_inmobiliaria_tipo
+    ON configuracion_recargos (id_inmobiliaria, tipo_recargo);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_configuracion_recargos_inmobiliaria_activo
+    ON configuracion_recargos (id_inmobiliaria, activo, dia_aplicacion);
+
+-- contrato_renta has no agency column; its per-agency queries go through the property
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contrato_renta_propiedad_estatus
+    ON contrato_renta (id_propiedad, estatus_contrato);
@@ -0,0 +1,24 @@
+-- Opening balances for the account ledger. Charges and surcharges billed before the ledger
+-- existed are booked as entries dated at the charge's creation, and each contract's running
+-- balance is seeded with their sum. Runs once on upgrade, before any payment is registered,
+-- so monto_pagado is still zero on every charge.
+
+INSERT INTO movimiento_cuenta (id_contrato, id_inmobiliaria, tipo_movimiento, monto, id_cargo,
+                               descripcion, fecha_movimiento)
+SELECT c.id_contrato, c.id_inmobiliaria, 'CARGO', c.monto, c.id_cargo, 'Cargo ' || c.periodo, c.fecha_creacion
+FROM cargo_renta c
+WHERE NOT EXISTS (SELECT 1 FROM movimiento_cuenta m WHERE m.id_cargo = c.id_cargo AND m.tipo_movimiento = 'CARGO');
+
+INSERT INTO movimiento_cuenta (id_contrato, id_inmobiliaria, tipo_movimiento, monto, id_cargo,
+                               descripcion, fecha_movimiento)
+SELECT c.id_contrato, c.id_inmobiliaria, 'RECARGO', c.monto_recargo, c.id_cargo,
+       'Recargo al ' || COALESCE(c.fecha_calculo_recargo, CURRENT_DATE), c.fecha_creacion
+FROM cargo_renta c
+WHERE c.monto_recargo <> 0
+  AND NOT EXISTS (SELECT 1 FROM movimiento_cuenta m WHERE m.id_cargo = c.id_cargo AND m.tipo_movimiento = 'RECARGO');
+
+INSERT INTO saldo_contrato (id_contrato, id_inmobiliaria, saldo, fecha_actualizacion)
+SELECT m.id_contrato, MIN(m.id_inmobiliaria), SUM(m.monto), now()
+FROM movimiento_cuenta m
+GROUP BY m.id_contrato
+ON CONFLICT (id_contrato) DO NOTHING;
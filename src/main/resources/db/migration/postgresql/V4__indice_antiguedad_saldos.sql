@@ -0,0 +1,5 @@
+-- Supports the receivables aging scan: one agency's unpaid charges, read grouped by contract.
+-- Not built CONCURRENTLY because cargo_renta may be hash-partitioned (V2_1), where
+-- PostgreSQL only accepts a plain CREATE INDEX on the parent table.
+CREATE INDEX IF NOT EXISTS idx_cargo_renta_inmobiliaria_estatus_contrato
+    ON cargo_renta (id_inmobiliaria, estatus_cargo, id_contrato);
@@ -0,0 +1,5 @@
+-- The relay only ever reads pending events. A partial index keeps that scan small however
+-- many published events are retained, and the entity's full status index is not needed for it.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_evento_outbox_pendientes
+    ON evento_outbox (id_evento)
+    WHERE estatus = 'PENDIENTE';
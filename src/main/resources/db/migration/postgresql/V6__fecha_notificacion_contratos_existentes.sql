@@ -0,0 +1,12 @@
+-- Backfills fecha_notificacion for contracts written before the column existed. Only the JPA
+-- callbacks, the bulk contract jobs and the importer set it, so older active contracts kept
+-- NULL and the due-date scan never picked them up. Contracts already notified for their
+-- current end date are left alone, as the notification job would have cleared the column.
+UPDATE contrato_renta c
+SET fecha_notificacion = c.fecha_fin_contrato - make_interval(days => c.notificacion_dias_previos)
+WHERE c.fecha_notificacion IS NULL
+  AND c.estatus_contrato = 'ACTIVO'
+  AND c.fecha_fin_contrato IS NOT NULL
+  AND c.notificacion_dias_previos IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM notificacion_contrato n
+                  WHERE n.id_contrato = c.id_contrato AND n.fecha_fin_contrato = c.fecha_fin_contrato);
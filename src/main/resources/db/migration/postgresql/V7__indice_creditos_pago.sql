@@ -0,0 +1,6 @@
+-- The billing run looks up the unallocated remainder of payments for every batch of
+-- contracts it bills. Only overpaid payments qualify, so a partial index keeps that lookup
+-- to a handful of rows however many fully applied payments accumulate.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pago_renta_credito
+    ON pago_renta (id_inmobiliaria, id_contrato)
+    WHERE estatus_pago = 'APLICADO' AND monto > monto_aplicado;
@@ -0,0 +1,83 @@
+-- Hash-partitions propiedad and cargo_renta by id_inmobiliaria into ${particiones} partitions,
+-- so per-agency queries are pruned to one partition and large agencies do not bloat the
+-- indexes small ones use. Only applied when persistence.particionado.enabled is set.
+--
+-- The tables are rebuilt and copied inside this migration's transaction, which holds an
+-- exclusive lock on them until it commits: run it in a maintenance window.
+--
+-- Primary and unique keys of a partitioned table must include the partition key, so:
+--   * propiedad's key becomes (id_inmobiliaria, id_propiedad) and the foreign keys that
+--     reference it are dropped; contract creation already checks that the property exists.
+--   * cargo_renta's key becomes (id_inmobiliaria, id_cargo) and its uniqueness per
+--     contract, concept and period is enforced together with id_inmobiliaria, which a
+--     contract determines anyway.
+-- Plain indexes on the ids keep lookups by primary key from the entities fast.
+--
+-- contrato_renta carries no id_inmobiliaria column and is left unpartitioned.
+
+-- propiedad
+
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS tabla, conname
+        FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'propiedad'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.tabla, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE propiedad RENAME TO propiedad_sin_particion;
+
+CREATE TABLE propiedad (LIKE propiedad_sin_particion INCLUDING DEFAULTS)
+    PARTITION BY HASH (id_inmobiliaria);
+ALTER TABLE propiedad ADD CONSTRAINT pk_propiedad PRIMARY KEY (id_inmobiliaria, id_propiedad);
+
+DO $$
+BEGIN
+    FOR i IN 0..${particiones} - 1 LOOP
+        EXECUTE format('CREATE TABLE propiedad_p%s PARTITION OF propiedad FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                       i, ${particiones}, i);
+    END LOOP;
+END $$;
+
+INSERT INTO propiedad SELECT * FROM propiedad_sin_particion;
+DROP TABLE propiedad_sin_particion;
+
+CREATE INDEX idx_propiedad_id ON propiedad (id_propiedad);
+CREATE INDEX idx_propiedad_inmobiliaria_estatus ON propiedad (id_inmobiliaria, estatus_propiedad);
+CREATE INDEX idx_propiedad_inmobiliaria_tipo ON propiedad (id_inmobiliaria, tipo_propiedad);
+
+-- cargo_renta
+
+ALTER TABLE cargo_renta RENAME TO cargo_renta_sin_particion;
+
+-- Identity columns are not supported on partitioned tables before PostgreSQL 17, so the
+-- id keeps being generated by the database through a plain sequence default
+CREATE TABLE cargo_renta (LIKE cargo_renta_sin_particion INCLUDING DEFAULTS)
+    PARTITION BY HASH (id_inmobiliaria);
+CREATE SEQUENCE cargo_renta_id_seq OWNED BY cargo_renta.id_cargo;
+ALTER TABLE cargo_renta ALTER COLUMN id_cargo SET DEFAULT nextval('cargo_renta_id_seq');
+ALTER TABLE cargo_renta ADD CONSTRAINT pk_cargo_renta PRIMARY KEY (id_inmobiliaria, id_cargo);
+ALTER TABLE cargo_renta ADD CONSTRAINT uk_cargo_renta_inmobiliaria_contrato_concepto_periodo
+    UNIQUE (id_inmobiliaria, id_contrato, id_concepto, periodo);
+
+DO $$
+BEGIN
+    FOR i IN 0..${particiones} - 1 LOOP
+        EXECUTE format('CREATE TABLE cargo_renta_p%s PARTITION OF cargo_renta FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                       i, ${particiones}, i);
+    END LOOP;
+END $$;
+
+INSERT INTO cargo_renta SELECT * FROM cargo_renta_sin_particion;
+SELECT setval('cargo_renta_id_seq', COALESCE((SELECT MAX(id_cargo) FROM cargo_renta), 0) + 1, false);
+DROP TABLE cargo_renta_sin_particion;
+
+CREATE INDEX idx_cargo_renta_id ON cargo_renta (id_cargo);
+CREATE INDEX idx_cargo_renta_contrato ON cargo_renta (id_contrato);
+CREATE INDEX idx_cargo_renta_inmobiliaria_periodo ON cargo_renta (id_inmobiliaria, periodo);
+CREATE INDEX idx_cargo_renta_estatus_vencimiento ON cargo_renta (estatus_cargo, fecha_vencimiento);
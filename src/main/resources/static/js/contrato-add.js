@@ -38,6 +38,7 @@ document.addEventListener('DOMContentLoaded', () => {
                 fechaInicioContrato: new Date(fechaInicioContrato).toISOString(),
                 duracionMeses: parseInt(duracionMeses),
                 depositoGarantia: parseFloat(document.getElementById('depositoGarantia').value) || null,
+                montoRenta: parseFloat(document.getElementById('montoRenta').value) || null,
                 emailNotificaciones: document.getElementById('emailNotificaciones').value || null,
                 telefonoNotificaciones: document.getElementById('telefonoNotificaciones').value || null,
                 notificacionDiasPrevios: parseInt(document.getElementById('notificacionDiasPrevios').value) || null,
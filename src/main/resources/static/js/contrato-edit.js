@@ -43,6 +43,7 @@ document.addEventListener('DOMContentLoaded', () => {
             document.getElementById('fechaInicioContrato').value = formatDateTimeLocal(contrato.fechaInicioContrato);
             document.getElementById('duracionMeses').value = contrato.duracionMeses || '';
             document.getElementById('depositoGarantia').value = contrato.depositoGarantia || '';
+            document.getElementById('montoRenta').value = contrato.montoRenta || '';
             document.getElementById('emailNotificaciones').value = contrato.emailNotificaciones || '';
             document.getElementById('telefonoNotificaciones').value = contrato.telefonoNotificaciones || '';
             document.getElementById('notificacionDiasPrevios').value = contrato.notificacionDiasPrevios || '';
@@ -87,6 +88,7 @@ document.addEventListener('DOMContentLoaded', () => {
                 fechaInicioContrato: new Date(fechaInicioContrato).toISOString(),
                 duracionMeses: parseInt(duracionMeses),
                 depositoGarantia: parseFloat(document.getElementById('depositoGarantia').value) || null,
+                montoRenta: parseFloat(document.getElementById('montoRenta').value) || null,
                 emailNotificaciones: document.getElementById('emailNotificaciones').value || null,
                 telefonoNotificaciones: document.getElementById('telefonoNotificaciones').value || null,
                 notificacionDiasPrevios: parseInt(document.getElementById('notificacionDiasPrevios').value) || null,
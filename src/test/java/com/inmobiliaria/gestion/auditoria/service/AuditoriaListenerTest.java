@@ -0,0 +1,85 @@
+package com.inmobiliaria.gestion.auditoria.service;
+
+import com.inmobiliaria.gestion.auditoria.dto.CambioCampo;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AuditoriaListenerTest {
+
+    @Mock
+    private EntityPersister persister;
+
+    @Mock
+    private Type tipoBasico;
+
+    @Mock
+    private Type tipoAsociacion;
+
+    @BeforeEach
+    void setUp() {
+        when(tipoAsociacion.isAssociationType()).thenReturn(true);
+        when(persister.getPropertyNames()).thenReturn(new String[]{"estatusContrato", "montoRenta", "propiedad", "version"});
+        when(persister.getPropertyTypes()).thenReturn(new Type[]{tipoBasico, tipoBasico, tipoAsociacion, tipoBasico});
+        when(persister.isVersioned()).thenReturn(true);
+        when(persister.getVersionProperty()).thenReturn(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void diferencias_Update_ReportsOnlyChangedBasicFields() {
+        // Given
+        Object[] anterior = {"ACTIVO", new BigDecimal("12000.0"), new Object(), 4L};
+        Object[] nuevo = {"TERMINADO", new BigDecimal("12000.00"), new Object(), 5L};
+
+        // When
+        List<CambioCampo> cambios = AuditoriaListener.diferencias(persister, anterior, nuevo);
+
+        // Then
+        assertThat(cambios).containsExactly(new CambioCampo("estatusContrato", "ACTIVO", "TERMINADO"));
+    }
+
+    @Test
+    void diferencias_Insert_ReportsEveryNonNullField() {
+        // Given
+        Object[] nuevo = {"ACTIVO", null, new Object(), 0L};
+
+        // When
+        List<CambioCampo> cambios = AuditoriaListener.diferencias(persister, null, nuevo);
+
+        // Then
+        assertThat(cambios).containsExactly(new CambioCampo("estatusContrato", null, "ACTIVO"));
+    }
+
+    @Test
+    void usuarioActual_UsesAuthenticatedNameOrSystem() {
+        // Given / When / Then
+        assertThat(AuditoriaListener.usuarioActual()).isEqualTo(AuditoriaListener.USUARIO_SISTEMA);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        assertThat(AuditoriaListener.usuarioActual()).isEqualTo("admin");
+    }
+}
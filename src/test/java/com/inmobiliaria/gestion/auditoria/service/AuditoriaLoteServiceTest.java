@@ -0,0 +1,168 @@
+package com.inmobiliaria.gestion.auditoria.service;
+
+import com.inmobiliaria.gestion.auditoria.dto.CambioCampo;
+import com.inmobiliaria.gestion.auditoria.model.AuditoriaCambio;
+import com.inmobiliaria.gestion.auditoria.model.EntidadAuditada;
+import com.inmobiliaria.gestion.auditoria.model.RegistroAuditoria;
+import com.inmobiliaria.gestion.cobranza.model.MovimientoCuenta;
+import com.inmobiliaria.gestion.cobranza.model.PagoRenta;
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import com.inmobiliaria.gestion.facturacion.model.CargoRenta;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AuditoriaLoteServiceTest {
+
+    private static final LocalDateTime FIN = LocalDateTime.of(2025, 1, 15, 0, 0);
+    private static final LocalDateTime CORTE = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private EscritorAuditoria escritorAuditoria;
+
+    @Mock
+    private SessionFactoryImplementor sessionFactory;
+
+    @Mock
+    private MappingMetamodelImplementor metamodel;
+
+    @Mock
+    private PersistenceUnitUtil persistenceUnitUtil;
+
+    @Mock
+    private EntityPersister persister;
+
+    @Mock
+    private Type tipoBasico;
+
+    @InjectMocks
+    private AuditoriaLoteService auditoriaLoteService;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        when(entityManagerFactory.getPersistenceUnitUtil()).thenReturn(persistenceUnitUtil);
+        when(sessionFactory.getMappingMetamodel()).thenReturn(metamodel);
+        when(metamodel.getEntityDescriptor(ContratoRenta.class)).thenReturn(persister);
+        when(persister.getPropertyNames()).thenReturn(new String[]{"estatusContrato", "fechaFinContrato", "montoRenta"});
+        when(persister.getPropertyTypes()).thenReturn(new Type[]{tipoBasico, tipoBasico, tipoBasico});
+        when(persister.getPropertyIndex("estatusContrato")).thenReturn(0);
+        when(persister.getPropertyIndex("fechaFinContrato")).thenReturn(1);
+        when(persistenceUnitUtil.getIdentifier(any())).thenAnswer(invocation ->
+                invocation.<ContratoRenta>getArgument(0).getIdContrato());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registrarModificaciones_RecordsPreviousValuesOfChangedFieldsOnly() {
+        // Given
+        ContratoRenta terminado = contrato(1, "TERMINADO", CORTE);
+        ContratoRenta sinCambios = contrato(2, "TERMINADO", CORTE);
+        Map<String, Object> anteriores = new HashMap<>();
+        anteriores.put("estatusContrato", "ACTIVO");
+        anteriores.put("fechaFinContrato", FIN);
+
+        // When
+        auditoriaLoteService.registrarModificaciones(List.of(
+                new AuditoriaLoteService.Modificacion(terminado, anteriores),
+                new AuditoriaLoteService.Modificacion(sinCambios, Map.of("estatusContrato", "TERMINADO"))), "admin");
+
+        // Then
+        ArgumentCaptor<List<RegistroAuditoria>> registros = ArgumentCaptor.forClass(List.class);
+        verify(escritorAuditoria).escribirEnTransaccion(registros.capture());
+        assertThat(registros.getValue()).singleElement().satisfies(registro -> {
+            assertThat(registro.entidad()).isEqualTo(EntidadAuditada.CONTRATO_RENTA);
+            assertThat(registro.idEntidad()).isEqualTo("1");
+            assertThat(registro.operacion()).isEqualTo(AuditoriaCambio.OPERACION_MODIFICACION);
+            assertThat(registro.usuario()).isEqualTo("admin");
+            assertThat(registro.cambios()).containsExactly(
+                    new CambioCampo("estatusContrato", "ACTIVO", "TERMINADO"),
+                    new CambioCampo("fechaFinContrato", FIN, CORTE));
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registrarAltas_RecordsEveryNonNullField() {
+        // Given
+        ContratoRenta contrato = contrato(500, "ACTIVO", FIN);
+
+        // When
+        auditoriaLoteService.registrarAltas(List.of(contrato), "admin");
+
+        // Then
+        ArgumentCaptor<List<RegistroAuditoria>> registros = ArgumentCaptor.forClass(List.class);
+        verify(escritorAuditoria).escribirEnTransaccion(registros.capture());
+        RegistroAuditoria registro = registros.getValue().get(0);
+        assertThat(registro.idEntidad()).isEqualTo("500");
+        assertThat(registro.operacion()).isEqualTo(AuditoriaCambio.OPERACION_ALTA);
+        assertThat(registro.cambios()).extracting(CambioCampo::campo)
+                .containsExactly("estatusContrato", "fechaFinContrato", "montoRenta");
+    }
+
+    @Test
+    void billingAndLedgerEntities_AreNotAudited() {
+        // Given / When / Then
+        assertThat(EntidadAuditada.de(CargoRenta.class)).isNull();
+        assertThat(EntidadAuditada.de(PagoRenta.class)).isNull();
+        assertThat(EntidadAuditada.de(MovimientoCuenta.class)).isNull();
+
+        CargoRenta cargo = new CargoRenta();
+        when(metamodel.getEntityDescriptor(CargoRenta.class)).thenReturn(persister);
+        assertThatThrownBy(() -> auditoriaLoteService.registrarAltas(List.of(cargo), "admin"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CargoRenta");
+        verifyNoInteractions(escritorAuditoria);
+    }
+
+    @Test
+    void registrarModificaciones_NothingChanged_WritesNothing() {
+        // Given
+        ContratoRenta contrato = contrato(3, "ACTIVO", FIN);
+
+        // When
+        auditoriaLoteService.registrarModificaciones(List.of(
+                new AuditoriaLoteService.Modificacion(contrato, Map.of("estatusContrato", "ACTIVO"))), "admin");
+
+        // Then
+        verifyNoInteractions(escritorAuditoria);
+    }
+
+    private ContratoRenta contrato(int id, String estatus, LocalDateTime fechaFin) {
+        ContratoRenta contrato = ContratoRenta.builder()
+                .idContrato(id)
+                .estatusContrato(estatus)
+                .fechaFinContrato(fechaFin)
+                .montoRenta(new BigDecimal("12000.00"))
+                .build();
+        when(persister.getValues(contrato)).thenReturn(new Object[]{estatus, fechaFin, contrato.getMontoRenta()});
+        return contrato;
+    }
+}
@@ -0,0 +1,124 @@
+package com.inmobiliaria.gestion.auditoria.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.inmobiliaria.gestion.auditoria.dto.CambioCampo;
+import com.inmobiliaria.gestion.auditoria.model.AuditoriaCambio;
+import com.inmobiliaria.gestion.auditoria.model.EntidadAuditada;
+import com.inmobiliaria.gestion.auditoria.model.RegistroAuditoria;
+import com.inmobiliaria.gestion.auditoria.repository.AuditoriaCambioJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EscritorAuditoriaTest {
+
+    @Mock
+    private AuditoriaCambioJdbcRepository auditoriaCambioJdbcRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EscritorAuditoria escritorAuditoria;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        escritorAuditoria = new EscritorAuditoria(auditoriaCambioJdbcRepository, objectMapper, meterRegistry, 3);
+        ReflectionTestUtils.setField(escritorAuditoria, "loteSize", 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void vaciar_StoresQueuedEntriesInBatchesWithChangesAsJson() {
+        // Given
+        escritorAuditoria.encolar(registro("1"));
+        escritorAuditoria.encolar(registro("2"));
+        escritorAuditoria.encolar(registro("3"));
+
+        // When
+        escritorAuditoria.vaciar();
+
+        // Then
+        ArgumentCaptor<List<AuditoriaCambioJdbcRepository.Fila>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(auditoriaCambioJdbcRepository, times(2)).insertarLote(lotes.capture());
+        assertThat(lotes.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        AuditoriaCambioJdbcRepository.Fila fila = lotes.getAllValues().get(0).get(0);
+        assertThat(fila.entidad()).isEqualTo("CONTRATO_RENTA");
+        assertThat(fila.idEntidad()).isEqualTo("1");
+        assertThat(fila.usuario()).isEqualTo("admin");
+        assertThat(fila.cambios()).isEqualTo("[{\"campo\":\"montoRenta\",\"anterior\":12000.00,\"nuevo\":12500.00}]");
+    }
+
+    @Test
+    void encolar_FullQueue_DropsEntryAndCountsIt() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            escritorAuditoria.encolar(registro(String.valueOf(i)));
+        }
+
+        // When
+        escritorAuditoria.encolar(registro("4"));
+
+        // Then
+        assertThat(meterRegistry.counter(EscritorAuditoria.DESCARTADOS).count()).isEqualTo(1);
+        assertThat(meterRegistry.get(EscritorAuditoria.PENDIENTES).gauge().value()).isEqualTo(3);
+        verifyNoInteractions(auditoriaCambioJdbcRepository);
+    }
+
+    @Test
+    void vaciar_BatchFailure_CountsLostEntriesAndKeepsGoing() {
+        // Given
+        escritorAuditoria.encolar(registro("1"));
+        escritorAuditoria.encolar(registro("2"));
+        escritorAuditoria.encolar(registro("3"));
+        doThrow(new IllegalStateException("connection lost")).doNothing()
+                .when(auditoriaCambioJdbcRepository).insertarLote(anyList());
+
+        // When
+        escritorAuditoria.vaciar();
+
+        // Then
+        assertThat(meterRegistry.counter(EscritorAuditoria.FALLIDOS).count()).isEqualTo(2);
+        verify(auditoriaCambioJdbcRepository, times(2)).insertarLote(anyList());
+    }
+
+    @Test
+    void escribirEnTransaccion_StoresEntriesAtOnceAndPropagatesFailures() {
+        // Given
+        doNothing().doThrow(new IllegalStateException("connection lost"))
+                .when(auditoriaCambioJdbcRepository).insertarLote(anyList());
+
+        // When
+        escritorAuditoria.escribirEnTransaccion(List.of(registro("1"), registro("2")));
+
+        // Then
+        verify(auditoriaCambioJdbcRepository).insertarLote(argThat(filas -> filas.size() == 2));
+        assertThat(meterRegistry.get(EscritorAuditoria.PENDIENTES).gauge().value()).isZero();
+        assertThatThrownBy(() -> escritorAuditoria.escribirEnTransaccion(List.of(registro("3"))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.counter(EscritorAuditoria.FALLIDOS).count()).isZero();
+    }
+
+    private static RegistroAuditoria registro(String idEntidad) {
+        return new RegistroAuditoria(EntidadAuditada.CONTRATO_RENTA, idEntidad, AuditoriaCambio.OPERACION_MODIFICACION,
+                "admin", LocalDateTime.of(2024, 6, 1, 10, 0),
+                List.of(new CambioCampo("montoRenta", new BigDecimal("12000.00"), new BigDecimal("12500.00"))));
+    }
+}
@@ -11,12 +11,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -134,8 +138,71 @@ class UserDetailsServiceImplTest {
         // Then
         assertNotNull(userDetails);
         assertEquals("disabled", userDetails.getUsername());
-        // Note: The UserDetailsImpl always returns true for isEnabled()
-        // This might be something to review in the actual implementation
-        assertTrue(userDetails.isEnabled());
+        assertFalse(userDetails.isEnabled());
+    }
+
+    @Test
+    void loadUserByUsername_WhenCached_ShouldNotQueryRepositoryAgain() {
+        // Given
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // When
+        UserDetails first = userDetailsService.loadUserByUsername("testuser");
+        UserDetails second = userDetailsService.loadUserByUsername("testuser");
+
+        // Then
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void loadUserByUsername_AfterEviction_ShouldReloadUser() {
+        // Given
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        userDetailsService.loadUserByUsername("testuser");
+
+        // When
+        userDetailsService.evict("testuser");
+        userDetailsService.loadUserByUsername("testuser");
+
+        // Then
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void loadUserByUsername_WhenTtlExpired_ShouldReloadUser() {
+        // Given
+        ReflectionTestUtils.setField(userDetailsService, "cacheTtl", Duration.ZERO);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // When
+        userDetailsService.loadUserByUsername("testuser");
+        userDetailsService.loadUserByUsername("testuser");
+
+        // Then
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void loadUserByUsername_WhenCacheFull_ShouldStayWithinMaxSize() {
+        // Given
+        ReflectionTestUtils.setField(userDetailsService, "cacheMaxSize", 1);
+        User otherUser = User.builder()
+                .id(4L)
+                .username("other")
+                .email("other@example.com")
+                .password("password")
+                .roles(Set.of())
+                .build();
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.findByUsername("other")).thenReturn(Optional.of(otherUser));
+
+        // When
+        userDetailsService.loadUserByUsername("testuser");
+        userDetailsService.loadUserByUsername("other");
+        userDetailsService.loadUserByUsername("testuser");
+
+        // Then
+        verify(userRepository, times(2)).findByUsername("testuser");
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.inmobiliaria.gestion.cambios.service;
+
+import com.inmobiliaria.gestion.cambios.repository.CambioTablaJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CambioTablaServiceTest {
+
+    @Mock
+    private CambioTablaJdbcRepository cambioTablaJdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private CambioTablaService cambioTablaService;
+
+    @AfterEach
+    void tearDown() {
+        finalizar(TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    @Test
+    void registrarCambio_InsideTransaction_ShouldBumpEachTableOnceAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cambioTablaService.registrarCambio("propiedad");
+        cambioTablaService.registrarCambio("propiedad");
+        cambioTablaService.registrarCambio("contrato_renta");
+
+        // Then
+        verifyNoInteractions(cambioTablaJdbcRepository);
+        finalizar(TransactionSynchronization.STATUS_COMMITTED);
+        InOrder orden = inOrder(transactionManager, cambioTablaJdbcRepository);
+        orden.verify(transactionManager).getTransaction(argThat(definicion ->
+                definicion.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        orden.verify(cambioTablaJdbcRepository).incrementar("propiedad");
+        verify(cambioTablaJdbcRepository, times(1)).incrementar("propiedad");
+        verify(cambioTablaJdbcRepository, times(1)).incrementar("contrato_renta");
+    }
+
+    @Test
+    void registrarCambio_WhenTransactionRollsBack_ShouldNotBump() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        cambioTablaService.registrarCambio("propiedad");
+
+        // When
+        finalizar(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        verifyNoInteractions(cambioTablaJdbcRepository);
+    }
+
+    @Test
+    void registrarCambio_InNextTransaction_ShouldBumpAgain() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        cambioTablaService.registrarCambio("propiedad");
+        finalizar(TransactionSynchronization.STATUS_COMMITTED);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cambioTablaService.registrarCambio("propiedad");
+        finalizar(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        verify(cambioTablaJdbcRepository, times(2)).incrementar("propiedad");
+    }
+
+    @Test
+    void registrarCambio_WhenBumpFails_ShouldStillBumpTheOtherTables() {
+        // Given
+        doThrow(new QueryTimeoutException("lock timeout")).when(cambioTablaJdbcRepository).incrementar("propiedad");
+        TransactionSynchronizationManager.initSynchronization();
+        cambioTablaService.registrarCambio("propiedad");
+        cambioTablaService.registrarCambio("contrato_renta");
+
+        // When
+        finalizar(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        verify(cambioTablaJdbcRepository).incrementar("contrato_renta");
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void registrarCambio_WithoutTransaction_ShouldBumpEveryTime() {
+        // When
+        cambioTablaService.registrarCambio("propiedad");
+        cambioTablaService.registrarCambio("propiedad");
+
+        // Then
+        verify(cambioTablaJdbcRepository, times(2)).incrementar("propiedad");
+    }
+
+    private static void finalizar(int status) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            sincronizaciones.forEach(TransactionSynchronization::afterCommit);
+        }
+        sincronizaciones.forEach(sincronizacion -> sincronizacion.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
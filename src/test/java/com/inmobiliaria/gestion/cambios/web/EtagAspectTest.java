@@ -0,0 +1,150 @@
+package com.inmobiliaria.gestion.cambios.web;
+
+import com.inmobiliaria.gestion.cambios.model.CambioTabla;
+import com.inmobiliaria.gestion.cambios.model.TablaVersionada;
+import com.inmobiliaria.gestion.cambios.repository.CambioTablaJdbcRepository;
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EtagAspectTest {
+
+    @Mock
+    private CambioTablaJdbcRepository cambioTablaJdbcRepository;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @InjectMocks
+    private EtagAspect etagAspect;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        request = new MockHttpServletRequest("GET", "/api/v1/propiedades/5");
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        when(joinPoint.proceed()).thenReturn("body");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void entidad_WhenEtagMatches_ShouldReturnNotModifiedWithoutCallingHandler() throws Throwable {
+        // Given
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "5"));
+        request.addHeader("If-None-Match", "\"5-3\"");
+        when(cambioTablaJdbcRepository.findVersionEntidad(any(TablaVersionada.class), eq("5"))).thenReturn(Optional.of(3L));
+
+        // When
+        Object resultado = etagAspect.entidad(joinPoint, etagEntidad());
+
+        // Then
+        assertThat(resultado).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void entidad_WhenVersionChanged_ShouldProceedWithNewEtag() throws Throwable {
+        // Given
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "5"));
+        request.addHeader("If-None-Match", "\"5-3\"");
+        when(cambioTablaJdbcRepository.findVersionEntidad(any(TablaVersionada.class), eq("5"))).thenReturn(Optional.of(4L));
+
+        // When
+        Object resultado = etagAspect.entidad(joinPoint, etagEntidad());
+
+        // Then
+        assertThat(resultado).isEqualTo("body");
+        assertThat(response.getHeader("ETag")).isEqualTo("\"5-4\"");
+    }
+
+    @Test
+    void entidad_WhenRowMissing_ShouldProceed() throws Throwable {
+        // Given
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "5"));
+        when(cambioTablaJdbcRepository.findVersionEntidad(any(TablaVersionada.class), eq("5"))).thenReturn(Optional.empty());
+
+        // When
+        Object resultado = etagAspect.entidad(joinPoint, etagEntidad());
+
+        // Then
+        assertThat(resultado).isEqualTo("body");
+        assertThat(response.getHeader("ETag")).isNull();
+    }
+
+    @Test
+    void lista_WhenCounterMatches_ShouldReturnNotModified() throws Throwable {
+        // Given
+        request.addHeader("If-None-Match", "\"propiedad-7\"");
+        when(cambioTablaJdbcRepository.findByTabla("propiedad"))
+                .thenReturn(Optional.of(new CambioTabla("propiedad", 7L, LocalDateTime.of(2024, 3, 1, 12, 0))));
+
+        // When
+        Object resultado = etagAspect.lista(joinPoint, etagLista());
+
+        // Then
+        assertThat(resultado).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void lista_WhenCounterChanged_ShouldProceedWithValidators() throws Throwable {
+        // Given
+        request.addHeader("If-None-Match", "\"propiedad-7\"");
+        when(cambioTablaJdbcRepository.findByTabla("propiedad"))
+                .thenReturn(Optional.of(new CambioTabla("propiedad", 8L, LocalDateTime.of(2024, 3, 1, 12, 0))));
+
+        // When
+        Object resultado = etagAspect.lista(joinPoint, etagLista());
+
+        // Then
+        assertThat(resultado).isEqualTo("body");
+        assertThat(response.getHeader("ETag")).isEqualTo("\"propiedad-8\"");
+        assertThat(response.getHeader("Last-Modified")).isNotNull();
+    }
+
+    @EtagEntidad(Propiedad.class)
+    @EtagLista(Propiedad.class)
+    private static void anotado() {
+    }
+
+    private static EtagEntidad etagEntidad() throws NoSuchMethodException {
+        return EtagAspectTest.class.getDeclaredMethod("anotado").getAnnotation(EtagEntidad.class);
+    }
+
+    private static EtagLista etagLista() throws NoSuchMethodException {
+        return EtagAspectTest.class.getDeclaredMethod("anotado").getAnnotation(EtagLista.class);
+    }
+}
@@ -0,0 +1,129 @@
+package com.inmobiliaria.gestion.cobranza.service;
+
+import com.inmobiliaria.gestion.cobranza.dto.AntiguedadSaldoFila;
+import com.inmobiliaria.gestion.cobranza.dto.AntiguedadSaldosReport;
+import com.inmobiliaria.gestion.cobranza.dto.NivelAntiguedad;
+import com.inmobiliaria.gestion.cobranza.repository.AntiguedadSaldosJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AntiguedadSaldosServiceTest {
+
+    private static final LocalDate CORTE = LocalDate.of(2024, 6, 30);
+
+    @Mock
+    private AntiguedadSaldosJdbcRepository antiguedadSaldosJdbcRepository;
+
+    @InjectMocks
+    private AntiguedadSaldosService antiguedadSaldosService;
+
+    @BeforeEach
+    void setUp() {
+        antiguedadSaldosService.init();
+        List<AntiguedadSaldoFila> filas = List.of(
+                fila(1, 10, "0", "1000", "0", "0", "0"),
+                fila(2, 10, "500", "0", "0", "0", "2000"),
+                fila(3, 20, "0", "0", "800", "700", "0"));
+        doAnswer(invocation -> {
+            Consumer<AntiguedadSaldoFila> consumer = invocation.getArgument(3);
+            filas.forEach(consumer);
+            return null;
+        }).when(antiguedadSaldosJdbcRepository).recorrerPorContrato(eq(1L), eq(CORTE), anyInt(), any());
+    }
+
+    @Test
+    void getReporte_PorContrato_OrdersByBalanceAndSumsTotals() {
+        // When
+        AntiguedadSaldosReport reporte = antiguedadSaldosService.getReporte(1L, CORTE, NivelAntiguedad.CONTRATO, 0, 50);
+
+        // Then
+        assertThat(reporte.content()).extracting(AntiguedadSaldoFila::idContrato).containsExactly(2, 3, 1);
+        assertThat(reporte.totalElements()).isEqualTo(3);
+        assertThat(reporte.totales().saldoPorVencer()).isEqualByComparingTo("500");
+        assertThat(reporte.totales().saldo0a30()).isEqualByComparingTo("1000");
+        assertThat(reporte.totales().saldo31a60()).isEqualByComparingTo("800");
+        assertThat(reporte.totales().saldo61a90()).isEqualByComparingTo("700");
+        assertThat(reporte.totales().saldoMas90()).isEqualByComparingTo("2000");
+        assertThat(reporte.totales().saldoTotal()).isEqualByComparingTo("5000");
+    }
+
+    @Test
+    void getReporte_PorPropiedad_FoldsContractsOfTheSameProperty() {
+        // When
+        AntiguedadSaldosReport reporte = antiguedadSaldosService.getReporte(1L, CORTE, NivelAntiguedad.PROPIEDAD, 0, 50);
+
+        // Then
+        assertThat(reporte.content()).hasSize(2);
+        AntiguedadSaldoFila propiedad = reporte.content().get(0);
+        assertThat(propiedad.idPropiedad()).isEqualTo(10);
+        assertThat(propiedad.idContrato()).isNull();
+        assertThat(propiedad.saldoPorVencer()).isEqualByComparingTo("500");
+        assertThat(propiedad.saldo0a30()).isEqualByComparingTo("1000");
+        assertThat(propiedad.saldoMas90()).isEqualByComparingTo("2000");
+        assertThat(propiedad.saldoTotal()).isEqualByComparingTo("3500");
+        assertThat(reporte.content().get(1).saldoTotal()).isEqualByComparingTo("1500");
+    }
+
+    @Test
+    void getReporte_PagesFromCachedSnapshot() {
+        // When
+        AntiguedadSaldosReport primera = antiguedadSaldosService.getReporte(1L, CORTE, NivelAntiguedad.CONTRATO, 0, 2);
+        AntiguedadSaldosReport segunda = antiguedadSaldosService.getReporte(1L, CORTE, NivelAntiguedad.CONTRATO, 1, 2);
+
+        // Then
+        assertThat(primera.content()).extracting(AntiguedadSaldoFila::idContrato).containsExactly(2, 3);
+        assertThat(segunda.content()).extracting(AntiguedadSaldoFila::idContrato).containsExactly(1);
+        assertThat(segunda.totalPages()).isEqualTo(2);
+        assertThat(segunda.generadoEn()).isEqualTo(primera.generadoEn());
+        verify(antiguedadSaldosJdbcRepository, times(1)).recorrerPorContrato(eq(1L), eq(CORTE), anyInt(), any());
+    }
+
+    @Test
+    void invalidar_RecomputesOnNextRequest() {
+        // Given
+        antiguedadSaldosService.getReporte(1L, CORTE, NivelAntiguedad.CONTRATO, 0, 50);
+
+        // When
+        antiguedadSaldosService.invalidar(1L);
+        antiguedadSaldosService.getReporte(1L, CORTE, NivelAntiguedad.CONTRATO, 0, 50);
+
+        // Then
+        verify(antiguedadSaldosJdbcRepository, times(2)).recorrerPorContrato(eq(1L), eq(CORTE), anyInt(), any());
+    }
+
+    @Test
+    void getReporte_NegativePage_ThrowsException() {
+        // When / Then
+        assertThatThrownBy(() -> antiguedadSaldosService.getReporte(1L, CORTE, NivelAntiguedad.CONTRATO, -1, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(antiguedadSaldosJdbcRepository);
+    }
+
+    private static AntiguedadSaldoFila fila(Integer idContrato, Integer idPropiedad, String porVencer, String d0a30,
+                                            String d31a60, String d61a90, String mas90) {
+        BigDecimal total = new BigDecimal(porVencer).add(new BigDecimal(d0a30)).add(new BigDecimal(d31a60))
+                .add(new BigDecimal(d61a90)).add(new BigDecimal(mas90));
+        return new AntiguedadSaldoFila(idContrato, idPropiedad, new BigDecimal(porVencer), new BigDecimal(d0a30),
+                new BigDecimal(d31a60), new BigDecimal(d61a90), new BigDecimal(mas90), total);
+    }
+}
@@ -0,0 +1,75 @@
+package com.inmobiliaria.gestion.cobranza.service;
+
+import com.inmobiliaria.gestion.cobranza.dto.CargoPendiente;
+import com.inmobiliaria.gestion.cobranza.model.AplicacionPago;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AsignadorPagos Tests")
+class AsignadorPagosTest {
+
+    private final List<CargoPendiente> pendientes = List.of(
+            new CargoPendiente(1L, LocalDate.of(2024, 4, 1), new BigDecimal("1000.00")),
+            new CargoPendiente(2L, LocalDate.of(2024, 5, 1), new BigDecimal("1000.00")),
+            new CargoPendiente(3L, LocalDate.of(2024, 6, 1), new BigDecimal("1000.00")));
+
+    @Test
+    void asignar_ShouldSettleOldestChargesFirstAndSplitTheLast() {
+        // When
+        List<AplicacionPago> aplicaciones = AsignadorPagos.asignar(9L, new BigDecimal("1500.00"), pendientes);
+
+        // Then
+        assertThat(aplicaciones).extracting(AplicacionPago::getIdCargo).containsExactly(1L, 2L);
+        assertThat(aplicaciones.get(0).getMonto()).isEqualByComparingTo("1000.00");
+        assertThat(aplicaciones.get(1).getMonto()).isEqualByComparingTo("500.00");
+        assertThat(aplicaciones).allSatisfy(aplicacion -> assertThat(aplicacion.getIdPago()).isEqualTo(9L));
+    }
+
+    @Test
+    void asignar_WhenPaymentExceedsDebt_ShouldLeaveRemainderUnapplied() {
+        // When
+        List<AplicacionPago> aplicaciones = AsignadorPagos.asignar(9L, new BigDecimal("5000.00"), pendientes);
+
+        // Then
+        assertThat(aplicaciones).hasSize(3);
+        assertThat(aplicaciones.stream().map(AplicacionPago::getMonto).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo("3000.00");
+    }
+
+    @Test
+    void asignar_ShouldSkipChargesWithNothingOwed() {
+        // Given
+        List<CargoPendiente> conSaldado = List.of(
+                new CargoPendiente(1L, LocalDate.of(2024, 4, 1), BigDecimal.ZERO),
+                new CargoPendiente(2L, LocalDate.of(2024, 5, 1), new BigDecimal("300.00")));
+
+        // When
+        List<AplicacionPago> aplicaciones = AsignadorPagos.asignar(9L, new BigDecimal("100.00"), conSaldado);
+
+        // Then
+        assertThat(aplicaciones).singleElement()
+                .satisfies(aplicacion -> assertThat(aplicacion.getIdCargo()).isEqualTo(2L));
+    }
+
+    @Test
+    void descontar_ShouldReduceWhatIsOwedByTheAllocations() {
+        // Given
+        List<AplicacionPago> aplicaciones = AsignadorPagos.asignar(9L, new BigDecimal("1500.00"), pendientes);
+
+        // When
+        List<CargoPendiente> restantes = AsignadorPagos.descontar(pendientes, aplicaciones);
+
+        // Then
+        assertThat(restantes).extracting(CargoPendiente::pendiente)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.ZERO, new BigDecimal("500.00"), new BigDecimal("1000.00"));
+        assertThat(AsignadorPagos.asignar(10L, new BigDecimal("600.00"), restantes))
+                .extracting(AplicacionPago::getIdCargo).containsExactly(2L, 3L);
+    }
+}
@@ -0,0 +1,272 @@
+package com.inmobiliaria.gestion.cobranza.service;
+
+import com.inmobiliaria.gestion.cobranza.dto.CargoPendiente;
+import com.inmobiliaria.gestion.cobranza.dto.CreditoDisponible;
+import com.inmobiliaria.gestion.cobranza.dto.PagoDTO;
+import com.inmobiliaria.gestion.cobranza.dto.PagoRegistrado;
+import com.inmobiliaria.gestion.cobranza.dto.PagoRequest;
+import com.inmobiliaria.gestion.cobranza.model.AplicacionPago;
+import com.inmobiliaria.gestion.cobranza.model.MovimientoCuenta;
+import com.inmobiliaria.gestion.cobranza.model.PagoRenta;
+import com.inmobiliaria.gestion.cobranza.repository.AplicacionPagoRepository;
+import com.inmobiliaria.gestion.cobranza.repository.LibroCuentaJdbcRepository;
+import com.inmobiliaria.gestion.cobranza.repository.MovimientoCuentaRepository;
+import com.inmobiliaria.gestion.cobranza.repository.PagoRentaRepository;
+import com.inmobiliaria.gestion.cobranza.repository.SaldoContratoRepository;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CobranzaServiceTest {
+
+    private static final String REFERENCIA = "SPEI-0001";
+
+    @Mock
+    private LibroCuentaJdbcRepository libroCuentaJdbcRepository;
+
+    @Mock
+    private PagoRentaRepository pagoRentaRepository;
+
+    @Mock
+    private AplicacionPagoRepository aplicacionPagoRepository;
+
+    @Mock
+    private SaldoContratoRepository saldoContratoRepository;
+
+    @Mock
+    private MovimientoCuentaRepository movimientoCuentaRepository;
+
+    @Mock
+    private AntiguedadSaldosService antiguedadSaldosService;
+
+    @Mock
+    private EventoOutboxService eventoOutboxService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CobranzaService cobranzaService;
+
+    private PagoRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new PagoRequest(5, REFERENCIA, new BigDecimal("1500.00"), LocalDate.of(2024, 6, 5), "TRANSFERENCIA");
+        when(libroCuentaJdbcRepository.findInmobiliariaDeContrato(5)).thenReturn(Optional.of(1L));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(pagoRentaRepository.saveAndFlush(any(PagoRenta.class))).thenAnswer(invocation -> {
+            PagoRenta pago = invocation.getArgument(0);
+            pago.setIdPago(9L);
+            pago.setFechaRegistro(LocalDateTime.of(2024, 6, 5, 10, 0));
+            return pago;
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registrarPago_ShouldLockBalanceAllocateOldestFirstAndBookLedger() {
+        // Given
+        when(libroCuentaJdbcRepository.findCargosPendientes(1L, 5)).thenReturn(List.of(
+                new CargoPendiente(1L, LocalDate.of(2024, 4, 1), new BigDecimal("1000.00")),
+                new CargoPendiente(2L, LocalDate.of(2024, 5, 1), new BigDecimal("1000.00"))));
+
+        // When
+        PagoRegistrado registro = cobranzaService.registrarPago(request);
+
+        // Then
+        assertThat(registro.nuevo()).isTrue();
+        assertThat(registro.pago().montoAplicado()).isEqualByComparingTo("1500.00");
+        assertThat(registro.pago().aplicaciones()).hasSize(2);
+
+        InOrder orden = inOrder(libroCuentaJdbcRepository);
+        orden.verify(libroCuentaJdbcRepository).bloquearSaldo(5, 1L);
+        orden.verify(libroCuentaJdbcRepository).findCargosPendientes(1L, 5);
+        orden.verify(libroCuentaJdbcRepository).abonarCargos(eq(1L), any(), eq(false));
+
+        ArgumentCaptor<List<MovimientoCuenta>> movimientos = ArgumentCaptor.forClass(List.class);
+        verify(libroCuentaJdbcRepository).registrarMovimientos(movimientos.capture());
+        MovimientoCuenta movimiento = movimientos.getValue().get(0);
+        assertThat(movimiento.getTipoMovimiento()).isEqualTo(MovimientoCuenta.TIPO_PAGO);
+        assertThat(movimiento.getMonto()).isEqualByComparingTo("-1500.00");
+        assertThat(movimiento.getIdPago()).isEqualTo(9L);
+        verify(eventoOutboxService).registrar("PAGO_RENTA", 9L, "PAGO_RENTA_REGISTRADO", registro.pago());
+    }
+
+    @Test
+    void registrarPago_WhenReferenceAlreadyRegistered_ShouldReturnOriginal() {
+        // Given
+        when(pagoRentaRepository.findByIdInmobiliariaAndReferenciaExterna(1L, REFERENCIA))
+                .thenReturn(Optional.of(pagoExistente(new BigDecimal("1500.00"))));
+
+        // When
+        PagoRegistrado registro = cobranzaService.registrarPago(request);
+
+        // Then
+        assertThat(registro.nuevo()).isFalse();
+        assertThat(registro.pago().idPago()).isEqualTo(3L);
+        verify(transactionTemplate, never()).execute(any());
+        verify(libroCuentaJdbcRepository, never()).registrarMovimientos(any());
+        verifyNoInteractions(eventoOutboxService);
+    }
+
+    @Test
+    void registrarPago_WhenReferenceUsedForAnotherAmount_ShouldThrowException() {
+        // Given
+        when(pagoRentaRepository.findByIdInmobiliariaAndReferenciaExterna(1L, REFERENCIA))
+                .thenReturn(Optional.of(pagoExistente(new BigDecimal("99.00"))));
+
+        // When / Then
+        assertThatThrownBy(() -> cobranzaService.registrarPago(request))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void registrarPago_WhenConcurrentDeliveryWins_ShouldReturnItsPayment() {
+        // Given
+        when(pagoRentaRepository.findByIdInmobiliariaAndReferenciaExterna(1L, REFERENCIA))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(pagoExistente(new BigDecimal("1500.00"))));
+        when(pagoRentaRepository.saveAndFlush(any(PagoRenta.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_pago_renta_inmobiliaria_referencia"));
+
+        // When
+        PagoRegistrado registro = cobranzaService.registrarPago(request);
+
+        // Then
+        assertThat(registro.nuevo()).isFalse();
+        assertThat(registro.pago().idPago()).isEqualTo(3L);
+    }
+
+    @Test
+    void registrarPago_WhenContractDoesNotExist_ShouldThrowException() {
+        // Given
+        when(libroCuentaJdbcRepository.findInmobiliariaDeContrato(5)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> cobranzaService.registrarPago(request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void revertirPago_ShouldRestoreChargesAndBookReversal() {
+        // Given
+        PagoRenta pago = pagoExistente(new BigDecimal("1500.00"));
+        List<AplicacionPago> aplicaciones = List.of(
+                AplicacionPago.builder().idPago(3L).idCargo(1L).monto(new BigDecimal("1500.00")).build());
+        when(pagoRentaRepository.findById(3L)).thenReturn(Optional.of(pago));
+        when(aplicacionPagoRepository.findByIdPagoOrderByIdAplicacionAsc(3L)).thenReturn(aplicaciones);
+
+        // When
+        Optional<PagoDTO> resultado = cobranzaService.revertirPago(3L);
+
+        // Then
+        assertThat(resultado).isPresent();
+        assertThat(resultado.get().estatusPago()).isEqualTo(PagoRenta.ESTATUS_REVERTIDO);
+        verify(libroCuentaJdbcRepository).abonarCargos(1L, aplicaciones, true);
+
+        ArgumentCaptor<List<MovimientoCuenta>> movimientos = ArgumentCaptor.forClass(List.class);
+        verify(libroCuentaJdbcRepository).registrarMovimientos(movimientos.capture());
+        assertThat(movimientos.getValue().get(0).getTipoMovimiento()).isEqualTo(MovimientoCuenta.TIPO_REVERSO);
+        assertThat(movimientos.getValue().get(0).getMonto()).isEqualByComparingTo("1500.00");
+        verify(eventoOutboxService).registrar("PAGO_RENTA", 3L, "PAGO_RENTA_REVERTIDO", resultado.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aplicarCreditos_ShouldAllocateOldestCreditToUnpaidChargesOfBilledContracts() {
+        // Given
+        when(libroCuentaJdbcRepository.findCreditosDisponibles(1L, 5, 8)).thenReturn(List.of(
+                new CreditoDisponible(3L, 5, new BigDecimal("400.00")),
+                new CreditoDisponible(4L, 5, new BigDecimal("900.00")),
+                new CreditoDisponible(6L, 6, new BigDecimal("100.00"))));
+        when(libroCuentaJdbcRepository.findCargosPendientes(1L, 5)).thenReturn(List.of(
+                new CargoPendiente(21L, LocalDate.of(2024, 7, 5), new BigDecimal("1000.00"))));
+
+        // When
+        int aplicadas = cobranzaService.aplicarCreditos(1L, Set.of(5, 8));
+
+        // Then
+        assertThat(aplicadas).isEqualTo(2);
+        ArgumentCaptor<List<AplicacionPago>> aplicaciones = ArgumentCaptor.forClass(List.class);
+        verify(libroCuentaJdbcRepository).abonarCargos(eq(1L), aplicaciones.capture(), eq(false));
+        assertThat(aplicaciones.getValue()).extracting(AplicacionPago::getIdPago).containsExactly(3L, 4L);
+        assertThat(aplicaciones.getValue()).extracting(AplicacionPago::getMonto)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("400.00"), new BigDecimal("600.00"));
+        verify(aplicacionPagoRepository).saveAll(aplicaciones.getValue());
+        verify(libroCuentaJdbcRepository).sumarMontoAplicado(aplicaciones.getValue());
+        verify(libroCuentaJdbcRepository, never()).findCargosPendientes(1L, 6);
+        verify(libroCuentaJdbcRepository, never()).registrarMovimientos(any());
+    }
+
+    @Test
+    void aplicarCreditos_WhenNoCredit_ShouldNotTouchCharges() {
+        // Given
+        when(libroCuentaJdbcRepository.findCreditosDisponibles(1L, 5, 5)).thenReturn(List.of());
+
+        // When
+        int aplicadas = cobranzaService.aplicarCreditos(1L, Set.of(5));
+
+        // Then
+        assertThat(aplicadas).isZero();
+        verify(libroCuentaJdbcRepository, never()).findCargosPendientes(any(), any());
+        verify(libroCuentaJdbcRepository, never()).abonarCargos(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void revertirPago_WhenAlreadyReversed_ShouldThrowException() {
+        // Given
+        PagoRenta pago = pagoExistente(new BigDecimal("1500.00"));
+        pago.setEstatusPago(PagoRenta.ESTATUS_REVERTIDO);
+        when(pagoRentaRepository.findById(3L)).thenReturn(Optional.of(pago));
+
+        // When / Then
+        assertThatThrownBy(() -> cobranzaService.revertirPago(3L))
+                .isInstanceOf(IllegalStateException.class);
+        verify(libroCuentaJdbcRepository, never()).abonarCargos(any(), any(), anyBoolean());
+        verifyNoInteractions(eventoOutboxService);
+    }
+
+    private PagoRenta pagoExistente(BigDecimal monto) {
+        return PagoRenta.builder()
+                .idPago(3L)
+                .idContrato(5)
+                .idInmobiliaria(1L)
+                .referenciaExterna(REFERENCIA)
+                .monto(monto)
+                .montoAplicado(monto)
+                .fechaPago(LocalDate.of(2024, 6, 5))
+                .fechaRegistro(LocalDateTime.of(2024, 6, 5, 10, 0))
+                .build();
+    }
+}
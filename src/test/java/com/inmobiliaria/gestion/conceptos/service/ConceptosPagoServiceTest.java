@@ -5,6 +5,9 @@ import com.inmobiliaria.gestion.conceptos.dto.ConceptosPagoDTO;
 import com.inmobiliaria.gestion.conceptos.dto.ConceptosPagoUpdateRequest;
 import com.inmobiliaria.gestion.conceptos.model.ConceptosPago;
 import com.inmobiliaria.gestion.conceptos.repository.ConceptosPagoRepository;
+import com.inmobiliaria.gestion.configuracion_recargos.service.PoliticaRecargoCache;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -42,6 +45,15 @@ class ConceptosPagoServiceTest {
     @Mock
     private ConceptosPagoRepository conceptosPagoRepository;
 
+    @Mock
+    private PoliticaRecargoCache politicaRecargoCache;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private EventoOutboxService eventoOutboxService;
+
     @InjectMocks
     private ConceptosPagoService conceptosPagoService;
 
@@ -0,0 +1,85 @@
+package com.inmobiliaria.gestion.config;
+
+import com.inmobiliaria.gestion.auth.model.Role;
+import com.inmobiliaria.gestion.auth.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(CacheConfigTest.Config.class)
+class CacheConfigTest {
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class Config {
+
+        @Bean
+        RoleRepository roleRepository() {
+            return Mockito.mock(RoleRepository.class);
+        }
+    }
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private RoleRepository mock;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mock = (RoleRepository) ((Advised) roleRepository).getTargetSource().getTarget();
+        reset(mock);
+        cacheManager.getCacheNames().forEach(nombre -> cacheManager.getCache(nombre).clear());
+    }
+
+    @Test
+    void findByName_ShouldHitDatabaseOncePerRole() {
+        // Given
+        Role userRole = new Role(1, Role.ERole.ROLE_USER);
+        when(mock.findByName(Role.ERole.ROLE_USER)).thenReturn(Optional.of(userRole));
+
+        // When
+        roleRepository.findByName(Role.ERole.ROLE_USER);
+        Optional<Role> cached = roleRepository.findByName(Role.ERole.ROLE_USER);
+
+        // Then
+        assertThat(cached).contains(userRole);
+        verify(mock, times(1)).findByName(Role.ERole.ROLE_USER);
+    }
+
+    @Test
+    void save_ShouldEvictCachedRoles() {
+        // Given
+        Role userRole = new Role(1, Role.ERole.ROLE_USER);
+        when(mock.findByName(Role.ERole.ROLE_USER)).thenReturn(Optional.of(userRole));
+        roleRepository.findByName(Role.ERole.ROLE_USER);
+
+        // When
+        roleRepository.save(userRole);
+        roleRepository.findByName(Role.ERole.ROLE_USER);
+
+        // Then
+        verify(mock, times(2)).findByName(Role.ERole.ROLE_USER);
+    }
+
+    @Test
+    void cacheManager_ShouldRegisterReferenceDataCaches() {
+        assertThat(cacheManager.getCacheNames()).containsExactlyInAnyOrder(
+                CacheConfig.ROLES, CacheConfig.TIPOS_CONCEPTO, CacheConfig.CIUDADES_INMOBILIARIA,
+                CacheConfig.ESTADOS_INMOBILIARIA, CacheConfig.CONFIGURACIONES_RECARGO);
+    }
+}
@@ -0,0 +1,44 @@
+package com.inmobiliaria.gestion.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HikariPinningGuardTest {
+
+    @Test
+    void pinsCarrierThreads_ShouldFlagOnlyPostgresDriversBefore426() {
+        assertThat(HikariPinningGuard.pinsCarrierThreads("org.postgresql.Driver", 42, 5)).isTrue();
+        assertThat(HikariPinningGuard.pinsCarrierThreads("org.postgresql.Driver", 9, 4)).isTrue();
+        assertThat(HikariPinningGuard.pinsCarrierThreads("org.postgresql.Driver", 42, 6)).isFalse();
+        assertThat(HikariPinningGuard.pinsCarrierThreads("org.postgresql.Driver", 42, 7)).isFalse();
+        assertThat(HikariPinningGuard.pinsCarrierThreads("org.h2.Driver", 2, 2)).isFalse();
+    }
+
+    @Test
+    void postProcessAfterInitialization_WithNonPinningDriver_ShouldKeepPoolSize() {
+        // Given
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:pinning-guard");
+        dataSource.setMaximumPoolSize(40);
+        HikariPinningGuard guard = new HikariPinningGuard(4);
+
+        // When
+        Object resultado = guard.postProcessAfterInitialization(dataSource, "dataSource");
+
+        // Then
+        assertThat(resultado).isSameAs(dataSource);
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(40);
+    }
+
+    @Test
+    void postProcessAfterInitialization_WithOtherBeans_ShouldLeaveThemUntouched() {
+        // Given
+        HikariPinningGuard guard = new HikariPinningGuard(4);
+        Object bean = new Object();
+
+        // When / Then
+        assertThat(guard.postProcessAfterInitialization(bean, "otro")).isSameAs(bean);
+    }
+}
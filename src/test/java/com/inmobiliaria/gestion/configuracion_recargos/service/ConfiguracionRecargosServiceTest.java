@@ -3,6 +3,8 @@ package com.inmobiliaria.gestion.configuracion_recargos.service;
 import com.inmobiliaria.gestion.configuracion_recargos.dto.ConfiguracionRecargosDTO;
 import com.inmobiliaria.gestion.configuracion_recargos.model.ConfiguracionRecargos;
 import com.inmobiliaria.gestion.configuracion_recargos.repository.ConfiguracionRecargosRepository;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -34,6 +36,15 @@ class ConfiguracionRecargosServiceTest {
     @Mock
     private ConfiguracionRecargosRepository configuracionRecargosRepository;
 
+    @Mock
+    private PoliticaRecargoCache politicaRecargoCache;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private EventoOutboxService eventoOutboxService;
+
     @InjectMocks
     private ConfiguracionRecargosService configuracionRecargosService;
 
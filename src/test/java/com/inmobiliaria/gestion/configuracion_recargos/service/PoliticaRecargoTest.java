@@ -0,0 +1,122 @@
+package com.inmobiliaria.gestion.configuracion_recargos.service;
+
+import com.inmobiliaria.gestion.conceptos.model.ConceptosPago;
+import com.inmobiliaria.gestion.configuracion_recargos.model.ConfiguracionRecargos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PoliticaRecargo Tests")
+class PoliticaRecargoTest {
+
+    private static final LocalDate VENCIMIENTO = LocalDate.of(2024, 5, 1);
+
+    private List<ConceptosPago> conceptos;
+    private ConfiguracionRecargos configuracion;
+
+    @BeforeEach
+    void setUp() {
+        conceptos = List.of(
+                ConceptosPago.builder().idConcepto(1).tipoConcepto("RENTA").nombreConcepto("Renta Mensual").permiteRecargos(true).build(),
+                ConceptosPago.builder().idConcepto(2).tipoConcepto("SERVICIOS").nombreConcepto("Agua").permiteRecargos(true).build(),
+                ConceptosPago.builder().idConcepto(3).tipoConcepto("MANTENIMIENTO").nombreConcepto("Mantenimiento").permiteRecargos(false).build()
+        );
+
+        configuracion = new ConfiguracionRecargos();
+        configuracion.setIdConfiguracionRecargo(7L);
+        configuracion.setIdInmobiliaria(1L);
+        configuracion.setAplicaAConceptos("renta, mantenimiento");
+        configuracion.setDiasGracia(5);
+        configuracion.setPorcentajeRecargoDiario(BigDecimal.valueOf(1.5));
+        configuracion.setMontoRecargoFijo(BigDecimal.valueOf(10));
+        configuracion.setTasaRecargoFija(BigDecimal.valueOf(100));
+        configuracion.setRecargoMaximo(BigDecimal.valueOf(2000));
+    }
+
+    @Test
+    @DisplayName("Should resolve concept types to IDs and ignore concepts without surcharges")
+    void compilar_ShouldResolveConceptTypesToIds() {
+        PoliticaRecargo politica = PoliticaRecargo.compilar(configuracion, conceptos);
+
+        assertThat(politica.getIdConfiguracion()).isEqualTo(7L);
+        assertThat(politica.aplicaA(1)).isTrue();
+        assertThat(politica.aplicaA(2)).isFalse();
+        assertThat(politica.aplicaA(3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should apply to every surchargeable concept when no concept list is configured")
+    void compilar_WithoutConceptList_ShouldApplyToSurchargeableConcepts() {
+        configuracion.setAplicaAConceptos(null);
+
+        PoliticaRecargo politica = PoliticaRecargo.compilar(configuracion, conceptos);
+
+        assertThat(politica.aplicaA(1)).isTrue();
+        assertThat(politica.aplicaA(2)).isTrue();
+        assertThat(politica.aplicaA(3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should accept concept IDs in the concept list")
+    void compilar_WithConceptIds_ShouldMatchIds() {
+        configuracion.setAplicaAConceptos("2");
+
+        PoliticaRecargo politica = PoliticaRecargo.compilar(configuracion, conceptos);
+
+        assertThat(politica.aplicaA(1)).isFalse();
+        assertThat(politica.aplicaA(2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return zero within the grace period")
+    void calcular_WithinGracePeriod_ShouldReturnZero() {
+        PoliticaRecargo politica = PoliticaRecargo.compilar(configuracion, conceptos);
+
+        BigDecimal recargo = politica.calcular(BigDecimal.valueOf(10000), VENCIMIENTO, VENCIMIENTO.plusDays(5));
+
+        assertThat(recargo).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    @DisplayName("Should accrue fixed, percentage and per-day components after the grace period")
+    void calcular_AfterGracePeriod_ShouldAccrueDailySurcharge() {
+        PoliticaRecargo politica = PoliticaRecargo.compilar(configuracion, conceptos);
+
+        // 3 days late: 100 + 10000 * 1.5% * 3 + 10 * 3
+        BigDecimal recargo = politica.calcular(BigDecimal.valueOf(10000), VENCIMIENTO, VENCIMIENTO.plusDays(8));
+
+        assertThat(recargo).isEqualByComparingTo("580.00");
+        assertThat(recargo.scale()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should cap the surcharge at the configured maximum")
+    void calcular_ShouldCapAtMaximum() {
+        PoliticaRecargo politica = PoliticaRecargo.compilar(configuracion, conceptos);
+
+        BigDecimal recargo = politica.calcular(BigDecimal.valueOf(10000), VENCIMIENTO, VENCIMIENTO.plusDays(60));
+
+        assertThat(recargo).isEqualByComparingTo("2000.00");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the daily rate when no daily percentage is set")
+    void calcular_WithoutPercentage_ShouldUseDailyRate() {
+        configuracion.setPorcentajeRecargoDiario(null);
+        configuracion.setTasaRecargoDiaria(BigDecimal.valueOf(2));
+        configuracion.setMontoRecargoFijo(null);
+        configuracion.setTasaRecargoFija(null);
+        configuracion.setRecargoMaximo(null);
+        PoliticaRecargo politica = PoliticaRecargo.compilar(configuracion, conceptos);
+
+        BigDecimal recargo = politica.calcular(BigDecimal.valueOf(1000), VENCIMIENTO, VENCIMIENTO.plusDays(15));
+
+        assertThat(recargo).isEqualByComparingTo("200.00");
+    }
+}
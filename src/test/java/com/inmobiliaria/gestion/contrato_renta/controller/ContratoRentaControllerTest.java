@@ -65,7 +65,8 @@ class ContratoRentaControllerTest {
                 BigDecimal.valueOf(5000.00),
                 12,
                 30,
-                "+52 55 1234 5678"
+                "+52 55 1234 5678",
+                BigDecimal.valueOf(12000.00)
         );
     }
 
@@ -78,7 +79,8 @@ class ContratoRentaControllerTest {
                 BigDecimal.valueOf(5000.00),
                 12,
                 30,
-                "+52 55 1234 5678"
+                "+52 55 1234 5678",
+                BigDecimal.valueOf(12000.00)
         );
     }
 
@@ -91,7 +93,8 @@ class ContratoRentaControllerTest {
                 BigDecimal.valueOf(6000.00),
                 15,
                 45,
-                "+52 55 9876 5432"
+                "+52 55 9876 5432",
+                BigDecimal.valueOf(12500.00)
         );
     }
 
@@ -352,7 +355,8 @@ class ContratoRentaControllerTest {
                     BigDecimal.valueOf(-100), // Invalid: negative deposit
                     0, // Invalid: zero duration
                     0, // Invalid: zero notification days
-                    "invalid-phone" // Invalid phone format
+                    "invalid-phone", // Invalid phone format
+                    BigDecimal.valueOf(-1) // Invalid: negative rent
             );
 
             mockMvc.perform(post("/api/v1/contratos-renta")
@@ -410,7 +414,8 @@ class ContratoRentaControllerTest {
                     1, 1, LocalDateTime.of(2024, 1, 15, 10, 0),
                     LocalDateTime.of(2025, 3, 15, 10, 0), // Updated end date
                     "No pets allowed, No smoking", "newtenant@example.com", "ACTIVO",
-                    BigDecimal.valueOf(6000.00), 15, 45, "+52 55 9876 5432"
+                    BigDecimal.valueOf(6000.00), 15, 45, "+52 55 9876 5432",
+                    BigDecimal.valueOf(12500.00)
             );
 
             when(contratoRentaService.updateContrato(eq(1), any(ContratoRentaUpdateRequest.class)))
@@ -479,6 +479,22 @@ class ContratoRentaEntityTest {
 
             assertThat(contrato.getFechaFinContrato()).isEqualTo(LocalDateTime.of(2025, 1, 15, 10, 0));
         }
+
+        @Test
+        @DisplayName("Should keep the termination date and clear the notification on update of a terminated contract")
+        void shouldKeepTerminationDateOnUpdateOfTerminatedContract() {
+            ContratoRenta contrato = new ContratoRenta();
+            contrato.setFechaInicioContrato(LocalDateTime.of(2024, 1, 15, 10, 0));
+            contrato.setDuracionMeses(12);
+            contrato.setNotificacionDiasPrevios(30);
+            contrato.setEstatusContrato(ContratoRenta.ESTATUS_TERMINADO);
+            contrato.setFechaFinContrato(LocalDateTime.of(2024, 6, 1, 12, 0));
+
+            contrato.onUpdate();
+
+            assertThat(contrato.getFechaFinContrato()).isEqualTo(LocalDateTime.of(2024, 6, 1, 12, 0));
+            assertThat(contrato.getFechaNotificacion()).isNull();
+        }
     }
 
     @Nested
@@ -1,5 +1,7 @@
 package com.inmobiliaria.gestion.contrato_renta.repository;
 
+import com.inmobiliaria.gestion.contrato_renta.dto.AccionMasiva;
+import com.inmobiliaria.gestion.contrato_renta.dto.OperacionMasivaRequest;
 import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
@@ -19,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(ContratoRentaMasivoJdbcRepository.class)
 @DisplayName("ContratoRentaRepository Tests")
 class ContratoRentaRepositoryTest {
 
@@ -28,6 +32,9 @@ class ContratoRentaRepositoryTest {
     @Autowired
     private ContratoRentaRepository contratoRentaRepository;
 
+    @Autowired
+    private ContratoRentaMasivoJdbcRepository masivoJdbcRepository;
+
     private ContratoRenta testContrato1;
     private ContratoRenta testContrato2;
     private ContratoRenta testContrato3;
@@ -618,5 +625,32 @@ class ContratoRentaRepositoryTest {
 
             assertThat(saved.getFechaFinContrato()).isEqualTo(LocalDateTime.of(2024, 6, 30, 10, 0));
         }
+
+        @Test
+        @DisplayName("Should store the same dates for single and bulk termination")
+        void shouldStoreSameDatesForSingleAndBulkTermination() {
+            LocalDateTime corte = LocalDateTime.of(2024, 6, 1, 12, 0);
+            ContratoRenta individual = contratoRentaRepository.save(
+                    createTestContrato(1, "ACTIVO", LocalDateTime.of(2024, 1, 15, 10, 0), 12));
+            ContratoRenta masivo = contratoRentaRepository.save(
+                    createTestContrato(2, "ACTIVO", LocalDateTime.of(2024, 1, 15, 10, 0), 12));
+            entityManager.flush();
+
+            individual.setEstatusContrato(ContratoRenta.ESTATUS_TERMINADO);
+            individual.setFechaFinContrato(corte);
+            contratoRentaRepository.saveAndFlush(individual);
+            masivoJdbcRepository.actualizarLote(new OperacionMasivaRequest(AccionMasiva.TERMINAR,
+                            List.of(masivo.getIdContrato()), null, null, null, null, null, null, false),
+                    0, masivo.getIdContrato(), corte);
+            entityManager.clear();
+
+            ContratoRenta porEntidad = contratoRentaRepository.findById(individual.getIdContrato()).orElseThrow();
+            ContratoRenta porLote = contratoRentaRepository.findById(masivo.getIdContrato()).orElseThrow();
+            assertThat(porEntidad.getFechaFinContrato()).isEqualTo(corte);
+            assertThat(porEntidad.getFechaNotificacion()).isNull();
+            assertThat(porLote.getEstatusContrato()).isEqualTo(porEntidad.getEstatusContrato());
+            assertThat(porLote.getFechaFinContrato()).isEqualTo(porEntidad.getFechaFinContrato());
+            assertThat(porLote.getFechaNotificacion()).isEqualTo(porEntidad.getFechaNotificacion());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package com.inmobiliaria.gestion.contrato_renta.service;
+
+import com.inmobiliaria.gestion.auditoria.service.AuditoriaLoteService;
+import com.inmobiliaria.gestion.cambios.service.CambioTablaService;
+import com.inmobiliaria.gestion.contrato_renta.dto.AccionMasiva;
+import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaDTO;
+import com.inmobiliaria.gestion.contrato_renta.dto.OperacionMasivaJobDTO;
+import com.inmobiliaria.gestion.contrato_renta.dto.OperacionMasivaRequest;
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import com.inmobiliaria.gestion.contrato_renta.repository.ContratoRentaMasivoJdbcRepository;
+import com.inmobiliaria.gestion.contrato_renta.repository.ContratoRentaMasivoJdbcRepository.EstadoAnterior;
+import com.inmobiliaria.gestion.contrato_renta.repository.ContratoRentaRepository;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ContratoRentaMasivoServiceTest {
+
+    @Mock
+    private ContratoRentaMasivoJdbcRepository masivoJdbcRepository;
+
+    @Mock
+    private ContratoRentaRepository contratoRentaRepository;
+
+    @Mock
+    private CambioTablaService cambioTablaService;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private EventoOutboxService eventoOutboxService;
+
+    @Mock
+    private AuditoriaLoteService auditoriaLoteService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ContratoRentaMasivoService masivoService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(masivoService, "chunkSize", 2);
+        when(auditoriaLoteService.usuarioActual()).thenReturn("admin");
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        masivoService.shutdown();
+    }
+
+    @Test
+    void ejecutar_simulacionSoloCuentaContratos() {
+        // Given
+        OperacionMasivaRequest solicitud = renovacion(true);
+        when(masivoJdbcRepository.contar(solicitud)).thenReturn(42L);
+
+        // When
+        OperacionMasivaJobDTO resultado = masivoService.ejecutar(solicitud);
+
+        // Then
+        assertThat(resultado.estado()).isEqualTo(ContratoRentaMasivoService.ESTADO_SIMULACION);
+        assertThat(resultado.contratosObjetivo()).isEqualTo(42L);
+        assertThat(resultado.idJob()).isNull();
+        verify(masivoJdbcRepository, never()).actualizarLote(any(), anyInt(), anyInt(), any());
+        verifyNoInteractions(dashboardService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ejecutar_recorreLotesHastaAgotarContratos() throws InterruptedException {
+        // Given
+        OperacionMasivaRequest solicitud = renovacion(false);
+        when(masivoJdbcRepository.contar(solicitud)).thenReturn(3L);
+        when(masivoJdbcRepository.findLimiteLote(solicitud, 0, 2)).thenReturn(7);
+        when(masivoJdbcRepository.findLimiteLote(solicitud, 7, 2)).thenReturn(9);
+        when(masivoJdbcRepository.findLimiteLote(solicitud, 9, 2)).thenReturn(null);
+        when(masivoJdbcRepository.actualizarLote(eq(solicitud), eq(0), eq(7), any())).thenReturn(List.of(anterior(3), anterior(7)));
+        when(masivoJdbcRepository.actualizarLote(eq(solicitud), eq(7), eq(9), any())).thenReturn(List.of(anterior(9)));
+        when(contratoRentaRepository.findAllById(List.of(3, 7))).thenReturn(List.of(contrato(3), contrato(7)));
+        when(contratoRentaRepository.findAllById(List.of(9))).thenReturn(List.of(contrato(9)));
+
+        // When
+        OperacionMasivaJobDTO iniciado = masivoService.ejecutar(solicitud);
+        OperacionMasivaJobDTO terminado = esperarFin(iniciado.idJob());
+
+        // Then
+        assertThat(iniciado.contratosObjetivo()).isEqualTo(3L);
+        assertThat(terminado.estado()).isEqualTo(ContratoRentaMasivoService.ESTADO_COMPLETADO);
+        assertThat(terminado.contratosActualizados()).isEqualTo(3L);
+        assertThat(terminado.lotesProcesados()).isEqualTo(2);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(cambioTablaService, times(2)).registrarCambio("contrato_renta");
+        verify(dashboardService).invalidar();
+
+        ArgumentCaptor<Map<Integer, ContratoRentaDTO>> eventos = ArgumentCaptor.forClass(Map.class);
+        verify(eventoOutboxService, times(2)).registrarLote(eq("CONTRATO_RENTA"), eq("CONTRATO_RENTA_RENOVADO"),
+                eventos.capture());
+        assertThat(eventos.getAllValues().get(0)).containsOnlyKeys(3, 7);
+        assertThat(eventos.getAllValues().get(1)).containsOnlyKeys(9);
+        assertThat(eventos.getAllValues().get(1).get(9).estatusContrato()).isEqualTo("ACTIVO");
+
+        ArgumentCaptor<List<AuditoriaLoteService.Modificacion>> auditoria = ArgumentCaptor.forClass(List.class);
+        verify(auditoriaLoteService, times(2)).registrarModificaciones(auditoria.capture(), eq("admin"));
+        AuditoriaLoteService.Modificacion modificacion = auditoria.getAllValues().get(1).get(0);
+        assertThat(((ContratoRenta) modificacion.entidad()).getIdContrato()).isEqualTo(9);
+        assertThat(modificacion.anteriores())
+                .containsEntry("duracionMeses", 12)
+                .containsEntry("fechaFinContrato", LocalDateTime.of(2024, 6, 15, 0, 0))
+                .containsEntry("fechaNotificacion", null);
+    }
+
+    @Test
+    void ejecutar_registraFallaConservandoLotesAplicados() throws InterruptedException {
+        // Given
+        OperacionMasivaRequest solicitud = renovacion(false);
+        when(masivoJdbcRepository.findLimiteLote(solicitud, 0, 2)).thenReturn(5);
+        when(masivoJdbcRepository.findLimiteLote(solicitud, 5, 2)).thenReturn(8);
+        when(masivoJdbcRepository.actualizarLote(eq(solicitud), eq(0), eq(5), any())).thenReturn(List.of(anterior(2), anterior(5)));
+        when(masivoJdbcRepository.actualizarLote(eq(solicitud), eq(5), eq(8), any()))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        // When
+        OperacionMasivaJobDTO terminado = esperarFin(masivoService.ejecutar(solicitud).idJob());
+
+        // Then
+        assertThat(terminado.estado()).isEqualTo(ContratoRentaMasivoService.ESTADO_FALLIDO);
+        assertThat(terminado.contratosActualizados()).isEqualTo(2L);
+        assertThat(terminado.error()).isEqualTo("connection lost");
+        verify(dashboardService).invalidar();
+    }
+
+    @Test
+    void ejecutar_sinCriterioLanzaExcepcion() {
+        // Given
+        OperacionMasivaRequest solicitud = new OperacionMasivaRequest(AccionMasiva.TERMINAR,
+                List.of(), null, null, null, null, null, null, false);
+
+        // When / Then
+        assertThatThrownBy(() -> masivoService.ejecutar(solicitud))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(masivoJdbcRepository);
+    }
+
+    @Test
+    void ejecutar_cambioEstatusInvalidoLanzaExcepcion() {
+        // Given
+        OperacionMasivaRequest solicitud = new OperacionMasivaRequest(AccionMasiva.CAMBIAR_ESTATUS,
+                List.of(1, 2), null, null, null, null, null, "PAUSADO", false);
+
+        // When / Then
+        assertThatThrownBy(() -> masivoService.ejecutar(solicitud))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("PAUSADO");
+    }
+
+    @Test
+    void findJob_desconocidoDevuelveVacio() {
+        assertThat(masivoService.findJob("no-existe")).isEmpty();
+    }
+
+    private OperacionMasivaRequest renovacion(boolean simulacion) {
+        return new OperacionMasivaRequest(AccionMasiva.RENOVAR, null, 1L, null,
+                LocalDateTime.of(2024, 6, 1, 0, 0), LocalDateTime.of(2024, 6, 30, 23, 59), 12, null, simulacion);
+    }
+
+    private EstadoAnterior anterior(int id) {
+        return new EstadoAnterior(id, "ACTIVO", LocalDateTime.of(2024, 6, 15, 0, 0), 12, null);
+    }
+
+    private ContratoRenta contrato(int id) {
+        return ContratoRenta.builder()
+                .idContrato(id)
+                .idPropiedad(1)
+                .estatusContrato("ACTIVO")
+                .duracionMeses(24)
+                .build();
+    }
+
+    private OperacionMasivaJobDTO esperarFin(String idJob) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            OperacionMasivaJobDTO job = masivoService.findJob(idJob).orElseThrow();
+            if (job.fechaFin() != null) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Bulk job " + idJob + " did not finish");
+    }
+}
@@ -1,10 +1,13 @@
 package com.inmobiliaria.gestion.contrato_renta.service;
 
 import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaCreateRequest;
+import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaCursorPage;
 import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaDTO;
 import com.inmobiliaria.gestion.contrato_renta.dto.ContratoRentaUpdateRequest;
 import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
 import com.inmobiliaria.gestion.contrato_renta.repository.ContratoRentaRepository;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
 import com.inmobiliaria.gestion.propiedad.repository.PropiedadRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,17 +15,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +42,12 @@ class ContratoRentaServiceTest {
     @Mock
     private PropiedadRepository propiedadRepository;
 
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private EventoOutboxService eventoOutboxService;
+
     @InjectMocks
     private ContratoRentaService contratoRentaService;
 
@@ -68,7 +82,8 @@ class ContratoRentaServiceTest {
                 BigDecimal.valueOf(5000.00),
                 12,
                 30,
-                "+52 55 1234 5678"
+                "+52 55 1234 5678",
+                BigDecimal.valueOf(12000.00)
         );
 
         updateRequest = new ContratoRentaUpdateRequest(
@@ -79,7 +94,8 @@ class ContratoRentaServiceTest {
                 BigDecimal.valueOf(6000.00),
                 12,
                 15,
-                "+52 55 9876 5432"
+                "+52 55 9876 5432",
+                BigDecimal.valueOf(12500.00)
         );
     }
 
@@ -190,6 +206,7 @@ class ContratoRentaServiceTest {
         verify(propiedadRepository).existsById(1);
         verify(contratoRentaRepository).existsByIdPropiedadAndEstatusContrato(1, "ACTIVO");
         verify(contratoRentaRepository).save(any(ContratoRenta.class));
+        verify(dashboardService).invalidar();
     }
 
     @Test
@@ -251,6 +268,7 @@ class ContratoRentaServiceTest {
         assertThat(result.get().depositoGarantia()).isEqualTo(BigDecimal.valueOf(6000.00));
         verify(contratoRentaRepository).findById(1);
         verify(contratoRentaRepository).save(any(ContratoRenta.class));
+        verify(eventoOutboxService).registrar("CONTRATO_RENTA", 1, "CONTRATO_RENTA_ACTUALIZADO", result.get());
     }
 
     @Test
@@ -279,6 +297,7 @@ class ContratoRentaServiceTest {
         assertThat(result).isTrue();
         verify(contratoRentaRepository).existsById(1);
         verify(contratoRentaRepository).deleteById(1);
+        verify(eventoOutboxService).registrar("CONTRATO_RENTA", 1, "CONTRATO_RENTA_ELIMINADO", Map.of("idContrato", 1));
     }
 
     @Test
@@ -293,13 +312,14 @@ class ContratoRentaServiceTest {
         assertThat(result).isFalse();
         verify(contratoRentaRepository).existsById(1);
         verify(contratoRentaRepository, never()).deleteById(anyInt());
+        verify(dashboardService, never()).invalidar();
     }
 
     @Test
     void terminateContrato_WhenExists_ShouldTerminateContract() {
         // Given
         when(contratoRentaRepository.findById(1)).thenReturn(Optional.of(testContrato));
-        when(contratoRentaRepository.save(any(ContratoRenta.class))).thenReturn(testContrato);
+        when(contratoRentaRepository.saveAndFlush(any(ContratoRenta.class))).thenReturn(testContrato);
 
         // When
         boolean result = contratoRentaService.terminateContrato(1);
@@ -307,7 +327,9 @@ class ContratoRentaServiceTest {
         // Then
         assertThat(result).isTrue();
         verify(contratoRentaRepository).findById(1);
-        verify(contratoRentaRepository).save(any(ContratoRenta.class));
+        verify(contratoRentaRepository).saveAndFlush(any(ContratoRenta.class));
+        verify(eventoOutboxService).registrar(eq("CONTRATO_RENTA"), eq(1), eq("CONTRATO_RENTA_TERMINADO"),
+                any(ContratoRentaDTO.class));
     }
 
     @Test
@@ -321,14 +343,15 @@ class ContratoRentaServiceTest {
         // Then
         assertThat(result).isFalse();
         verify(contratoRentaRepository).findById(1);
-        verify(contratoRentaRepository, never()).save(any(ContratoRenta.class));
+        verify(contratoRentaRepository, never()).saveAndFlush(any(ContratoRenta.class));
+        verifyNoInteractions(eventoOutboxService);
     }
 
     @Test
     void renewContrato_WithActiveContract_ShouldRenewSuccessfully() {
         // Given
         when(contratoRentaRepository.findById(1)).thenReturn(Optional.of(testContrato));
-        when(contratoRentaRepository.save(any(ContratoRenta.class))).thenReturn(testContrato);
+        when(contratoRentaRepository.saveAndFlush(any(ContratoRenta.class))).thenReturn(testContrato);
 
         // When
         boolean result = contratoRentaService.renewContrato(1, 6);
@@ -336,7 +359,7 @@ class ContratoRentaServiceTest {
         // Then
         assertThat(result).isTrue();
         verify(contratoRentaRepository).findById(1);
-        verify(contratoRentaRepository).save(any(ContratoRenta.class));
+        verify(contratoRentaRepository).saveAndFlush(any(ContratoRenta.class));
     }
 
     @Test
@@ -351,7 +374,7 @@ class ContratoRentaServiceTest {
                 .hasMessage("Only active contracts can be renewed");
 
         verify(contratoRentaRepository).findById(1);
-        verify(contratoRentaRepository, never()).save(any(ContratoRenta.class));
+        verify(contratoRentaRepository, never()).saveAndFlush(any(ContratoRenta.class));
     }
 
     @Test
@@ -365,7 +388,7 @@ class ContratoRentaServiceTest {
         // Then
         assertThat(result).isFalse();
         verify(contratoRentaRepository).findById(1);
-        verify(contratoRentaRepository, never()).save(any(ContratoRenta.class));
+        verify(contratoRentaRepository, never()).saveAndFlush(any(ContratoRenta.class));
     }
 
     @Test
@@ -426,4 +449,69 @@ class ContratoRentaServiceTest {
         assertThat(result).hasSize(1);
         verify(contratoRentaRepository).findContractsNeedingNotification(any(LocalDateTime.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getContratosAfter_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        // Given
+        ContratoRenta second = ContratoRenta.builder().idContrato(2).idPropiedad(2).estatusContrato("ACTIVO").build();
+        ContratoRenta third = ContratoRenta.builder().idContrato(3).idPropiedad(3).estatusContrato("ACTIVO").build();
+        when(contratoRentaRepository.findByIdContratoGreaterThanOrderByIdContratoAsc(0, Limit.of(3)))
+                .thenReturn(Arrays.asList(testContrato, second, third));
+
+        // When
+        ContratoRentaCursorPage result = contratoRentaService.getContratosAfter(null, 2, null);
+
+        // Then
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.nextCursor()).isEqualTo(2);
+    }
+
+    @Test
+    void getContratosAfter_WithStatusOnLastPage_ShouldReturnNoCursor() {
+        // Given
+        when(contratoRentaRepository.findByEstatusContratoAndIdContratoGreaterThanOrderByIdContratoAsc(
+                eq("ACTIVO"), eq(0), any(Limit.class)))
+                .thenReturn(List.of(testContrato));
+
+        // When
+        ContratoRentaCursorPage result = contratoRentaService.getContratosAfter(0, 50, "ACTIVO");
+
+        // Then
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+        verify(contratoRentaRepository, never()).findByIdContratoGreaterThanOrderByIdContratoAsc(anyInt(), any(Limit.class));
+    }
+
+    @Test
+    void getContratosAfter_WithOversizedPage_ShouldClampToMaximum() {
+        // Given
+        when(contratoRentaRepository.findByIdContratoGreaterThanOrderByIdContratoAsc(
+                5, Limit.of(ContratoRentaService.MAX_CURSOR_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        // When
+        ContratoRentaCursorPage result = contratoRentaService.getContratosAfter(5, 1_000_000, null);
+
+        // Then
+        assertThat(result.content()).isEmpty();
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void streamAllContratos_ShouldPassEveryContractToConsumer() {
+        // Given
+        ContratoRentaDTO first = new ContratoRentaDTO(1, 1, null, null, null, null, "ACTIVO", null, 12, null, null, null);
+        ContratoRentaDTO second = new ContratoRentaDTO(2, 2, null, null, null, null, "TERMINADO", null, 6, null, null, null);
+        when(contratoRentaRepository.streamAllAsDTO()).thenReturn(Stream.of(first, second));
+        List<ContratoRentaDTO> received = new ArrayList<>();
+
+        // When
+        contratoRentaService.streamAllContratos(received::add);
+
+        // Then
+        assertThat(received).containsExactly(first, second);
+        verify(contratoRentaRepository).streamAllAsDTO();
+    }
+}
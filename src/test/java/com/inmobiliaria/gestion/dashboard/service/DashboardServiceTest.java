@@ -0,0 +1,107 @@
+package com.inmobiliaria.gestion.dashboard.service;
+
+import com.inmobiliaria.gestion.dashboard.dto.ActividadRecienteDTO;
+import com.inmobiliaria.gestion.dashboard.dto.DashboardSummaryDTO;
+import com.inmobiliaria.gestion.dashboard.repository.DashboardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private DashboardRepository dashboardRepository;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Long> propiedades = new LinkedHashMap<>();
+        propiedades.put("DISPONIBLE|CASA", 3L);
+        propiedades.put("DISPONIBLE|DEPARTAMENTO", 2L);
+        propiedades.put("OCUPADA|CASA", 4L);
+
+        when(dashboardRepository.contarInmobiliariasPorEstatus()).thenReturn(Map.of("ACTIVE", 2L, "INACTIVE", 1L));
+        when(dashboardRepository.contarPropiedadesPorEstatusYTipo()).thenReturn(propiedades);
+        when(dashboardRepository.contarContratosPorEstatus()).thenReturn(Map.of("ACTIVO", 4L, "TERMINADO", 1L));
+        when(dashboardRepository.contarContratosActivosPorVencer(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1L);
+        when(dashboardRepository.contarConceptos()).thenReturn(new DashboardRepository.TotalYActivos(6, 5));
+        when(dashboardRepository.contarConfiguracionesRecargo()).thenReturn(new DashboardRepository.TotalYActivos(2, 1));
+        when(dashboardRepository.findContratosRecientes(3))
+                .thenReturn(List.of(new ActividadRecienteDTO("contrato", 8, "ACTIVO")));
+        when(dashboardRepository.findPropiedadesRecientes(2))
+                .thenReturn(List.of(new ActividadRecienteDTO("propiedad", 9, "CASA - DISPONIBLE")));
+    }
+
+    @Test
+    void getSummary_ShouldAggregateGroupedCounts() {
+        // When
+        DashboardSummaryDTO summary = dashboardService.getSummary();
+
+        // Then
+        assertThat(summary.totalInmobiliarias()).isEqualTo(3);
+        assertThat(summary.totalPropiedades()).isEqualTo(9);
+        assertThat(summary.propiedadesPorEstatus()).containsEntry("DISPONIBLE", 5L).containsEntry("OCUPADA", 4L);
+        assertThat(summary.propiedadesPorTipo()).containsEntry("CASA", 7L).containsEntry("DEPARTAMENTO", 2L);
+        assertThat(summary.totalContratos()).isEqualTo(5);
+        assertThat(summary.contratosPorVencer()).isEqualTo(1);
+        assertThat(summary.totalConceptos()).isEqualTo(6);
+        assertThat(summary.conceptosActivos()).isEqualTo(5);
+        assertThat(summary.configuracionesRecargoActivas()).isEqualTo(1);
+        assertThat(summary.actividadReciente()).extracting(ActividadRecienteDTO::tipo)
+                .containsExactly("contrato", "propiedad");
+    }
+
+    @Test
+    void getSummary_WithinTtl_ShouldServeCachedSummary() {
+        // When
+        DashboardSummaryDTO primero = dashboardService.getSummary();
+        DashboardSummaryDTO segundo = dashboardService.getSummary();
+
+        // Then
+        assertThat(segundo).isSameAs(primero);
+        verify(dashboardRepository, times(1)).contarPropiedadesPorEstatusYTipo();
+    }
+
+    @Test
+    void getSummary_AfterInvalidation_ShouldRecompute() {
+        // Given
+        dashboardService.getSummary();
+
+        // When
+        dashboardService.invalidar();
+        dashboardService.getSummary();
+
+        // Then
+        verify(dashboardRepository, times(2)).contarPropiedadesPorEstatusYTipo();
+    }
+
+    @Test
+    void getSummary_WhenTtlExpired_ShouldRecompute() {
+        // Given
+        ReflectionTestUtils.setField(dashboardService, "cacheTtl", Duration.ZERO);
+
+        // When
+        dashboardService.getSummary();
+        dashboardService.getSummary();
+
+        // Then
+        verify(dashboardRepository, times(2)).contarPropiedadesPorEstatusYTipo();
+    }
+}
@@ -0,0 +1,78 @@
+package com.inmobiliaria.gestion.estados_cuenta.pdf;
+
+import com.inmobiliaria.gestion.estados_cuenta.dto.ContratoEstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.dto.EstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.dto.MovimientoEstadoCuenta;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlantillaEstadoCuentaTest {
+
+    private final PlantillaEstadoCuenta plantilla = new PlantillaEstadoCuenta();
+
+    @Test
+    void render_SplitsRowsAcrossPages() {
+        // Opening and closing balance rows take two lines of the first and last page
+        assertThat(plantilla.render(estado(PlantillaEstadoCuenta.FILAS_POR_PAGINA - 2)).paginas()).isEqualTo(1);
+        assertThat(plantilla.render(estado(PlantillaEstadoCuenta.FILAS_POR_PAGINA - 1)).paginas()).isEqualTo(2);
+        assertThat(plantilla.render(estado(100)).paginas()).isEqualTo(3);
+    }
+
+    @Test
+    void render_WritesCrossReferenceTablePointingAtEveryObject() {
+        // When
+        DocumentoPdf documento = plantilla.render(estado(100));
+        String pdf = new String(documento.contenido(), StandardCharsets.ISO_8859_1);
+
+        // Then
+        assertThat(pdf).startsWith("%PDF-1.4").endsWith("%%EOF\n").contains("/Count 3");
+        Matcher startxref = Pattern.compile("startxref\n(\\d+)").matcher(pdf);
+        assertThat(startxref.find()).isTrue();
+        int inicioXref = Integer.parseInt(startxref.group(1));
+        assertThat(pdf.substring(inicioXref)).startsWith("xref\n0 12\n");
+
+        String[] entradas = pdf.substring(inicioXref).split("\n");
+        for (int objeto = 1; objeto <= 11; objeto++) {
+            int posicion = Integer.parseInt(entradas[2 + objeto].substring(0, 10));
+            assertThat(pdf.substring(posicion)).startsWith(objeto + " 0 obj");
+        }
+    }
+
+    @Test
+    void render_SameDataProducesSameBytes() {
+        // When / Then
+        assertThat(plantilla.render(estado(5)).contenido()).isEqualTo(plantilla.render(estado(5)).contenido());
+    }
+
+    @Test
+    void render_EscapesPdfStringDelimiters() {
+        // Given
+        EstadoCuenta estado = new EstadoCuenta(new ContratoEstadoCuenta(1, 1L, "Peña (Centro)", null, null), "2024-05",
+                BigDecimal.ZERO, List.of(), BigDecimal.ZERO);
+
+        // When
+        String pdf = new String(plantilla.render(estado).contenido(), StandardCharsets.ISO_8859_1);
+
+        // Then
+        assertThat(pdf).contains("(Peña \\(Centro\\))");
+    }
+
+    private static EstadoCuenta estado(int movimientos) {
+        List<MovimientoEstadoCuenta> lista = new ArrayList<>();
+        for (int i = 0; i < movimientos; i++) {
+            lista.add(new MovimientoEstadoCuenta(1, LocalDateTime.of(2024, 5, 1 + i % 28, 10, 0),
+                    "Cargo " + i, new BigDecimal("100.00")));
+        }
+        return new EstadoCuenta(new ContratoEstadoCuenta(1, 1L, "Inmobiliaria Centro", "Av. Reforma 100",
+                "inquilino@example.com"), "2024-05", BigDecimal.ZERO, lista, new BigDecimal(100L * movimientos));
+    }
+}
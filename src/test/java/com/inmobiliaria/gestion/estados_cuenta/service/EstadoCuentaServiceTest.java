@@ -0,0 +1,186 @@
+package com.inmobiliaria.gestion.estados_cuenta.service;
+
+import com.inmobiliaria.gestion.estados_cuenta.dto.ContratoEstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.dto.EstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.dto.EstadoCuentaRunReport;
+import com.inmobiliaria.gestion.estados_cuenta.dto.MovimientoEstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.pdf.PlantillaEstadoCuenta;
+import com.inmobiliaria.gestion.estados_cuenta.repository.EstadoCuentaJdbcRepository;
+import com.inmobiliaria.gestion.notificaciones.model.NotificacionContrato;
+import com.inmobiliaria.gestion.notificaciones.service.NotificacionSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EstadoCuentaServiceTest {
+
+    private static final YearMonth PERIODO = YearMonth.of(2024, 5);
+
+    @Mock
+    private EstadoCuentaJdbcRepository estadoCuentaJdbcRepository;
+
+    @Spy
+    private PlantillaEstadoCuenta plantillaEstadoCuenta = new PlantillaEstadoCuenta();
+
+    @Mock
+    private AlmacenEstadosCuenta almacenEstadosCuenta;
+
+    @Mock
+    private NotificacionSender notificacionSender;
+
+    @InjectMocks
+    private EstadoCuentaService estadoCuentaService;
+
+    private ContratoEstadoCuenta conCorreo;
+    private ContratoEstadoCuenta sinCorreo;
+
+    @BeforeEach
+    void setUp() {
+        conCorreo = new ContratoEstadoCuenta(1, 1L, "Inmobiliaria Centro", "Av. Reforma 100", "inquilino@example.com");
+        sinCorreo = new ContratoEstadoCuenta(2, 1L, "Inmobiliaria Centro", "Calle 5 #20", null);
+        when(estadoCuentaJdbcRepository.findContratosActivos(eq(0), anyInt())).thenReturn(List.of(conCorreo, sinCorreo));
+        when(estadoCuentaJdbcRepository.findSaldos(1, 2)).thenReturn(Map.of(1, new BigDecimal("1500.00")));
+        when(estadoCuentaJdbcRepository.findMovimientosDesde(1, 2, PERIODO.atDay(1).atStartOfDay())).thenReturn(List.of(
+                new MovimientoEstadoCuenta(1, LocalDateTime.of(2024, 5, 1, 2, 0), "Cargo 2024-05", new BigDecimal("1000.00")),
+                new MovimientoEstadoCuenta(1, LocalDateTime.of(2024, 6, 3, 9, 0), "Pago SPEI-9", new BigDecimal("-500.00"))));
+        when(almacenEstadosCuenta.guardar(anyString(), any())).thenAnswer(invocation -> "/estados/" + invocation.getArgument(0));
+    }
+
+    @Test
+    void generarEstados_StoresEveryStatementAndEmailsContractsWithAddress() {
+        // When
+        EstadoCuentaRunReport report = estadoCuentaService.generarEstados(PERIODO);
+
+        // Then
+        assertThat(report.contratosProcesados()).isEqualTo(2);
+        assertThat(report.estadosGenerados()).isEqualTo(2);
+        assertThat(report.correosEnviados()).isEqualTo(1);
+        assertThat(report.contratosSinCorreo()).isEqualTo(1);
+        assertThat(report.paginas()).isEqualTo(2);
+        assertThat(report.fallidos()).isZero();
+
+        ArgumentCaptor<String> claves = ArgumentCaptor.forClass(String.class);
+        verify(almacenEstadosCuenta, times(2)).guardar(claves.capture(), any());
+        assertThat(claves.getAllValues()).allMatch(clave -> clave.matches("[0-9a-f]{64}\\.pdf")).doesNotHaveDuplicates();
+        verify(notificacionSender).enviar(eq(NotificacionContrato.Canal.EMAIL), eq("inquilino@example.com"),
+                contains("2024-05"), contains("/estados/"));
+        verifyNoMoreInteractions(notificacionSender);
+    }
+
+    @Test
+    void generarEstados_OpeningBalanceExcludesEntriesFromThePeriodOnward() {
+        // When
+        estadoCuentaService.generarEstados(PERIODO);
+
+        // Then
+        ArgumentCaptor<EstadoCuenta> estados = ArgumentCaptor.forClass(EstadoCuenta.class);
+        verify(plantillaEstadoCuenta, times(2)).render(estados.capture());
+        Map<Integer, EstadoCuenta> porContrato = estados.getAllValues().stream()
+                .collect(Collectors.toMap(estado -> estado.contrato().idContrato(), estado -> estado));
+        EstadoCuenta estado = porContrato.get(1);
+        assertThat(estado.saldoInicial()).isEqualByComparingTo("1000.00");
+        assertThat(estado.movimientos()).extracting(MovimientoEstadoCuenta::descripcion).containsExactly("Cargo 2024-05");
+        assertThat(estado.saldoFinal()).isEqualByComparingTo("2000.00");
+        assertThat(porContrato.get(2).saldoInicial()).isEqualByComparingTo("0");
+        assertThat(porContrato.get(2).saldoFinal()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void generarEstados_AlreadyStoredStatement_IsSkippedAndNotEmailedAgain() {
+        // Given
+        when(almacenEstadosCuenta.existe(anyString())).thenReturn(true);
+
+        // When
+        EstadoCuentaRunReport report = estadoCuentaService.generarEstados(PERIODO);
+
+        // Then
+        assertThat(report.estadosOmitidos()).isEqualTo(2);
+        assertThat(report.estadosGenerados()).isZero();
+        verify(almacenEstadosCuenta, never()).guardar(anyString(), any());
+        verifyNoInteractions(notificacionSender);
+    }
+
+    @Test
+    void generarEstados_EmailFailure_RemovesStatementSoTheNextRunRetries() {
+        // Given
+        doThrow(new IllegalStateException("SMTP unavailable")).when(notificacionSender)
+                .enviar(any(), anyString(), anyString(), anyString());
+
+        // When
+        EstadoCuentaRunReport report = estadoCuentaService.generarEstados(PERIODO);
+
+        // Then
+        assertThat(report.fallidos()).isEqualTo(1);
+        assertThat(report.fallas()).hasSize(1);
+        assertThat(report.fallas().get(0)).contains("Contrato 1");
+        ArgumentCaptor<String> clave = ArgumentCaptor.forClass(String.class);
+        verify(almacenEstadosCuenta).eliminar(clave.capture());
+        verify(almacenEstadosCuenta).guardar(eq(clave.getValue()), any());
+    }
+
+    @Test
+    void generarEstados_ReadsContractsInKeysetBatches() {
+        // Given
+        ReflectionTestUtils.setField(estadoCuentaService, "loteSize", 2);
+        ContratoEstadoCuenta tercero = new ContratoEstadoCuenta(7, 2L, null, null, null);
+        when(estadoCuentaJdbcRepository.findContratosActivos(2, 2)).thenReturn(List.of(tercero));
+
+        // When
+        EstadoCuentaRunReport report = estadoCuentaService.generarEstados(PERIODO);
+
+        // Then
+        assertThat(report.contratosProcesados()).isEqualTo(3);
+        verify(estadoCuentaJdbcRepository).findContratosActivos(0, 2);
+        verify(estadoCuentaJdbcRepository).findContratosActivos(2, 2);
+        verify(estadoCuentaJdbcRepository).findSaldos(7, 7);
+    }
+
+    @Test
+    void generarEstados_RunInProgress_ThrowsException() throws Exception {
+        // Given
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(estadoCuentaJdbcRepository.findContratosActivos(eq(0), anyInt())).thenAnswer(invocation -> {
+            dentro.countDown();
+            liberar.await();
+            return List.of();
+        });
+        Thread corrida = Thread.ofVirtual().start(() -> estadoCuentaService.generarEstados(PERIODO));
+        dentro.await();
+
+        // When / Then
+        try {
+            assertThatThrownBy(() -> estadoCuentaService.generarEstados(PERIODO))
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            liberar.countDown();
+            corrida.join();
+        }
+    }
+}
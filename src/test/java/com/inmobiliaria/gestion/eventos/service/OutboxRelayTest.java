@@ -0,0 +1,244 @@
+package com.inmobiliaria.gestion.eventos.service;
+
+import com.inmobiliaria.gestion.eventos.destino.DestinoEventos;
+import com.inmobiliaria.gestion.eventos.dto.EventoDominio;
+import com.inmobiliaria.gestion.eventos.dto.OutboxRunReport;
+import com.inmobiliaria.gestion.eventos.model.EventoOutbox;
+import com.inmobiliaria.gestion.eventos.repository.EventoOutboxJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxRelayTest {
+
+    @Mock
+    private EventoOutboxJdbcRepository eventoOutboxJdbcRepository;
+
+    @Mock
+    private DestinoEventos destino;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(eventoOutboxJdbcRepository, List.of(destino), transactionManager);
+        when(destino.nombre()).thenReturn("webhook");
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRelay.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publicarPendientes_DeliversEachAggregateInOrderAndMarksPublished() {
+        // Given
+        when(eventoOutboxJdbcRepository.reservarPendientes(any(), anyInt(), any())).thenReturn(List.of(
+                evento(1L, "CONTRATO_RENTA", "5", 0, null),
+                evento(2L, "PROPIEDAD", "7", 0, null),
+                evento(3L, "CONTRATO_RENTA", "5", 0, null)));
+
+        // When
+        OutboxRunReport report = outboxRelay.publicarPendientes();
+
+        // Then
+        assertThat(report.lotes()).isEqualTo(1);
+        assertThat(report.publicados()).isEqualTo(3);
+        assertThat(report.fallidos()).isZero();
+        ArgumentCaptor<EventoDominio> entregados = ArgumentCaptor.forClass(EventoDominio.class);
+        verify(destino, times(3)).publicar(entregados.capture());
+        assertThat(entregados.getAllValues())
+                .filteredOn(evento -> evento.idAgregado().equals("5"))
+                .extracting(EventoDominio::idEvento)
+                .containsExactly(1L, 3L);
+        ArgumentCaptor<List<Long>> publicados = ArgumentCaptor.forClass(List.class);
+        verify(eventoOutboxJdbcRepository).marcarPublicados(publicados.capture(), any());
+        assertThat(publicados.getValue()).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publicarPendientes_FailureHoldsBackLaterEventsOfTheSameAggregateOnly() {
+        // Given
+        when(eventoOutboxJdbcRepository.reservarPendientes(any(), anyInt(), any())).thenReturn(List.of(
+                evento(1L, "CONTRATO_RENTA", "5", 2, null),
+                evento(2L, "PROPIEDAD", "7", 0, null),
+                evento(3L, "CONTRATO_RENTA", "5", 0, null)));
+        doAnswer(invocation -> {
+            if (invocation.<EventoDominio>getArgument(0).idEvento() == 1L) {
+                throw new IllegalStateException("status 503");
+            }
+            return null;
+        }).when(destino).publicar(any());
+        LocalDateTime antes = LocalDateTime.now();
+
+        // When
+        OutboxRunReport report = outboxRelay.publicarPendientes();
+
+        // Then
+        assertThat(report.publicados()).isEqualTo(1);
+        assertThat(report.fallidos()).isEqualTo(1);
+        assertThat(report.descartados()).isZero();
+        ArgumentCaptor<List<Long>> publicados = ArgumentCaptor.forClass(List.class);
+        verify(eventoOutboxJdbcRepository).marcarPublicados(publicados.capture(), any());
+        assertThat(publicados.getValue()).containsExactly(2L);
+
+        ArgumentCaptor<List<EventoOutboxJdbcRepository.Fallo>> fallos = ArgumentCaptor.forClass(List.class);
+        verify(eventoOutboxJdbcRepository).registrarFallos(fallos.capture(), eq(10));
+        EventoOutboxJdbcRepository.Fallo fallo = fallos.getValue().get(0);
+        assertThat(fallo.idEvento()).isEqualTo(1L);
+        assertThat(fallo.error()).isEqualTo("webhook: status 503");
+        // Third attempt: 5s base doubled twice
+        assertThat(fallo.proximoIntento()).isAfterOrEqualTo(antes.plus(Duration.ofSeconds(20)));
+        assertThat(fallo.proximoIntento()).isBefore(LocalDateTime.now().plus(Duration.ofSeconds(21)));
+        verify(eventoOutboxJdbcRepository).liberarReservas(
+                argThat(liberados -> liberados.size() == 1 && liberados.get(0).getIdEvento() == 3L));
+    }
+
+    @Test
+    void publicarPendientes_ClaimsAndRecordsInShortTransactionsAndDeliversOutsideThem() {
+        // Given
+        when(eventoOutboxJdbcRepository.reservarPendientes(any(), anyInt(), any()))
+                .thenReturn(List.of(evento(1L, "PROPIEDAD", "7", 0, null)));
+        LocalDateTime antes = LocalDateTime.now();
+
+        // When
+        outboxRelay.publicarPendientes();
+
+        // Then
+        ArgumentCaptor<TransactionDefinition> definiciones = ArgumentCaptor.forClass(TransactionDefinition.class);
+        InOrder orden = inOrder(transactionManager, eventoOutboxJdbcRepository, destino);
+        orden.verify(transactionManager).getTransaction(definiciones.capture());
+        orden.verify(eventoOutboxJdbcRepository).reservarPendientes(any(), eq(200), any());
+        orden.verify(transactionManager).commit(any());
+        orden.verify(destino).publicar(any());
+        orden.verify(transactionManager).getTransaction(definiciones.capture());
+        orden.verify(eventoOutboxJdbcRepository).marcarPublicados(eq(List.of(1L)), any());
+        orden.verify(transactionManager).commit(any());
+        assertThat(definiciones.getAllValues().get(0).getIsolationLevel())
+                .isEqualTo(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        ArgumentCaptor<LocalDateTime> reservadoHasta = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(eventoOutboxJdbcRepository).reservarPendientes(any(), anyInt(), reservadoHasta.capture());
+        assertThat(reservadoHasta.getValue()).isAfterOrEqualTo(antes.plus(Duration.ofMinutes(2)));
+    }
+
+    @Test
+    void publicarPendientes_ClaimCollidesWithAnotherInstance_DeliversNothing() {
+        // Given
+        when(eventoOutboxJdbcRepository.reservarPendientes(any(), anyInt(), any()))
+                .thenThrow(new CannotAcquireLockException("could not serialize access due to concurrent update"));
+
+        // When
+        OutboxRunReport report = outboxRelay.publicarPendientes();
+
+        // Then
+        assertThat(report.lotes()).isZero();
+        verify(destino, never()).publicar(any());
+        verify(eventoOutboxJdbcRepository, never()).marcarPublicados(any(), any());
+    }
+
+    @Test
+    void publicarPendientes_LeaseHalfOver_ReleasesEventsNotAttempted() {
+        // Given
+        ReflectionTestUtils.setField(outboxRelay, "reserva", Duration.ZERO);
+        EventoOutbox pendiente = evento(1L, "PROPIEDAD", "7", 0, null);
+        when(eventoOutboxJdbcRepository.reservarPendientes(any(), anyInt(), any())).thenReturn(List.of(pendiente));
+
+        // When
+        OutboxRunReport report = outboxRelay.publicarPendientes();
+
+        // Then
+        assertThat(report.publicados()).isZero();
+        verify(destino, never()).publicar(any());
+        verify(eventoOutboxJdbcRepository).liberarReservas(List.of(pendiente));
+    }
+
+    @Test
+    void publicarPendientes_LastAllowedAttemptFails_CountsEventAsDiscarded() {
+        // Given
+        when(eventoOutboxJdbcRepository.reservarPendientes(any(), anyInt(), any()))
+                .thenReturn(List.of(evento(1L, "PROPIEDAD", "7", 9, null)));
+        doThrow(new IllegalStateException("connection refused")).when(destino).publicar(any());
+
+        // When
+        OutboxRunReport report = outboxRelay.publicarPendientes();
+
+        // Then
+        assertThat(report.fallidos()).isEqualTo(1);
+        assertThat(report.descartados()).isEqualTo(1);
+        verify(eventoOutboxJdbcRepository).registrarFallos(anyList(), eq(10));
+    }
+
+    @Test
+    void publicarPendientes_EventWaitingForRetry_IsNotDeliveredYet() {
+        // Given
+        when(eventoOutboxJdbcRepository.reservarPendientes(any(), anyInt(), any())).thenReturn(List.of(
+                evento(1L, "PROPIEDAD", "7", 1, LocalDateTime.now().plusMinutes(5)),
+                evento(2L, "PROPIEDAD", "7", 0, null)));
+
+        // When
+        OutboxRunReport report = outboxRelay.publicarPendientes();
+
+        // Then
+        assertThat(report.publicados()).isZero();
+        verify(destino, never()).publicar(any());
+        verify(eventoOutboxJdbcRepository).marcarPublicados(eq(List.of()), any());
+        verify(eventoOutboxJdbcRepository).liberarReservas(argThat(liberados -> liberados.size() == 2));
+    }
+
+    @Test
+    void publicarPendientes_NoDestinations_LeavesEventsPending() {
+        // Given
+        OutboxRelay sinDestinos = new OutboxRelay(eventoOutboxJdbcRepository, List.of(), transactionManager);
+
+        // When
+        OutboxRunReport report = sinDestinos.publicarPendientes();
+
+        // Then
+        assertThat(report.lotes()).isZero();
+        verifyNoInteractions(eventoOutboxJdbcRepository);
+        sinDestinos.shutdown();
+    }
+
+    private static EventoOutbox evento(Long id, String tipoAgregado, String idAgregado, int intentos,
+                                       LocalDateTime proximoIntento) {
+        return EventoOutbox.builder()
+                .idEvento(id)
+                .tipoAgregado(tipoAgregado)
+                .idAgregado(idAgregado)
+                .tipoEvento(tipoAgregado + "_ACTUALIZADO")
+                .payload("{\"id\":" + idAgregado + "}")
+                .intentos(intentos)
+                .proximoIntento(proximoIntento)
+                .fechaCreacion(LocalDateTime.of(2024, 6, 1, 10, 0))
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.inmobiliaria.gestion.exportacion.service;
+
+import com.inmobiliaria.gestion.exportacion.dto.FiltroConceptos;
+import com.inmobiliaria.gestion.exportacion.dto.FiltroContratos;
+import com.inmobiliaria.gestion.exportacion.dto.FiltroPropiedades;
+import com.inmobiliaria.gestion.exportacion.repository.ExportacionJdbcRepository;
+import com.inmobiliaria.gestion.exportacion.writer.CsvEscritorFilas;
+import com.inmobiliaria.gestion.exportacion.writer.EscritorFilas;
+import com.inmobiliaria.gestion.exportacion.writer.XlsxEscritorFilas;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class ExportacionServiceTest {
+
+    @Mock
+    private ExportacionJdbcRepository exportacionJdbcRepository;
+
+    @InjectMocks
+    private ExportacionService exportacionService;
+
+    @Test
+    void exportarPropiedades_ShouldWriteHeaderAndRowsAsCsv() throws Exception {
+        // Given
+        FiltroPropiedades filtro = new FiltroPropiedades("reforma", 1L, null, null);
+        doAnswer(invocation -> {
+            Consumer<Object[]> consumidor = invocation.getArgument(1);
+            consumidor.accept(new Object[]{1, 1L, "CASA", new BigDecimal("150.50"), null, LocalDate.of(2024, 1, 15),
+                    "DISPONIBLE", "Jardín, cochera", "Calle Reforma 123", 2, 3});
+            return null;
+        }).when(exportacionJdbcRepository).exportarPropiedades(eq(filtro), any());
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // When
+        long filas = exportacionService.exportarPropiedades(filtro, new CsvEscritorFilas(salida));
+
+        // Then
+        assertThat(filas).isEqualTo(1);
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lineas[0]).startsWith("\uFEFFid_propiedad,id_inmobiliaria,tipo_propiedad");
+        assertThat(lineas[1]).isEqualTo("1,1,CASA,150.50,,2024-01-15,DISPONIBLE,\"Jardín, cochera\",Calle Reforma 123,2,3");
+    }
+
+    @Test
+    void exportarContratos_ShouldWriteTypedCellsAsXlsx() throws Exception {
+        // Given
+        FiltroContratos filtro = new FiltroContratos(null, null, "ACTIVO", null, null);
+        doAnswer(invocation -> {
+            Consumer<Object[]> consumidor = invocation.getArgument(1);
+            consumidor.accept(new Object[]{7, 3, LocalDateTime.of(2024, 1, 15, 10, 0), LocalDateTime.of(2025, 1, 15, 10, 0),
+                    "ACTIVO", new BigDecimal("12000.00"), null, 12, null, "inquilino@example.com", null, 30});
+            return null;
+        }).when(exportacionJdbcRepository).exportarContratos(eq(filtro), any());
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // When
+        long filas = exportacionService.exportarContratos(filtro, new XlsxEscritorFilas(salida));
+
+        // Then
+        assertThat(filas).isEqualTo(1);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(salida.toByteArray()))) {
+            Sheet hoja = workbook.getSheetAt(0);
+            assertThat(hoja.getRow(0).getCell(0).getStringCellValue()).isEqualTo("id_contrato");
+            assertThat(hoja.getRow(1).getCell(0).getNumericCellValue()).isEqualTo(7);
+            assertThat(hoja.getRow(1).getCell(2).getLocalDateTimeCellValue()).isEqualTo(LocalDateTime.of(2024, 1, 15, 10, 0));
+            assertThat(hoja.getRow(1).getCell(5).getNumericCellValue()).isEqualTo(12000);
+        }
+    }
+
+    @Test
+    void exportarConceptos_WhenClientDisconnects_ShouldPropagateIOException() {
+        // Given
+        FiltroConceptos filtro = new FiltroConceptos(1L, null, null, true, null);
+        doAnswer(invocation -> {
+            Consumer<Object[]> consumidor = invocation.getArgument(1);
+            consumidor.accept(new Object[]{1, 1L, "Renta", null, "RENTA", true, true, null});
+            return null;
+        }).when(exportacionJdbcRepository).exportarConceptos(eq(filtro), any());
+        EscritorFilas escritor = new CsvEscritorFilas(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        });
+
+        // When / Then
+        assertThatThrownBy(() -> exportacionService.exportarConceptos(filtro, escritor))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+}
@@ -0,0 +1,289 @@
+package com.inmobiliaria.gestion.facturacion.service;
+
+import com.inmobiliaria.gestion.cobranza.repository.LibroCuentaJdbcRepository;
+import com.inmobiliaria.gestion.cobranza.service.AntiguedadSaldosService;
+import com.inmobiliaria.gestion.cobranza.service.CobranzaService;
+import com.inmobiliaria.gestion.conceptos.model.ConceptosPago;
+import com.inmobiliaria.gestion.conceptos.repository.ConceptosPagoRepository;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
+import com.inmobiliaria.gestion.facturacion.dto.CargoRentaDTO;
+import com.inmobiliaria.gestion.facturacion.dto.ContratoFacturable;
+import com.inmobiliaria.gestion.facturacion.dto.FacturacionRunReport;
+import com.inmobiliaria.gestion.facturacion.model.CargoRenta;
+import com.inmobiliaria.gestion.facturacion.model.FacturacionCheckpoint;
+import com.inmobiliaria.gestion.facturacion.repository.CargoRentaRepository;
+import com.inmobiliaria.gestion.facturacion.repository.FacturacionCheckpointRepository;
+import com.inmobiliaria.gestion.facturacion.repository.FacturacionJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FacturacionServiceTest {
+
+    private static final YearMonth PERIODO = YearMonth.of(2024, 2);
+
+    @Mock
+    private FacturacionJdbcRepository facturacionJdbcRepository;
+
+    @Mock
+    private FacturacionCheckpointRepository checkpointRepository;
+
+    @Mock
+    private CargoRentaRepository cargoRentaRepository;
+
+    @Mock
+    private ConceptosPagoRepository conceptosPagoRepository;
+
+    @Mock
+    private LibroCuentaJdbcRepository libroCuentaJdbcRepository;
+
+    @Mock
+    private AntiguedadSaldosService antiguedadSaldosService;
+
+    @Mock
+    private CobranzaService cobranzaService;
+
+    @Mock
+    private EventoOutboxService eventoOutboxService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private FacturacionService facturacionService;
+
+    private ConceptosPago conceptoRenta;
+    private ConceptosPago conceptoMantenimiento;
+
+    @BeforeEach
+    void setUp() {
+        conceptoRenta = ConceptosPago.builder()
+                .idConcepto(10)
+                .idInmobiliaria(1L)
+                .nombreConcepto("Renta Mensual")
+                .tipoConcepto("RENTA")
+                .activo(true)
+                .build();
+        conceptoMantenimiento = ConceptosPago.builder()
+                .idConcepto(11)
+                .idInmobiliaria(1L)
+                .nombreConcepto("Mantenimiento")
+                .tipoConcepto("MANTENIMIENTO")
+                .activo(true)
+                .build();
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(checkpointRepository.save(any(FacturacionCheckpoint.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ejecutarCorrida_ShouldBillRentConceptsOfActiveContracts() {
+        // Given
+        when(facturacionJdbcRepository.findInmobiliariasConContratosActivos()).thenReturn(List.of(1L));
+        when(checkpointRepository.findByPeriodoAndIdInmobiliaria("2024-02", 1L)).thenReturn(Optional.empty());
+        when(conceptosPagoRepository.findByIdInmobiliariaAndActivo(1L, true))
+                .thenReturn(List.of(conceptoRenta, conceptoMantenimiento));
+        when(facturacionJdbcRepository.findContratosFacturables(eq(1L), eq(0), eq(LocalDateTime.of(2024, 2, 1, 0, 0)),
+                eq(LocalDateTime.of(2024, 3, 1, 0, 0)), anyInt()))
+                .thenReturn(List.of(
+                        new ContratoFacturable(5, LocalDateTime.of(2023, 8, 31, 10, 0), BigDecimal.valueOf(12000)),
+                        new ContratoFacturable(7, LocalDateTime.of(2023, 9, 15, 10, 0), null)));
+
+        // When
+        FacturacionRunReport report = facturacionService.ejecutarCorrida(PERIODO);
+
+        // Then
+        assertThat(report.periodo()).isEqualTo("2024-02");
+        assertThat(report.inmobiliariasProcesadas()).isEqualTo(1);
+        assertThat(report.contratosProcesados()).isEqualTo(2);
+        assertThat(report.cargosGenerados()).isEqualTo(1);
+        assertThat(report.fallas()).isEmpty();
+
+        ArgumentCaptor<List<CargoRenta>> insertados = ArgumentCaptor.forClass(List.class);
+        verify(facturacionJdbcRepository).insertCargos(insertados.capture());
+        CargoRenta cargo = insertados.getValue().get(0);
+        assertThat(insertados.getValue()).hasSize(1);
+        assertThat(cargo.getIdContrato()).isEqualTo(5);
+        assertThat(cargo.getIdConcepto()).isEqualTo(10);
+        assertThat(cargo.getMonto()).isEqualByComparingTo("12000");
+        assertThat(cargo.getFechaVencimiento()).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(cargo.getEstatusCargo()).isEqualTo("PENDIENTE");
+        verify(libroCuentaJdbcRepository).registrarCargosFacturados(insertados.getValue());
+        verify(cobranzaService).aplicarCreditos(1L, Set.of(5));
+
+        ArgumentCaptor<Map<Integer, CargoRentaDTO>> eventos = ArgumentCaptor.forClass(Map.class);
+        verify(eventoOutboxService).registrarLote(eq("CONTRATO_RENTA"), eq("CARGO_RENTA_FACTURADO"), eventos.capture());
+        assertThat(eventos.getValue()).containsOnlyKeys(5);
+        assertThat(eventos.getValue().get(5).periodo()).isEqualTo("2024-02");
+        assertThat(eventos.getValue().get(5).monto()).isEqualByComparingTo("12000");
+
+        ArgumentCaptor<FacturacionCheckpoint> checkpoint = ArgumentCaptor.forClass(FacturacionCheckpoint.class);
+        verify(checkpointRepository, atLeastOnce()).save(checkpoint.capture());
+        assertThat(checkpoint.getValue().getUltimoIdContrato()).isEqualTo(7);
+        assertThat(checkpoint.getValue().getCompletado()).isTrue();
+    }
+
+    @Test
+    void ejecutarCorrida_ShouldResumeFromCheckpointInBatches() {
+        // Given
+        ReflectionTestUtils.setField(facturacionService, "batchSize", 1);
+        FacturacionCheckpoint previo = FacturacionCheckpoint.builder()
+                .periodo("2024-02")
+                .idInmobiliaria(1L)
+                .ultimoIdContrato(3)
+                .build();
+        when(facturacionJdbcRepository.findInmobiliariasConContratosActivos()).thenReturn(List.of(1L));
+        when(checkpointRepository.findByPeriodoAndIdInmobiliaria("2024-02", 1L)).thenReturn(Optional.of(previo));
+        when(conceptosPagoRepository.findByIdInmobiliariaAndActivo(1L, true)).thenReturn(List.of(conceptoRenta));
+        when(facturacionJdbcRepository.findContratosFacturables(eq(1L), eq(3), any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(1)))
+                .thenReturn(List.of(new ContratoFacturable(4, null, BigDecimal.TEN)));
+        when(facturacionJdbcRepository.findContratosFacturables(eq(1L), eq(4), any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(1)))
+                .thenReturn(List.of());
+
+        // When
+        FacturacionRunReport report = facturacionService.ejecutarCorrida(PERIODO);
+
+        // Then
+        assertThat(report.cargosGenerados()).isEqualTo(1);
+        verify(facturacionJdbcRepository, never()).findContratosFacturables(eq(1L), eq(0), any(LocalDateTime.class),
+                any(LocalDateTime.class), anyInt());
+        assertThat(previo.getUltimoIdContrato()).isEqualTo(4);
+        assertThat(previo.getCompletado()).isTrue();
+    }
+
+    @Test
+    void ejecutarCorrida_WhenPartitionAlreadyCompleted_ShouldSkipIt() {
+        // Given
+        FacturacionCheckpoint completado = FacturacionCheckpoint.builder()
+                .periodo("2024-02")
+                .idInmobiliaria(1L)
+                .completado(true)
+                .build();
+        when(facturacionJdbcRepository.findInmobiliariasConContratosActivos()).thenReturn(List.of(1L));
+        when(checkpointRepository.findByPeriodoAndIdInmobiliaria("2024-02", 1L)).thenReturn(Optional.of(completado));
+
+        // When
+        FacturacionRunReport report = facturacionService.ejecutarCorrida(PERIODO);
+
+        // Then
+        assertThat(report.inmobiliariasOmitidas()).isEqualTo(1);
+        assertThat(report.inmobiliariasProcesadas()).isZero();
+        verify(facturacionJdbcRepository, never()).findContratosFacturables(anyLong(), anyInt(), any(), any(), anyInt());
+        verify(facturacionJdbcRepository, never()).insertCargos(any());
+        verifyNoInteractions(eventoOutboxService);
+    }
+
+    @Test
+    void ejecutarCorrida_WhenPartitionFails_ShouldReportFailureAndContinue() {
+        // Given
+        when(facturacionJdbcRepository.findInmobiliariasConContratosActivos()).thenReturn(List.of(1L, 2L));
+        when(checkpointRepository.findByPeriodoAndIdInmobiliaria(eq("2024-02"), anyLong())).thenReturn(Optional.empty());
+        when(conceptosPagoRepository.findByIdInmobiliariaAndActivo(1L, true)).thenReturn(List.of(conceptoRenta));
+        when(conceptosPagoRepository.findByIdInmobiliariaAndActivo(2L, true)).thenReturn(List.of(conceptoRenta));
+        when(facturacionJdbcRepository.findContratosFacturables(eq(1L), anyInt(), any(LocalDateTime.class),
+                any(LocalDateTime.class), anyInt()))
+                .thenThrow(new IllegalStateException("connection reset"));
+        when(facturacionJdbcRepository.findContratosFacturables(eq(2L), eq(0), any(LocalDateTime.class),
+                any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(new ContratoFacturable(9, null, BigDecimal.ONE)));
+
+        // When
+        FacturacionRunReport report = facturacionService.ejecutarCorrida(PERIODO);
+
+        // Then
+        assertThat(report.inmobiliariasProcesadas()).isEqualTo(1);
+        assertThat(report.cargosGenerados()).isEqualTo(1);
+        assertThat(report.fallas()).containsExactly("Inmobiliaria 1: connection reset");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ejecutarCorrida_WithSeveralRentConcepts_ShouldChargeRentOncePerContract() {
+        // Given
+        ConceptosPago otraRenta = ConceptosPago.builder()
+                .idConcepto(4)
+                .idInmobiliaria(1L)
+                .nombreConcepto("Renta")
+                .tipoConcepto("RENTA")
+                .activo(true)
+                .build();
+        when(facturacionJdbcRepository.findInmobiliariasConContratosActivos()).thenReturn(List.of(1L));
+        when(checkpointRepository.findByPeriodoAndIdInmobiliaria("2024-02", 1L)).thenReturn(Optional.empty());
+        when(conceptosPagoRepository.findByIdInmobiliariaAndActivo(1L, true)).thenReturn(List.of(conceptoRenta, otraRenta));
+        when(facturacionJdbcRepository.findContratosFacturables(eq(1L), eq(0), any(LocalDateTime.class),
+                any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(new ContratoFacturable(5, null, BigDecimal.valueOf(12000))));
+
+        // When
+        FacturacionRunReport report = facturacionService.ejecutarCorrida(PERIODO);
+
+        // Then
+        assertThat(report.cargosGenerados()).isEqualTo(1);
+        ArgumentCaptor<List<CargoRenta>> insertados = ArgumentCaptor.forClass(List.class);
+        verify(facturacionJdbcRepository).insertCargos(insertados.capture());
+        assertThat(insertados.getValue()).singleElement()
+                .satisfies(cargo -> assertThat(cargo.getIdConcepto()).isEqualTo(4));
+    }
+
+    @Test
+    void ejecutarCorrida_WhenNoRentConcept_ShouldReportFailureAndLeavePartitionIncomplete() {
+        // Given
+        when(facturacionJdbcRepository.findInmobiliariasConContratosActivos()).thenReturn(List.of(1L));
+        when(checkpointRepository.findByPeriodoAndIdInmobiliaria("2024-02", 1L)).thenReturn(Optional.empty());
+        when(conceptosPagoRepository.findByIdInmobiliariaAndActivo(1L, true)).thenReturn(List.of(conceptoMantenimiento));
+
+        // When
+        FacturacionRunReport report = facturacionService.ejecutarCorrida(PERIODO);
+
+        // Then
+        assertThat(report.inmobiliariasProcesadas()).isZero();
+        assertThat(report.fallas()).containsExactly("Inmobiliaria 1: No active RENTA concept for inmobiliaria 1");
+        verify(facturacionJdbcRepository, never()).findContratosFacturables(anyLong(), anyInt(), any(), any(), anyInt());
+        verify(checkpointRepository, never()).save(any(FacturacionCheckpoint.class));
+    }
+
+    @Test
+    void ejecutarCorrida_WhenNoActiveContracts_ShouldReturnEmptyReport() {
+        // Given
+        when(facturacionJdbcRepository.findInmobiliariasConContratosActivos()).thenReturn(List.of());
+
+        // When
+        FacturacionRunReport report = facturacionService.ejecutarCorrida(PERIODO);
+
+        // Then
+        assertThat(report.cargosGenerados()).isZero();
+        assertThat(report.fallas()).isEmpty();
+        verifyNoInteractions(checkpointRepository, conceptosPagoRepository);
+    }
+}
@@ -0,0 +1,262 @@
+package com.inmobiliaria.gestion.importacion.service;
+
+import com.inmobiliaria.gestion.auditoria.service.AuditoriaLoteService;
+import com.inmobiliaria.gestion.cambios.service.CambioTablaService;
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
+import com.inmobiliaria.gestion.importacion.dto.ImportacionReport;
+import com.inmobiliaria.gestion.importacion.dto.PropiedadReferencia;
+import com.inmobiliaria.gestion.importacion.parser.FilaImportacion;
+import com.inmobiliaria.gestion.importacion.parser.LectorFilas;
+import com.inmobiliaria.gestion.importacion.repository.ImportacionJdbcRepository;
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ImportacionServiceTest {
+
+    private static Validator validator;
+
+    @Mock
+    private ImportacionJdbcRepository importacionJdbcRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private CambioTablaService cambioTablaService;
+
+    @Mock
+    private EventoOutboxService eventoOutboxService;
+
+    @Mock
+    private AuditoriaLoteService auditoriaLoteService;
+
+    private ImportacionService importacionService;
+
+    @BeforeAll
+    static void crearValidator() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @BeforeEach
+    void setUp() {
+        importacionService = new ImportacionService(importacionJdbcRepository, transactionTemplate, validator,
+                dashboardService, cambioTablaService, eventoOutboxService, auditoriaLoteService);
+        when(auditoriaLoteService.usuarioActual()).thenReturn("admin");
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(importacionJdbcRepository.findIdsInmobiliaria()).thenReturn(Set.of(1L, 2L));
+        when(importacionJdbcRepository.findInmobiliariasPorRfc()).thenReturn(Map.of("ABC123456XYZ", 2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importarPropiedades_ShouldInsertValidRowsAndReportInvalidOnes() throws Exception {
+        // Given
+        LectorFilas lector = filas(
+                fila(2, "id_inmobiliaria", "1", "direccion_completa", "Calle Reforma 123", "numero_banos", "2"),
+                fila(3, "rfc_inmobiliaria", "abc123456xyz", "superficie_total", "150.50"),
+                fila(4, "id_inmobiliaria", "9"),
+                fila(5, "id_inmobiliaria", "1", "numero_habitaciones", "tres"));
+
+        doAnswer(invocation -> {
+            List<Propiedad> propiedades = invocation.getArgument(0);
+            for (int i = 0; i < propiedades.size(); i++) {
+                propiedades.get(i).setIdPropiedad(100 + i);
+            }
+            return null;
+        }).when(importacionJdbcRepository).insertPropiedades(anyList());
+
+        // When
+        ImportacionReport report = importacionService.importarPropiedades(lector, null);
+
+        // Then
+        assertThat(report.filasLeidas()).isEqualTo(4);
+        assertThat(report.filasImportadas()).isEqualTo(2);
+        assertThat(report.filasRechazadas()).isEqualTo(2);
+        assertThat(report.errores()).extracting("fila", "columna")
+                .containsExactly(tuple(4L, "id_inmobiliaria"), tuple(5L, "numero_habitaciones"));
+
+        ArgumentCaptor<List<Propiedad>> insertadas = ArgumentCaptor.forClass(List.class);
+        verify(importacionJdbcRepository).insertPropiedades(insertadas.capture());
+        Propiedad primera = insertadas.getValue().get(0);
+        assertThat(primera.getDireccionNormalizada()).isEqualTo("calle reforma 123");
+        assertThat(primera.getEstatusPropiedad()).isEqualTo("DISPONIBLE");
+        assertThat(insertadas.getValue().get(1).getIdInmobiliaria()).isEqualTo(2L);
+        verify(dashboardService).invalidar();
+
+        ArgumentCaptor<Map<Integer, Object>> eventos = ArgumentCaptor.forClass(Map.class);
+        verify(eventoOutboxService).registrarLote(eq("PROPIEDAD"), eq("PROPIEDAD_CREADA"), eventos.capture());
+        assertThat(eventos.getValue()).containsOnlyKeys(100, 101);
+        verify(auditoriaLoteService).registrarAltas(insertadas.getValue(), "admin");
+    }
+
+    @Test
+    void importarPropiedades_ShouldInsertInChunks() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(importacionService, "chunkSize", 2);
+        LectorFilas lector = filas(fila(2), fila(3), fila(4));
+
+        // When
+        ImportacionReport report = importacionService.importarPropiedades(lector, 1L);
+
+        // Then
+        assertThat(report.filasImportadas()).isEqualTo(3);
+        verify(importacionJdbcRepository, times(2)).insertPropiedades(anyList());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(cambioTablaService, times(2)).registrarCambio("propiedad");
+    }
+
+    @Test
+    void importarPropiedades_WhenChunkFails_ShouldRejectOnlyItsRows() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(importacionService, "chunkSize", 1);
+        doThrow(new IllegalStateException("duplicate key"))
+                .doNothing()
+                .when(importacionJdbcRepository).insertPropiedades(anyList());
+        LectorFilas lector = filas(fila(2), fila(3));
+
+        // When
+        ImportacionReport report = importacionService.importarPropiedades(lector, 1L);
+
+        // Then
+        assertThat(report.filasImportadas()).isEqualTo(1);
+        assertThat(report.filasRechazadas()).isEqualTo(1);
+        assertThat(report.errores()).singleElement()
+                .satisfies(error -> assertThat(error.mensaje()).contains("duplicate key"));
+        verify(eventoOutboxService, times(1)).registrarLote(eq("PROPIEDAD"), eq("PROPIEDAD_CREADA"), anyMap());
+    }
+
+    @Test
+    void importarPropiedades_ShouldTruncateErrorList() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(importacionService, "maxErrores", 1);
+        LectorFilas lector = filas(fila(2), fila(3));
+
+        // When
+        ImportacionReport report = importacionService.importarPropiedades(lector, null);
+
+        // Then
+        assertThat(report.filasRechazadas()).isEqualTo(2);
+        assertThat(report.errores()).hasSize(1);
+        assertThat(report.erroresTruncados()).isTrue();
+        verify(dashboardService, never()).invalidar();
+    }
+
+    @Test
+    void importarPropiedades_WhenDefaultInmobiliariaUnknown_ShouldThrow() {
+        // When / Then
+        assertThatThrownBy(() -> importacionService.importarPropiedades(filas(), 99L))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(importacionJdbcRepository, never()).insertPropiedades(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importarContratos_ShouldResolvePropertiesAndRejectDuplicateActiveContracts() throws Exception {
+        // Given
+        when(importacionJdbcRepository.findPropiedades(1L)).thenReturn(List.of(
+                new PropiedadReferencia(10, "calle reforma 123"),
+                new PropiedadReferencia(11, "av juarez 5"),
+                new PropiedadReferencia(12, "av juarez 5"),
+                new PropiedadReferencia(13, "insurgentes 800")));
+        when(importacionJdbcRepository.findPropiedadesConContratoActivo(1L)).thenReturn(new HashSet<>(Set.of(13)));
+        LectorFilas lector = filas(
+                fila(2, "direccion_propiedad", "Calle Reforma  123", "fecha_inicio_contrato", "2024-01-15", "duracion_meses", "12"),
+                fila(3, "id_propiedad", "10", "fecha_inicio_contrato", "2024-02-01", "duracion_meses", "12"),
+                fila(4, "direccion_propiedad", "Av Juárez 5", "fecha_inicio_contrato", "2024-02-01", "duracion_meses", "12"),
+                fila(5, "id_propiedad", "13", "fecha_inicio_contrato", "2024-02-01", "duracion_meses", "12"),
+                fila(6, "id_propiedad", "99", "fecha_inicio_contrato", "2024-02-01", "duracion_meses", "12"));
+
+        doAnswer(invocation -> {
+            invocation.<List<ContratoRenta>>getArgument(0).get(0).setIdContrato(500);
+            return null;
+        }).when(importacionJdbcRepository).insertContratos(anyList());
+
+        // When
+        ImportacionReport report = importacionService.importarContratos(lector, 1L);
+
+        // Then
+        assertThat(report.filasImportadas()).isEqualTo(1);
+        assertThat(report.filasRechazadas()).isEqualTo(4);
+        assertThat(report.errores()).extracting("fila").containsExactly(3L, 4L, 5L, 6L);
+
+        ArgumentCaptor<List<ContratoRenta>> insertados = ArgumentCaptor.forClass(List.class);
+        verify(importacionJdbcRepository).insertContratos(insertados.capture());
+        ContratoRenta contrato = insertados.getValue().get(0);
+        assertThat(contrato.getIdPropiedad()).isEqualTo(10);
+        assertThat(contrato.getEstatusContrato()).isEqualTo("ACTIVO");
+        assertThat(contrato.getFechaFinContrato()).isEqualTo(LocalDateTime.of(2025, 1, 15, 0, 0));
+
+        ArgumentCaptor<Map<Integer, Object>> eventos = ArgumentCaptor.forClass(Map.class);
+        verify(eventoOutboxService).registrarLote(eq("CONTRATO_RENTA"), eq("CONTRATO_RENTA_CREADO"), eventos.capture());
+        assertThat(eventos.getValue()).containsOnlyKeys(500);
+        verify(cambioTablaService).registrarCambio("contrato_renta");
+        verify(auditoriaLoteService).registrarAltas(insertados.getValue(), "admin");
+    }
+
+    @Test
+    void importarContratos_ShouldValidateWithCreateRequestConstraints() throws Exception {
+        // Given
+        when(importacionJdbcRepository.findPropiedades(1L)).thenReturn(List.of(new PropiedadReferencia(10, null)));
+        when(importacionJdbcRepository.findPropiedadesConContratoActivo(1L)).thenReturn(new HashSet<>());
+        LectorFilas lector = filas(fila(2, "id_propiedad", "10", "fecha_inicio_contrato", "2024-01-15T10:00:00",
+                "duracion_meses", "0", "email_notificaciones", "no-es-email"));
+
+        // When
+        ImportacionReport report = importacionService.importarContratos(lector, 1L);
+
+        // Then
+        assertThat(report.filasRechazadas()).isEqualTo(1);
+        assertThat(report.errores()).extracting("columna")
+                .containsExactlyInAnyOrder("duracion_meses", "email_notificaciones");
+        verify(importacionJdbcRepository, never()).insertContratos(anyList());
+    }
+
+    private static LectorFilas filas(FilaImportacion... filas) {
+        return consumidor -> List.of(filas).forEach(consumidor);
+    }
+
+    private static FilaImportacion fila(long numero, String... columnasYValores) {
+        Map<String, String> valores = new LinkedHashMap<>();
+        for (int i = 0; i < columnasYValores.length; i += 2) {
+            valores.put(columnasYValores[i], columnasYValores[i + 1]);
+        }
+        return new FilaImportacion(numero, valores);
+    }
+}
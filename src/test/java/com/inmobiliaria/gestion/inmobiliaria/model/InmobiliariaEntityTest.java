@@ -94,7 +94,7 @@ class InmobiliariaEntityTest {
             
             Inmobiliaria inmobiliaria = new Inmobiliaria(
                     1L, "Test", "Test S.A.", "TEST123", "+52", "test@test.com",
-                    "Address", "City", "State", "12345", "Person", testDate, "ACTIVE"
+                    "Address", "City", "State", "12345", "Person", testDate, "ACTIVE", null
             );
             
             assertEquals(1L, inmobiliaria.getIdInmobiliaria());
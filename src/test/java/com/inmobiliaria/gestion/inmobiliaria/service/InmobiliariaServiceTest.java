@@ -1,5 +1,7 @@
 package com.inmobiliaria.gestion.inmobiliaria.service;
 
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
 import com.inmobiliaria.gestion.inmobiliaria.dto.InmobiliariaDTO;
 import com.inmobiliaria.gestion.inmobiliaria.model.Inmobiliaria;
 import com.inmobiliaria.gestion.inmobiliaria.repository.InmobiliariaRepository;
@@ -19,6 +21,7 @@ import org.springframework.data.domain.Pageable;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,10 +29,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +44,12 @@ class InmobiliariaServiceTest {
     @Mock
     private InmobiliariaRepository inmobiliariaRepository;
 
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private EventoOutboxService eventoOutboxService;
+
     @InjectMocks
     private InmobiliariaService inmobiliariaService;
 
@@ -220,6 +231,8 @@ class InmobiliariaServiceTest {
             assertThat(result.nombreComercial()).isEqualTo("Inmobiliaria Los Pinos");
             verify(inmobiliariaRepository, times(1)).existsByRfcNit("ILP123456789");
             verify(inmobiliariaRepository, times(1)).save(any(Inmobiliaria.class));
+            verify(eventoOutboxService).registrar(eq("INMOBILIARIA"), eq(1L), eq("INMOBILIARIA_CREADA"),
+                    any(InmobiliariaDTO.class));
         }
 
         @Test
@@ -286,6 +299,7 @@ class InmobiliariaServiceTest {
             // Should NOT call existsByRfcNitAndIdInmobiliariaNot since RFC is not changing
             verify(inmobiliariaRepository, never()).existsByRfcNitAndIdInmobiliariaNot(anyString(), anyLong());
             verify(inmobiliariaRepository, times(1)).save(any(Inmobiliaria.class));
+            verify(eventoOutboxService).registrar("INMOBILIARIA", 1L, "INMOBILIARIA_ACTUALIZADA", result);
         }
 
         @Test
@@ -366,6 +380,8 @@ class InmobiliariaServiceTest {
             // Then
             verify(inmobiliariaRepository, times(1)).existsById(1L);
             verify(inmobiliariaRepository, times(1)).deleteById(1L);
+            verify(eventoOutboxService).registrar("INMOBILIARIA", 1L, "INMOBILIARIA_ELIMINADA",
+                    Map.of("idInmobiliaria", 1L));
         }
 
         @Test
@@ -380,6 +396,7 @@ class InmobiliariaServiceTest {
                     .hasMessageContaining("Inmobiliaria not found with id: 999");
             verify(inmobiliariaRepository, times(1)).existsById(999L);
             verify(inmobiliariaRepository, never()).deleteById(anyLong());
+            verifyNoInteractions(eventoOutboxService);
         }
     }
 
@@ -401,6 +418,7 @@ class InmobiliariaServiceTest {
             assertThat(result).isNotNull();
             verify(inmobiliariaRepository, times(1)).findById(1L);
             verify(inmobiliariaRepository, times(1)).save(any(Inmobiliaria.class));
+            verify(eventoOutboxService).registrar("INMOBILIARIA", 1L, "INMOBILIARIA_ESTATUS_CAMBIADO", result);
         }
 
         @Test
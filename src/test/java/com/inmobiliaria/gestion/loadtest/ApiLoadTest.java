@@ -0,0 +1,185 @@
+package com.inmobiliaria.gestion.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inmobiliaria.gestion.loadtest.LoadGenerator.Escenario;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.inmobiliaria.gestion.loadtest.LoadGenerator.elegir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the /api/v1 read endpoints with authenticated traffic against a seeded database and
+ * checks per-endpoint latency SLOs, optionally against the report of a previous run.
+ * Opt-in because of its runtime: {@code mvn -Ploadtest verify}. Every {@code loadtest.*}
+ * setting in application-loadtest.properties can be overridden with {@code -D}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "loadtest"})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@DisplayName("API Load Test")
+@Slf4j
+class ApiLoadTest {
+
+    private static final String[] TERMINOS_BUSQUEDA = {"juarez", "reforma 1", "hidalgo", "avila camacho", "insurgentes 2"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.seed.inmobiliarias}")
+    private int inmobiliarias;
+
+    @Value("${loadtest.seed.propiedades-por-inmobiliaria}")
+    private int propiedadesPorInmobiliaria;
+
+    @Value("${loadtest.seed.ocupacion}")
+    private double ocupacion;
+
+    @Value("${loadtest.seed.conceptos-por-inmobiliaria}")
+    private int conceptosPorInmobiliaria;
+
+    @Value("${loadtest.concurrency}")
+    private int concurrencia;
+
+    @Value("${loadtest.warmup}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration}")
+    private Duration duracion;
+
+    @Value("${loadtest.slo.p95-ms}")
+    private double sloP95Ms;
+
+    @Value("${loadtest.slo.p99-ms}")
+    private double sloP99Ms;
+
+    @Value("${loadtest.slo.max-error-rate}")
+    private double sloMaxErrorRate;
+
+    @Value("${loadtest.report}")
+    private String reportPath;
+
+    @Value("${loadtest.baseline:}")
+    private String baselinePath;
+
+    @Value("${loadtest.regression.tolerance}")
+    private double toleranciaRegresion;
+
+    @Value("${loadtest.regression.min-delta-ms}")
+    private double deltaMinimoMs;
+
+    @Test
+    void readEndpoints_UnderConcurrentLoad_ShouldMeetLatencySlos() throws Exception {
+        // Given
+        LoadTestDataSeeder seeder = LoadTestDataSeeder.forContext(applicationContext);
+        LoadTestDataSeeder.SeededData datos = seeder.seed(inmobiliarias, propiedadesPorInmobiliaria, ocupacion, conceptosPorInmobiliaria);
+        LoadGenerator generador = new LoadGenerator(port, seeder.seedUserToken());
+        String baseDatos = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+
+        // When
+        LoadTestReport report = generador.ejecutar(escenarios(datos), concurrencia, warmup, duracion, baseDatos);
+        escribir(report);
+
+        // Then
+        List<String> violaciones = new ArrayList<>(violacionesSlo(report));
+        if (!baselinePath.isBlank()) {
+            violaciones.addAll(regresiones(report, objectMapper.readValue(Path.of(baselinePath).toFile(), LoadTestReport.class)));
+        }
+        assertThat(violaciones).as("Latency SLO violations and regressions").isEmpty();
+    }
+
+    // Weighted read mix: lookups by id dominate, followed by searches and listings
+    private List<Escenario> escenarios(LoadTestDataSeeder.SeededData datos) {
+        int paginasConceptos = Math.max(1, inmobiliarias * conceptosPorInmobiliaria / 20);
+        return List.of(
+                new Escenario("GET /inmobiliarias/{id}", 10,
+                        random -> "/api/v1/inmobiliarias/" + elegir(datos.idsInmobiliaria(), random)),
+                new Escenario("GET /propiedades/{id}", 20,
+                        random -> "/api/v1/propiedades/" + elegir(datos.idsPropiedad(), random)),
+                new Escenario("GET /propiedades/search", 15,
+                        random -> "/api/v1/propiedades/search?size=20&direccion="
+                                + URLEncoder.encode(TERMINOS_BUSQUEDA[random.nextInt(TERMINOS_BUSQUEDA.length)], StandardCharsets.UTF_8)
+                                + (random.nextBoolean() ? "&idInmobiliaria=" + elegir(datos.idsInmobiliaria(), random) : "")),
+                new Escenario("GET /contratos-renta/{id}", 20,
+                        random -> "/api/v1/contratos-renta/" + elegir(datos.idsContrato(), random)),
+                new Escenario("GET /contratos-renta/cursor", 10,
+                        random -> "/api/v1/contratos-renta/cursor?size=50&after=" + elegir(datos.idsContrato(), random)),
+                new Escenario("GET /conceptos-pago", 15,
+                        random -> "/api/v1/conceptos-pago?size=20&page=" + random.nextInt(paginasConceptos)),
+                new Escenario("GET /dashboard/summary", 10,
+                        random -> "/api/v1/dashboard/summary"));
+    }
+
+    private void escribir(LoadTestReport report) throws IOException {
+        Path destino = Path.of(reportPath);
+        Files.createDirectories(destino.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(destino.toFile(), report);
+        log.info("Load test report written to {}", destino.toAbsolutePath());
+    }
+
+    private List<String> violacionesSlo(LoadTestReport report) {
+        List<String> violaciones = new ArrayList<>();
+        for (EndpointReport endpoint : report.endpoints()) {
+            if (endpoint.p95Ms() > sloP95Ms) {
+                violaciones.add(String.format("%s p95 %.2f ms exceeds SLO of %.2f ms", endpoint.endpoint(), endpoint.p95Ms(), sloP95Ms));
+            }
+            if (endpoint.p99Ms() > sloP99Ms) {
+                violaciones.add(String.format("%s p99 %.2f ms exceeds SLO of %.2f ms", endpoint.endpoint(), endpoint.p99Ms(), sloP99Ms));
+            }
+            if (endpoint.errorRate() > sloMaxErrorRate) {
+                violaciones.add(String.format("%s error rate %.4f exceeds SLO of %.4f", endpoint.endpoint(), endpoint.errorRate(), sloMaxErrorRate));
+            }
+        }
+        return violaciones;
+    }
+
+    // A regression needs both a relative and an absolute increase, so sub-millisecond noise on fast endpoints is ignored
+    private List<String> regresiones(LoadTestReport actual, LoadTestReport baseline) {
+        List<String> regresiones = new ArrayList<>();
+        for (EndpointReport endpoint : actual.endpoints()) {
+            EndpointReport previo = baseline.endpoint(endpoint.endpoint());
+            if (previo == null) {
+                continue;
+            }
+            double limite = previo.p95Ms() * (1 + toleranciaRegresion);
+            if (endpoint.p95Ms() > limite && endpoint.p95Ms() - previo.p95Ms() > deltaMinimoMs) {
+                regresiones.add(String.format("%s p95 regressed from %.2f ms to %.2f ms", endpoint.endpoint(), previo.p95Ms(), endpoint.p95Ms()));
+            }
+        }
+        if (baseline.concurrencia() == actual.concurrencia()
+                && actual.throughputPorSegundo() < baseline.throughputPorSegundo() * (1 - toleranciaRegresion)) {
+            regresiones.add(String.format("Throughput regressed from %.1f req/s to %.1f req/s",
+                    baseline.throughputPorSegundo(), actual.throughputPorSegundo()));
+        }
+        return regresiones;
+    }
+}
@@ -0,0 +1,44 @@
+package com.inmobiliaria.gestion.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency and throughput of one endpoint over the measured window. Percentiles use the
+ * nearest-rank method over every recorded sample.
+ */
+record EndpointReport(
+        String endpoint,
+        long requests,
+        long errors,
+        double errorRate,
+        double throughputPerSecond,
+        double p50Ms,
+        double p95Ms,
+        double p99Ms,
+        double maxMs
+) {
+
+    static EndpointReport from(String endpoint, long[] latenciasNanos, long errors, double segundos) {
+        long[] ordenadas = latenciasNanos.clone();
+        Arrays.sort(ordenadas);
+        long requests = ordenadas.length;
+        return new EndpointReport(
+                endpoint,
+                requests,
+                errors,
+                requests > 0 ? (double) errors / requests : 0.0,
+                segundos > 0 ? requests / segundos : 0.0,
+                percentil(ordenadas, 50),
+                percentil(ordenadas, 95),
+                percentil(ordenadas, 99),
+                requests > 0 ? ordenadas[ordenadas.length - 1] / 1_000_000.0 : 0.0);
+    }
+
+    private static double percentil(long[] ordenadas, int percentil) {
+        if (ordenadas.length == 0) {
+            return 0.0;
+        }
+        int rango = (int) Math.ceil(percentil / 100.0 * ordenadas.length);
+        return ordenadas[Math.max(0, rango - 1)] / 1_000_000.0;
+    }
+}
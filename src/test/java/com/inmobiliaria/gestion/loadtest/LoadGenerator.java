@@ -0,0 +1,153 @@
+package com.inmobiliaria.gestion.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Closed-loop HTTP load: each simulated client issues its next request as soon as the previous
+ * one completes, picking endpoints by weight. Clients run on virtual threads so thousands of
+ * them cost no more than the sockets they hold, keeping the generator out of the measurement.
+ */
+@Slf4j
+class LoadGenerator {
+
+    private final String baseUrl;
+    private final String token;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    LoadGenerator(int port, String token) {
+        this.baseUrl = "http://localhost:" + port;
+        this.token = token;
+    }
+
+    LoadTestReport ejecutar(List<Escenario> escenarios, int concurrencia, Duration warmup, Duration duracion,
+                            String baseDatos) throws Exception {
+        medir(escenarios, concurrencia, warmup);
+        List<Resultado> resultados = medir(escenarios, concurrencia, duracion);
+        return consolidar(escenarios, resultados, concurrencia, duracion, baseDatos);
+    }
+
+    private List<Resultado> medir(List<Escenario> escenarios, int concurrencia, Duration ventana) throws Exception {
+        long fin = System.nanoTime() + ventana.toNanos();
+        int pesoTotal = escenarios.stream().mapToInt(Escenario::peso).sum();
+        List<Resultado> resultados = new ArrayList<>(concurrencia);
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Resultado>> futuros = new ArrayList<>(concurrencia);
+            for (int i = 0; i < concurrencia; i++) {
+                futuros.add(clientes.submit(() -> cliente(escenarios, pesoTotal, fin)));
+            }
+            for (Future<Resultado> futuro : futuros) {
+                resultados.add(futuro.get());
+            }
+        }
+        return resultados;
+    }
+
+    private Resultado cliente(List<Escenario> escenarios, int pesoTotal, long fin) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Resultado resultado = new Resultado(escenarios.size());
+        while (System.nanoTime() < fin) {
+            int indice = elegirEscenario(escenarios, pesoTotal, random);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + escenarios.get(indice).ruta().apply(random)))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long inicio = System.nanoTime();
+            boolean exitosa;
+            try {
+                exitosa = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (IOException e) {
+                exitosa = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            resultado.registrar(indice, System.nanoTime() - inicio, exitosa);
+        }
+        return resultado;
+    }
+
+    private LoadTestReport consolidar(List<Escenario> escenarios, List<Resultado> resultados, int concurrencia,
+                                      Duration duracion, String baseDatos) {
+        double segundos = duracion.toMillis() / 1000.0;
+        List<EndpointReport> endpoints = new ArrayList<>(escenarios.size());
+        long total = 0;
+        for (int i = 0; i < escenarios.size(); i++) {
+            int indice = i;
+            long[] latencias = resultados.stream()
+                    .flatMapToLong(resultado -> Arrays.stream(resultado.latencias(indice)))
+                    .toArray();
+            long errores = resultados.stream().mapToLong(resultado -> resultado.errores[indice]).sum();
+            EndpointReport endpoint = EndpointReport.from(escenarios.get(i).nombre(), latencias, errores, segundos);
+            log.info(String.format("%-28s %8d req %8.1f req/s  p50 %7.2f ms  p95 %7.2f ms  p99 %7.2f ms  max %8.2f ms  errors %d",
+                    endpoint.endpoint(), endpoint.requests(), endpoint.throughputPerSecond(), endpoint.p50Ms(),
+                    endpoint.p95Ms(), endpoint.p99Ms(), endpoint.maxMs(), endpoint.errors()));
+            endpoints.add(endpoint);
+            total += endpoint.requests();
+        }
+        return new LoadTestReport(Instant.now(), baseDatos, concurrencia, duracion.toSeconds(), total,
+                total / segundos, endpoints);
+    }
+
+    private static int elegirEscenario(List<Escenario> escenarios, int pesoTotal, ThreadLocalRandom random) {
+        int valor = random.nextInt(pesoTotal);
+        for (int i = 0; i < escenarios.size(); i++) {
+            valor -= escenarios.get(i).peso();
+            if (valor < 0) {
+                return i;
+            }
+        }
+        return escenarios.size() - 1;
+    }
+
+    static <T> T elegir(List<T> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    record Escenario(String nombre, int peso, Function<ThreadLocalRandom, String> ruta) {
+    }
+
+    // Per-client sample buffers, merged once the window closes so the hot loop never contends
+    private static final class Resultado {
+
+        private final long[][] muestras;
+        private final int[] tamanos;
+        private final long[] errores;
+
+        Resultado(int escenarios) {
+            muestras = new long[escenarios][64];
+            tamanos = new int[escenarios];
+            errores = new long[escenarios];
+        }
+
+        void registrar(int escenario, long latenciaNanos, boolean exitosa) {
+            if (tamanos[escenario] == muestras[escenario].length) {
+                muestras[escenario] = Arrays.copyOf(muestras[escenario], tamanos[escenario] * 2);
+            }
+            muestras[escenario][tamanos[escenario]++] = latenciaNanos;
+            if (!exitosa) {
+                errores[escenario]++;
+            }
+        }
+
+        long[] latencias(int escenario) {
+            return Arrays.copyOf(muestras[escenario], tamanos[escenario]);
+        }
+    }
+}
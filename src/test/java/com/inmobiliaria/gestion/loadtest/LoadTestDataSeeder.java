@@ -0,0 +1,170 @@
+package com.inmobiliaria.gestion.loadtest;
+
+import com.inmobiliaria.gestion.auth.model.Role;
+import com.inmobiliaria.gestion.auth.model.User;
+import com.inmobiliaria.gestion.auth.repository.RoleRepository;
+import com.inmobiliaria.gestion.auth.repository.UserRepository;
+import com.inmobiliaria.gestion.conceptos.model.ConceptosPago;
+import com.inmobiliaria.gestion.conceptos.repository.ConceptosPagoRepository;
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import com.inmobiliaria.gestion.contrato_renta.repository.ContratoRentaRepository;
+import com.inmobiliaria.gestion.inmobiliaria.model.Inmobiliaria;
+import com.inmobiliaria.gestion.inmobiliaria.repository.InmobiliariaRepository;
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import com.inmobiliaria.gestion.propiedad.repository.PropiedadRepository;
+import com.inmobiliaria.gestion.security.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Seeds a realistic data set through the JPA repositories, so entity callbacks (normalized
+ * addresses, notification dates) and pooled sequences behave exactly as in production.
+ * Rows are saved in chunks, each in its own transaction, to keep the persistence context small.
+ */
+@RequiredArgsConstructor
+@Slf4j
+class LoadTestDataSeeder {
+
+    private static final int CHUNK = 1_000;
+    private static final String[] TIPOS_PROPIEDAD = {"CASA", "DEPARTAMENTO", "LOCAL", "OFICINA", "BODEGA"};
+    private static final String[] CALLES = {"Avenida Juárez", "Calle Hidalgo", "Paseo de la Reforma", "Calle Morelos",
+            "Boulevard Ávila Camacho", "Calle Zaragoza", "Avenida Insurgentes", "Calle Allende"};
+    private static final String[] TIPOS_CONCEPTO = {"RENTA", "MANTENIMIENTO", "SERVICIOS", "DEPOSITO"};
+
+    private final InmobiliariaRepository inmobiliariaRepository;
+    private final PropiedadRepository propiedadRepository;
+    private final ContratoRentaRepository contratoRentaRepository;
+    private final ConceptosPagoRepository conceptosPagoRepository;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtil jwtUtil;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Random random = new Random(42);
+
+    static LoadTestDataSeeder forContext(ApplicationContext context) {
+        return new LoadTestDataSeeder(
+                context.getBean(InmobiliariaRepository.class),
+                context.getBean(PropiedadRepository.class),
+                context.getBean(ContratoRentaRepository.class),
+                context.getBean(ConceptosPagoRepository.class),
+                context.getBean(UserRepository.class),
+                context.getBean(RoleRepository.class),
+                context.getBean(PasswordEncoder.class),
+                context.getBean(JwtUtil.class),
+                context.getBean(TransactionTemplate.class));
+    }
+
+    /**
+     * Creates the admin user the traffic runs as and returns a bearer token for it.
+     */
+    String seedUserToken() {
+        Role admin = roleRepository.findByName(Role.ERole.ROLE_ADMIN)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.ERole.ROLE_ADMIN).build()));
+        userRepository.save(User.builder()
+                .username("loadtest")
+                .email("loadtest@inmobiliaria.com")
+                .password(passwordEncoder.encode("loadtest"))
+                .roles(Set.of(admin))
+                .build());
+        return jwtUtil.generateTokenFromUsername("loadtest", List.of(Role.ERole.ROLE_ADMIN.name()));
+    }
+
+    SeededData seed(int inmobiliarias, int propiedadesPorInmobiliaria, double ocupacion, int conceptosPorInmobiliaria) {
+        long inicio = System.nanoTime();
+
+        List<Long> idsInmobiliaria = new ArrayList<>(inmobiliarias);
+        List<Inmobiliaria> nuevas = new ArrayList<>(inmobiliarias);
+        for (int i = 0; i < inmobiliarias; i++) {
+            nuevas.add(Inmobiliaria.builder()
+                    .nombreComercial("Inmobiliaria Carga " + i)
+                    .razonSocial("Inmobiliaria Carga " + i + " S.A. de C.V.")
+                    .rfcNit(String.format("ICA%09d", i))
+                    .telefonoPrincipal(String.format("+52 55 5000 %04d", i % 10_000))
+                    .emailContacto("contacto" + i + "@carga.mx")
+                    .ciudad("Ciudad de México")
+                    .estado("CDMX")
+                    .build());
+        }
+        guardar(nuevas, inmobiliariaRepository::saveAll).forEach(inmobiliaria -> idsInmobiliaria.add(inmobiliaria.getIdInmobiliaria()));
+
+        List<ConceptosPago> conceptos = new ArrayList<>(inmobiliarias * conceptosPorInmobiliaria);
+        for (Long idInmobiliaria : idsInmobiliaria) {
+            for (int c = 0; c < conceptosPorInmobiliaria; c++) {
+                String tipo = TIPOS_CONCEPTO[c % TIPOS_CONCEPTO.length];
+                conceptos.add(ConceptosPago.builder()
+                        .idInmobiliaria(idInmobiliaria)
+                        .nombreConcepto(tipo + " " + c)
+                        .tipoConcepto(tipo)
+                        .permiteRecargos(c % 2 == 0)
+                        .build());
+            }
+        }
+        guardar(conceptos, conceptosPagoRepository::saveAll);
+
+        List<Integer> idsPropiedad = new ArrayList<>(inmobiliarias * propiedadesPorInmobiliaria);
+        List<Propiedad> propiedades = new ArrayList<>(inmobiliarias * propiedadesPorInmobiliaria);
+        for (Long idInmobiliaria : idsInmobiliaria) {
+            for (int p = 0; p < propiedadesPorInmobiliaria; p++) {
+                propiedades.add(Propiedad.builder()
+                        .idInmobiliaria(idInmobiliaria)
+                        .tipoPropiedad(TIPOS_PROPIEDAD[random.nextInt(TIPOS_PROPIEDAD.length)])
+                        .superficieTotal(BigDecimal.valueOf(60 + random.nextInt(400)))
+                        .direccionCompleta(CALLES[random.nextInt(CALLES.length)] + " " + (1 + random.nextInt(2_000))
+                                + ", Colonia " + idInmobiliaria)
+                        .numeroBanos(1 + random.nextInt(3))
+                        .numeroHabitaciones(1 + random.nextInt(5))
+                        .build());
+            }
+        }
+        guardar(propiedades, propiedadRepository::saveAll).forEach(propiedad -> idsPropiedad.add(propiedad.getIdPropiedad()));
+
+        List<Integer> idsContrato = new ArrayList<>();
+        List<ContratoRenta> contratos = new ArrayList<>();
+        LocalDateTime hoy = LocalDateTime.now();
+        for (Integer idPropiedad : idsPropiedad) {
+            if (random.nextDouble() >= ocupacion) {
+                continue;
+            }
+            contratos.add(ContratoRenta.builder()
+                    .idPropiedad(idPropiedad)
+                    .fechaInicioContrato(hoy.minusDays(random.nextInt(700)))
+                    .duracionMeses(12 + 12 * random.nextInt(2))
+                    .notificacionDiasPrevios(30)
+                    .emailNotificaciones("inquilino" + idPropiedad + "@correo.mx")
+                    .depositoGarantia(BigDecimal.valueOf(5_000 + random.nextInt(20_000)))
+                    .montoRenta(BigDecimal.valueOf(5_000 + random.nextInt(20_000)))
+                    .build());
+        }
+        guardar(contratos, contratoRentaRepository::saveAll).forEach(contrato -> idsContrato.add(contrato.getIdContrato()));
+
+        log.info("Seeded {} inmobiliarias, {} propiedades, {} contratos and {} conceptos in {} ms",
+                idsInmobiliaria.size(), idsPropiedad.size(), idsContrato.size(), conceptos.size(),
+                (System.nanoTime() - inicio) / 1_000_000);
+        return new SeededData(idsInmobiliaria, idsPropiedad, idsContrato);
+    }
+
+    private <T> List<T> guardar(List<T> entidades, Function<List<T>, List<T>> saveAll) {
+        List<T> guardadas = new ArrayList<>(entidades.size());
+        for (int desde = 0; desde < entidades.size(); desde += CHUNK) {
+            List<T> lote = entidades.subList(desde, Math.min(desde + CHUNK, entidades.size()));
+            guardadas.addAll(transactionTemplate.execute(status -> saveAll.apply(lote)));
+        }
+        return guardadas;
+    }
+
+    record SeededData(List<Long> idsInmobiliaria, List<Integer> idsPropiedad, List<Integer> idsContrato) {
+    }
+}
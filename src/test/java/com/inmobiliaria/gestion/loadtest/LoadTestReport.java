@@ -0,0 +1,25 @@
+package com.inmobiliaria.gestion.loadtest;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outcome of one load test run, written as JSON so it can serve as the baseline of the next.
+ */
+record LoadTestReport(
+        Instant ejecutadoEn,
+        String baseDatos,
+        int concurrencia,
+        long duracionSegundos,
+        long totalRequests,
+        double throughputPorSegundo,
+        List<EndpointReport> endpoints
+) {
+
+    EndpointReport endpoint(String nombre) {
+        return endpoints.stream()
+                .filter(reporte -> reporte.endpoint().equals(nombre))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,111 @@
+package com.inmobiliaria.gestion.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.inmobiliaria.gestion.InmobiliariaBackendApplication;
+import com.inmobiliaria.gestion.loadtest.LoadGenerator.Escenario;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.inmobiliaria.gestion.loadtest.LoadGenerator.elegir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares platform-thread and virtual-thread request handling on the contract and property
+ * endpoints. Each mode gets its own application instance and database, started one after the
+ * other, and is driven by the same number of concurrent clients
+ * ({@code loadtest.threads.concurrency}, 2,000 by default).
+ * Run with {@code mvn -Ploadtest verify -Dtest=ThreadingModeLoadTest}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@DisplayName("Threading Mode Load Test")
+@Slf4j
+class ThreadingModeLoadTest {
+
+    @Test
+    void contractAndPropertyEndpoints_PlatformVersusVirtualThreads() throws Exception {
+        // When
+        LoadTestReport plataforma = medir(false);
+        LoadTestReport virtual = medir(true);
+
+        // Then
+        ThreadingComparison comparacion = new ThreadingComparison(plataforma, virtual,
+                plataforma.throughputPorSegundo() > 0 ? virtual.throughputPorSegundo() / plataforma.throughputPorSegundo() : 0.0);
+        Path destino = Path.of(System.getProperty("loadtest.threads.report", "target/loadtest/threads-comparison.json"));
+        Files.createDirectories(destino.toAbsolutePath().getParent());
+        new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(destino.toFile(), comparacion);
+        log.info("Throughput with {} clients: platform {} req/s, virtual {} req/s ({}x). Report written to {}",
+                plataforma.concurrencia(), String.format("%.1f", plataforma.throughputPorSegundo()),
+                String.format("%.1f", virtual.throughputPorSegundo()), String.format("%.2f", comparacion.aceleracion()),
+                destino.toAbsolutePath());
+
+        assertThat(plataforma.totalRequests()).isPositive();
+        assertThat(virtual.totalRequests()).isPositive();
+    }
+
+    private LoadTestReport medir(boolean hilosVirtuales) throws Exception {
+        String modo = hilosVirtuales ? "virtual" : "platform";
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.profiles.active=test,loadtest",
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + hilosVirtuales));
+        if (System.getenv("LOADTEST_DB_URL") == null) {
+            argumentos.add("--spring.datasource.url=jdbc:h2:mem:threads-" + modo
+                    + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InmobiliariaBackendApplication.class)
+                .run(argumentos.toArray(String[]::new))) {
+            Environment entorno = context.getEnvironment();
+            LoadTestDataSeeder seeder = LoadTestDataSeeder.forContext(context);
+            LoadTestDataSeeder.SeededData datos = seeder.seed(
+                    entorno.getRequiredProperty("loadtest.seed.inmobiliarias", Integer.class),
+                    entorno.getRequiredProperty("loadtest.seed.propiedades-por-inmobiliaria", Integer.class),
+                    entorno.getRequiredProperty("loadtest.seed.ocupacion", Double.class),
+                    entorno.getRequiredProperty("loadtest.seed.conceptos-por-inmobiliaria", Integer.class));
+            LoadGenerator generador = new LoadGenerator(
+                    entorno.getRequiredProperty("local.server.port", Integer.class), seeder.seedUserToken());
+
+            String baseDatos = context.getBean(JdbcTemplate.class).execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+
+            log.info("Measuring {} threads", modo);
+            return generador.ejecutar(escenarios(datos),
+                    entorno.getRequiredProperty("loadtest.threads.concurrency", Integer.class),
+                    entorno.getRequiredProperty("loadtest.warmup", Duration.class),
+                    entorno.getRequiredProperty("loadtest.duration", Duration.class),
+                    baseDatos);
+        }
+    }
+
+    private List<Escenario> escenarios(LoadTestDataSeeder.SeededData datos) {
+        return List.of(
+                new Escenario("GET /propiedades/{id}", 35,
+                        random -> "/api/v1/propiedades/" + elegir(datos.idsPropiedad(), random)),
+                new Escenario("GET /contratos-renta/{id}", 35,
+                        random -> "/api/v1/contratos-renta/" + elegir(datos.idsContrato(), random)),
+                new Escenario("GET /contratos-renta/propiedad/{id}", 15,
+                        random -> "/api/v1/contratos-renta/propiedad/" + elegir(datos.idsPropiedad(), random)),
+                new Escenario("GET /contratos-renta/cursor", 15,
+                        random -> "/api/v1/contratos-renta/cursor?size=50&after=" + elegir(datos.idsContrato(), random)));
+    }
+
+    record ThreadingComparison(LoadTestReport plataforma, LoadTestReport virtual, double aceleracion) {
+    }
+}
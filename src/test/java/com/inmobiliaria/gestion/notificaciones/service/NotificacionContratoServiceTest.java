@@ -0,0 +1,190 @@
+package com.inmobiliaria.gestion.notificaciones.service;
+
+import com.inmobiliaria.gestion.contrato_renta.model.ContratoRenta;
+import com.inmobiliaria.gestion.contrato_renta.repository.ContratoRentaRepository;
+import com.inmobiliaria.gestion.notificaciones.dto.NotificacionContratoDTO;
+import com.inmobiliaria.gestion.notificaciones.dto.NotificacionRunReport;
+import com.inmobiliaria.gestion.notificaciones.model.NotificacionContrato;
+import com.inmobiliaria.gestion.notificaciones.repository.NotificacionContratoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificacionContratoServiceTest {
+
+    @Mock
+    private ContratoRentaRepository contratoRentaRepository;
+
+    @Mock
+    private NotificacionContratoRepository notificacionContratoRepository;
+
+    @Mock
+    private NotificacionSender notificacionSender;
+
+    @InjectMocks
+    private NotificacionContratoService notificacionContratoService;
+
+    private ContratoRenta contratoConEmailYTelefono;
+    private ContratoRenta contratoSoloEmail;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime fechaFin = LocalDateTime.now().plusDays(10);
+
+        contratoConEmailYTelefono = ContratoRenta.builder()
+                .idContrato(1)
+                .idPropiedad(1)
+                .fechaFinContrato(fechaFin)
+                .emailNotificaciones("tenant@example.com")
+                .telefonoNotificaciones("555-1234")
+                .estatusContrato("ACTIVO")
+                .notificacionDiasPrevios(30)
+                .build();
+
+        contratoSoloEmail = ContratoRenta.builder()
+                .idContrato(2)
+                .idPropiedad(2)
+                .fechaFinContrato(fechaFin)
+                .emailNotificaciones("other@example.com")
+                .estatusContrato("ACTIVO")
+                .notificacionDiasPrevios(30)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificacionContratoService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void procesarNotificacionesPendientes_ShouldSendEveryChannelAndClearDueContracts() {
+        // Given
+        when(contratoRentaRepository.findDueForNotification(any(LocalDateTime.class), eq(0), any(Pageable.class)))
+                .thenReturn(List.of(contratoConEmailYTelefono, contratoSoloEmail));
+        when(notificacionContratoRepository.findByIdContratoIn(anyCollection())).thenReturn(List.of());
+
+        // When
+        NotificacionRunReport report = notificacionContratoService.procesarNotificacionesPendientes();
+
+        // Then
+        assertThat(report.contratosProcesados()).isEqualTo(2);
+        assertThat(report.enviadas()).isEqualTo(3);
+        assertThat(report.omitidas()).isZero();
+        assertThat(report.fallidas()).isZero();
+        verify(notificacionSender).enviar(eq(NotificacionContrato.Canal.EMAIL), eq("tenant@example.com"), anyString(), anyString());
+        verify(notificacionSender).enviar(eq(NotificacionContrato.Canal.SMS), eq("555-1234"), anyString(), anyString());
+        verify(notificacionSender).enviar(eq(NotificacionContrato.Canal.EMAIL), eq("other@example.com"), anyString(), anyString());
+
+        ArgumentCaptor<List<NotificacionContrato>> guardadas = ArgumentCaptor.forClass(List.class);
+        verify(notificacionContratoRepository).saveAll(guardadas.capture());
+        assertThat(guardadas.getValue()).hasSize(3);
+
+        ArgumentCaptor<Collection<Integer>> limpiados = ArgumentCaptor.forClass(Collection.class);
+        verify(contratoRentaRepository).clearFechaNotificacion(limpiados.capture());
+        assertThat(limpiados.getValue()).containsExactly(1, 2);
+    }
+
+    @Test
+    void procesarNotificacionesPendientes_WhenAlreadySent_ShouldSkipChannel() {
+        // Given
+        NotificacionContrato previa = NotificacionContrato.builder()
+                .idContrato(2)
+                .canal(NotificacionContrato.Canal.EMAIL)
+                .destinatario("other@example.com")
+                .fechaFinContrato(contratoSoloEmail.getFechaFinContrato())
+                .fechaEnvio(LocalDateTime.now().minusHours(1))
+                .build();
+        when(contratoRentaRepository.findDueForNotification(any(LocalDateTime.class), eq(0), any(Pageable.class)))
+                .thenReturn(List.of(contratoSoloEmail));
+        when(notificacionContratoRepository.findByIdContratoIn(anyCollection())).thenReturn(List.of(previa));
+
+        // When
+        NotificacionRunReport report = notificacionContratoService.procesarNotificacionesPendientes();
+
+        // Then
+        assertThat(report.enviadas()).isZero();
+        assertThat(report.omitidas()).isEqualTo(1);
+        verifyNoInteractions(notificacionSender);
+        verify(notificacionContratoRepository, never()).saveAll(anyCollection());
+        verify(contratoRentaRepository).clearFechaNotificacion(List.of(2));
+    }
+
+    @Test
+    void procesarNotificacionesPendientes_WhenSendFails_ShouldKeepContractDue() {
+        // Given
+        when(contratoRentaRepository.findDueForNotification(any(LocalDateTime.class), eq(0), any(Pageable.class)))
+                .thenReturn(List.of(contratoConEmailYTelefono, contratoSoloEmail));
+        when(notificacionContratoRepository.findByIdContratoIn(anyCollection())).thenReturn(List.of());
+        // One stub for both channels: a channel-specific stub would make the EMAIL sends a strict-stubs mismatch
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == NotificacionContrato.Canal.SMS) {
+                throw new IllegalStateException("SMS gateway unavailable");
+            }
+            return null;
+        }).when(notificacionSender).enviar(any(), anyString(), anyString(), anyString());
+
+        // When
+        NotificacionRunReport report = notificacionContratoService.procesarNotificacionesPendientes();
+
+        // Then
+        assertThat(report.enviadas()).isEqualTo(2);
+        assertThat(report.fallidas()).isEqualTo(1);
+        verify(contratoRentaRepository).clearFechaNotificacion(List.of(2));
+    }
+
+    @Test
+    void procesarNotificacionesPendientes_WhenNothingDue_ShouldReturnEmptyReport() {
+        // Given
+        when(contratoRentaRepository.findDueForNotification(any(LocalDateTime.class), eq(0), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // When
+        NotificacionRunReport report = notificacionContratoService.procesarNotificacionesPendientes();
+
+        // Then
+        assertThat(report.contratosProcesados()).isZero();
+        verifyNoInteractions(notificacionSender, notificacionContratoRepository);
+        verify(contratoRentaRepository, never()).clearFechaNotificacion(anyCollection());
+    }
+
+    @Test
+    void findByContrato_ShouldReturnMappedNotifications() {
+        // Given
+        NotificacionContrato notificacion = NotificacionContrato.builder()
+                .idNotificacion(10L)
+                .idContrato(1)
+                .canal(NotificacionContrato.Canal.SMS)
+                .destinatario("555-1234")
+                .fechaFinContrato(contratoConEmailYTelefono.getFechaFinContrato())
+                .fechaEnvio(LocalDateTime.now())
+                .build();
+        when(notificacionContratoRepository.findByIdContratoOrderByFechaEnvioDesc(1)).thenReturn(List.of(notificacion));
+
+        // When
+        List<NotificacionContratoDTO> result = notificacionContratoService.findByContrato(1);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).canal()).isEqualTo("SMS");
+        assertThat(result.get(0).destinatario()).isEqualTo("555-1234");
+    }
+}
@@ -0,0 +1,61 @@
+package com.inmobiliaria.gestion.persistence;
+
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MigracionEsquemaConfigTest {
+
+    private final MigracionEsquemaConfig config = new MigracionEsquemaConfig();
+
+    @Test
+    void particionadoFlywayCustomizer_WhenDisabled_ShouldOnlySetPlaceholder() {
+        // Given
+        FluentConfiguration configuration = new FluentConfiguration().locations("classpath:db/migration/postgresql");
+
+        // When
+        config.particionadoFlywayCustomizer().customize(configuration);
+
+        // Then
+        assertThat(descriptores(configuration)).containsExactly("classpath:db/migration/postgresql");
+        assertThat(configuration.getPlaceholders()).containsEntry("particiones", "16");
+        assertThat(configuration.isOutOfOrder()).isFalse();
+    }
+
+    @Test
+    void particionadoFlywayCustomizer_WhenEnabled_ShouldAddPartitioningMigration() {
+        // Given
+        ReflectionTestUtils.setField(config, "particionado", true);
+        ReflectionTestUtils.setField(config, "particiones", 8);
+        FluentConfiguration configuration = new FluentConfiguration().locations("classpath:db/migration/postgresql");
+
+        // When
+        config.particionadoFlywayCustomizer().customize(configuration);
+
+        // Then
+        assertThat(descriptores(configuration))
+                .containsExactly("classpath:db/migration/postgresql", MigracionEsquemaConfig.UBICACION_PARTICIONADO);
+        assertThat(configuration.getPlaceholders()).containsEntry("particiones", "8");
+        assertThat(configuration.isOutOfOrder()).isTrue();
+    }
+
+    @Test
+    void particionadoFlywayCustomizer_WhenNoPartitions_ShouldThrow() {
+        // Given
+        ReflectionTestUtils.setField(config, "particiones", 0);
+
+        // When / Then
+        assertThatThrownBy(() -> config.particionadoFlywayCustomizer().customize(new FluentConfiguration()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String[] descriptores(FluentConfiguration configuration) {
+        return Arrays.stream(configuration.getLocations()).map(Location::getDescriptor).toArray(String[]::new);
+    }
+}
@@ -3,6 +3,7 @@ package com.inmobiliaria.gestion.propiedad.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadCreateRequest;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadDTO;
+import com.inmobiliaria.gestion.propiedad.dto.PropiedadFiltro;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadUpdateRequest;
 import com.inmobiliaria.gestion.propiedad.service.PropiedadService;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -22,7 +28,10 @@ import java.util.Optional;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -169,16 +178,30 @@ class PropiedadControllerTest {
     @Test
     void searchPropiedadesByDireccion_ShouldReturnMatchingPropiedades() throws Exception {
         // Given
-        List<PropiedadDTO> propiedades = Arrays.asList(testPropiedadDTO);
-        when(propiedadService.searchPropiedadesByDireccion("Reforma")).thenReturn(propiedades);
+        Page<PropiedadDTO> propiedades = new PageImpl<>(List.of(testPropiedadDTO), PageRequest.of(0, 20), 1);
+        when(propiedadService.searchPropiedadesByDireccion(eq("Reforma"), isNull(), any(Pageable.class))).thenReturn(propiedades);
 
         // When & Then
         mockMvc.perform(get("/api/v1/propiedades/search")
                         .param("direccion", "Reforma")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].direccionCompleta", is("Calle Reforma 123")));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].direccionCompleta", is("Calle Reforma 123")))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+    }
+
+    @Test
+    void searchPropiedadesByDireccion_WithBlankTerm_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(propiedadService.searchPropiedadesByDireccion(eq(" "), isNull(), any(Pageable.class)))
+                .thenThrow(new IllegalArgumentException("Search term must not be blank"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/propiedades/search")
+                        .param("direccion", " ")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -318,4 +341,52 @@ class PropiedadControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("3"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void filtrarPropiedades_WithoutCount_ShouldReturnSliceWithoutTotals() throws Exception {
+        // Given
+        PropiedadFiltro filtro = new PropiedadFiltro(1L, "DISPONIBLE", null, null, 2, null, null, null);
+        when(propiedadService.findByFiltro(eq(filtro), any(Pageable.class), eq(false)))
+                .thenReturn(new SliceImpl<>(List.of(testPropiedadDTO), PageRequest.of(0, 20), true));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/propiedades/filtro")
+                        .param("idInmobiliaria", "1")
+                        .param("estatus", "DISPONIBLE")
+                        .param("habitacionesMin", "2")
+                        .param("contar", "false")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.last", is(false)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void getPropiedadesByInmobiliariaPaginado_WithUnsupportedSort_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(propiedadService.findByFiltro(any(PropiedadFiltro.class), any(Pageable.class), anyBoolean()))
+                .thenThrow(new IllegalArgumentException("Unsupported sort field: password"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/propiedades/inmobiliaria/1/paginado")
+                        .param("sortBy", "password")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getPropiedadesByInmobiliariaAndEstatusPaginado_ShouldReturnPage() throws Exception {
+        // Given
+        PropiedadFiltro filtro = PropiedadFiltro.vacio().conInmobiliaria(1L).conEstatus("DISPONIBLE");
+        when(propiedadService.findByFiltro(eq(filtro), any(Pageable.class), eq(true)))
+                .thenReturn(new PageImpl<>(List.of(testPropiedadDTO), PageRequest.of(0, 20), 1));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/propiedades/inmobiliaria/1/estatus/DISPONIBLE/paginado")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].idPropiedad", is(1)))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+    }
+}
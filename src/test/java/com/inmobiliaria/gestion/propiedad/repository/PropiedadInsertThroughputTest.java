@@ -0,0 +1,73 @@
+package com.inmobiliaria.gestion.propiedad.repository;
+
+import com.inmobiliaria.gestion.propiedad.model.Propiedad;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput for 100k properties with JDBC batching off (what IDENTITY keys forced)
+ * and on (possible with pooled sequences). Opt-in because of its runtime:
+ * {@code mvn test -Dtest=PropiedadInsertThroughputTest -Dbenchmark=true}.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PropiedadInsertThroughputTest {
+
+    private static final int FILAS = 100_000;
+    private static final int LOTE = 1_000;
+
+    @Autowired
+    private PropiedadRepository propiedadRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void insertThroughput_WithoutJdbcBatching() {
+        medir("batch_size=1", 1);
+    }
+
+    @Test
+    void insertThroughput_WithJdbcBatching() {
+        medir("batch_size=50", 50);
+    }
+
+    private void medir(String escenario, int jdbcBatchSize) {
+        // Given
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+
+        // When
+        long inicio = System.nanoTime();
+        for (int offset = 0; offset < FILAS; offset += LOTE) {
+            List<Propiedad> lote = new ArrayList<>(LOTE);
+            for (int i = offset; i < offset + LOTE; i++) {
+                lote.add(Propiedad.builder()
+                        .idInmobiliaria(1L)
+                        .tipoPropiedad("CASA")
+                        .superficieTotal(BigDecimal.valueOf(120))
+                        .direccionCompleta("Calle Benchmark " + i)
+                        .build());
+            }
+            propiedadRepository.saveAll(lote);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        long duracionMs = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+
+        // Then
+        System.out.printf("%s: %d rows in %d ms (%.0f rows/s)%n", escenario, FILAS, duracionMs, FILAS * 1000.0 / duracionMs);
+        assertThat(propiedadRepository.count()).isEqualTo(FILAS);
+    }
+}
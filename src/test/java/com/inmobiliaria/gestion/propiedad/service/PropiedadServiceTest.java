@@ -1,16 +1,29 @@
 package com.inmobiliaria.gestion.propiedad.service;
 
+import com.inmobiliaria.gestion.dashboard.service.DashboardService;
+import com.inmobiliaria.gestion.eventos.service.EventoOutboxService;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadCreateRequest;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadDTO;
+import com.inmobiliaria.gestion.propiedad.dto.PropiedadFiltro;
 import com.inmobiliaria.gestion.propiedad.dto.PropiedadUpdateRequest;
 import com.inmobiliaria.gestion.propiedad.model.Propiedad;
 import com.inmobiliaria.gestion.propiedad.repository.PropiedadRepository;
+import com.inmobiliaria.gestion.propiedad.repository.PropiedadSearchRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -19,8 +32,12 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +46,15 @@ class PropiedadServiceTest {
     @Mock
     private PropiedadRepository propiedadRepository;
 
+    @Mock
+    private PropiedadSearchRepository propiedadSearchRepository;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private EventoOutboxService eventoOutboxService;
+
     @InjectMocks
     private PropiedadService propiedadService;
 
@@ -310,17 +336,111 @@ class PropiedadServiceTest {
     }
 
     @Test
-    void searchPropiedadesByDireccion_ShouldReturnMatchingPropiedades() {
+    void searchPropiedadesByDireccion_ShouldNormalizeTermsAndReturnPage() {
         // Given
-        List<Propiedad> propiedades = Arrays.asList(testPropiedad);
-        when(propiedadRepository.findByDireccionContaining("Reforma")).thenReturn(propiedades);
+        when(propiedadSearchRepository.buscar(List.of("av", "juarez"), "av juarez", 1L, 10, 0L))
+                .thenReturn(List.of(testPropiedad));
 
         // When
-        List<PropiedadDTO> result = propiedadService.searchPropiedadesByDireccion("Reforma");
+        Page<PropiedadDTO> result = propiedadService.searchPropiedadesByDireccion("  Av  JUÁREZ ", 1L, PageRequest.of(0, 10));
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).direccionCompleta()).contains("Reforma");
-        verify(propiedadRepository).findByDireccionContaining("Reforma");
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        verify(propiedadSearchRepository, never()).contar(anyList(), any());
+    }
+
+    @Test
+    void searchPropiedadesByDireccion_WhenPageIsFull_ShouldCountTotal() {
+        // Given
+        when(propiedadSearchRepository.buscar(List.of("reforma"), "reforma", null, 1, 0L))
+                .thenReturn(List.of(testPropiedad));
+        when(propiedadSearchRepository.contar(List.of("reforma"), null)).thenReturn(25L);
+
+        // When
+        Page<PropiedadDTO> result = propiedadService.searchPropiedadesByDireccion("Reforma", null, PageRequest.of(0, 1));
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(25);
+        assertThat(result.getTotalPages()).isEqualTo(25);
+    }
+
+    @Test
+    void searchPropiedadesByDireccion_WithBlankTerm_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> propiedadService.searchPropiedadesByDireccion("   ", null, PageRequest.of(0, 10)));
+        verifyNoInteractions(propiedadSearchRepository);
+    }
+
+    @Test
+    void normalizarDireccion_ShouldRemoveAccentsCaseAndExtraSpaces() {
+        assertThat(Propiedad.normalizarDireccion("  Calle  Niños Héroes 45, Mérida ")).isEqualTo("calle ninos heroes 45, merida");
+        assertThat(Propiedad.normalizarDireccion(null)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findByFiltro_WithCount_ShouldReturnPageSortedWithIdTiebreaker() {
+        // Given
+        PropiedadFiltro filtro = PropiedadFiltro.vacio().conInmobiliaria(1L);
+        when(propiedadRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(testPropiedad), invocation.getArgument(1), 41));
+
+        // When
+        Slice<PropiedadDTO> result = propiedadService.findByFiltro(
+                filtro, PageRequest.of(2, 20, Sort.by("superficieTotal").descending()), true);
+
+        // Then
+        assertThat(result).isInstanceOf(Page.class);
+        assertThat(((Page<PropiedadDTO>) result).getTotalElements()).isEqualTo(41);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(propiedadRepository).findAll(any(Specification.class), pageable.capture());
+        assertThat(pageable.getValue().getSort())
+                .containsExactly(Sort.Order.desc("superficieTotal"), Sort.Order.asc("idPropiedad"));
+        verify(propiedadRepository, never()).findSlice(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findByFiltro_WithoutCount_ShouldReturnSlice() {
+        // Given
+        when(propiedadRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(testPropiedad), invocation.getArgument(1), true));
+
+        // When
+        Slice<PropiedadDTO> result = propiedadService.findByFiltro(PropiedadFiltro.vacio(), PageRequest.of(0, 1), false);
+
+        // Then
+        assertThat(result).isNotInstanceOf(Page.class);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.getContent()).extracting(PropiedadDTO::idPropiedad).containsExactly(1);
+        verify(propiedadRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void findByFiltro_WithUnsupportedSortOrOversizedPage_ShouldThrow() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> propiedadService.findByFiltro(
+                PropiedadFiltro.vacio(), PageRequest.of(0, 20, Sort.by("caracteristicasEspeciales")), true));
+        assertThrows(IllegalArgumentException.class, () -> propiedadService.findByFiltro(
+                PropiedadFiltro.vacio(), PageRequest.of(0, PropiedadService.TAMANO_MAXIMO_PAGINA + 1), true));
+        verifyNoInteractions(propiedadRepository);
+    }
+
+    @Test
+    void searchPropiedadesByDireccionSlice_ShouldFetchOneExtraRowInsteadOfCounting() {
+        // Given
+        Propiedad otra = Propiedad.builder().idPropiedad(2).idInmobiliaria(1L).direccionCompleta("Calle Reforma 456").build();
+        when(propiedadSearchRepository.buscar(anyList(), eq("reforma"), isNull(), eq(2), eq(0L)))
+                .thenReturn(List.of(testPropiedad, otra));
+
+        // When
+        Slice<PropiedadDTO> result = propiedadService.searchPropiedadesByDireccionSlice("Reforma", null, PageRequest.of(0, 1));
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.hasNext()).isTrue();
+        verify(propiedadSearchRepository, never()).contar(anyList(), any());
     }
-}
\ No newline at end of file
+}
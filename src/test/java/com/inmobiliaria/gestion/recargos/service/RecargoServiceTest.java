@@ -0,0 +1,111 @@
+package com.inmobiliaria.gestion.recargos.service;
+
+import com.inmobiliaria.gestion.cobranza.model.MovimientoCuenta;
+import com.inmobiliaria.gestion.cobranza.repository.LibroCuentaJdbcRepository;
+import com.inmobiliaria.gestion.cobranza.service.AntiguedadSaldosService;
+import com.inmobiliaria.gestion.conceptos.model.ConceptosPago;
+import com.inmobiliaria.gestion.configuracion_recargos.model.ConfiguracionRecargos;
+import com.inmobiliaria.gestion.configuracion_recargos.service.PoliticaRecargo;
+import com.inmobiliaria.gestion.configuracion_recargos.service.PoliticaRecargoCache;
+import com.inmobiliaria.gestion.recargos.dto.CargoVencido;
+import com.inmobiliaria.gestion.recargos.dto.RecargoCalculado;
+import com.inmobiliaria.gestion.recargos.dto.RecargoRunReport;
+import com.inmobiliaria.gestion.recargos.repository.RecargoJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecargoServiceTest {
+
+    private static final LocalDate FECHA_CORTE = LocalDate.of(2024, 5, 11);
+
+    @Mock
+    private RecargoJdbcRepository recargoJdbcRepository;
+
+    @Mock
+    private PoliticaRecargoCache politicaRecargoCache;
+
+    @Mock
+    private LibroCuentaJdbcRepository libroCuentaJdbcRepository;
+
+    @Mock
+    private AntiguedadSaldosService antiguedadSaldosService;
+
+    @InjectMocks
+    private RecargoService recargoService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aplicarRecargos_ShouldWriteOnlyChangedSurchargesInBatches() {
+        // Given
+        ReflectionTestUtils.setField(recargoService, "batchSize", 1);
+        when(politicaRecargoCache.getPoliticas(1L)).thenReturn(List.of(politica()));
+        doAnswer(invocation -> {
+            Consumer<CargoVencido> consumer = invocation.getArgument(2);
+            // 10 days late, no grace: 1000 * 1% * 10 = 100
+            consumer.accept(new CargoVencido(1L, 1, 1, 1L, BigDecimal.valueOf(1000), LocalDate.of(2024, 5, 1), BigDecimal.ZERO));
+            // Already up to date
+            consumer.accept(new CargoVencido(2L, 1, 1, 1L, BigDecimal.valueOf(1000), LocalDate.of(2024, 5, 1), new BigDecimal("100.00")));
+            // Concept outside the policy
+            consumer.accept(new CargoVencido(3L, 1, 9, 1L, BigDecimal.valueOf(1000), LocalDate.of(2024, 5, 1), new BigDecimal("50.00")));
+            return null;
+        }).when(recargoJdbcRepository).recorrerCargosVencidos(eq(FECHA_CORTE), anyInt(), any());
+
+        // When
+        RecargoRunReport report = recargoService.aplicarRecargos(FECHA_CORTE);
+
+        // Then
+        assertThat(report.cargosEvaluados()).isEqualTo(3);
+        assertThat(report.cargosActualizados()).isEqualTo(2);
+        assertThat(report.montoRecargos()).isEqualByComparingTo("100.00");
+
+        ArgumentCaptor<List<RecargoCalculado>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(recargoJdbcRepository, times(2)).actualizarRecargos(lotes.capture(), eq(FECHA_CORTE));
+        assertThat(lotes.getAllValues().get(0)).containsExactly(new RecargoCalculado(1L, new BigDecimal("100.00")));
+        assertThat(lotes.getAllValues().get(1)).containsExactly(new RecargoCalculado(3L, new BigDecimal("0.00")));
+
+        // The ledger only receives the change against the previously accrued surcharge
+        ArgumentCaptor<List<MovimientoCuenta>> movimientos = ArgumentCaptor.forClass(List.class);
+        verify(libroCuentaJdbcRepository, times(2)).registrarMovimientos(movimientos.capture());
+        assertThat(movimientos.getAllValues().get(0).get(0).getMonto()).isEqualByComparingTo("100.00");
+        assertThat(movimientos.getAllValues().get(1).get(0).getMonto()).isEqualByComparingTo("-50.00");
+        assertThat(movimientos.getAllValues().get(1).get(0).getTipoMovimiento()).isEqualTo(MovimientoCuenta.TIPO_RECARGO);
+    }
+
+    @Test
+    void aplicarRecargos_WhenNothingOverdue_ShouldNotWrite() {
+        // When
+        RecargoRunReport report = recargoService.aplicarRecargos(FECHA_CORTE);
+
+        // Then
+        assertThat(report.cargosEvaluados()).isZero();
+        verify(recargoJdbcRepository, never()).actualizarRecargos(any(), any());
+        verifyNoInteractions(politicaRecargoCache);
+    }
+
+    private PoliticaRecargo politica() {
+        ConfiguracionRecargos configuracion = new ConfiguracionRecargos();
+        configuracion.setIdConfiguracionRecargo(1L);
+        configuracion.setIdInmobiliaria(1L);
+        configuracion.setDiasGracia(0);
+        configuracion.setPorcentajeRecargoDiario(BigDecimal.ONE);
+        ConceptosPago renta = ConceptosPago.builder().idConcepto(1).tipoConcepto("RENTA").permiteRecargos(true).build();
+        return PoliticaRecargo.compilar(configuracion, List.of(renta));
+    }
+}
@@ -1,6 +1,7 @@
 package com.inmobiliaria.gestion.security;
 
 import com.inmobiliaria.gestion.auth.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,15 +9,18 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -46,11 +50,14 @@ class JwtAuthenticationFilterTest {
     @Mock
     private SecurityContext securityContext;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, meterRegistry);
         SecurityContextHolder.setContext(securityContext);
     }
 
@@ -63,9 +70,9 @@ class JwtAuthenticationFilterTest {
         when(request.getRequestURI()).thenReturn("/api/v1/inmobiliarias");
         when(request.getMethod()).thenReturn("GET");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateJwtToken(token)).thenReturn(true);
-        when(jwtUtil.getUserNameFromJwtToken(token)).thenReturn(username);
+        when(jwtUtil.parseJwtToken(token)).thenReturn(Optional.of(new JwtClaims(username, List.of("ROLE_USER"), null)));
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        when(userDetails.isEnabled()).thenReturn(true);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -73,6 +80,50 @@ class JwtAuthenticationFilterTest {
         // Then
         verify(securityContext).setAuthentication(any(Authentication.class));
         verify(filterChain).doFilter(request, response);
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.AUTHENTICATION_TIMER).tag("outcome", "authenticated").timer().count());
+    }
+
+    @Test
+    void doFilterInternal_WithDisabledUser_ShouldNotSetAuthentication() throws ServletException, IOException {
+        // Given
+        String token = "valid-jwt-token";
+
+        when(request.getRequestURI()).thenReturn("/api/v1/inmobiliarias");
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.parseJwtToken(token)).thenReturn(Optional.of(new JwtClaims("disabled", List.of("ROLE_USER"), null)));
+        when(userDetailsService.loadUserByUsername("disabled")).thenReturn(userDetails);
+        when(userDetails.isEnabled()).thenReturn(false);
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(securityContext, never()).setAuthentication(any(Authentication.class));
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_WithStatelessAuthentication_ShouldUseTokenRolesWithoutLookup() throws ServletException, IOException {
+        // Given
+        String token = "valid-jwt-token";
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessAuthentication", true);
+
+        when(request.getRequestURI()).thenReturn("/api/v1/inmobiliarias");
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.parseJwtToken(token)).thenReturn(Optional.of(new JwtClaims("testuser", List.of("ROLE_ADMIN"), null)));
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        ArgumentCaptor<Authentication> authentication = ArgumentCaptor.forClass(Authentication.class);
+        verify(securityContext).setAuthentication(authentication.capture());
+        assertEquals("testuser", authentication.getValue().getName());
+        assertTrue(authentication.getValue().getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN")));
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
     }
 
     @Test
@@ -83,7 +134,7 @@ class JwtAuthenticationFilterTest {
         when(request.getRequestURI()).thenReturn("/api/v1/inmobiliarias");
         when(request.getMethod()).thenReturn("GET");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateJwtToken(token)).thenReturn(false);
+        when(jwtUtil.parseJwtToken(token)).thenReturn(Optional.empty());
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -91,6 +142,7 @@ class JwtAuthenticationFilterTest {
         // Then
         verify(securityContext, never()).setAuthentication(any(Authentication.class));
         verify(filterChain).doFilter(request, response);
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.AUTHENTICATION_TIMER).tag("outcome", "rejected").timer().count());
     }
 
     @Test
@@ -104,7 +156,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtUtil, never()).validateJwtToken(anyString());
+        verify(jwtUtil, never()).parseJwtToken(anyString());
         verify(securityContext, never()).setAuthentication(any(Authentication.class));
         verify(filterChain).doFilter(request, response);
     }
@@ -120,7 +172,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtUtil, never()).validateJwtToken(anyString());
+        verify(jwtUtil, never()).parseJwtToken(anyString());
         verify(securityContext, never()).setAuthentication(any(Authentication.class));
         verify(filterChain).doFilter(request, response);
     }
@@ -134,8 +186,7 @@ class JwtAuthenticationFilterTest {
         when(request.getRequestURI()).thenReturn("/api/v1/inmobiliarias");
         when(request.getMethod()).thenReturn("GET");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateJwtToken(token)).thenReturn(true);
-        when(jwtUtil.getUserNameFromJwtToken(token)).thenReturn(username);
+        when(jwtUtil.parseJwtToken(token)).thenReturn(Optional.of(new JwtClaims(username, List.of("ROLE_USER"), null)));
         when(userDetailsService.loadUserByUsername(username))
                 .thenThrow(new RuntimeException("User service error"));
 
@@ -250,15 +301,16 @@ class JwtAuthenticationFilterTest {
         when(request.getRequestURI()).thenReturn("/api/v1/inmobiliarias");
         when(request.getMethod()).thenReturn("GET");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateJwtToken(token)).thenReturn(true);
-        when(jwtUtil.getUserNameFromJwtToken(token)).thenReturn("testuser");
+        when(jwtUtil.parseJwtToken(token)).thenReturn(Optional.of(new JwtClaims("testuser", List.of("ROLE_USER"), null)));
         when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+        when(userDetails.isEnabled()).thenReturn(true);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtUtil).validateJwtToken(token);
+        verify(jwtUtil).parseJwtToken(token);
+        verify(jwtUtil, never()).getUserNameFromJwtToken(anyString());
     }
 
     @Test
@@ -272,7 +324,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtUtil, never()).validateJwtToken(anyString());
+        verify(jwtUtil, never()).parseJwtToken(anyString());
         verify(filterChain).doFilter(request, response);
     }
 }
\ No newline at end of file
@@ -3,10 +3,10 @@ package com.inmobiliaria.gestion.security;
 import com.inmobiliaria.gestion.auth.model.Role;
 import com.inmobiliaria.gestion.auth.model.User;
 import com.inmobiliaria.gestion.auth.service.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -14,6 +14,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.DisplayName;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,7 +24,9 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(MockitoExtension.class)
 class JwtUtilTest {
 
-    @InjectMocks
+    private static final String SECRET = "test-secret-key-for-jwt-signing-must-be-at-least-256-bits-long";
+
+    private SimpleMeterRegistry meterRegistry;
     private JwtUtil jwtUtil;
 
     private Authentication authentication;
@@ -29,9 +34,8 @@ class JwtUtilTest {
 
     @BeforeEach
     void setUp() {
-        // Set test values using reflection
-        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "test-secret-key-for-jwt-signing-must-be-at-least-256-bits-long");
-        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 86400);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtUtil = createJwtUtil(SECRET);
 
         // Create test user
         Role userRole = Role.builder()
@@ -182,6 +186,58 @@ class JwtUtilTest {
         assertEquals(username, retrievedUsername);
     }
 
+    @Test
+    void parseJwtToken_WithValidToken_ShouldReturnSubjectRolesAndExpiry() {
+        // Given
+        String token = jwtUtil.generateJwtToken(authentication);
+
+        // When
+        Optional<JwtClaims> claims = jwtUtil.parseJwtToken(token);
+
+        // Then
+        assertTrue(claims.isPresent());
+        assertEquals("testuser", claims.get().username());
+        assertEquals(List.of("ROLE_USER"), claims.get().roles());
+        assertTrue(claims.get().expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void parseJwtToken_WithTokenFromUsername_ShouldReturnNoRoles() {
+        // Given
+        String token = jwtUtil.generateTokenFromUsername("testuser");
+
+        // When
+        Optional<JwtClaims> claims = jwtUtil.parseJwtToken(token);
+
+        // Then
+        assertTrue(claims.isPresent());
+        assertTrue(claims.get().roles().isEmpty());
+    }
+
+    @Test
+    void parseJwtToken_ShouldRecordVerificationLatencyByOutcome() {
+        // Given
+        String token = jwtUtil.generateJwtToken(authentication);
+
+        // When
+        jwtUtil.parseJwtToken(token);
+        jwtUtil.parseJwtToken(token);
+        jwtUtil.parseJwtToken("invalid.jwt.token");
+
+        // Then
+        assertEquals(2, meterRegistry.get(JwtUtil.VERIFICATION_TIMER).tag("outcome", "valid").timer().count());
+        assertEquals(1, meterRegistry.get(JwtUtil.VERIFICATION_TIMER).tag("outcome", "invalid").timer().count());
+        assertEquals(0, meterRegistry.get(JwtUtil.VERIFICATION_TIMER).tag("outcome", "expired").timer().count());
+    }
+
+    private JwtUtil createJwtUtil(String secret) {
+        JwtUtil util = new JwtUtil(meterRegistry);
+        ReflectionTestUtils.setField(util, "jwtSecret", secret);
+        ReflectionTestUtils.setField(util, "jwtExpirationMs", 86400);
+        util.init();
+        return util;
+    }
+
     @Nested
     @DisplayName("JWT Exception Branch Coverage Tests")
     class JwtExceptionBranchTests {
@@ -289,18 +345,15 @@ class JwtUtilTest {
         void shouldHandleTokenValidationWithWrongSecret() {
             // Given - Generate token with current secret
             String token = jwtUtil.generateJwtToken(authentication);
-            
-            // Change the secret to simulate wrong key scenario
-            ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "completely-different-secret-key-that-will-not-work-for-verification-purposes");
+
+            // A verifier built from a different secret simulates the wrong key scenario
+            JwtUtil otherJwtUtil = createJwtUtil("completely-different-secret-key-that-will-not-work-for-verification-purposes");
 
             // When
-            boolean isValid = jwtUtil.validateJwtToken(token);
+            boolean isValid = otherJwtUtil.validateJwtToken(token);
 
             // Then - Should return false due to signature verification failure
             assertFalse(isValid);
-            
-            // Reset secret for other tests
-            ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "test-secret-key-for-jwt-signing-must-be-at-least-256-bits-long");
         }
 
         @Test
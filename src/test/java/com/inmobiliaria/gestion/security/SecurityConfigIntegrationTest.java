@@ -146,6 +146,13 @@ class SecurityConfigIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void prometheusEndpoint_OnApplicationPort_ShouldRequireAuthentication() throws Exception {
+        // The scrape endpoint is only public on a dedicated management port
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void protectedEndpoints_WithValidJWT_ShouldAllowAccess() throws Exception {
         // Given - Create a test user and JWT token